@@ -3,12 +3,15 @@ package com.github.ddth.dao;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -25,15 +28,170 @@ import com.github.ddth.commons.utils.DPathUtils;
 import com.github.ddth.commons.utils.HashUtils;
 import com.github.ddth.commons.utils.MapUtils;
 import com.github.ddth.commons.utils.SerializationUtils;
+import com.github.ddth.dao.utils.ImmutableAttributeMap;
 
 /**
  * Base class for application Business Objects (BO).
  * 
+ * <p>
+ * Since v1.1.2, BO's attributes are stored in an {@link ImmutableAttributeMap}: each change
+ * replaces the (copy-on-write) map with a new one that shares all unchanged entries, so that
+ * snapshots ({@link #getAttributes()}) and clones share it instead of deep-copying it. A deep copy is made only if attributes contain mutable
+ * values.
+ * </p>
+ * 
+ * <p>
+ * Since v1.1.2, how BO's attributes are guarded against concurrent access is configurable, see
+ * {@link LockStrategy}.
+ * </p>
+ * 
  * @author Thanh Ba Nguyen <bnguyen2k@gmail.com>
  * @since 0.1.0
  */
 public class BaseBo implements Cloneable, ISerializationSupport {
 
+    /**
+     * How a BO guards its attributes against concurrent access.
+     * 
+     * @since 1.1.2
+     */
+    public enum LockStrategy {
+        /**
+         * A fair {@link ReentrantReadWriteLock}: every read takes the read lock, readers queue
+         * behind waiting writers (default, behavior of previous versions).
+         */
+        READ_WRITE_LOCK,
+
+        /**
+         * Reads of the attribute snapshot are optimistic (via {@link StampedLock}) and fall back
+         * to the read lock only if a write is in progress. {@link #lockForRead()} and
+         * {@link #lockForWrite()} are backed by a non-fair {@link ReentrantReadWriteLock}.
+         */
+        STAMPED_LOCK,
+
+        /**
+         * Reads do not lock at all: they see the latest published attribute snapshot (which is
+         * immutable). Writes are serialized by a non-fair reentrant lock; {@link #lockForRead()}
+         * returns a no-op lock. Suitable for BOs that are mostly read (e.g. cached BOs shared
+         * between threads), as readers may observe a sub-class's derived state mid-update.
+         */
+        LOCK_FREE
+    }
+
+    /**
+     * How a BO calculates the checksum of its attributes (see {@link #calcChecksum()}).
+     * 
+     * <p>
+     * Sub-classes that override {@link #checksum()} are not affected.
+     * </p>
+     * 
+     * @since 1.1.2
+     */
+    public enum ChecksumMode {
+        /**
+         * Checksum of the whole attribute map via {@link HashUtils#checksum(Object,
+         * com.google.common.hash.HashFunction)}, recalculated after each change (default,
+         * compatible with checksums calculated by previous versions).
+         */
+        FULL,
+
+        /**
+         * Order-independent sum of per-attribute murmur3 checksums, maintained incrementally by
+         * {@link #setAttribute(String, Object)} and {@link #removeAttribute(String)} (see
+         * {@link ImmutableAttributeMap#checksum()}). Values differ from {@link #FULL}'s.
+         */
+        INCREMENTAL
+    }
+
+    private static volatile LockStrategy defaultLockStrategy = LockStrategy.READ_WRITE_LOCK;
+    private static volatile ChecksumMode defaultChecksumMode = ChecksumMode.FULL;
+
+    /**
+     * Lock strategy of BOs created via the no-arg constructor.
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public static LockStrategy getDefaultLockStrategy() {
+        return defaultLockStrategy;
+    }
+
+    /**
+     * Set lock strategy of BOs created via the no-arg constructor from now on.
+     * 
+     * @param lockStrategy
+     * @since 1.1.2
+     */
+    public static void setDefaultLockStrategy(LockStrategy lockStrategy) {
+        defaultLockStrategy = lockStrategy != null ? lockStrategy : LockStrategy.READ_WRITE_LOCK;
+    }
+
+    /**
+     * Checksum mode of BOs created via constructors that do not specify one.
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public static ChecksumMode getDefaultChecksumMode() {
+        return defaultChecksumMode;
+    }
+
+    /**
+     * Set checksum mode of BOs created via constructors that do not specify one from now on.
+     * 
+     * @param checksumMode
+     * @since 1.1.2
+     */
+    public static void setDefaultChecksumMode(ChecksumMode checksumMode) {
+        defaultChecksumMode = checksumMode != null ? checksumMode : ChecksumMode.FULL;
+    }
+
+    public BaseBo() {
+        this(defaultLockStrategy, defaultChecksumMode);
+    }
+
+    /**
+     * @param lockStrategy
+     * @since 1.1.2
+     */
+    protected BaseBo(LockStrategy lockStrategy) {
+        this(lockStrategy, defaultChecksumMode);
+    }
+
+    /**
+     * @param lockStrategy
+     * @param checksumMode
+     * @since 1.1.2
+     */
+    protected BaseBo(LockStrategy lockStrategy, ChecksumMode checksumMode) {
+        this.lockStrategy = lockStrategy != null ? lockStrategy : LockStrategy.READ_WRITE_LOCK;
+        this.checksumMode = checksumMode != null ? checksumMode : ChecksumMode.FULL;
+        this.attributes = track(ImmutableAttributeMap.EMPTY);
+        initLocks();
+    }
+
+    private final ChecksumMode checksumMode;
+
+    /**
+     * Checksum mode of this BO.
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public ChecksumMode getChecksumMode() {
+        return checksumMode;
+    }
+
+    /**
+     * Let the attribute map maintain its checksum if needed by the checksum mode.
+     * 
+     * @param attrs
+     * @return
+     */
+    private ImmutableAttributeMap track(ImmutableAttributeMap attrs) {
+        return checksumMode == ChecksumMode.INCREMENTAL ? attrs.trackChecksum() : attrs;
+    }
+
     /**
      * Deep-clone data.
      * 
@@ -51,9 +209,15 @@ public class BaseBo implements Cloneable, ISerializationSupport {
                 : new ConcurrentHashMap<>();
     }
 
-    private Map<String, Object> attributes = initAttributes(null);
+    private volatile ImmutableAttributeMap attributes = ImmutableAttributeMap.EMPTY;
+
+    private volatile boolean dirty = false;
 
-    private boolean dirty = false;
+    /**
+     * Snapshot of attributes taken by the last {@link #markClean()}, {@code null} if the BO has
+     * never been marked clean.
+     */
+    private volatile ImmutableAttributeMap cleanAttributes = null;
 
     /**
      * {@inheritDoc}
@@ -64,9 +228,9 @@ public class BaseBo implements Cloneable, ISerializationSupport {
         Lock lock = lockForWrite();
         try {
             BaseBo obj = (BaseBo) super.clone();
-            obj.attributes = initAttributes(attributes);
+            obj.attributes = attributes.deepCopy();
             obj.dirty = dirty;
-            obj.rwLock = new ReentrantReadWriteLock(true);
+            obj.initLocks();
             return obj;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -97,13 +261,147 @@ public class BaseBo implements Cloneable, ISerializationSupport {
     /**
      * Mark that the BO is no longer dirty.
      * 
+     * <p>
+     * Since v1.1.2, the current attributes are also remembered as the "clean" state, see
+     * {@link #getChangedAttributes()}. The clean state shares attribute values with the BO (no
+     * copy is made): a mutable value (e.g. a {@link java.util.Date}, {@link java.util.List} or
+     * {@link Map}) that is modified in place is not reported as changed. Set a new value instance
+     * instead.
+     * </p>
+     * 
      * @return
      */
     public BaseBo markClean() {
+        cleanAttributes = attributes;
         dirty = false;
         return this;
     }
 
+    /**
+     * Mark that the BO is no longer dirty as of a state previously returned by
+     * {@link #getAttributesState()}, e.g. once that state has been persisted.
+     * 
+     * <p>
+     * Changes made after the state was taken are still reported by
+     * {@link #getChangedAttributes()}, and the BO stays dirty if there are any.
+     * </p>
+     * 
+     * @param state
+     * @return
+     * @since 1.1.2
+     */
+    public BaseBo markClean(Map<String, Object> state) {
+        ImmutableAttributeMap clean = ImmutableAttributeMap.of(state);
+        Lock lock = lockForWrite();
+        try {
+            cleanAttributes = clean;
+            if (attributes == clean) {
+                dirty = false;
+            }
+            return this;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Current attributes as an immutable map, with no copy made: values are shared with the BO
+     * and must not be modified. See {@link #markClean(Map)}.
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public Map<String, Object> getAttributesState() {
+        return snapshot();
+    }
+
+    /**
+     * A copy of this BO with the attributes as of the last {@link #markClean()}, {@code null} if
+     * the BO has never been marked clean.
+     * 
+     * <p>
+     * The copy is a field-by-field copy of this BO ({@link #clone()} is not called, the clean
+     * attributes are shared, not deep-copied), see {@link #triggerCopy()}.
+     * </p>
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public BaseBo getCleanCopy() {
+        ImmutableAttributeMap clean = cleanAttributes;
+        if (clean == null) {
+            return null;
+        }
+        BaseBo copy;
+        try {
+            copy = (BaseBo) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException(e);
+        }
+        copy.initLocks();
+        Lock lock = copy.lockForWrite();
+        try {
+            copy.attributes = copy.track(clean);
+            copy.cleanAttributes = clean;
+            copy.dirty = false;
+            copy.triggerCopy();
+            copy.triggerPopulate();
+            return copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Called on a field-by-field copy of this BO made by {@link #getCleanCopy()}, before its
+     * attributes are (re)populated. Sub-classes that hold per-instance mutable state (e.g. caches)
+     * must not share it with the original BO, and should re-create it here.
+     * 
+     * @since 1.1.2
+     */
+    protected void triggerCopy() {
+    }
+
+    /**
+     * Are attribute changes tracked, i.e. has the BO been marked clean (see {@link #markClean()})?
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public boolean isTrackingChanges() {
+        return cleanAttributes != null;
+    }
+
+    /**
+     * Names of attributes that have been added, changed or removed since the last
+     * {@link #markClean()} (all attributes if the BO has never been marked clean).
+     * 
+     * <p>
+     * Attributes are compared by value: an attribute that is changed then changed back is not
+     * reported. Mutable values modified in place are not reported either, see {@link #markClean()}.
+     * </p>
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public Set<String> getChangedAttributes() {
+        ImmutableAttributeMap clean = cleanAttributes;
+        return snapshot().diff(clean != null ? clean : ImmutableAttributeMap.EMPTY);
+    }
+
+    /**
+     * Has an attribute been added, changed or removed since the last {@link #markClean()}?
+     * 
+     * @param attrName
+     * @return
+     * @since 1.1.2
+     */
+    public boolean isAttributeChanged(String attrName) {
+        ImmutableAttributeMap clean = cleanAttributes;
+        Object value = snapshot().get(attrName);
+        return clean == null ? value != null : !Objects.deepEquals(value, clean.get(attrName));
+    }
+
     /*----------------------------------------------------------------------*/
 
     /**
@@ -120,6 +418,10 @@ public class BaseBo implements Cloneable, ISerializationSupport {
     /**
      * Return the underlying attribute map.
      * 
+     * <p>
+     * Since v1.1.2, the returned map is an immutable snapshot.
+     * </p>
+     * 
      * @return
      * @since 0.7.1
      */
@@ -130,19 +432,32 @@ public class BaseBo implements Cloneable, ISerializationSupport {
     /**
      * Get all BO's attributes as a map.
      * 
+     * <p>
+     * The returned map is a copy that can be freely modified; since v1.1.2 values are deep-copied
+     * only if they are mutable. Use {@link #getAttributesSnapshot()} if a read-only view is enough.
+     * </p>
+     * 
      * @return
      * @since 0.8.2
      */
     public Map<String, Object> getAttributes() {
-        if (attributes == null) {
-            return null;
-        }
-        Lock lock = lockForRead();
-        try {
-            return cloneData(attributes);
-        } finally {
-            lock.unlock();
-        }
+        return snapshot().toMutableMap();
+    }
+
+    /**
+     * Get an immutable snapshot of BO's attributes.
+     * 
+     * <p>
+     * No copy is made if attributes contain only immutable values; mutable values (e.g.
+     * {@link Date}, collections) are deep-copied so that the snapshot is not affected by later
+     * changes to the BO.
+     * </p>
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public Map<String, Object> getAttributesSnapshot() {
+        return snapshot().deepCopy();
     }
 
     /**
@@ -154,7 +469,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
     public BaseBo setAttributes(Map<String, Object> attrs) {
         Lock lock = lockForWrite();
         try {
-            attributes = initAttributes(attrs);
+            attributes = track(ImmutableAttributeMap.copyOf(attrs));
             triggerPopulate();
             return this;
         } finally {
@@ -170,15 +485,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @since 0.10.0
      */
     public JsonNode getAttributesAsJson() {
-        if (attributes == null) {
-            return NullNode.instance;
-        }
-        Lock lock = lockForRead();
-        try {
-            return SerializationUtils.toJson(attributes);
-        } finally {
-            lock.unlock();
-        }
+        return SerializationUtils.toJson(snapshot());
     }
 
     /**
@@ -207,15 +514,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @since 0.10.0
      */
     public String getAttributesAsJsonString() {
-        if (attributes == null) {
-            return "null";
-        }
-        Lock lock = lockForRead();
-        try {
-            return SerializationUtils.toJsonString(attributes);
-        } finally {
-            lock.unlock();
-        }
+        return SerializationUtils.toJsonString(snapshot());
     }
 
     /**
@@ -242,12 +541,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @return
      */
     public Object getAttribute(String attrName) {
-        Lock lock = lockForRead();
-        try {
-            return attributes != null ? attributes.get(attrName) : null;
-        } finally {
-            lock.unlock();
-        }
+        return snapshot().get(attrName);
     }
 
     /**
@@ -258,12 +552,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @return
      */
     public <T> T getAttribute(String attrName, Class<T> clazz) {
-        Lock lock = lockForRead();
-        try {
-            return MapUtils.getValue(attributes, attrName, clazz);
-        } finally {
-            lock.unlock();
-        }
+        return MapUtils.getValue(snapshot(), attrName, clazz);
     }
 
     /**
@@ -288,12 +577,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @since 0.8.0
      */
     public Date getAttributeAsDate(String attrName, String dateTimeFormat) {
-        Lock lock = lockForRead();
-        try {
-            return MapUtils.getDate(attributes, attrName, dateTimeFormat);
-        } finally {
-            lock.unlock();
-        }
+        return MapUtils.getDate(snapshot(), attrName, dateTimeFormat);
     }
 
     /**
@@ -321,11 +605,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
     public BaseBo setAttribute(String attrName, Object value, boolean triggerChange) {
         Lock lock = lockForWrite();
         try {
-            if (value == null) {
-                attributes.remove(attrName);
-            } else {
-                attributes.put(attrName, value);
-            }
+            attributes = attributes.with(attrName, value);
             if (triggerChange) {
                 triggerChange(attrName);
             }
@@ -360,7 +640,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
     protected BaseBo removeAttribute(String attrName, boolean triggerChange) {
         Lock lock = lockForWrite();
         try {
-            attributes.remove(attrName);
+            attributes = attributes.without(attrName);
             if (triggerChange) {
                 triggerChange(attrName);
             }
@@ -391,7 +671,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
         checksum = null;
     }
 
-    private Long checksum = null;
+    private volatile Long checksum = null;
 
     /**
      * Calculate the checksum of BO's attributes (ignore "dirty" flag).
@@ -400,15 +680,18 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @since 0.10.0
      */
     public long calcChecksum() {
-        if (checksum == null) {
-            Lock lock = lockForRead();
+        Long result = checksum;
+        if (result == null) {
+            // lock-free reads do not block writers: compute & cache the checksum exclusively so
+            // that a concurrent change can not be overridden by a stale value
+            Lock lock = lockStrategy == LockStrategy.LOCK_FREE ? lockForWrite() : lockForRead();
             try {
-                checksum = checksum();
+                result = checksum = checksum();
             } finally {
                 lock.unlock();
             }
         }
-        return checksum.longValue();
+        return result.longValue();
     }
 
     /**
@@ -422,24 +705,192 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @since 0.10.0
      */
     protected long checksum() {
+        if (checksumMode == ChecksumMode.INCREMENTAL) {
+            return attributes.checksum();
+        }
         return HashUtils.checksum(attributes, HashUtils.murmur3);
     }
 
     /*----------------------------------------------------------------------*/
 
+    private final static Lock NOOP_LOCK = new Lock() {
+        @Override
+        public void lock() {
+        }
+
+        @Override
+        public void lockInterruptibly() {
+        }
+
+        @Override
+        public boolean tryLock() {
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) {
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    };
+
     /**
-     * @since 0.10.0
+     * Write lock of {@link LockStrategy#STAMPED_LOCK}: the outermost holder of the (reentrant)
+     * write lock also holds the {@link StampedLock}'s write lock, which invalidates optimistic
+     * reads.
      */
-    private ReadWriteLock rwLock = new ReentrantReadWriteLock(true);
+    private static class StampedWriteLock implements Lock {
+        private final ReentrantReadWriteLock rwLock;
+        private final StampedLock stampedLock;
+        private long stamp;
+
+        StampedWriteLock(ReentrantReadWriteLock rwLock, StampedLock stampedLock) {
+            this.rwLock = rwLock;
+            this.stampedLock = stampedLock;
+        }
+
+        private void acquired() {
+            if (rwLock.getWriteHoldCount() == 1) {
+                stamp = stampedLock.writeLock();
+            }
+        }
+
+        @Override
+        public void lock() {
+            rwLock.writeLock().lock();
+            acquired();
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            rwLock.writeLock().lockInterruptibly();
+            acquired();
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (rwLock.writeLock().tryLock()) {
+                acquired();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (rwLock.writeLock().tryLock(time, unit)) {
+                acquired();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            if (rwLock.getWriteHoldCount() == 1) {
+                stampedLock.unlockWrite(stamp);
+            }
+            rwLock.writeLock().unlock();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final LockStrategy lockStrategy;
+
+    private StampedLock stampedLock;
+    private Lock readLock, writeLock;
+
+    private void initLocks() {
+        switch (lockStrategy) {
+        case STAMPED_LOCK: {
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock(false);
+            stampedLock = new StampedLock();
+            readLock = lock.readLock();
+            writeLock = new StampedWriteLock(lock, stampedLock);
+            break;
+        }
+        case LOCK_FREE: {
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock(false);
+            stampedLock = null;
+            readLock = NOOP_LOCK;
+            writeLock = lock.writeLock();
+            break;
+        }
+        default: {
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
+            stampedLock = null;
+            readLock = lock.readLock();
+            writeLock = lock.writeLock();
+        }
+        }
+    }
+
+    /**
+     * Lock strategy of this BO.
+     * 
+     * @return
+     * @since 1.1.2
+     */
+    public LockStrategy getLockStrategy() {
+        return lockStrategy;
+    }
+
+    /**
+     * Current snapshot of BO's attributes, read according to the lock strategy.
+     * 
+     * @return
+     */
+    private ImmutableAttributeMap snapshot() {
+        switch (lockStrategy) {
+        case LOCK_FREE:
+            return attributes;
+        case STAMPED_LOCK: {
+            long stamp = stampedLock.tryOptimisticRead();
+            ImmutableAttributeMap result = attributes;
+            if (stamp != 0 && stampedLock.validate(stamp)) {
+                return result;
+            }
+            // a write is in progress: wait for it
+            return lockedSnapshot();
+        }
+        default:
+            return lockedSnapshot();
+        }
+    }
+
+    private ImmutableAttributeMap lockedSnapshot() {
+        Lock lock = lockForRead();
+        try {
+            return attributes;
+        } finally {
+            lock.unlock();
+        }
+    }
 
     /**
      * Obtain the BO's "read" lock.
      * 
+     * <p>
+     * With {@link LockStrategy#LOCK_FREE}, this is a no-op lock.
+     * </p>
+     * 
      * @return
      * @since 0.10.0
      */
     protected Lock readLock() {
-        return rwLock.readLock();
+        return readLock;
     }
 
     /**
@@ -449,7 +900,7 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @since 0.10.0
      */
     protected Lock writeLock() {
-        return rwLock.writeLock();
+        return writeLock;
     }
 
     /**
@@ -574,8 +1025,9 @@ public class BaseBo implements Cloneable, ISerializationSupport {
             try {
                 Boolean dirty = DPathUtils.getValue(data, SER_FIELD_DIRTY, Boolean.class);
                 Map<String, Object> attrs = DPathUtils.getValue(data, SER_FIELD_ATTRS, Map.class);
-                this.attributes = initAttributes(attrs);
+                this.attributes = track(ImmutableAttributeMap.copyOf(attrs));
                 this.dirty = dirty != null ? dirty.booleanValue() : true;
+                this.cleanAttributes = this.dirty ? null : this.attributes;
                 triggerPopulate();
             } finally {
                 lock.unlock();
@@ -590,11 +1042,11 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      * @return BO's data as a Java map, can be used to de-serialize the BO via {@link #fromMap(Map)}
      */
     public Map<String, Object> toMap() {
-        Lock lock = lockForWrite();
+        Lock lock = lockForRead();
         try {
             Map<String, Object> data = new HashMap<>();
             data.put(SER_FIELD_DIRTY, dirty);
-            data.put(SER_FIELD_ATTRS, attributes != null ? cloneData(attributes) : new HashMap<>());
+            data.put(SER_FIELD_ATTRS, attributes.toMutableMap());
             return data;
         } finally {
             lock.unlock();
@@ -674,18 +1126,8 @@ public class BaseBo implements Cloneable, ISerializationSupport {
         if (obj instanceof BaseBo) {
             BaseBo other = (BaseBo) obj;
             EqualsBuilder eb = new EqualsBuilder();
-            Lock thisLock = lockForRead();
-            try {
-                Lock otherLock = other.lockForRead();
-                try {
-                    eb.append(attributes, other.attributes);
-                    return eb.isEquals();
-                } finally {
-                    otherLock.unlock();
-                }
-            } finally {
-                thisLock.unlock();
-            }
+            eb.append(snapshot(), other.snapshot());
+            return eb.isEquals();
         }
         return false;
     }
@@ -695,14 +1137,9 @@ public class BaseBo implements Cloneable, ISerializationSupport {
      */
     @Override
     public int hashCode() {
-        Lock lock = lockForRead();
-        try {
-            HashCodeBuilder hcb = new HashCodeBuilder(19, 81);
-            hcb.append(attributes);
-            return hcb.hashCode();
-        } finally {
-            lock.unlock();
-        }
+        HashCodeBuilder hcb = new HashCodeBuilder(19, 81);
+        hcb.append(snapshot());
+        return hcb.hashCode();
     }
 
     /**
@@ -7,8 +7,11 @@ import com.github.ddth.dao.utils.ProfilingRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Base class for application DAOs.
@@ -156,6 +159,33 @@ public abstract class BaseDao implements AutoCloseable {
         }
     }
 
+    /**
+     * Remove multiple entries from cache.
+     *
+     * <p>
+     * The cache is looked up only once for all keys.
+     * </p>
+     *
+     * @param cacheName
+     * @param keys
+     * @since 1.1.2
+     */
+    protected void removeFromCache(String cacheName, Collection<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        try {
+            ICache cache = getCache(cacheName);
+            if (cache != null) {
+                for (String key : keys) {
+                    cache.delete(key);
+                }
+            }
+        } catch (CacheException e) {
+            LOGGER.warn(e.getMessage(), e);
+        }
+    }
+
     /**
      * Put an entry to cache, with default TTL.
      *
@@ -204,6 +234,36 @@ public abstract class BaseDao implements AutoCloseable {
         }
     }
 
+    /**
+     * Put multiple entries to cache, with default TTL.
+     *
+     * <p>
+     * The cache is looked up only once for all entries.
+     * </p>
+     *
+     * @param cacheName
+     * @param entries
+     * @since 1.1.2
+     */
+    protected void putToCache(String cacheName, Map<String, ?> entries) {
+        if (entries == null || entries.isEmpty()) {
+            return;
+        }
+        try {
+            ICache cache = getCache(cacheName);
+            if (cache != null) {
+                for (Map.Entry<String, ?> entry : entries.entrySet()) {
+                    Object value = entry.getValue();
+                    if (value != null) {
+                        cache.set(entry.getKey(), value, 0, 0);
+                    }
+                }
+            }
+        } catch (CacheException e) {
+            LOGGER.warn(e.getMessage(), e);
+        }
+    }
+
     /**
      * Get an entry from cache.
      *
@@ -221,6 +281,39 @@ public abstract class BaseDao implements AutoCloseable {
         }
     }
 
+    /**
+     * Get multiple entries from cache.
+     *
+     * <p>
+     * The cache is looked up only once for all keys. Note: entries that are not found, or not
+     * assignable to clazz, are not included in the result.
+     * </p>
+     *
+     * @param cacheName
+     * @param keys
+     * @param clazz
+     * @return
+     * @since 1.1.2
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> Map<String, T> getFromCache(String cacheName, Collection<String> keys, Class<T> clazz) {
+        Map<String, T> result = new HashMap<>();
+        try {
+            ICache cache = keys != null && !keys.isEmpty() ? getCache(cacheName) : null;
+            if (cache != null) {
+                for (String key : keys) {
+                    Object obj = key != null ? cache.get(key) : null;
+                    if (obj != null && clazz.isAssignableFrom(obj.getClass())) {
+                        result.put(key, (T) obj);
+                    }
+                }
+            }
+        } catch (CacheException e) {
+            LOGGER.warn(e.getMessage(), e);
+        }
+        return result;
+    }
+
     /**
      * Get an entry from cache.
      *
@@ -1,7 +1,6 @@
 package com.github.ddth.dao;
 
 import java.util.Date;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 
@@ -15,6 +14,7 @@ import com.github.ddth.commons.utils.DPathUtils;
 import com.github.ddth.commons.utils.HashUtils;
 import com.github.ddth.commons.utils.JacksonUtils;
 import com.github.ddth.commons.utils.SerializationUtils;
+import com.github.ddth.dao.utils.ImmutableAttributeMap;
 
 /**
  * Similar to {@link BaseBo}, but there is one special "data" field which is
@@ -246,12 +246,9 @@ public class BaseDataJsonFieldBo extends BaseBo {
      */
     @Override
     protected long checksum() {
-        Map<String, Object> attrs = getAttributes();
-        if (attrs == null) {
-            return 0;
-        }
+        ImmutableAttributeMap attrs = ImmutableAttributeMap.of(attributeMap());
         if (dataJson != null) {
-            attrs.put(ATTR_DATA, dataJson);
+            attrs = attrs.with(ATTR_DATA, dataJson);
         }
         return HashUtils.checksum(attrs, HashUtils.murmur3);
     }
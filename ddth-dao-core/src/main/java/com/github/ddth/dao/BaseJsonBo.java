@@ -1,15 +1,23 @@
 package com.github.ddth.dao;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.github.ddth.commons.serialization.SerializationException;
 import com.github.ddth.commons.utils.*;
 
+import java.io.IOException;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Similar to {@link BaseBo} but each attribute is JSON-encoded string (or a {@link JsonNode}. If an
@@ -24,12 +32,111 @@ import java.util.concurrent.locks.Lock;
  * is already in JSON-encoded format, the value is used as-is.</li>
  * </ul>
  *
+ * <p>
+ * Since v1.1.2, attributes are parsed lazily: an attribute's JSON string is parsed on first access
+ * and the result is cached (in {@link #cacheJsonObjs}) until the attribute changes. Optionally,
+ * sub-attributes of not-yet-parsed attributes can be read by streaming through the JSON string
+ * (see {@link #setStreamingSubAttr(boolean)}).
+ * </p>
+ *
  * @author Thanh Ba Nguyen <bnguyen2k@gmail.com>
  * @since 0.7.1
  */
 public class BaseJsonBo extends BaseBo {
+
+    private static volatile boolean defaultStreamingSubAttr = false;
+
+    /**
+     * Default value of {@link #isStreamingSubAttr()} for new BOs.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public static boolean isDefaultStreamingSubAttr() {
+        return defaultStreamingSubAttr;
+    }
+
+    /**
+     * Set default value of {@link #isStreamingSubAttr()} for new BOs (default {@code false}).
+     *
+     * @param streamingSubAttr
+     * @since 1.1.2
+     */
+    public static void setDefaultStreamingSubAttr(boolean streamingSubAttr) {
+        defaultStreamingSubAttr = streamingSubAttr;
+    }
+
+    private final static ObjectMapper STREAMING_MAPPER = new ObjectMapper();
+    private final static Pattern PATTERN_INDEX = Pattern.compile("^\\[(\\d{1,9})\\]$");
+
+    /**
+     * Marker returned by {@link #streamSubAttr(String, String)} when the d-path can not be
+     * evaluated by streaming.
+     */
+    private final static JsonNode NOT_STREAMED = JsonNodeFactory.instance.objectNode();
+
+    /**
+     * Parsed attributes, populated lazily by {@link #getAttribute(String)}.
+     */
     protected Map<String, JsonNode> cacheJsonObjs = initAttributes(null);
 
+    private volatile boolean streamingSubAttr = defaultStreamingSubAttr;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public BaseJsonBo clone() {
+        BaseJsonBo obj = (BaseJsonBo) super.clone();
+        obj.cacheJsonObjs = initAttributes(null);
+        return obj;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    protected void triggerCopy() {
+        super.triggerCopy();
+        cacheJsonObjs = initAttributes(null);
+    }
+
+    /**
+     * Are sub-attributes of not-yet-parsed attributes read by streaming through the attribute's
+     * JSON string?
+     *
+     * <p>
+     * Streaming stops as soon as the sub-attribute is found, and the attribute is not parsed nor
+     * cached; this is cheaper when only a few sub-attributes of large attributes are read once.
+     * Only d-paths of field names and non-negative indexes are streamed; other d-paths, and
+     * d-paths that do not match the attribute's structure, are evaluated on the parsed attribute.
+     * </p>
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public boolean isStreamingSubAttr() {
+        return streamingSubAttr;
+    }
+
+    /**
+     * Should sub-attributes of not-yet-parsed attributes be read by streaming through the
+     * attribute's JSON string? (default value see {@link #setDefaultStreamingSubAttr(boolean)})
+     *
+     * @param streamingSubAttr
+     * @return
+     * @see #isStreamingSubAttr()
+     * @since 1.1.2
+     */
+    public BaseJsonBo setStreamingSubAttr(boolean streamingSubAttr) {
+        this.streamingSubAttr = streamingSubAttr;
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -72,14 +179,34 @@ public class BaseJsonBo extends BaseBo {
         }
     }
 
+    private static JsonNode toJsonNode(Object value) {
+        return value instanceof JsonNode ? (JsonNode) value : SerializationUtils.readJson(value.toString());
+    }
+
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * Since v1.1.2, the attribute is parsed on first access.
+     * </p>
      */
     @Override
     public JsonNode getAttribute(String attrName) {
         Lock lock = lockForRead();
         try {
-            return cacheJsonObjs.get(attrName);
+            JsonNode node = cacheJsonObjs.get(attrName);
+            if (node == null) {
+                Object value = super.getAttribute(attrName);
+                node = value != null ? toJsonNode(value) : null;
+                if (node != null) {
+                    cacheJsonObjs.put(attrName, node);
+                    if (super.getAttribute(attrName) != value) {
+                        // the attribute has been changed meanwhile, do not keep the stale node
+                        cacheJsonObjs.remove(attrName, node);
+                    }
+                }
+            }
+            return node;
         } finally {
             lock.unlock();
         }
@@ -132,7 +259,7 @@ public class BaseJsonBo extends BaseBo {
     public JsonNode getSubAttr(String attrName, String dPath) {
         Lock lock = lockForRead();
         try {
-            return JacksonUtils.getValue(getAttribute(attrName), dPath);
+            return subAttr(attrName, dPath);
         } finally {
             lock.unlock();
         }
@@ -150,7 +277,10 @@ public class BaseJsonBo extends BaseBo {
     public <T> T getSubAttr(String attrName, String dPath, Class<T> clazz) {
         Lock lock = lockForRead();
         try {
-            return JacksonUtils.getValue(getAttribute(attrName), dPath, clazz);
+            if (clazz == null) {
+                throw new NullPointerException("Class parameter is null.");
+            }
+            return ValueUtils.convertValue(subAttr(attrName, dPath), clazz);
         } finally {
             lock.unlock();
         }
@@ -181,12 +311,89 @@ public class BaseJsonBo extends BaseBo {
     public Date getSubAttrAsDate(String attrName, String dPath, String dateTimeFormat) {
         Lock lock = lockForRead();
         try {
-            return JacksonUtils.getDate(getAttribute(attrName), dPath, dateTimeFormat);
+            return ValueUtils.convertDate(subAttr(attrName, dPath), dateTimeFormat);
         } finally {
             lock.unlock();
         }
     }
 
+    /**
+     * Get a sub-attribute using d-path, by streaming if enabled and the attribute has not been
+     * parsed yet (see {@link #isStreamingSubAttr()}).
+     *
+     * @param attrName
+     * @param dPath
+     * @return
+     * @since 1.1.2
+     */
+    private JsonNode subAttr(String attrName, String dPath) {
+        if (streamingSubAttr && !cacheJsonObjs.containsKey(attrName)) {
+            Object value = super.getAttribute(attrName);
+            if (value instanceof String) {
+                JsonNode node = streamSubAttr((String) value, dPath);
+                if (node != NOT_STREAMED) {
+                    return node;
+                }
+            }
+        }
+        return JacksonUtils.getValue(getAttribute(attrName), dPath);
+    }
+
+    /**
+     * Evaluate a d-path by streaming through a JSON string, reading only the matched sub-tree.
+     *
+     * @param json
+     * @param dPath
+     * @return {@link #NOT_STREAMED} if the d-path can not be evaluated by streaming
+     * @since 1.1.2
+     */
+    private static JsonNode streamSubAttr(String json, String dPath) {
+        String[] paths = DPathUtils.splitDpath(dPath);
+        if (paths.length == 0) {
+            return NOT_STREAMED;
+        }
+        try (JsonParser parser = STREAMING_MAPPER.getFactory().createParser(json)) {
+            JsonToken token = parser.nextToken();
+            for (String path : paths) {
+                if (token == JsonToken.VALUE_NULL) {
+                    return null;
+                }
+                if (path.startsWith("[")) {
+                    Matcher m = PATTERN_INDEX.matcher(path);
+                    if (token != JsonToken.START_ARRAY || !m.matches()) {
+                        return NOT_STREAMED;
+                    }
+                    token = parser.nextToken();
+                    for (int i = Integer.parseInt(m.group(1)); i > 0 && token != JsonToken.END_ARRAY; i--) {
+                        parser.skipChildren();
+                        token = parser.nextToken();
+                    }
+                    if (token == JsonToken.END_ARRAY) {
+                        return NOT_STREAMED;
+                    }
+                } else {
+                    if (token != JsonToken.START_OBJECT) {
+                        return NOT_STREAMED;
+                    }
+                    boolean found = false;
+                    while (!found && parser.nextToken() == JsonToken.FIELD_NAME) {
+                        found = path.equals(parser.getCurrentName());
+                        token = parser.nextToken();
+                        if (!found) {
+                            parser.skipChildren();
+                        }
+                    }
+                    if (!found) {
+                        return null;
+                    }
+                }
+            }
+            return STREAMING_MAPPER.readTree(parser);
+        } catch (IOException e) {
+            return NOT_STREAMED;
+        }
+    }
+
     /**
      * Set a sub-attribute.
      *
@@ -200,7 +407,7 @@ public class BaseJsonBo extends BaseBo {
         }
         Lock lock = lockForWrite();
         try {
-            JsonNode attr = cacheJsonObjs.get(attrName);
+            JsonNode attr = getAttribute(attrName);
             if (attr == null) {
                 // initialize the first chunk
                 String[] paths = DPathUtils.splitDpath(dPath);
@@ -209,7 +416,7 @@ public class BaseJsonBo extends BaseBo {
                 } else {
                     setAttribute(attrName, "{}");
                 }
-                attr = cacheJsonObjs.get(attrName);
+                attr = getAttribute(attrName);
             }
             JacksonUtils.setValue(attr, dPath, value, true);
             return setAttribute(attrName, SerializationUtils.toJsonString(attr), false);
@@ -228,7 +435,7 @@ public class BaseJsonBo extends BaseBo {
     public BaseJsonBo removeSubAttr(String attrName, String dPath) {
         Lock lock = lockForWrite();
         try {
-            JsonNode attr = cacheJsonObjs.get(attrName);
+            JsonNode attr = getAttribute(attrName);
             JacksonUtils.deleteValue(attr, dPath);
             return setAttribute(attrName, SerializationUtils.toJsonString(attr), false);
         } finally {
@@ -242,20 +449,7 @@ public class BaseJsonBo extends BaseBo {
     @Override
     protected void triggerChange(String attrName) {
         super.triggerChange(attrName);
-        Lock lock = lockForRead();
-        try {
-            Object value = super.getAttribute(attrName);
-            if (value == null) {
-                cacheJsonObjs.remove(attrName);
-            } else {
-                JsonNode node = value instanceof JsonNode ?
-                        (JsonNode) value :
-                        SerializationUtils.readJson(value.toString());
-                cacheJsonObjs.put(attrName, node);
-            }
-        } finally {
-            lock.unlock();
-        }
+        cacheJsonObjs.remove(attrName);
     }
 
     /**
@@ -264,32 +458,27 @@ public class BaseJsonBo extends BaseBo {
     @Override
     protected void triggerPopulate() {
         super.triggerPopulate();
-        Lock lock = lockForRead();
-        try {
-            cacheJsonObjs.clear();
-            Map<String, Object> attributeMap = attributeMap();
-            if (attributeMap != null) {
-                attributeMap.forEach((k, v) -> {
-                    if (v != null) {
-                        JsonNode node = v instanceof JsonNode ?
-                                (JsonNode) v :
-                                SerializationUtils.readJson(v.toString());
-                        cacheJsonObjs.put(k, node);
-                    }
-                });
-            }
-        } finally {
-            lock.unlock();
-        }
+        cacheJsonObjs.clear();
     }
 
     /**
      * {@inheritDoc}
      *
+     * <p>
+     * Checksum is calculated over the parsed attributes (all attributes are parsed).
+     * </p>
+     *
      * @since 0.10.0
      */
     @Override
     protected long checksum() {
-        return HashUtils.checksum(cacheJsonObjs, HashUtils.murmur3);
+        Map<String, JsonNode> jsonObjs = new HashMap<>();
+        for (String attrName : attributeMap().keySet()) {
+            JsonNode node = getAttribute(attrName);
+            if (node != null) {
+                jsonObjs.put(attrName, node);
+            }
+        }
+        return HashUtils.checksum(jsonObjs, HashUtils.murmur3);
     }
 }
@@ -3,6 +3,9 @@ package com.github.ddth.dao;
 import com.github.ddth.dao.utils.DaoException;
 import com.github.ddth.dao.utils.DaoResult;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -117,4 +120,96 @@ public interface IGenericBoDao<T> {
         }
         return result;
     }
+
+    /**
+     * Create/Persist multiple new BOs to storage.
+     *
+     * <p>
+     * This default implementation calls {@link #create(Object)} for each BO; implementations
+     * should override it with true batch write.
+     * </p>
+     *
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @throws DaoException
+     * @since 1.1.2
+     */
+    default List<DaoResult> createBatch(Collection<T> bos) throws DaoException {
+        List<DaoResult> result = new ArrayList<>();
+        if (bos != null) {
+            for (T bo : bos) {
+                result.add(create(bo));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Update multiple existing BOs.
+     *
+     * <p>
+     * This default implementation calls {@link #update(Object)} for each BO; implementations
+     * should override it with true batch write.
+     * </p>
+     *
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @throws DaoException
+     * @since 1.1.2
+     */
+    default List<DaoResult> updateBatch(Collection<T> bos) throws DaoException {
+        List<DaoResult> result = new ArrayList<>();
+        if (bos != null) {
+            for (T bo : bos) {
+                result.add(update(bo));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Delete multiple existing BOs from storage.
+     *
+     * <p>
+     * This default implementation calls {@link #delete(Object)} for each BO; implementations
+     * should override it with true batch write.
+     * </p>
+     *
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @throws DaoException
+     * @since 1.1.2
+     */
+    default List<DaoResult> deleteBatch(Collection<T> bos) throws DaoException {
+        List<DaoResult> result = new ArrayList<>();
+        if (bos != null) {
+            for (T bo : bos) {
+                result.add(delete(bo));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create new BOs or update existing ones.
+     *
+     * <p>
+     * This default implementation calls {@link #createOrUpdate(Object)} for each BO;
+     * implementations should override it with true batch write.
+     * </p>
+     *
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @throws DaoException
+     * @since 1.1.2
+     */
+    default List<DaoResult> createOrUpdateBatch(Collection<T> bos) throws DaoException {
+        List<DaoResult> result = new ArrayList<>();
+        if (bos != null) {
+            for (T bo : bos) {
+                result.add(createOrUpdate(bo));
+            }
+        }
+        return result;
+    }
 }
@@ -2,6 +2,8 @@ package com.github.ddth.dao;
 
 import com.github.ddth.dao.utils.DaoException;
 import com.github.ddth.dao.utils.DaoResult;
+import com.github.ddth.dao.utils.MultiGetRequest;
+import com.github.ddth.dao.utils.MultiGetResult;
 
 import java.util.stream.Stream;
 
@@ -51,6 +53,44 @@ public interface IGenericMultiBoDao {
      */
     <T> T[] get(Class<T> clazz, BoId... idList) throws DaoException;
 
+    /**
+     * Fetch existing BOs of multiple classes from storage by id.
+     *
+     * <p>
+     * Failure of one class does not fail the whole request: the error is reported via
+     * {@link MultiGetResult#getError(Class)}. This default implementation fetches classes one
+     * after another and does not enforce timeouts.
+     * </p>
+     *
+     * @param request
+     * @return
+     * @throws DaoException
+     * @since 1.1.2
+     */
+    default MultiGetResult get(MultiGetRequest request) throws DaoException {
+        MultiGetResult result = new MultiGetResult(request);
+        for (Class<?> clazz : request.getClasses()) {
+            getInto(result, clazz, request.getIds(clazz));
+        }
+        return result;
+    }
+
+    /**
+     * Fetch BOs of a class and record them (or the error) to a {@link MultiGetResult}.
+     *
+     * @param result
+     * @param clazz
+     * @param idList
+     * @since 1.1.2
+     */
+    private <T> void getInto(MultiGetResult result, Class<T> clazz, BoId... idList) {
+        try {
+            result.put(clazz, get(clazz, idList));
+        } catch (RuntimeException e) {
+            result.putError(clazz, e);
+        }
+    }
+
     /**
      * Fetch all existing BOs from storage and return the result as a stream.
      *
@@ -1,6 +1,7 @@
 package com.github.ddth.dao.jdbc;
 
 import com.github.ddth.dao.BaseBo;
+import com.github.ddth.dao.utils.AccessorUtils;
 import com.github.ddth.dao.utils.BoUtils;
 import com.github.ddth.dao.utils.DaoException;
 import com.google.common.cache.Cache;
@@ -24,6 +25,9 @@ import java.util.Date;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Abstract generic implementation of {@link IRowMapper}.
@@ -156,6 +160,25 @@ public abstract class AbstractGenericRowMapper<T> implements IRowMapper<T> {
         R perform(String colName) throws SQLException;
     }
 
+    /**
+     * Action to extract table column data by column index.
+     *
+     * @since 1.1.2
+     */
+    protected interface ColumnIndexDataExtractor<R> {
+        R perform(int colIndex) throws SQLException;
+    }
+
+    /**
+     * Compiled action to read a table column (by index) from a {@link ResultSet} and populate the
+     * value to a BO attribute.
+     *
+     * @since 1.1.2
+     */
+    protected interface ColumnDataPopulator<B> {
+        void populate(B bo, ResultSet rs, int colIndex) throws SQLException;
+    }
+
     /**
      * Db table column -> BO attribute mapping.
      */
@@ -194,6 +217,27 @@ public abstract class AbstractGenericRowMapper<T> implements IRowMapper<T> {
             method.invoke(bo, func.perform(colName));
         }
 
+        /**
+         * Extract data from DB table column (by index) and populate to BO attribute.
+         *
+         * @param bo
+         * @param func
+         * @param colIndex
+         * @throws IllegalAccessException
+         * @throws IllegalArgumentException
+         * @throws InvocationTargetException
+         * @throws NoSuchMethodException
+         * @throws SecurityException
+         * @throws SQLException
+         * @since 1.1.2
+         */
+        public void extractColumData(Object bo, ColumnIndexDataExtractor<?> func, int colIndex)
+                throws IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+                NoSuchMethodException, SecurityException, SQLException {
+            Method method = getSetterMethod(bo);
+            method.invoke(bo, func.perform(colIndex));
+        }
+
         /**
          * @param bo
          * @return
@@ -202,28 +246,138 @@ public abstract class AbstractGenericRowMapper<T> implements IRowMapper<T> {
          * @since 0.8.0.2
          */
         protected Method getSetterMethod(Object bo) throws NoSuchMethodException, SecurityException {
+            return getSetterMethod(bo.getClass());
+        }
+
+        /**
+         * @param boClass
+         * @return
+         * @throws NoSuchMethodException
+         * @throws SecurityException
+         * @since 1.1.2
+         */
+        protected Method getSetterMethod(Class<?> boClass) throws NoSuchMethodException, SecurityException {
             Class<?>[] primitiveAndWrapperClasses = { boolean.class, Boolean.class, byte.class, Byte.class, short.class,
                     Short.class, int.class, Integer.class, long.class, Long.class, float.class, Float.class,
                     double.class, Double.class, char.class, Character.class };
             for (int i = 0, n = primitiveAndWrapperClasses.length / 2; i < n; i++) {
                 if (attrClass == primitiveAndWrapperClasses[i * 2] || attrClass == primitiveAndWrapperClasses[i * 2
                         + 1]) {
-                    return getSetter(bo, setterName, primitiveAndWrapperClasses[i * 2],
+                    return getSetter(boClass, setterName, primitiveAndWrapperClasses[i * 2],
                             primitiveAndWrapperClasses[i * 2 + 1]);
                 }
             }
-            return bo.getClass().getMethod(setterName, attrClass);
+            return boClass.getMethod(setterName, attrClass);
         }
 
-        private static Method getSetter(Object obj, String methodName, Class<?> primitiveClass, Class<?> wrapperClass)
-                throws NoSuchMethodException, SecurityException {
+        private static Method getSetter(Class<?> clazz, String methodName, Class<?> primitiveClass,
+                Class<?> wrapperClass) throws NoSuchMethodException, SecurityException {
             try {
-                return obj.getClass().getMethod(methodName, primitiveClass);
+                return clazz.getMethod(methodName, primitiveClass);
             } catch (NoSuchMethodException | SecurityException _e) {
-                return obj.getClass().getMethod(methodName, wrapperClass);
+                return clazz.getMethod(methodName, wrapperClass);
             }
         }
 
+        /**
+         * Compile the "extract data from DB table column and populate to BO attribute" action for
+         * a BO class.
+         *
+         * <p>
+         * The compiled action calls the {@link ResultSet}'s getter and the BO's setter directly,
+         * without reflection and type dispatching.
+         * </p>
+         *
+         * @param boClass
+         * @return
+         * @throws NoSuchMethodException
+         * @throws SecurityException
+         * @since 1.1.2
+         */
+        @SuppressWarnings("unchecked")
+        public <B> ColumnDataPopulator<B> compilePopulator(Class<B> boClass)
+                throws NoSuchMethodException, SecurityException {
+            Method method = getSetterMethod(boClass);
+            if (attrClass == boolean.class || attrClass == Boolean.class) {
+                AccessorUtils.BooleanSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.BooleanSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getBoolean(i));
+            } else if (attrClass == char.class || attrClass == Character.class) {
+                AccessorUtils.CharSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.CharSetter.class);
+                return (bo, rs, i) -> setter.set(bo, toChar(rs.getString(i)));
+            } else if (attrClass == byte.class || attrClass == Byte.class) {
+                AccessorUtils.ByteSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.ByteSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getByte(i));
+            } else if (attrClass == short.class || attrClass == Short.class) {
+                AccessorUtils.ShortSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.ShortSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getShort(i));
+            } else if (attrClass == int.class || attrClass == Integer.class) {
+                AccessorUtils.IntSetter<B> setter = AccessorUtils.compileSetter(method, AccessorUtils.IntSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getInt(i));
+            } else if (attrClass == long.class || attrClass == Long.class) {
+                AccessorUtils.LongSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.LongSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getLong(i));
+            } else if (attrClass == float.class || attrClass == Float.class) {
+                AccessorUtils.FloatSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.FloatSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getFloat(i));
+            } else if (attrClass == double.class || attrClass == Double.class) {
+                AccessorUtils.DoubleSetter<B> setter = AccessorUtils
+                        .compileSetter(method, AccessorUtils.DoubleSetter.class);
+                return (bo, rs, i) -> setter.set(bo, rs.getDouble(i));
+            }
+            BiConsumer<B, Object> setter = AccessorUtils.compileSetter(method, BiConsumer.class);
+            if (attrClass == String.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getString(i));
+            } else if (attrClass == BigInteger.class) {
+                return (bo, rs, i) -> setter.accept(bo, toBigInteger(rs.getBigDecimal(i)));
+            } else if (attrClass == BigDecimal.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getBigDecimal(i));
+            } else if (attrClass == byte[].class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getBytes(i));
+            } else if (attrClass == Blob.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getBlob(i));
+            } else if (attrClass == Clob.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getClob(i));
+            } else if (attrClass == NClob.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getNClob(i));
+            } else if (attrClass == Date.class || attrClass == Timestamp.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getTimestamp(i));
+            } else if (attrClass == java.sql.Date.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getDate(i));
+            } else if (attrClass == java.sql.Time.class) {
+                return (bo, rs, i) -> setter.accept(bo, rs.getTime(i));
+            }
+            throw new IllegalArgumentException("Unsupported attribute class " + attrClass);
+        }
+
+        /**
+         * Convert a {@code CHAR} column value to a {@code char} attribute value: the first
+         * character, {@code 0} if {@code null} or empty.
+         *
+         * @param value
+         * @return
+         * @since 1.1.2
+         */
+        protected static char toChar(String value) {
+            return value != null && value.length() > 0 ? value.charAt(0) : 0;
+        }
+
+        /**
+         * Convert a numeric column value to a {@link BigInteger} attribute value.
+         *
+         * @param value
+         * @return
+         * @since 1.1.2
+         */
+        protected static BigInteger toBigInteger(BigDecimal value) {
+            return value != null ? value.toBigInteger() : null;
+        }
+
         /**
          * Extract attribute value from a BO.
          *
@@ -242,6 +396,32 @@ public abstract class AbstractGenericRowMapper<T> implements IRowMapper<T> {
             return method.invoke(bo);
         }
 
+        /**
+         * Compile the "extract attribute value from a BO" action for a BO class.
+         *
+         * <p>
+         * If the getter method is not found on the BO class (e.g. it is declared in a sub-class),
+         * the returned function falls back to {@link #extractAttrValue(Object)}.
+         * </p>
+         *
+         * @param boClass
+         * @return
+         * @since 1.1.2
+         */
+        public <B> Function<B, Object> compileGetter(Class<B> boClass) {
+            try {
+                return AccessorUtils.compileGetter(boClass.getMethod(getterName));
+            } catch (NoSuchMethodException | SecurityException e) {
+                return bo -> {
+                    try {
+                        return extractAttrValue(bo);
+                    } catch (Exception ex) {
+                        throw ex instanceof DaoException ? (DaoException) ex : new DaoException(ex);
+                    }
+                };
+            }
+        }
+
         private String cachedToString;
 
         /**
@@ -304,50 +484,172 @@ public abstract class AbstractGenericRowMapper<T> implements IRowMapper<T> {
         return this.getClass().getClassLoader();
     }
 
+    private boolean compiledMapping = false;
+
+    /**
+     * Is "compiled-mapping" mode enabled?
+     *
+     * <p>
+     * In "compiled-mapping" mode, a specialized mapper (BO's constructor, {@link ResultSet}'s
+     * getters and BO's setters compiled to lambdas) is generated for the BO class on first use.
+     * Columns are read by index and setters are called directly: no reflection, map iteration or
+     * type dispatching per row.
+     * </p>
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public boolean isCompiledMapping() {
+        return compiledMapping;
+    }
+
+    /**
+     * Enable/Disable "compiled-mapping" mode.
+     *
+     * @param compiledMapping
+     * @return
+     * @see #isCompiledMapping()
+     * @since 1.1.2
+     */
+    public AbstractGenericRowMapper<T> setCompiledMapping(boolean compiledMapping) {
+        this.compiledMapping = compiledMapping;
+        return this;
+    }
+
+    /**
+     * Specialized mapper for a BO class, generated in "compiled-mapping" mode.
+     *
+     * @since 1.1.2
+     */
+    private static class CompiledMapper<T> {
+        private final Supplier<T> constructor;
+        private final String[] colNames;
+        private final ColumnDataPopulator<T>[] populators;
+
+        public CompiledMapper(Class<T> boClass, Map<String, ColAttrMapping> colAttrMappings)
+                throws NoSuchMethodException {
+            this.constructor = AccessorUtils.compileConstructor(boClass);
+            this.colNames = new String[colAttrMappings.size()];
+            this.populators = newPopulators(colNames.length);
+            int i = 0;
+            for (Entry<String, ColAttrMapping> entry : colAttrMappings.entrySet()) {
+                colNames[i] = entry.getValue().colName;
+                populators[i] = entry.getValue().compilePopulator(boClass);
+                i++;
+            }
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static <B> ColumnDataPopulator<B>[] newPopulators(int size) {
+            return new ColumnDataPopulator[size];
+        }
+
+        /**
+         * Column indexes are resolved once per {@link ResultSetLayout} and attached to it, so
+         * result sets of different layouts can be mapped concurrently.
+         */
+        private int[] columnIndexes(ResultSetLayout layout) throws SQLException {
+            int[] indexes = (int[]) layout.getAttachment(this);
+            if (indexes == null) {
+                indexes = new int[colNames.length];
+                for (int i = 0; i < colNames.length; i++) {
+                    indexes[i] = layout.findColumn(colNames[i]);
+                }
+                layout.setAttachment(this, indexes);
+            }
+            return indexes;
+        }
+
+        public T mapRow(ResultSet rs, ResultSetLayout layout) throws SQLException {
+            int[] indexes = columnIndexes(layout);
+            T bo = constructor.get();
+            for (int i = 0; i < populators.length; i++) {
+                populators[i].populate(bo, rs, indexes[i]);
+            }
+            if (bo instanceof BaseBo) {
+                ((BaseBo) bo).markClean();
+            }
+            return bo;
+        }
+    }
+
+    private volatile CompiledMapper<T> compiledMapper;
+
+    @SuppressWarnings("unchecked")
+    private CompiledMapper<T> getCompiledMapper() {
+        CompiledMapper<T> mapper = compiledMapper;
+        if (mapper == null) {
+            try {
+                Class<T> boClass = (Class<T>) Class.forName(typeClass.getName(), false, getClassLoader());
+                mapper = new CompiledMapper<>(boClass, getColumnAttributeMappings());
+                compiledMapper = mapper;
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                throw new DaoException(e);
+            }
+        }
+        return mapper;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return mapRow(rs, ResultSetLayout.of(rs), rowNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public T mapRow(ResultSet rs, ResultSetLayout layout, int rowNum) throws SQLException {
+        if (compiledMapping) {
+            return getCompiledMapper().mapRow(rs, layout);
+        }
         try {
             Map<String, ColAttrMapping> colAttrMappings = getColumnAttributeMappings();
             T bo = BoUtils.createObject(typeClass.getName(), getClassLoader(), typeClass);
             for (Entry<String, ColAttrMapping> entry : colAttrMappings.entrySet()) {
                 ColAttrMapping mapping = entry.getValue();
+                int colIndex = layout.findColumn(mapping.colName);
                 if (mapping.attrClass == boolean.class || mapping.attrClass == Boolean.class) {
-                    mapping.extractColumData(bo, rs::getBoolean);
-                } else if (mapping.attrClass == char.class || mapping.attrClass == Character.class
-                        || mapping.attrClass == String.class) {
-                    mapping.extractColumData(bo, rs::getString);
+                    mapping.extractColumData(bo, rs::getBoolean, colIndex);
+                } else if (mapping.attrClass == char.class || mapping.attrClass == Character.class) {
+                    mapping.extractColumData(bo, i -> ColAttrMapping.toChar(rs.getString(i)), colIndex);
+                } else if (mapping.attrClass == String.class) {
+                    mapping.extractColumData(bo, rs::getString, colIndex);
                 } else if (mapping.attrClass == byte.class || mapping.attrClass == Byte.class) {
-                    mapping.extractColumData(bo, rs::getByte);
+                    mapping.extractColumData(bo, rs::getByte, colIndex);
                 } else if (mapping.attrClass == short.class || mapping.attrClass == Short.class) {
-                    mapping.extractColumData(bo, rs::getShort);
+                    mapping.extractColumData(bo, rs::getShort, colIndex);
                 } else if (mapping.attrClass == int.class || mapping.attrClass == Integer.class) {
-                    mapping.extractColumData(bo, rs::getInt);
-                } else if (mapping.attrClass == long.class || mapping.attrClass == Long.class
-                        || mapping.attrClass == BigInteger.class) {
-                    mapping.extractColumData(bo, rs::getLong);
+                    mapping.extractColumData(bo, rs::getInt, colIndex);
+                } else if (mapping.attrClass == long.class || mapping.attrClass == Long.class) {
+                    mapping.extractColumData(bo, rs::getLong, colIndex);
+                } else if (mapping.attrClass == BigInteger.class) {
+                    mapping.extractColumData(bo, i -> ColAttrMapping.toBigInteger(rs.getBigDecimal(i)), colIndex);
                 } else if (mapping.attrClass == float.class || mapping.attrClass == Float.class) {
-                    mapping.extractColumData(bo, rs::getFloat);
+                    mapping.extractColumData(bo, rs::getFloat, colIndex);
                 } else if (mapping.attrClass == double.class || mapping.attrClass == Double.class) {
-                    mapping.extractColumData(bo, rs::getDouble);
+                    mapping.extractColumData(bo, rs::getDouble, colIndex);
                 } else if (mapping.attrClass == BigDecimal.class) {
-                    mapping.extractColumData(bo, rs::getBigDecimal);
+                    mapping.extractColumData(bo, rs::getBigDecimal, colIndex);
                 } else if (mapping.attrClass == byte[].class) {
-                    mapping.extractColumData(bo, rs::getBytes);
+                    mapping.extractColumData(bo, rs::getBytes, colIndex);
                 } else if (mapping.attrClass == Blob.class) {
-                    mapping.extractColumData(bo, rs::getBlob);
+                    mapping.extractColumData(bo, rs::getBlob, colIndex);
                 } else if (mapping.attrClass == Clob.class) {
-                    mapping.extractColumData(bo, rs::getClob);
+                    mapping.extractColumData(bo, rs::getClob, colIndex);
                 } else if (mapping.attrClass == NClob.class) {
-                    mapping.extractColumData(bo, rs::getNClob);
+                    mapping.extractColumData(bo, rs::getNClob, colIndex);
                 } else if (mapping.attrClass == Date.class || mapping.attrClass == Timestamp.class) {
-                    mapping.extractColumData(bo, rs::getTimestamp);
+                    mapping.extractColumData(bo, rs::getTimestamp, colIndex);
                 } else if (mapping.attrClass == java.sql.Date.class) {
-                    mapping.extractColumData(bo, rs::getDate);
+                    mapping.extractColumData(bo, rs::getDate, colIndex);
                 } else if (mapping.attrClass == java.sql.Time.class) {
-                    mapping.extractColumData(bo, rs::getTime);
+                    mapping.extractColumData(bo, rs::getTime, colIndex);
                 } else {
                     throw new IllegalArgumentException("Unsupported attribute class " + mapping.attrClass);
                 }
@@ -364,21 +666,116 @@ public abstract class AbstractGenericRowMapper<T> implements IRowMapper<T> {
     /**
      * Extract attribute values from a BO for corresponding DB table columns
      *
+     * <p>
+     * Since v1.1.2, values are extracted using a pre-compiled plan (see
+     * {@link #compileValuesExtractor(String...)}).
+     * </p>
+     *
      * @param bo
      * @return
      */
     public Object[] valuesForColumns(T bo, String... columns) {
+        return compileValuesExtractor(columns).extract(bo);
+    }
+
+    /**
+     * Pre-compiled plan to extract attribute values from a BO for a list of DB table columns.
+     *
+     * @since 1.1.2
+     */
+    public static class ValuesExtractor<T> {
+        private final String[] columns;
+        private final Function<T, Object>[] getters;
+
+        private ValuesExtractor(String[] columns, Function<T, Object>[] getters) {
+            this.columns = columns;
+            this.getters = getters;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static <B> Function<B, Object>[] newGetters(int size) {
+            return new Function[size];
+        }
+
+        /**
+         * DB table columns this plan extracts values for.
+         *
+         * @return
+         */
+        public String[] getColumns() {
+            return columns.clone();
+        }
+
+        /**
+         * Number of values extracted by this plan.
+         *
+         * @return
+         */
+        public int size() {
+            return columns.length;
+        }
+
+        /**
+         * Extract attribute values from a BO to a new array.
+         *
+         * @param bo
+         * @return
+         */
+        public Object[] extract(T bo) {
+            return extract(bo, new Object[columns.length]);
+        }
+
+        /**
+         * Extract attribute values from a BO and fill them to an existing array (which can be
+         * re-used between calls).
+         *
+         * @param bo
+         * @param output must have at least {@link #size()} elements
+         * @return the {@code output} array
+         */
+        public Object[] extract(T bo, Object[] output) {
+            for (int i = 0; i < getters.length; i++) {
+                output[i] = getters[i] != null ? getters[i].apply(bo) : null;
+            }
+            return output;
+        }
+    }
+
+    private Cache<String, ValuesExtractor<T>> cacheValuesExtractors = CacheBuilder.newBuilder().build();
+
+    /**
+     * Build (and cache) the pre-compiled plan to extract attribute values from a BO for the
+     * specified DB table columns.
+     *
+     * @param columns
+     * @return
+     * @since 1.1.2
+     */
+    public ValuesExtractor<T> compileValuesExtractor(String... columns) {
+        try {
+            return cacheValuesExtractors.get(StringUtils.join(columns, ","), () -> buildValuesExtractor(columns));
+        } catch (ExecutionException e) {
+            throw new DaoException(e.getCause());
+        }
+    }
+
+    /**
+     * Build the pre-compiled plan to extract attribute values from a BO for the specified DB table
+     * columns, without caching it (see {@link #compileValuesExtractor(String...)}). Useful when the
+     * caller keeps the plan in its own (bounded) cache.
+     *
+     * @param columns
+     * @return
+     * @since 1.1.2
+     */
+    public ValuesExtractor<T> buildValuesExtractor(String... columns) {
         Map<String, ColAttrMapping> columnAttributeMappings = getColumnAttributeMappings();
-        Object[] result = new Object[columns.length];
+        Function<T, Object>[] getters = ValuesExtractor.newGetters(columns.length);
         for (int i = 0; i < columns.length; i++) {
             ColAttrMapping colAttrMapping = columnAttributeMappings.get(columns[i]);
-            try {
-                result[i] = colAttrMapping != null ? colAttrMapping.extractAttrValue(bo) : null;
-            } catch (Exception e) {
-                throw e instanceof DaoException ? (DaoException) e : new DaoException(e);
-            }
+            getters[i] = colAttrMapping != null ? colAttrMapping.compileGetter(typeClass) : null;
         }
-        return result;
+        return new ValuesExtractor<>(columns.clone(), getters);
     }
 
     private String[] cachedAllColumns;
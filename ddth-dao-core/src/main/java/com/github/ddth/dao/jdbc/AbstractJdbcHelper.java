@@ -1,11 +1,15 @@
 package com.github.ddth.dao.jdbc;
 
 import com.github.ddth.dao.BaseDao;
+import com.github.ddth.dao.jdbc.impl.ColumnBlockIterator;
+import com.github.ddth.dao.jdbc.impl.PrefetchingResultSetIterator;
 import com.github.ddth.dao.jdbc.impl.ResultSetIterator;
 import com.github.ddth.dao.utils.DaoException;
 import com.github.ddth.dao.utils.DatabaseVendor;
 import com.github.ddth.dao.utils.DbcHelper;
 import com.github.ddth.dao.utils.JdbcHelper;
+import com.github.ddth.dao.utils.NamedParamsSql;
+import com.google.common.cache.CacheStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
@@ -14,16 +18,18 @@ import org.springframework.jdbc.support.SQLErrorCodesFactory;
 import org.springframework.jdbc.support.SQLExceptionTranslator;
 
 import javax.sql.DataSource;
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -40,9 +46,17 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
 
     private String id = UUID.randomUUID().toString();
     private Map<String, DataSource> dataSources = new HashMap<>();
+    private Map<String, DbcHelper.DataSourceHandle> dataSourceHandles = new ConcurrentHashMap<>();
     private SQLErrorCodesFactory sqlErrorCodesFactory = SQLErrorCodesFactory.getInstance();
     private ConcurrentMap<DataSource, SQLExceptionTranslator> cachedSQLExceptionTranslators = new ConcurrentHashMap<>();
+    private ConcurrentMap<String, SQLExceptionTranslator> cachedSQLExceptionTranslatorsByDbName = new ConcurrentHashMap<>();
     private int defaultFetchSize = 10;
+    private int statementCacheSize = 0;
+    private int streamPrefetchBlockSize = 0, streamPrefetchQueueDepth = 4;
+    private Executor streamPrefetchExecutor;
+    private final AtomicLong statementCacheHits = new AtomicLong(), statementCacheMisses = new AtomicLong(),
+            statementCacheEvictions = new AtomicLong();
+    private final String statementCacheKey = PreparedStatementCache.class.getName() + "-" + id;
 
     /**
      * Set default fetch size for SELECT statements.
@@ -66,6 +80,263 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
         return defaultFetchSize;
     }
 
+    /**
+     * Max number of {@link PreparedStatement}s cached per connection ({@code 0} means statement
+     * caching is disabled, which is the default).
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    /**
+     * Max number of {@link PreparedStatement}s cached per connection ({@code 0} means statement
+     * caching is disabled, which is the default).
+     *
+     * <p>
+     * Statements are cached per connection obtained from {@link #getConnection(String, boolean)},
+     * and closed when the connection is finally returned. Enable this if the data source does not
+     * cache statements itself.
+     * </p>
+     *
+     * @param statementCacheSize
+     * @return
+     * @since 1.1.2
+     */
+    public AbstractJdbcHelper setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        return this;
+    }
+
+    /**
+     * Hit/miss/eviction statistics of the statement cache.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public CacheStats getStatementCacheStats() {
+        return new CacheStats(statementCacheHits.get(), statementCacheMisses.get(), 0, 0, 0,
+                statementCacheEvictions.get());
+    }
+
+    /**
+     * Number of rows per block read ahead by streams returned by {@code executeSelectAsStream(...)}
+     * ({@code 0} means read-ahead is disabled, which is the default).
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getStreamPrefetchBlockSize() {
+        return streamPrefetchBlockSize;
+    }
+
+    /**
+     * Number of rows per block read ahead by streams returned by {@code executeSelectAsStream(...)}
+     * ({@code 0} means read-ahead is disabled, which is the default).
+     *
+     * <p>
+     * If enabled, rows are read and mapped by a background task in blocks, while the consumer of
+     * the stream processes previous blocks (see {@link PrefetchingResultSetIterator}). Useful when
+     * both row mapping and the consumer's work are CPU-heavy. Streams should be closed if not fully
+     * consumed.
+     * </p>
+     *
+     * @param streamPrefetchBlockSize
+     * @return
+     * @since 1.1.2
+     */
+    public AbstractJdbcHelper setStreamPrefetchBlockSize(int streamPrefetchBlockSize) {
+        this.streamPrefetchBlockSize = Math.max(0, streamPrefetchBlockSize);
+        return this;
+    }
+
+    /**
+     * Max number of blocks read ahead by streams (default {@code 4}), see
+     * {@link #setStreamPrefetchBlockSize(int)}.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getStreamPrefetchQueueDepth() {
+        return streamPrefetchQueueDepth;
+    }
+
+    /**
+     * Max number of blocks read ahead by streams (default {@code 4}), see
+     * {@link #setStreamPrefetchBlockSize(int)}.
+     *
+     * @param streamPrefetchQueueDepth
+     * @return
+     * @since 1.1.2
+     */
+    public AbstractJdbcHelper setStreamPrefetchQueueDepth(int streamPrefetchQueueDepth) {
+        this.streamPrefetchQueueDepth = Math.max(1, streamPrefetchQueueDepth);
+        return this;
+    }
+
+    /**
+     * Executor to run read-ahead tasks of streams, {@code null} to use
+     * {@link PrefetchingResultSetIterator#defaultExecutor()}.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public Executor getStreamPrefetchExecutor() {
+        return streamPrefetchExecutor;
+    }
+
+    /**
+     * Executor to run read-ahead tasks of streams, {@code null} to use
+     * {@link PrefetchingResultSetIterator#defaultExecutor()}.
+     *
+     * @param streamPrefetchExecutor
+     * @return
+     * @since 1.1.2
+     */
+    public AbstractJdbcHelper setStreamPrefetchExecutor(Executor streamPrefetchExecutor) {
+        this.streamPrefetchExecutor = streamPrefetchExecutor;
+        return this;
+    }
+
+    private final static ThreadLocal<Long> queryDeadline = new ThreadLocal<>();
+
+    /**
+     * Set a deadline for queries executed by JDBC helpers on the current thread: statements
+     * prepared via {@link #prepareStatement(Connection, String)} get the remaining time as
+     * {@link Statement#setQueryTimeout(int)}, and fail with {@link SQLTimeoutException} if the
+     * deadline has passed.
+     *
+     * @param deadline deadline as UNIX timestamp in milliseconds, {@code 0} to clear the deadline
+     * @since 1.1.2
+     */
+    public static void setQueryDeadline(long deadline) {
+        if (deadline > 0) {
+            queryDeadline.set(deadline);
+        } else {
+            queryDeadline.remove();
+        }
+    }
+
+    /**
+     * Get the query deadline of the current thread.
+     *
+     * @return deadline as UNIX timestamp in milliseconds, {@code 0} if no deadline
+     * @since 1.1.2
+     */
+    public static long getQueryDeadline() {
+        Long deadline = queryDeadline.get();
+        return deadline != null ? deadline.longValue() : 0;
+    }
+
+    private final static ThreadLocal<QueryCanceller> queryCanceller = new ThreadLocal<>();
+
+    /**
+     * Set a {@link QueryCanceller} for queries executed by JDBC helpers on the current thread:
+     * statements prepared via {@link #prepareStatement(Connection, String)} are registered to it
+     * until released, so that they can be cancelled from another thread.
+     *
+     * @param canceller {@code null} to clear
+     * @since 1.1.2
+     */
+    public static void setQueryCanceller(QueryCanceller canceller) {
+        if (canceller != null) {
+            queryCanceller.set(canceller);
+        } else {
+            queryCanceller.remove();
+        }
+    }
+
+    /**
+     * Get the {@link QueryCanceller} of the current thread.
+     *
+     * @return {@code null} if not set
+     * @since 1.1.2
+     */
+    public static QueryCanceller getQueryCanceller() {
+        return queryCanceller.get();
+    }
+
+    private PreparedStatementCache statementCache(Connection conn) {
+        return statementCacheSize > 0 ?
+                DbcHelper.getConnectionResource(conn, statementCacheKey,
+                        () -> new PreparedStatementCache(statementCacheSize)) :
+                null;
+    }
+
+    /**
+     * Prepare a {@link PreparedStatement} ({@code TYPE_FORWARD_ONLY, CONCUR_READ_ONLY}), taken from
+     * the statement cache if available. Call {@link #releaseStatement(Connection, String, PreparedStatement)}
+     * when done, instead of {@code PreparedStatement.close()}.
+     *
+     * @param conn
+     * @param sql
+     * @return
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    protected PreparedStatement prepareStatement(Connection conn, String sql) throws SQLException {
+        long deadline = getQueryDeadline();
+        long timeoutMs = deadline > 0 ? deadline - System.currentTimeMillis() : 0;
+        if (deadline > 0 && timeoutMs <= 0) {
+            throw new SQLTimeoutException("Query deadline exceeded.");
+        }
+        PreparedStatementCache cache = statementCache(conn);
+        PreparedStatement pstm = cache != null ? cache.take(sql) : null;
+        if (pstm != null) {
+            statementCacheHits.incrementAndGet();
+        } else {
+            if (cache != null) {
+                statementCacheMisses.incrementAndGet();
+            }
+            pstm = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        }
+        if (timeoutMs > 0) {
+            pstm.setQueryTimeout((int) ((timeoutMs + 999) / 1000));
+        }
+        QueryCanceller canceller = queryCanceller.get();
+        if (canceller != null) {
+            try {
+                canceller.register(pstm);
+            } catch (SQLException e) {
+                releaseStatement(conn, sql, pstm);
+                throw e;
+            }
+        }
+        return pstm;
+    }
+
+    /**
+     * Release a {@link PreparedStatement} obtained from {@link #prepareStatement(Connection, String)}:
+     * put it back to the statement cache if available, close it otherwise.
+     *
+     * @param conn
+     * @param sql
+     * @param pstm
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    protected void releaseStatement(Connection conn, String sql, PreparedStatement pstm) throws SQLException {
+        if (pstm == null) {
+            return;
+        }
+        QueryCanceller canceller = queryCanceller.get();
+        if (canceller != null) {
+            canceller.unregister(pstm);
+        }
+        PreparedStatementCache cache = statementCache(conn);
+        if (cache != null && !pstm.isClosed()) {
+            if (pstm.getQueryTimeout() != 0) {
+                // query timeout was set from a deadline
+                pstm.setQueryTimeout(0);
+            }
+            statementCacheEvictions.addAndGet(cache.release(sql, pstm));
+        } else {
+            pstm.close();
+        }
+    }
+
     /**
      * @return
      * @since 0.8.2
@@ -81,6 +352,19 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
      */
     protected SQLExceptionTranslator getSQLExceptionTranslator(Connection conn) {
         DataSource dataSource = DbcHelper.getDataSource(conn);
+        if (dataSource == null) {
+            /*
+             * connection was not obtained from this helper: lookup error codes by database's product name
+             */
+            String dbName;
+            try {
+                dbName = conn.getMetaData().getDatabaseProductName();
+            } catch (Exception e) {
+                dbName = "";
+            }
+            return cachedSQLExceptionTranslatorsByDbName.computeIfAbsent(dbName,
+                    k -> new SQLErrorCodeSQLExceptionTranslator(sqlErrorCodesFactory.getErrorCodes(k)));
+        }
         SQLExceptionTranslator translator = cachedSQLExceptionTranslators.get(dataSource);
         if (translator == null) {
             translator = new SQLErrorCodeSQLExceptionTranslator(sqlErrorCodesFactory.getErrorCodes(dataSource));
@@ -178,7 +462,11 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
      * @return
      */
     public AbstractJdbcHelper init() {
-        dataSources.forEach((key, ds) -> DbcHelper.registerJdbcDataSource(id + "-" + key, ds));
+        dataSources.forEach((key, ds) -> {
+            String name = id + "-" + key;
+            DbcHelper.registerJdbcDataSource(name, ds);
+            dataSourceHandles.put(key, DbcHelper.getDataSourceHandle(name));
+        });
         return this;
     }
 
@@ -187,6 +475,7 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
      */
     public void destroy() {
         dataSources.forEach((key, ds) -> DbcHelper.unregisterJdbcDataSource(id + "-" + key));
+        dataSourceHandles.clear();
     }
 
     /**
@@ -198,27 +487,31 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
     }
 
     /**
-     * Proxy the obtained {@link Connection} instance to override the
-     * {@code close()} method.
+     * Wrap the obtained {@link Connection} instance to override the {@code close()} method: the
+     * connection is returned via {@link #returnConnection(Connection)} instead of being closed.
+     *
+     * <p>
+     * A new wrapper is created for each checkout, so that closing a wrapper more than once (even
+     * after the underlying connection has been handed out again) is a no-op.
+     * </p>
      *
      * @author Thanh Nguyen
-     * @since 0.8.0
+     * @since 1.1.2
      */
-    private class MyConnectionInvocationHandler implements InvocationHandler {
-
-        private final Connection target;
-
-        public MyConnectionInvocationHandler(Connection target) {
-            this.target = target;
+    private class PooledConnection extends DelegatingConnection {
+        public PooledConnection(Connection target) {
+            super(target);
         }
 
         @Override
-        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-            if (method.getName().equals("close")) {
+        public void close() {
+            Connection target;
+            synchronized (this) {
+                target = getTarget();
+                setTarget(null);
+            }
+            if (target != null) {
                 AbstractJdbcHelper.this.returnConnection(target);
-                return null;
-            } else {
-                return method.invoke(target, args);
             }
         }
     }
@@ -231,11 +524,10 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
     @Override
     public Connection getConnection(String dsName, boolean startTransaction) {
         try {
-            Connection conn = DbcHelper.getConnection(id + "-" + dsName, startTransaction);
+            DbcHelper.DataSourceHandle handle = dsName != null ? dataSourceHandles.get(dsName) : null;
+            Connection conn = DbcHelper.getConnection(handle, startTransaction);
             if (conn != null) {
-                return (Connection) Proxy
-                        .newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
-                                new MyConnectionInvocationHandler(conn));
+                return new PooledConnection(conn);
             }
             return null;
         } catch (SQLException e) {
@@ -249,8 +541,8 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
     @Override
     public void returnConnection(Connection conn) {
         try {
-            if (conn instanceof MyConnectionInvocationHandler) {
-                DbcHelper.returnConnection(((MyConnectionInvocationHandler) conn).target);
+            if (conn instanceof PooledConnection) {
+                conn.close();
             } else {
                 DbcHelper.returnConnection(conn);
             }
@@ -401,7 +693,18 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
      * @throws SQLException
      */
     protected int calcFetchSizeForStream(int hintFetchSize, Connection conn) throws SQLException {
-        DatabaseVendor dbVendor = DbcHelper.detectDbVendor(conn);
+        return calcFetchSizeForStream(hintFetchSize, DbcHelper.detectDbVendor(conn));
+    }
+
+    /**
+     * Calculate fetch-size for result-set streaming, for a known database vendor.
+     *
+     * @param hintFetchSize
+     * @param dbVendor
+     * @return
+     * @since 1.1.2
+     */
+    protected int calcFetchSizeForStream(int hintFetchSize, DatabaseVendor dbVendor) {
         switch (dbVendor) {
         case MYSQL:
             return Integer.MIN_VALUE;
@@ -410,8 +713,19 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
         }
     }
 
-    private <T> Stream<T> _executeSelectAsStream(IRowMapper<T> rowMapper, Connection conn, boolean autoCloseConnection,
-            String sql, Supplier<PreparedStatement> pstmCreator) {
+    /**
+     * Execute a SELECT statement and stream the result via a {@link ResultSetIterator}.
+     *
+     * @param conn
+     * @param autoCloseConnection
+     * @param fetchSize
+     * @param sql
+     * @param bindValues
+     * @param rsiCreator          create the iterator from the connection to close (if any) and the ready-to-execute statement
+     * @return
+     */
+    private <T> Stream<T> _executeSelectAsStream(Connection conn, boolean autoCloseConnection, int fetchSize,
+            String sql, Object[] bindValues, BiFunction<Connection, PreparedStatement, ResultSetIterator<T>> rsiCreator) {
         long timestampStart = System.currentTimeMillis();
         try {
             DatabaseVendor dbVendor = DbcHelper.detectDbVendor(conn);
@@ -421,10 +735,18 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
                  */
                 conn.setAutoCommit(false);
             }
-            PreparedStatement pstm = pstmCreator.get();
-            ResultSetIterator<T> rsi = autoCloseConnection ?
-                    new ResultSetIterator<>(conn, rowMapper, pstm) :
-                    new ResultSetIterator<>(rowMapper, pstm);
+            /*
+             * Do not close the statement, ResultSetIterator will do it!
+             */
+            PreparedStatement pstm = prepareStatement(conn, sql);
+            try {
+                JdbcHelper.bindParams(pstm, bindValues);
+                pstm.setFetchSize(calcFetchSizeForStream(fetchSize, dbVendor));
+            } catch (SQLException e) {
+                releaseStatement(conn, sql, pstm);
+                throw e;
+            }
+            ResultSetIterator<T> rsi = rsiCreator.apply(autoCloseConnection ? conn : null, pstm);
             return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rsi, Spliterator.IMMUTABLE), false)
                     .onClose(rsi::close);
         } catch (SQLException | DaoException e) {
@@ -451,20 +773,21 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
     @Override
     public <T> Stream<T> executeSelectAsStream(IRowMapper<T> rowMapper, Connection conn, boolean autoCloseConnection,
             int fetchSize, String sql, Object... bindValues) {
-        return _executeSelectAsStream(rowMapper, conn, autoCloseConnection, sql, () -> {
-            try {
-                /*
-                 * Do not close the statement, ResultSetIterator will do it!
-                 */
-                PreparedStatement pstm = conn
-                        .prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
-                JdbcHelper.bindParams(pstm, bindValues);
-                pstm.setFetchSize(calcFetchSizeForStream(fetchSize, conn));
-                return pstm;
-            } catch (SQLException e) {
-                throw translateSQLException(conn, "executeSelectAsStream", sql, e);
-            }
-        });
+        return _executeSelectAsStream(conn, autoCloseConnection, fetchSize, sql, bindValues,
+                (iteratorConn, pstm) -> streamPrefetchBlockSize > 0 ?
+                        new PrefetchingResultSetIterator<>(iteratorConn, rowMapper, pstm, streamPrefetchBlockSize,
+                                streamPrefetchQueueDepth, streamPrefetchExecutor) {
+                            @Override
+                            protected void releaseSelectStatement(Statement stm) throws SQLException {
+                                releaseStatement(conn, sql, (PreparedStatement) stm);
+                            }
+                        } :
+                        new ResultSetIterator<>(iteratorConn, rowMapper, pstm) {
+                            @Override
+                            protected void releaseSelectStatement(Statement stm) throws SQLException {
+                                releaseStatement(conn, sql, (PreparedStatement) stm);
+                            }
+                        });
     }
 
     /**
@@ -473,19 +796,92 @@ public abstract class AbstractJdbcHelper implements IJdbcHelper, AutoCloseable {
     @Override
     public <T> Stream<T> executeSelectAsStream(IRowMapper<T> rowMapper, Connection conn, boolean autoCloseConnection,
             int fetchSize, String sql, Map<String, ?> bindValues) {
-        return _executeSelectAsStream(rowMapper, conn, autoCloseConnection, sql, () -> {
-            try {
-                /*
-                 * Do not close the statement, ResultSetIterator will do it!
-                 */
-                PreparedStatement pstm = JdbcHelper
-                        .prepareAndBindNamedParamsStatement(conn, sql, ResultSet.TYPE_FORWARD_ONLY,
-                                ResultSet.CONCUR_READ_ONLY, bindValues);
-                pstm.setFetchSize(calcFetchSizeForStream(fetchSize, conn));
-                return pstm;
-            } catch (SQLException e) {
-                throw translateSQLException(conn, "executeSelectAsStream", sql, e);
-            }
-        });
+        NamedParamsSql.Binding binding = JdbcHelper.bindNamedParams(sql, bindValues);
+        return executeSelectAsStream(rowMapper, conn, autoCloseConnection, fetchSize, binding.sql,
+                binding.bindValues);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * Execute a SELECT query and stream the result as {@link ColumnBlock}s of (at most)
+     * {@code blockSize} rows. The connection is obtained from the default data source and closed
+     * when the stream is closed or fully consumed.
+     *
+     * @param blockSize
+     * @param sql
+     * @param bindValues
+     * @return
+     * @since 1.1.2
+     */
+    public Stream<ColumnBlock> executeSelectAsColumnBlocks(int blockSize, String sql, Object... bindValues) {
+        return executeSelectAsColumnBlocks(getConnection(), true, blockSize, sql, bindValues);
+    }
+
+    /**
+     * Execute a SELECT query and stream the result as {@link ColumnBlock}s of (at most)
+     * {@code blockSize} rows. The connection is obtained from the default data source and closed
+     * when the stream is closed or fully consumed.
+     *
+     * @param blockSize
+     * @param sql
+     * @param bindValues
+     * @return
+     * @since 1.1.2
+     */
+    public Stream<ColumnBlock> executeSelectAsColumnBlocks(int blockSize, String sql, Map<String, ?> bindValues) {
+        return executeSelectAsColumnBlocks(getConnection(), true, blockSize, sql, bindValues);
+    }
+
+    /**
+     * Execute a SELECT query and stream the result as {@link ColumnBlock}s of (at most)
+     * {@code blockSize} rows.
+     *
+     * <p>
+     * Compared to {@code executeSelectAsStream(UniversalRowMapper...)}, which creates a {@code Map}
+     * and boxes every value of every row, numeric columns are read into primitive arrays and
+     * strings are dictionary-encoded per block.
+     * </p>
+     *
+     * <p>
+     * Rows are fetched from the database with the usual streaming fetch size (see
+     * {@link #getDefaultFetchSize()}); {@code blockSize} only controls how many rows go into a block.
+     * </p>
+     *
+     * @param conn
+     * @param autoCloseConnection if {@code true}, the connection is closed when the stream is closed or fully consumed
+     * @param blockSize
+     * @param sql
+     * @param bindValues
+     * @return
+     * @since 1.1.2
+     */
+    public Stream<ColumnBlock> executeSelectAsColumnBlocks(Connection conn, boolean autoCloseConnection, int blockSize,
+            String sql, Object... bindValues) {
+        return _executeSelectAsStream(conn, autoCloseConnection, getDefaultFetchSize(), sql, bindValues,
+                (iteratorConn, pstm) -> new ColumnBlockIterator(iteratorConn, pstm, blockSize) {
+                    @Override
+                    protected void releaseSelectStatement(Statement stm) throws SQLException {
+                        releaseStatement(conn, sql, (PreparedStatement) stm);
+                    }
+                });
+    }
+
+    /**
+     * Execute a SELECT query and stream the result as {@link ColumnBlock}s of (at most)
+     * {@code blockSize} rows.
+     *
+     * @param conn
+     * @param autoCloseConnection
+     * @param blockSize
+     * @param sql
+     * @param bindValues
+     * @return
+     * @since 1.1.2
+     */
+    public Stream<ColumnBlock> executeSelectAsColumnBlocks(Connection conn, boolean autoCloseConnection, int blockSize,
+            String sql, Map<String, ?> bindValues) {
+        NamedParamsSql.Binding binding = JdbcHelper.bindNamedParams(sql, bindValues);
+        return executeSelectAsColumnBlocks(conn, autoCloseConnection, blockSize, binding.sql, binding.bindValues);
     }
 }
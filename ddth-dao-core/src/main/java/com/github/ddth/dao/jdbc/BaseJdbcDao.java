@@ -128,6 +128,16 @@ public class BaseJdbcDao extends BaseDao implements IJdbcHelper {
         return jdbcHelper.execute(conn, sql, bindValues);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public int[] executeBatch(Connection conn, String sql, Iterable<Object[]> bindValuesList) {
+        return jdbcHelper.executeBatch(conn, sql, bindValuesList);
+    }
+
     /*--------------------------------------------------------------------------------*/
 
     /**
@@ -0,0 +1,480 @@
+package com.github.ddth.dao.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A block of rows of a {@link ResultSet}, stored column by column.
+ *
+ * <p>
+ * Numeric columns are stored as primitive arrays ({@code int[]}, {@code long[]}, {@code double[]}),
+ * string columns are dictionary-encoded (per block: {@code int[]} codes plus a {@code String[]}
+ * dictionary), other columns as {@code Object[]}. {@code NULL}s are tracked by a per-column
+ * bitmap (the primitive value of a {@code NULL} is {@code 0}, its dictionary code is {@code -1}).
+ * </p>
+ *
+ * <p>
+ * Columns are accessed by 1-based index (as in JDBC), rows by 0-based index.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class ColumnBlock {
+
+    /**
+     * Storage type of a column.
+     */
+    public enum ColumnType {
+        /**
+         * {@code int[]}: {@code TINYINT}, {@code SMALLINT}, signed {@code INTEGER}.
+         */
+        INT,
+        /**
+         * {@code long[]}: {@code BIGINT}, unsigned {@code INTEGER}, {@code DECIMAL}/{@code NUMERIC}
+         * with no fraction digits and at most 18 digits.
+         */
+        LONG,
+        /**
+         * {@code double[]}: {@code REAL}, {@code FLOAT}, {@code DOUBLE}.
+         */
+        DOUBLE,
+        /**
+         * Dictionary-encoded strings: {@code CHAR}, {@code VARCHAR} and their variants.
+         */
+        STRING,
+        /**
+         * {@code Object[]}: all other types.
+         */
+        OBJECT
+    }
+
+    /**
+     * Column labels and storage types of a {@link ResultSet}, resolved once per result set and
+     * shared by all its blocks.
+     */
+    public static class Schema {
+        /**
+         * Resolve the schema of a {@link ResultSet}.
+         *
+         * @param rs
+         * @param layout
+         * @return
+         * @throws SQLException
+         */
+        public static Schema resolve(ResultSet rs, ResultSetLayout layout) throws SQLException {
+            ResultSetMetaData rsmd = rs.getMetaData();
+            ColumnType[] types = new ColumnType[layout.getColumnCount()];
+            for (int i = 1; i <= types.length; i++) {
+                types[i - 1] = columnType(rsmd, i);
+            }
+            return new Schema(layout, types);
+        }
+
+        private static ColumnType columnType(ResultSetMetaData rsmd, int col) throws SQLException {
+            switch (rsmd.getColumnType(col)) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+                return ColumnType.INT;
+            case Types.INTEGER:
+                return rsmd.isSigned(col) ? ColumnType.INT : ColumnType.LONG;
+            case Types.BIGINT:
+                return rsmd.isSigned(col) ? ColumnType.LONG : ColumnType.OBJECT;
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+                int precision = rsmd.getPrecision(col);
+                return rsmd.getScale(col) == 0 && precision > 0 && precision <= 18 ?
+                        ColumnType.LONG :
+                        ColumnType.OBJECT;
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return ColumnType.DOUBLE;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                return ColumnType.STRING;
+            default:
+                return ColumnType.OBJECT;
+            }
+        }
+
+        private final ResultSetLayout layout;
+        private final ColumnType[] types;
+
+        public Schema(ResultSetLayout layout, ColumnType[] types) {
+            this.layout = layout;
+            this.types = types;
+        }
+
+        public ResultSetLayout getLayout() {
+            return layout;
+        }
+
+        public int getColumnCount() {
+            return types.length;
+        }
+
+        /**
+         * @param col 1-based column index
+         * @return
+         */
+        public ColumnType getColumnType(int col) {
+            return types[col - 1];
+        }
+    }
+
+    /**
+     * Read rows of a {@link ResultSet} into a {@link ColumnBlock}. Not thread-safe.
+     */
+    public static class Builder {
+        private final Schema schema;
+        private final int capacity;
+        private Object[] data;
+        private BitSet[] nulls;
+        private List<Map<String, Integer>> dictIndexes;
+        private List<List<String>> dicts;
+        private int rowCount;
+
+        public Builder(Schema schema, int capacity) {
+            this.schema = schema;
+            this.capacity = Math.max(1, capacity);
+        }
+
+        private void start() {
+            int numCols = schema.getColumnCount();
+            data = new Object[numCols];
+            nulls = new BitSet[numCols];
+            dictIndexes = new ArrayList<>(numCols);
+            dicts = new ArrayList<>(numCols);
+            for (int i = 0; i < numCols; i++) {
+                nulls[i] = new BitSet();
+                dictIndexes.add(null);
+                dicts.add(null);
+                switch (schema.types[i]) {
+                case INT:
+                    data[i] = new int[capacity];
+                    break;
+                case LONG:
+                    data[i] = new long[capacity];
+                    break;
+                case DOUBLE:
+                    data[i] = new double[capacity];
+                    break;
+                case STRING:
+                    data[i] = new int[capacity];
+                    dictIndexes.set(i, new HashMap<>());
+                    dicts.set(i, new ArrayList<>());
+                    break;
+                default:
+                    data[i] = new Object[capacity];
+                }
+            }
+        }
+
+        /**
+         * Number of rows read into the current block.
+         *
+         * @return
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public boolean isFull() {
+            return rowCount >= capacity;
+        }
+
+        /**
+         * Read the current row of the {@link ResultSet}.
+         *
+         * @param rs
+         * @throws SQLException
+         */
+        public void readRow(ResultSet rs) throws SQLException {
+            if (data == null) {
+                start();
+            }
+            int row = rowCount;
+            for (int i = 0, n = data.length; i < n; i++) {
+                int col = i + 1;
+                boolean isNull;
+                switch (schema.types[i]) {
+                case INT:
+                    ((int[]) data[i])[row] = rs.getInt(col);
+                    isNull = rs.wasNull();
+                    break;
+                case LONG:
+                    ((long[]) data[i])[row] = rs.getLong(col);
+                    isNull = rs.wasNull();
+                    break;
+                case DOUBLE:
+                    ((double[]) data[i])[row] = rs.getDouble(col);
+                    isNull = rs.wasNull();
+                    break;
+                case STRING:
+                    String str = rs.getString(col);
+                    isNull = str == null;
+                    ((int[]) data[i])[row] = isNull ? -1 : encode(i, str);
+                    break;
+                default:
+                    Object value = rs.getObject(col);
+                    ((Object[]) data[i])[row] = value;
+                    isNull = value == null;
+                }
+                if (isNull) {
+                    nulls[i].set(row);
+                }
+            }
+            rowCount++;
+        }
+
+        private int encode(int colIndex, String value) {
+            Map<String, Integer> dictIndex = dictIndexes.get(colIndex);
+            Integer code = dictIndex.get(value);
+            if (code == null) {
+                List<String> dict = dicts.get(colIndex);
+                code = dict.size();
+                dict.add(value);
+                dictIndex.put(value, code);
+            }
+            return code.intValue();
+        }
+
+        /**
+         * Build the block from rows read so far, and reset this builder for the next block.
+         *
+         * @return
+         */
+        public ColumnBlock build() {
+            if (data == null) {
+                start();
+            }
+            Object[] columns = data;
+            String[][] dictionaries = new String[columns.length][];
+            for (int i = 0; i < columns.length; i++) {
+                if (rowCount < capacity) {
+                    columns[i] = trim(columns[i], rowCount);
+                }
+                List<String> dict = dicts.get(i);
+                dictionaries[i] = dict != null ? dict.toArray(new String[0]) : null;
+            }
+            ColumnBlock block = new ColumnBlock(schema, rowCount, columns, dictionaries, nulls);
+            data = null;
+            nulls = null;
+            dictIndexes = null;
+            dicts = null;
+            rowCount = 0;
+            return block;
+        }
+
+        private static Object trim(Object array, int length) {
+            if (array instanceof int[]) {
+                return Arrays.copyOf((int[]) array, length);
+            }
+            if (array instanceof long[]) {
+                return Arrays.copyOf((long[]) array, length);
+            }
+            if (array instanceof double[]) {
+                return Arrays.copyOf((double[]) array, length);
+            }
+            return Arrays.copyOf((Object[]) array, length);
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private final Schema schema;
+    private final int rowCount;
+    private final Object[] columns;
+    private final String[][] dictionaries;
+    private final BitSet[] nulls;
+
+    private ColumnBlock(Schema schema, int rowCount, Object[] columns, String[][] dictionaries, BitSet[] nulls) {
+        this.schema = schema;
+        this.rowCount = rowCount;
+        this.columns = columns;
+        this.dictionaries = dictionaries;
+        this.nulls = nulls;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return schema.getColumnCount();
+    }
+
+    /**
+     * @param col 1-based column index
+     * @return
+     */
+    public String getColumnLabel(int col) {
+        return schema.getLayout().getColumnLabel(col);
+    }
+
+    /**
+     * @param col 1-based column index
+     * @return
+     */
+    public ColumnType getColumnType(int col) {
+        return schema.getColumnType(col);
+    }
+
+    /**
+     * Get 1-based index of a column by label (case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws SQLException if column is not found
+     */
+    public int findColumn(String label) throws SQLException {
+        return schema.getLayout().findColumn(label);
+    }
+
+    private Object column(int col, ColumnType expected) {
+        if (schema.getColumnType(col) != expected) {
+            throw new IllegalArgumentException(
+                    "Column [" + getColumnLabel(col) + "] is of type " + schema.getColumnType(col) + ", not " + expected);
+        }
+        return columns[col - 1];
+    }
+
+    /**
+     * Values of an {@link ColumnType#INT} column (the array is owned by this block, do not modify).
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public int[] getInts(int col) {
+        return (int[]) column(col, ColumnType.INT);
+    }
+
+    /**
+     * Values of a {@link ColumnType#LONG} column (the array is owned by this block, do not modify).
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public long[] getLongs(int col) {
+        return (long[]) column(col, ColumnType.LONG);
+    }
+
+    /**
+     * Values of a {@link ColumnType#DOUBLE} column (the array is owned by this block, do not modify).
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public double[] getDoubles(int col) {
+        return (double[]) column(col, ColumnType.DOUBLE);
+    }
+
+    /**
+     * Dictionary codes of a {@link ColumnType#STRING} column ({@code -1} for {@code NULL}s), see
+     * {@link #getDictionary(int)}.
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public int[] getDictionaryCodes(int col) {
+        return (int[]) column(col, ColumnType.STRING);
+    }
+
+    /**
+     * Dictionary of a {@link ColumnType#STRING} column: distinct values of this block, indexed by
+     * code.
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public String[] getDictionary(int col) {
+        column(col, ColumnType.STRING);
+        return dictionaries[col - 1];
+    }
+
+    /**
+     * Values of an {@link ColumnType#OBJECT} column (the array is owned by this block, do not
+     * modify).
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public Object[] getObjects(int col) {
+        return (Object[]) column(col, ColumnType.OBJECT);
+    }
+
+    /**
+     * {@code NULL} bitmap of a column: bit {@code row} is set if the value at that row is
+     * {@code NULL}.
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public BitSet getNulls(int col) {
+        return (BitSet) nulls[col - 1].clone();
+    }
+
+    /**
+     * @param col 1-based column index
+     * @param row 0-based row index
+     * @return
+     */
+    public boolean isNull(int col, int row) {
+        return nulls[col - 1].get(row);
+    }
+
+    /**
+     * Value of a {@link ColumnType#STRING} column.
+     *
+     * @param col 1-based column index
+     * @param row 0-based row index
+     * @return
+     */
+    public String getString(int col, int row) {
+        int code = getDictionaryCodes(col)[row];
+        return code < 0 ? null : dictionaries[col - 1][code];
+    }
+
+    /**
+     * Value of a column, boxed ({@code null} for {@code NULL}s).
+     *
+     * @param col 1-based column index
+     * @param row 0-based row index
+     * @return
+     */
+    public Object getObject(int col, int row) {
+        if (isNull(col, row)) {
+            return null;
+        }
+        Object column = columns[col - 1];
+        switch (schema.getColumnType(col)) {
+        case INT:
+            return ((int[]) column)[row];
+        case LONG:
+            return ((long[]) column)[row];
+        case DOUBLE:
+            return ((double[]) column)[row];
+        case STRING:
+            return getString(col, row);
+        default:
+            return ((Object[]) column)[row];
+        }
+    }
+}
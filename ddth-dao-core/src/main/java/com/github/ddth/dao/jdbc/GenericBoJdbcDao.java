@@ -1,25 +1,52 @@
 package com.github.ddth.dao.jdbc;
 
+import com.github.ddth.dao.BaseBo;
 import com.github.ddth.dao.BoId;
 import com.github.ddth.dao.IGenericBoDao;
+import com.github.ddth.dao.utils.BatchExecutionException;
+import com.github.ddth.dao.utils.DatabaseCapabilities;
 import com.github.ddth.dao.utils.CacheInvalidationReason;
 import com.github.ddth.dao.utils.DaoException;
 import com.github.ddth.dao.utils.DaoResult;
 import com.github.ddth.dao.utils.DaoResult.DaoOperationStatus;
+import com.github.ddth.dao.utils.DatabaseVendor;
+import com.github.ddth.dao.utils.DbcHelper;
 import com.github.ddth.dao.utils.DuplicatedValueException;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
-import java.text.MessageFormat;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Generic implementation of {@link IGenericBoDao}
@@ -34,6 +61,11 @@ import java.util.stream.Stream;
 public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGenericBoDao<T> {
 
     private boolean upsertInTransaction = true;
+    private boolean nativeUpsert = false;
+    private boolean partialUpdate = false;
+    private int multiGetBatchSize = 100;
+    private int batchSize = 100;
+    private int keysetPageSize = 0;
 
     private String tableName, cacheName;
     private AbstractGenericRowMapper<T> rowMapper;
@@ -90,6 +122,96 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         this.upsertInTransaction = upsertInTransaction;
     }
 
+    /**
+     * Should "upsert" ({@link #createOrUpdate(Object)} and {@link #updateOrCreate(Object)}) use
+     * the database's native upsert statement?
+     *
+     * <p>
+     * Native upsert is one single statement: {@code INSERT ... ON DUPLICATE KEY UPDATE} for MySQL,
+     * {@code INSERT ... ON CONFLICT (pk) DO UPDATE} for PostgreSQL and {@code MERGE} for MSSQL and
+     * Oracle. It is used only if all primary key columns are insert columns, and the database
+     * vendor is one of the above; otherwise "upsert" falls back to INSERT-then-UPDATE.
+     * </p>
+     *
+     * <p>
+     * Note: with native upsert, the checksum column is not checked and MySQL also updates the
+     * existing row if the conflict is on a unique index other than the primary key.
+     * </p>
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public boolean isNativeUpsert() {
+        return nativeUpsert;
+    }
+
+    /**
+     * Should "upsert" ({@link #createOrUpdate(Object)} and {@link #updateOrCreate(Object)}) use
+     * the database's native upsert statement? (default {@code false})
+     *
+     * @param nativeUpsert
+     * @return
+     * @see #isNativeUpsert()
+     * @since 1.1.2
+     */
+    public GenericBoJdbcDao<T> setNativeUpsert(boolean nativeUpsert) {
+        this.nativeUpsert = nativeUpsert;
+        return this;
+    }
+
+    /**
+     * Should "update" ({@link #update(Object)}, {@link #updateBatch(Collection)}) write only the
+     * columns changed since the BO was last loaded or written? (default {@code false})
+     *
+     * <p>
+     * Partial update applies to {@link BaseBo}s that track changes (see
+     * {@link BaseBo#markClean()}): BOs mapped from a result set, and BOs successfully written by
+     * this DAO (create, update, upsert), are marked clean. Changed columns are found by comparing
+     * the column values of the BO with those of its clean copy (see {@link BaseBo#getCleanCopy()}),
+     * as extracted via the row mapper's column-attribute mappings. The UPDATE statement sets only
+     * the changed columns (plus the checksum column); if no column has changed, no statement is
+     * executed and the update is reported as successful. Other BOs are updated in full.
+     * </p>
+     *
+     * <p>
+     * Note: partial UPDATE statements are built from {@link #calcTableName(Object)};
+     * overrides of {@link #calcSqlUpdateOne(Object)} are not used for them.
+     * </p>
+     *
+     * <p>
+     * Note: changes are detected by value against the attributes as of the BO's last
+     * {@link BaseBo#markClean()}, which shares value instances with the BO. A mutable attribute
+     * value (e.g. a {@link java.util.Date}, {@link List} or {@link Map}) modified in place is not
+     * detected, and its column is not written by a partial update. Set a new value instance
+     * instead (e.g. {@code bo.setAttribute("tags", newList)}), or keep partial update off.
+     * </p>
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public boolean isPartialUpdate() {
+        return partialUpdate;
+    }
+
+    /**
+     * Should "update" write only the columns of changed attributes? (default {@code false})
+     *
+     * <p>
+     * Note: attribute values modified in place (e.g. a {@code Date}, {@code List} or {@code Map}
+     * changed without calling the setter) are not detected as changes, see
+     * {@link #isPartialUpdate()}.
+     * </p>
+     *
+     * @param partialUpdate
+     * @return
+     * @see #isPartialUpdate()
+     * @since 1.1.2
+     */
+    public GenericBoJdbcDao<T> setPartialUpdate(boolean partialUpdate) {
+        this.partialUpdate = partialUpdate;
+        return this;
+    }
+
     /**
      * @return
      * @since 0.8.0.4
@@ -166,10 +288,423 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
                         .join(WHERE_PK_AND_CHECKSUM_INDEX, " AND ") :
                 null;
 
+        SQL_UPSERT.clear();
+        SQL_UPSERT_ROW_ALIAS = null;
+        if (pkCols != null && pkCols.length > 0 && Arrays.asList(insCols).containsAll(Arrays.asList(pkCols))) {
+            for (DatabaseVendor dbVendor : DatabaseVendor.values()) {
+                String sql = buildSqlUpsert(dbVendor, insCols, updateCols, pkCols, false);
+                if (sql != null) {
+                    SQL_UPSERT.put(dbVendor, sql);
+                }
+            }
+            SQL_UPSERT_ROW_ALIAS = buildSqlUpsert(DatabaseVendor.MYSQL, insCols, updateCols, pkCols, true);
+        }
+        upsertUpdatesRows = updateCols != null && Arrays.stream(updateCols)
+                .anyMatch(col -> !ArrayUtils.contains(pkCols, col));
+
+        SQL_WHERE_PK_AND_CHECKSUM = StringUtils.join(WHERE_PK_AND_CHECKSUM_INDEX, " AND ");
+        partialUpdateBindColsSuffix = ArrayUtils.clone(pkCols);
+        if (!StringUtils.isBlank(checksumCol)) {
+            partialUpdateBindColsSuffix = ArrayUtils.add(partialUpdateBindColsSuffix, checksumCol);
+        }
+        partialUpdateTemplates = CacheBuilder.newBuilder().maximumSize(sqlCacheSize).build();
+
+        String[] updateBindCols = ArrayUtils.addAll(updateCols, pkCols);
+        if (!StringUtils.isBlank(checksumCol)) {
+            updateBindCols = ArrayUtils.add(updateBindCols, checksumCol);
+        }
+        valuesExtractorInsert = rowMapper.compileValuesExtractor(insCols);
+        valuesExtractorUpdate = rowMapper.compileValuesExtractor(updateBindCols);
+        valuesExtractorPk = rowMapper.compileValuesExtractor(pkCols);
+
+        sqlTemplates = new String[SQL_SLOT_UPSERT_ROW_ALIAS + 1][];
+        sqlTemplates[SQL_SLOT_SELECT_ALL] = splitSqlTemplate(SQL_SELECT_ALL);
+        sqlTemplates[SQL_SLOT_SELECT_ALL_SORTED] = splitSqlTemplate(SQL_SELECT_ALL_SORTED);
+        sqlTemplates[SQL_SLOT_SELECT_ONE] = splitSqlTemplate(SQL_SELECT_ONE);
+        sqlTemplates[SQL_SLOT_INSERT] = splitSqlTemplate(SQL_INSERT);
+        sqlTemplates[SQL_SLOT_DELETE_ONE] = splitSqlTemplate(SQL_DELETE_ONE);
+        sqlTemplates[SQL_SLOT_UPDATE_ONE] = splitSqlTemplate(SQL_UPDATE_ONE);
+        SQL_UPSERT.forEach((dbVendor, sql) -> sqlTemplates[SQL_SLOT_UPSERT + dbVendor.ordinal()] = splitSqlTemplate(
+                sql));
+        sqlTemplates[SQL_SLOT_UPSERT_ROW_ALIAS] = splitSqlTemplate(SQL_UPSERT_ROW_ALIAS);
+        if (pkCols != null && pkCols.length > 0) {
+            for (DatabaseVendor dbVendor : DatabaseVendor.values()) {
+                sqlTemplates[SQL_SLOT_SELECT_PAGE_FIRST + dbVendor.ordinal()] = splitSqlTemplate(
+                        buildSqlSelectPage(dbVendor, allCols, pkCols, false));
+                sqlTemplates[SQL_SLOT_SELECT_PAGE_NEXT + dbVendor.ordinal()] = splitSqlTemplate(
+                        buildSqlSelectPage(dbVendor, allCols, pkCols, true));
+            }
+        }
+        sqlCache = CacheBuilder.newBuilder().maximumSize(sqlCacheSize).recordStats().build();
+        nullTableSqls = buildSqlsForTable(null);
+
         return this;
     }
 
     private String SQL_SELECT_ALL, SQL_SELECT_ALL_SORTED, SQL_SELECT_ONE, SQL_INSERT, SQL_DELETE_ONE, SQL_UPDATE_ONE;
+    private String SQL_WHERE_PK_AND_CHECKSUM;
+
+    private final static int SQL_SLOT_SELECT_ALL = 0, SQL_SLOT_SELECT_ALL_SORTED = 1, SQL_SLOT_SELECT_ONE = 2,
+            SQL_SLOT_INSERT = 3, SQL_SLOT_DELETE_ONE = 4, SQL_SLOT_UPDATE_ONE = 5, SQL_SLOT_UPSERT = 6;
+    private final static int NUM_DB_VENDORS = DatabaseVendor.values().length;
+    private final static int SQL_SLOT_SELECT_PAGE_FIRST = SQL_SLOT_UPSERT + NUM_DB_VENDORS,
+            SQL_SLOT_SELECT_PAGE_NEXT = SQL_SLOT_SELECT_PAGE_FIRST + NUM_DB_VENDORS,
+            SQL_SLOT_UPSERT_ROW_ALIAS = SQL_SLOT_SELECT_PAGE_NEXT + NUM_DB_VENDORS;
+
+    /**
+     * SQL templates, pre-split into {@code [prefix, suffix]} around the table name placeholder,
+     * indexed by {@code SQL_SLOT_*} ({@code SQL_SLOT_UPSERT + vendor.ordinal()} for upserts,
+     * {@code SQL_SLOT_SELECT_PAGE_FIRST/NEXT + vendor.ordinal()} for keyset pagination,
+     * {@code SQL_SLOT_UPSERT_ROW_ALIAS} for MySQL's upsert with row alias).
+     *
+     * @since 1.1.2
+     */
+    private String[][] sqlTemplates;
+
+    /**
+     * Per-table SQL statements (indexed the same as {@link #sqlTemplates}), keyed by table name.
+     *
+     * @since 1.1.2
+     */
+    private Cache<String, String[]> sqlCache;
+
+    /**
+     * SQL statements for a {@code null} table name (which cannot be a cache key), built once at
+     * {@link #init()}.
+     *
+     * @since 1.1.2
+     */
+    private String[] nullTableSqls;
+
+    private int sqlCacheSize = 1024;
+
+    private static String[] splitSqlTemplate(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        int pos = pattern.indexOf("{0}");
+        return pos < 0 ?
+                new String[] { pattern, "" } :
+                new String[] { pattern.substring(0, pos), pattern.substring(pos + 3) };
+    }
+
+    private String[] buildSqlsForTable(String tableName) {
+        String[] sqls = new String[sqlTemplates.length];
+        for (int i = 0; i < sqls.length; i++) {
+            String[] template = sqlTemplates[i];
+            sqls[i] = template != null ? template[0] + tableName + template[1] : null;
+        }
+        return sqls;
+    }
+
+    /**
+     * Get the SQL statement of a slot for a table, from the per-table SQL cache.
+     *
+     * @param slot
+     * @param tableName
+     * @return
+     */
+    private String sqlForTable(int slot, String tableName) {
+        if (tableName == null) {
+            return nullTableSqls[slot];
+        }
+        try {
+            return sqlCache.get(tableName, () -> buildSqlsForTable(tableName))[slot];
+        } catch (ExecutionException e) {
+            throw new DaoException(e.getCause());
+        }
+    }
+
+    /**
+     * Max number of tables whose SQL statements are cached (default {@code 1024}). Must be set
+     * before {@link #init()}.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getSqlCacheSize() {
+        return sqlCacheSize;
+    }
+
+    /**
+     * Max number of tables whose SQL statements are cached (default {@code 1024}). Must be set
+     * before {@link #init()}.
+     *
+     * <p>
+     * Table names are returned by {@link #calcTableName(Object)}/{@link #calcTableName(BoId)}, the
+     * cache should be large enough to hold all partitions/shards that are accessed frequently.
+     * </p>
+     *
+     * @param sqlCacheSize
+     * @return
+     * @since 1.1.2
+     */
+    public GenericBoJdbcDao<T> setSqlCacheSize(int sqlCacheSize) {
+        this.sqlCacheSize = Math.max(1, sqlCacheSize);
+        return this;
+    }
+
+    /**
+     * Hit/miss statistics of the per-table SQL cache.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public CacheStats getSqlCacheStats() {
+        return sqlCache != null ? sqlCache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Native upsert statements, per database vendor. Bind values are the same as
+     * {@link #SQL_INSERT}'s.
+     *
+     * @since 1.1.2
+     */
+    private final Map<DatabaseVendor, String> SQL_UPSERT = new EnumMap<>(DatabaseVendor.class);
+
+    /**
+     * MySQL 8.0.19+ native upsert statement, with a row alias instead of the deprecated
+     * {@code VALUES(col)} function (see {@link DatabaseCapabilities#supportsInsertRowAlias()}).
+     *
+     * @since 1.1.2
+     */
+    private String SQL_UPSERT_ROW_ALIAS;
+
+    /**
+     * Does the native upsert statement update an existing row (i.e. are there update columns other
+     * than primary key columns)? If not, an existing row is left as is ("insert ignore").
+     *
+     * @since 1.1.2
+     */
+    private boolean upsertUpdatesRows;
+
+    /**
+     * Build the native upsert statement for a database vendor.
+     *
+     * @param dbVendor
+     * @param insCols
+     * @param updateCols
+     * @param pkCols
+     * @param rowAlias  MySQL only: use a row alias ({@code VALUES (...) AS new ... col=new.col})
+     *                  instead of the {@code VALUES(col)} function, deprecated since MySQL 8.0.20
+     * @return {@code null} if the vendor does not support native upsert
+     * @since 1.1.2
+     */
+    private static String buildSqlUpsert(DatabaseVendor dbVendor, String[] insCols, String[] updateCols,
+            String[] pkCols, boolean rowAlias) {
+        // primary key columns are matched, not updated
+        updateCols = Arrays.stream(updateCols).filter(col -> !ArrayUtils.contains(pkCols, col))
+                .toArray(String[]::new);
+        String insertCols = StringUtils.join(insCols, ",");
+        String insertValues = StringUtils.repeat("?", ",", insCols.length);
+        List<String> updateList = new ArrayList<>();
+        List<String> matchList = new ArrayList<>();
+        switch (dbVendor) {
+        case MYSQL:
+            for (String col : updateCols) {
+                updateList.add(col + (rowAlias ? "=new." + col : "=VALUES(" + col + ")"));
+            }
+            if (updateList.isEmpty()) {
+                // no-op update, works as "insert ignore"
+                updateList.add(pkCols[0] + "=" + pkCols[0]);
+            }
+            return "INSERT INTO {0} (" + insertCols + ") VALUES (" + insertValues + ")" + (rowAlias ? " AS new" : "")
+                    + " ON DUPLICATE KEY UPDATE " + StringUtils.join(updateList, ",");
+        case POSTGRESQL:
+            for (String col : updateCols) {
+                updateList.add(col + "=EXCLUDED." + col);
+            }
+            return "INSERT INTO {0} (" + insertCols + ") VALUES (" + insertValues + ") ON CONFLICT (" + StringUtils
+                    .join(pkCols, ",") + ") " + (updateList.isEmpty() ?
+                    "DO NOTHING" :
+                    "DO UPDATE SET " + StringUtils.join(updateList, ","));
+        case MSSQL:
+        case ORACLE:
+            for (String col : updateCols) {
+                updateList.add("t." + col + "=s." + col);
+            }
+            for (String col : pkCols) {
+                matchList.add("t." + col + "=s." + col);
+            }
+            List<String> sourceCols = new ArrayList<>();
+            for (String col : insCols) {
+                sourceCols.add("s." + col);
+            }
+            String source;
+            if (dbVendor == DatabaseVendor.MSSQL) {
+                source = "(VALUES (" + insertValues + ")) AS s (" + insertCols + ")";
+            } else {
+                List<String> selectList = new ArrayList<>();
+                for (String col : insCols) {
+                    selectList.add("? " + col);
+                }
+                source = "(SELECT " + StringUtils.join(selectList, ",") + " FROM dual) s";
+            }
+            return "MERGE INTO {0} t USING " + source + " ON (" + StringUtils.join(matchList, " AND ") + ")"
+                    + (updateList.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + StringUtils.join(updateList, ","))
+                    + " WHEN NOT MATCHED THEN INSERT (" + insertCols + ") VALUES (" + StringUtils
+                    .join(sourceCols, ",") + ")" + (dbVendor == DatabaseVendor.MSSQL ? ";" : "");
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Build the statement to select a page of rows sorted by primary key(s), with the page size as
+     * last bind value.
+     *
+     * <p>
+     * Next pages select rows whose primary key is greater than the last seen one: {@code pk>?} for
+     * single-column primary keys, row-value {@code (pk1,pk2)>(?,?)} on MySQL/PostgreSQL, and
+     * {@code (pk1>?) OR (pk1=? AND pk2>?)} otherwise (see {@link #buildKeysetBindValues(DatabaseVendor, Object[], int)}).
+     * </p>
+     *
+     * @param dbVendor
+     * @param allCols
+     * @param pkCols
+     * @param afterKey {@code false} for the first page, {@code true} for next pages
+     * @return
+     * @since 1.1.2
+     */
+    private static String buildSqlSelectPage(DatabaseVendor dbVendor, String[] allCols, String[] pkCols,
+            boolean afterKey) {
+        return buildSqlSelectPage(dbVendor, allCols, pkCols, null, afterKey);
+    }
+
+    /**
+     * Build the statement to select a page of rows sorted by primary key(s), restricted by an
+     * extra condition (bound before the keyset values), with the page size as last bind value.
+     *
+     * @param dbVendor
+     * @param allCols
+     * @param pkCols
+     * @param condition extra condition, {@code null} if none
+     * @param afterKey  {@code false} for the first page, {@code true} for next pages
+     * @return
+     * @since 1.1.2
+     */
+    private static String buildSqlSelectPage(DatabaseVendor dbVendor, String[] allCols, String[] pkCols,
+            String condition, boolean afterKey) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(StringUtils.join(allCols, ",")).append(" FROM {0}");
+        if (condition != null) {
+            sql.append(" WHERE ").append(condition);
+        }
+        if (afterKey) {
+            sql.append(condition != null ? " AND (" : " WHERE ");
+            if (pkCols.length == 1) {
+                sql.append(pkCols[0]).append(">?");
+            } else if (dbVendor == DatabaseVendor.MYSQL || dbVendor == DatabaseVendor.POSTGRESQL) {
+                sql.append("(").append(StringUtils.join(pkCols, ",")).append(")>(")
+                        .append(StringUtils.repeat("?", ",", pkCols.length)).append(")");
+            } else {
+                for (int i = 0; i < pkCols.length; i++) {
+                    sql.append(i > 0 ? " OR (" : "(");
+                    for (int j = 0; j < i; j++) {
+                        sql.append(pkCols[j]).append("=? AND ");
+                    }
+                    sql.append(pkCols[i]).append(">?)");
+                }
+            }
+            if (condition != null) {
+                sql.append(")");
+            }
+        }
+        sql.append(" ORDER BY ").append(StringUtils.join(pkCols, ","));
+        sql.append(supportsLimitClause(dbVendor) ? " LIMIT ?" : " OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY");
+        return sql.toString();
+    }
+
+    /**
+     * Does the database support {@code LIMIT n OFFSET m}? Other databases (including unknown
+     * ones) are sent the standard {@code OFFSET m ROWS FETCH NEXT n ROWS ONLY} clause.
+     *
+     * @param dbVendor
+     * @return
+     * @since 1.1.2
+     */
+    private static boolean supportsLimitClause(DatabaseVendor dbVendor) {
+        return dbVendor == DatabaseVendor.MYSQL || dbVendor == DatabaseVendor.POSTGRESQL;
+    }
+
+    /**
+     * Build bind values for the statement built by
+     * {@link #buildSqlSelectPage(DatabaseVendor, String[], String[], boolean)}.
+     *
+     * @param dbVendor
+     * @param lastKey  primary key values of the last seen row, {@code null} for the first page
+     * @param pageSize
+     * @return
+     * @since 1.1.2
+     */
+    protected static Object[] buildKeysetBindValues(DatabaseVendor dbVendor, Object[] lastKey, int pageSize) {
+        if (lastKey == null) {
+            return new Object[] { pageSize };
+        }
+        List<Object> bindValues = new ArrayList<>();
+        if (lastKey.length == 1 || dbVendor == DatabaseVendor.MYSQL || dbVendor == DatabaseVendor.POSTGRESQL) {
+            bindValues.addAll(Arrays.asList(lastKey));
+        } else {
+            for (int i = 0; i < lastKey.length; i++) {
+                bindValues.addAll(Arrays.asList(lastKey).subList(0, i + 1));
+            }
+        }
+        bindValues.add(pageSize);
+        return bindValues.toArray();
+    }
+
+    /**
+     * Pre-compiled plans to extract bind values from BOs for INSERT, UPDATE and primary-key
+     * statements.
+     *
+     * @since 1.1.2
+     */
+    private AbstractGenericRowMapper.ValuesExtractor<T> valuesExtractorInsert, valuesExtractorUpdate, valuesExtractorPk;
+
+    /**
+     * Pre-split partial UPDATE templates and their bind values extractors, keyed by the
+     * comma-joined list of updated columns.
+     *
+     * @since 1.1.2
+     */
+    private Cache<String, PartialUpdate<T>> partialUpdateTemplates;
+
+    /**
+     * Pre-split partial UPDATE template and the plan to extract its bind values.
+     *
+     * @since 1.1.2
+     */
+    private static class PartialUpdate<T> {
+        final String[] template;
+        final AbstractGenericRowMapper.ValuesExtractor<T> valuesExtractor;
+
+        PartialUpdate(String[] template, AbstractGenericRowMapper.ValuesExtractor<T> valuesExtractor) {
+            this.template = template;
+            this.valuesExtractor = valuesExtractor;
+        }
+    }
+
+    /**
+     * Bind columns following the updated columns in partial UPDATE statements: primary key
+     * columns, then the checksum column (if any).
+     *
+     * @since 1.1.2
+     */
+    private String[] partialUpdateBindColsSuffix;
+
+    /**
+     * SQL statement and bind values extractor to write a BO.
+     *
+     * @since 1.1.2
+     */
+    private static class WritePlan<T> {
+        final String sql;
+        final AbstractGenericRowMapper.ValuesExtractor<T> valuesExtractor;
+
+        WritePlan(String sql, AbstractGenericRowMapper.ValuesExtractor<T> valuesExtractor) {
+            this.sql = sql;
+            this.valuesExtractor = valuesExtractor;
+        }
+    }
 
     /**
      * For data partitioning: Sub-class can override this method to calculate name of DB table to
@@ -217,7 +752,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlInsert(BoId id) {
-        return MessageFormat.format(SQL_INSERT, calcTableName(id));
+        return sqlForTable(SQL_SLOT_INSERT, calcTableName(id));
     }
 
     /**
@@ -234,7 +769,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlInsert(T bo) {
-        return MessageFormat.format(SQL_INSERT, calcTableName(bo));
+        return sqlForTable(SQL_SLOT_INSERT, calcTableName(bo));
     }
 
     /**
@@ -251,7 +786,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlDeleteOne(BoId id) {
-        return MessageFormat.format(SQL_DELETE_ONE, calcTableName(id));
+        return sqlForTable(SQL_SLOT_DELETE_ONE, calcTableName(id));
     }
 
     /**
@@ -268,7 +803,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlDeleteOne(T bo) {
-        return MessageFormat.format(SQL_DELETE_ONE, calcTableName(bo));
+        return sqlForTable(SQL_SLOT_DELETE_ONE, calcTableName(bo));
     }
 
     /**
@@ -285,7 +820,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlSelectOne(BoId id) {
-        return MessageFormat.format(SQL_SELECT_ONE, calcTableName(id));
+        return sqlForTable(SQL_SLOT_SELECT_ONE, calcTableName(id));
     }
 
     /**
@@ -302,7 +837,41 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlSelectOne(T bo) {
-        return MessageFormat.format(SQL_SELECT_ONE, calcTableName(bo));
+        return sqlForTable(SQL_SLOT_SELECT_ONE, calcTableName(bo));
+    }
+
+    /**
+     * For data partitioning: Sub-class can override this method to calculate the SQL query to
+     * select multiple BOs by primary key from a table.
+     *
+     * <p>
+     * Single-column primary keys use {@code pk IN (?,...)}. Composite primary keys use row-value
+     * {@code (pk1,pk2) IN ((?,?),...)} on databases that support it (MySQL, PostgreSQL, Oracle),
+     * and {@code (pk1=? AND pk2=?) OR ...} otherwise. Bind values are primary-key values of all
+     * ids, in order.
+     * </p>
+     *
+     * @param tableName
+     * @param numIds
+     * @param dbVendor
+     * @return
+     * @since 1.1.2
+     */
+    protected String calcSqlSelectMulti(String tableName, int numIds, DatabaseVendor dbVendor) {
+        String[] pkCols = rowMapper.getPrimaryKeyColumns();
+        StringBuilder sql = new StringBuilder(sqlForTable(SQL_SLOT_SELECT_ALL, tableName)).append(" WHERE ");
+        if (pkCols.length == 1) {
+            sql.append(pkCols[0]).append(" IN (").append(StringUtils.repeat("?", ",", numIds)).append(")");
+        } else if (dbVendor == DatabaseVendor.MYSQL || dbVendor == DatabaseVendor.POSTGRESQL
+                || dbVendor == DatabaseVendor.ORACLE) {
+            String tuple = "(" + StringUtils.repeat("?", ",", pkCols.length) + ")";
+            sql.append("(").append(StringUtils.join(pkCols, ",")).append(") IN (")
+                    .append(StringUtils.repeat(tuple, ",", numIds)).append(")");
+        } else {
+            String tuple = "(" + StringUtils.join(pkCols, "=? AND ") + "=?)";
+            sql.append(StringUtils.repeat(tuple, " OR ", numIds));
+        }
+        return sql.toString();
     }
 
     /**
@@ -312,7 +881,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.9.0
      */
     protected String calcSqlSelectAll() {
-        return MessageFormat.format(SQL_SELECT_ALL, getTableName());
+        return sqlForTable(SQL_SLOT_SELECT_ALL, getTableName());
     }
 
     /**
@@ -322,7 +891,21 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.9.0
      */
     protected String calcSqlSelectAllSorted() {
-        return MessageFormat.format(SQL_SELECT_ALL_SORTED, getTableName());
+        return sqlForTable(SQL_SLOT_SELECT_ALL_SORTED, getTableName());
+    }
+
+    /**
+     * Calculate the SQL query to select a page of rows sorted by primary key(s) (keyset
+     * pagination).
+     *
+     * @param afterKey {@code false} for the first page, {@code true} for pages after a last seen key
+     * @param dbVendor
+     * @return
+     * @since 1.1.2
+     */
+    protected String calcSqlSelectPage(boolean afterKey, DatabaseVendor dbVendor) {
+        return sqlForTable((afterKey ? SQL_SLOT_SELECT_PAGE_NEXT : SQL_SLOT_SELECT_PAGE_FIRST) + dbVendor.ordinal(),
+                getTableName());
     }
 
     /**
@@ -339,7 +922,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlUpdateOne(BoId id) {
-        return MessageFormat.format(SQL_UPDATE_ONE, calcTableName(id));
+        return sqlForTable(SQL_SLOT_UPDATE_ONE, calcTableName(id));
     }
 
     /**
@@ -356,60 +939,300 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
      * @since 0.8.0.2
      */
     protected String calcSqlUpdateOne(T bo) {
-        return MessageFormat.format(SQL_UPDATE_ONE, calcTableName(bo));
+        return sqlForTable(SQL_SLOT_UPDATE_ONE, calcTableName(bo));
     }
 
     /**
-     * Get string prefixed to cache key.
+     * Calculate the SQL query to update only the supplied columns of the BO (see
+     * {@link #isPartialUpdate()}).
      *
+     * @param bo
+     * @param columns columns to update, must be update columns
      * @return
-     * @since 0.8.2
+     * @since 1.1.2
      */
-    public String getCacheKeyPrefix() {
-        return cacheKeyPrefix;
+    protected String calcSqlUpdatePartial(T bo, String[] columns) {
+        String[] template = partialUpdatePlan(columns).template;
+        return template[0] + calcTableName(bo) + template[1];
     }
 
     /**
-     * Set string prefixed to cache key.
+     * Get (build if needed) the partial UPDATE template and bind values extractor for the supplied
+     * columns. Both are cached together, bounded by {@link #getSqlCacheSize()}.
      *
-     * @param cacheKeyPrefix
-     * @since 0.8.2
+     * @param columns
+     * @return
      */
-    public void setCacheKeyPrefix(String cacheKeyPrefix) {
-        this.cacheKeyPrefix = cacheKeyPrefix;
+    private PartialUpdate<T> partialUpdatePlan(String[] columns) {
+        String key = StringUtils.join(columns, ",");
+        PartialUpdate<T> plan = partialUpdateTemplates.getIfPresent(key);
+        if (plan == null) {
+            List<String> setIndex = new ArrayList<>(columns.length);
+            for (String col : columns) {
+                setIndex.add(col + "=?");
+            }
+            String[] template = splitSqlTemplate(
+                    "UPDATE {0} SET " + StringUtils.join(setIndex, ",") + " WHERE " + SQL_WHERE_PK_AND_CHECKSUM);
+            plan = new PartialUpdate<>(template,
+                    rowMapper.buildValuesExtractor(ArrayUtils.addAll(columns, partialUpdateBindColsSuffix)));
+            partialUpdateTemplates.put(key, plan);
+        }
+        return plan;
     }
 
     /**
-     * Calculate cache key for a BO.
+     * Columns to write for a partial update of the BO, in update-column order (checksum column
+     * included).
      *
-     * @param id
-     * @return
+     * @param bo
+     * @return {@code null} if the BO should be updated in full
      */
-    protected String cacheKey(BoId id) {
-        String result = StringUtils.join(id.values, "-");
-        return StringUtils.isBlank(cacheKeyPrefix) ? result : (cacheKeyPrefix + result);
+    @SuppressWarnings("unchecked")
+    private String[] changedUpdateColumns(T bo) {
+        if (!partialUpdate || !(bo instanceof BaseBo)) {
+            return null;
+        }
+        T clean = (T) ((BaseBo) bo).getCleanCopy();
+        if (clean == null) {
+            return null;
+        }
+        String[] updateCols = rowMapper.getUpdateColumns();
+        Object[] currentValues = valuesExtractorUpdate.extract(bo);
+        Object[] cleanValues = valuesExtractorUpdate.extract(clean);
+        String checksumCol = rowMapper.getChecksumColumn();
+        List<String> result = new ArrayList<>();
+        boolean hasChecksumCol = false;
+        for (int i = 0; i < updateCols.length; i++) {
+            if (!StringUtils.isBlank(checksumCol) && updateCols[i].equals(checksumCol)) {
+                hasChecksumCol = true;
+            } else if (!Objects.deepEquals(currentValues[i], cleanValues[i])) {
+                result.add(updateCols[i]);
+            }
+        }
+        if (hasChecksumCol && !result.isEmpty()) {
+            result.add(checksumCol);
+        }
+        return result.toArray(ArrayUtils.EMPTY_STRING_ARRAY);
     }
 
     /**
-     * Calculate cache key for a BO.
+     * Attributes of a BO to mark clean once written (see {@link BaseBo#markClean(Map)}), taken
+     * before the BO's values are extracted.
      *
      * @param bo
-     * @return
+     * @return {@code null} if the BO is not a {@link BaseBo}
      */
-    protected String cacheKey(T bo) {
-        String result = StringUtils.join(rowMapper.valuesForColumns(bo, rowMapper.getPrimaryKeyColumns()), "-");
-        return StringUtils.isBlank(cacheKeyPrefix) ? result : (cacheKeyPrefix + result);
+    private static Map<String, Object> attributesState(Object bo) {
+        return bo instanceof BaseBo ? ((BaseBo) bo).getAttributesState() : null;
     }
 
     /**
-     * Invalidate a BO from cache.
+     * Mark a written BO clean as of the state taken by {@link #attributesState(Object)}.
      *
      * @param bo
-     * @param reason
+     * @param state
      */
-    protected void invalidateCache(T bo, CacheInvalidationReason reason) {
-        final String cacheKey = cacheKey(bo);
-        switch (reason) {
+    private static void markWritten(Object bo, Map<String, Object> state) {
+        if (state != null) {
+            ((BaseBo) bo).markClean(state);
+        }
+    }
+
+    /**
+     * Build the plan to update a BO: full update, partial update (see {@link #isPartialUpdate()}),
+     * or {@code null} if nothing has changed.
+     *
+     * @param bo
+     * @return
+     */
+    private WritePlan<T> updatePlan(T bo) {
+        String[] columns = changedUpdateColumns(bo);
+        if (columns == null) {
+            return new WritePlan<>(calcSqlUpdateOne(bo), valuesExtractorUpdate);
+        }
+        if (columns.length == 0) {
+            return null;
+        }
+        return new WritePlan<>(calcSqlUpdatePartial(bo, columns), partialUpdatePlan(columns).valuesExtractor);
+    }
+
+    /**
+     * For data partitioning: Sub-class can override this method to calculate the native upsert
+     * SQL query for the BO by supplied bo.
+     *
+     * <p>
+     * This method of class {@link GenericBoJdbcDao} simple returns its own pre-calculated
+     * SQL query for the database vendor with table name substituted by value returned from
+     * {@link #calcTableName(Object)}.
+     * </p>
+     *
+     * @param bo
+     * @param dbVendor
+     * @return {@code null} if native upsert is not supported
+     * @since 1.1.2
+     */
+    protected String calcSqlUpsert(T bo, DatabaseVendor dbVendor) {
+        return SQL_UPSERT.containsKey(dbVendor) ?
+                sqlForTable(SQL_SLOT_UPSERT + dbVendor.ordinal(), calcTableName(bo)) :
+                null;
+    }
+
+    /**
+     * Calculate the native upsert SQL query for the BO, in the best form the database supports:
+     * on MySQL 8.0.19+ {@code INSERT ... AS new ON DUPLICATE KEY UPDATE col=new.col} (see
+     * {@link DatabaseCapabilities#supportsInsertRowAlias()}), otherwise as
+     * {@link #calcSqlUpsert(Object, DatabaseVendor)}.
+     *
+     * @param bo
+     * @param dbCapabilities
+     * @return {@code null} if native upsert is not supported
+     * @since 1.1.2
+     */
+    protected String calcSqlUpsert(T bo, DatabaseCapabilities dbCapabilities) {
+        return SQL_UPSERT_ROW_ALIAS != null && dbCapabilities.supportsInsertRowAlias() ?
+                sqlForTable(SQL_SLOT_UPSERT_ROW_ALIAS, calcTableName(bo)) :
+                calcSqlUpsert(bo, dbCapabilities.getVendor());
+    }
+
+    /**
+     * Max number of ids fetched per query by {@link #get(BoId...)} (default {@code 100}).
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getMultiGetBatchSize() {
+        return multiGetBatchSize;
+    }
+
+    /**
+     * Number of ids fetched per query by {@link #get(BoId...)}: {@link #getMultiGetBatchSize()},
+     * capped by the database's max number of bind parameters and max {@code IN (...)} list size
+     * (e.g. {@code 1000} on Oracle).
+     *
+     * @param dbCapabilities
+     * @return
+     * @since 1.1.2
+     */
+    protected int calcMultiGetChunkSize(DatabaseCapabilities dbCapabilities) {
+        int numPkCols = rowMapper.getPrimaryKeyColumns().length;
+        int chunkSize = Math.min(multiGetBatchSize, dbCapabilities.getMaxBindParams() / numPkCols);
+        return Math.max(1, Math.min(chunkSize, dbCapabilities.getMaxInListSize()));
+    }
+
+    /**
+     * Max number of ids fetched per query by {@link #get(BoId...)} (default {@code 100}).
+     *
+     * @param multiGetBatchSize
+     * @return
+     * @since 1.1.2
+     */
+    public GenericBoJdbcDao<T> setMultiGetBatchSize(int multiGetBatchSize) {
+        this.multiGetBatchSize = Math.max(1, multiGetBatchSize);
+        return this;
+    }
+
+    /**
+     * Max number of rows sent per JDBC batch by {@link #createBatch(Collection)},
+     * {@link #updateBatch(Collection)} and {@link #deleteBatch(Collection)} (default {@code 100}).
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Max number of rows sent per JDBC batch by {@link #createBatch(Collection)},
+     * {@link #updateBatch(Collection)} and {@link #deleteBatch(Collection)} (default {@code 100}).
+     *
+     * @param batchSize
+     * @return
+     * @since 1.1.2
+     */
+    public GenericBoJdbcDao<T> setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    private final static int DEFAULT_KEYSET_PAGE_SIZE = 1000;
+
+    /**
+     * Page size of keyset pagination (see {@link #getAllSortedAfter(BoId)}), {@code 0} means
+     * {@link #getAllSorted()} does not use keyset pagination (default).
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public int getKeysetPageSize() {
+        return keysetPageSize;
+    }
+
+    /**
+     * Page size of keyset pagination (see {@link #getAllSortedAfter(BoId)}). If set to a positive
+     * value, {@link #getAllSorted()} fetches rows page by page instead of holding a connection and
+     * a cursor for the whole scan. {@link #getAllSortedAfter(BoId)} uses {@code 1000} if not set.
+     *
+     * @param keysetPageSize
+     * @return
+     * @since 1.1.2
+     */
+    public GenericBoJdbcDao<T> setKeysetPageSize(int keysetPageSize) {
+        this.keysetPageSize = Math.max(0, keysetPageSize);
+        return this;
+    }
+
+    /**
+     * Get string prefixed to cache key.
+     *
+     * @return
+     * @since 0.8.2
+     */
+    public String getCacheKeyPrefix() {
+        return cacheKeyPrefix;
+    }
+
+    /**
+     * Set string prefixed to cache key.
+     *
+     * @param cacheKeyPrefix
+     * @since 0.8.2
+     */
+    public void setCacheKeyPrefix(String cacheKeyPrefix) {
+        this.cacheKeyPrefix = cacheKeyPrefix;
+    }
+
+    /**
+     * Calculate cache key for a BO.
+     *
+     * @param id
+     * @return
+     */
+    protected String cacheKey(BoId id) {
+        String result = StringUtils.join(id.values, "-");
+        return StringUtils.isBlank(cacheKeyPrefix) ? result : (cacheKeyPrefix + result);
+    }
+
+    /**
+     * Calculate cache key for a BO.
+     *
+     * @param bo
+     * @return
+     */
+    protected String cacheKey(T bo) {
+        String result = StringUtils.join(valuesExtractorPk.extract(bo), "-");
+        return StringUtils.isBlank(cacheKeyPrefix) ? result : (cacheKeyPrefix + result);
+    }
+
+    /**
+     * Invalidate a BO from cache.
+     *
+     * @param bo
+     * @param reason
+     */
+    protected void invalidateCache(T bo, CacheInvalidationReason reason) {
+        final String cacheKey = cacheKey(bo);
+        switch (reason) {
         case CREATE:
         case UPDATE:
             putToCache(getCacheName(), cacheKey, bo);
@@ -418,8 +1241,60 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         }
     }
 
+    /**
+     * Invalidate multiple BOs from cache, in bulk.
+     *
+     * <p>
+     * Cache entries are removed, which is the same net effect as
+     * {@link #invalidateCache(Object, CacheInvalidationReason)}.
+     * </p>
+     *
+     * @param bos
+     * @param reason
+     * @since 1.1.2
+     */
+    protected void invalidateCacheBatch(Collection<T> bos, CacheInvalidationReason reason) {
+        if (bos == null || bos.isEmpty()) {
+            return;
+        }
+        List<String> cacheKeys = new ArrayList<>(bos.size());
+        for (T bo : bos) {
+            cacheKeys.add(cacheKey(bo));
+        }
+        removeFromCache(getCacheName(), cacheKeys);
+    }
+
     /*----------------------------------------------------------------------*/
 
+    /**
+     * Get capabilities of the database a connection connects to (cached per data source).
+     *
+     * @param conn
+     * @return
+     * @since 1.1.2
+     */
+    protected DatabaseCapabilities getDatabaseCapabilities(Connection conn) {
+        try {
+            return DbcHelper.getDatabaseCapabilities(conn);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Set a savepoint if the connection is in a transaction and the database supports savepoints.
+     *
+     * @param conn
+     * @return the savepoint, or {@code null}
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    protected Savepoint setSavepointIfSupported(Connection conn) throws SQLException {
+        return conn.getAutoCommit() || !getDatabaseCapabilities(conn).supportsSavepoints() ?
+                null :
+                conn.setSavepoint();
+    }
+
     /**
      * Create/Persist a new BO to storage.
      *
@@ -435,13 +1310,14 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         Savepoint savepoint = null;
         try {
             try {
-                savepoint = conn.getAutoCommit() ? null : conn.setSavepoint();
-                int numRows = execute(conn, calcSqlInsert(bo),
-                        rowMapper.valuesForColumns(bo, rowMapper.getInsertColumns()));
+                savepoint = setSavepointIfSupported(conn);
+                Map<String, Object> state = attributesState(bo);
+                int numRows = execute(conn, calcSqlInsert(bo), valuesExtractorInsert.extract(bo));
                 DaoResult result = numRows > 0 ?
                         new DaoResult(DaoOperationStatus.SUCCESSFUL, bo) :
                         new DaoResult(DaoOperationStatus.ERROR);
                 if (numRows > 0) {
+                    markWritten(bo, state);
                     invalidateCache(bo, CacheInvalidationReason.CREATE);
                 }
                 return result;
@@ -483,8 +1359,7 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         if (bo == null) {
             return new DaoResult(DaoOperationStatus.NOT_FOUND);
         }
-        int numRows = execute(conn, calcSqlDeleteOne(bo),
-                rowMapper.valuesForColumns(bo, rowMapper.getPrimaryKeyColumns()));
+        int numRows = execute(conn, calcSqlDeleteOne(bo), valuesExtractorPk.extract(bo));
         DaoResult result = numRows > 0 ?
                 new DaoResult(DaoOperationStatus.SUCCESSFUL, bo) :
                 new DaoResult(DaoOperationStatus.NOT_FOUND);
@@ -509,6 +1384,267 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         }
     }
 
+    /**
+     * Execute a write operation for multiple BOs in JDBC batches.
+     *
+     * <p>
+     * BOs are grouped by SQL (to honor data partitioning) and sent in chunks of
+     * {@link #getBatchSize()} rows. Each chunk is atomic: on an auto-commit connection it is
+     * executed in its own transaction, in a transaction it is rolled back to a savepoint if it
+     * fails. If a chunk fails, it is rolled back and all its rows are re-run one by one with
+     * {@code singleOperation} to get per-row results (e.g.
+     * {@link DaoOperationStatus#DUPLICATED_VALUE}); a row's status is therefore that of its own
+     * statement. Only if the chunk can not be rolled back (no savepoint support), rows that the
+     * driver reports as executed are not re-run.
+     * </p>
+     *
+     * @param conn
+     * @param bos
+     * @param planFunc          SQL and bind values plan of a BO, {@code null} if the BO needs no
+     *                          round trip (it is reported as successful)
+     * @param noRowStatus       status of a row that affected no row ({@code SUCCESSFUL} means
+     *                          such row is successful, e.g. upsert of an unchanged row)
+     * @param reason
+     * @param singleOperation
+     * @param nullResult        result for {@code null} items
+     * @return
+     */
+    private List<DaoResult> _executeBatch(Connection conn, Collection<T> bos, Function<T, WritePlan<T>> planFunc,
+            DaoOperationStatus noRowStatus, CacheInvalidationReason reason,
+            BiFunction<Connection, T, DaoResult> singleOperation, DaoResult nullResult) {
+        List<T> boList = new ArrayList<>(bos);
+        DaoResult[] results = new DaoResult[boList.size()];
+        Map<String, List<Integer>> indexesBySql = new LinkedHashMap<>();
+        Map<String, AbstractGenericRowMapper.ValuesExtractor<T>> extractorsBySql = new HashMap<>();
+        // deleted BOs are not marked clean
+        boolean markWritten = reason != CacheInvalidationReason.DELETE;
+        List<Map<String, Object>> states = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            T bo = boList.get(i);
+            states.add(markWritten ? attributesState(bo) : null);
+            WritePlan<T> plan = bo != null ? planFunc.apply(bo) : null;
+            if (bo == null) {
+                results[i] = nullResult;
+            } else if (plan == null) {
+                results[i] = new DaoResult(DaoOperationStatus.SUCCESSFUL, bo);
+            } else {
+                indexesBySql.computeIfAbsent(plan.sql, k -> new ArrayList<>()).add(i);
+                extractorsBySql.putIfAbsent(plan.sql, plan.valuesExtractor);
+            }
+        }
+        List<T> succeeded = new ArrayList<>();
+        try {
+            boolean batchSupported = getDatabaseCapabilities(conn).supportsBatchUpdates();
+            boolean chunkTransaction = batchSupported && conn.getAutoCommit();
+            for (Map.Entry<String, List<Integer>> entry : indexesBySql.entrySet()) {
+                AbstractGenericRowMapper.ValuesExtractor<T> valuesExtractor = extractorsBySql.get(entry.getKey());
+                Object[] bindValues = new Object[valuesExtractor.size()];
+                List<Integer> indexes = entry.getValue();
+                for (int start = 0; start < indexes.size(); start += batchSize) {
+                    List<Integer> chunk = indexes.subList(start, Math.min(start + batchSize, indexes.size()));
+                    Savepoint savepoint = batchSupported && !chunkTransaction ? setSavepointIfSupported(conn) : null;
+                    int[] counts = ArrayUtils.EMPTY_INT_ARRAY;
+                    boolean committed = false;
+                    if (chunkTransaction) {
+                        conn.setAutoCommit(false);
+                    }
+                    try {
+                        if (batchSupported) {
+                            counts = executeBatch(conn, entry.getKey(),
+                                    () -> chunk.stream().map(i -> valuesExtractor.extract(boList.get(i), bindValues))
+                                            .iterator());
+                        }
+                        if (chunkTransaction) {
+                            conn.commit();
+                            committed = true;
+                        }
+                    } catch (BatchExecutionException e) {
+                        if (chunkTransaction) {
+                            // rolled back below
+                            counts = ArrayUtils.EMPTY_INT_ARRAY;
+                        } else if (savepoint != null) {
+                            conn.rollback(savepoint);
+                            counts = ArrayUtils.EMPTY_INT_ARRAY;
+                        } else {
+                            counts = e.getUpdateCounts();
+                        }
+                    } finally {
+                        if (chunkTransaction) {
+                            try {
+                                if (!committed) {
+                                    conn.rollback();
+                                }
+                            } finally {
+                                conn.setAutoCommit(true);
+                            }
+                        }
+                    }
+                    for (int j = 0, n = chunk.size(); j < n; j++) {
+                        int index = chunk.get(j);
+                        T bo = boList.get(index);
+                        if (j < counts.length && counts[j] != Statement.EXECUTE_FAILED) {
+                            // SUCCESS_NO_INFO: e.g. MySQL's rewriteBatchedStatements
+                            if (counts[j] > 0 || counts[j] == Statement.SUCCESS_NO_INFO
+                                    || noRowStatus == DaoOperationStatus.SUCCESSFUL) {
+                                results[index] = new DaoResult(DaoOperationStatus.SUCCESSFUL, bo);
+                                succeeded.add(bo);
+                                markWritten(bo, states.get(index));
+                            } else {
+                                results[index] = new DaoResult(noRowStatus);
+                            }
+                        } else {
+                            results[index] = singleOperation.apply(conn, bo);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        } finally {
+            invalidateCacheBatch(succeeded, reason);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Create/Persist multiple new BOs to storage, in JDBC batches.
+     *
+     * <p>
+     * {@code null} items are reported as {@link DaoOperationStatus#ERROR}. If a batch fails, its
+     * rows are rolled back and re-run one by one, so each row's status is that of its own INSERT
+     * (e.g. {@link DaoOperationStatus#DUPLICATED_VALUE}).
+     * </p>
+     *
+     * @param conn
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @since 1.1.2
+     */
+    protected List<DaoResult> createBatch(Connection conn, Collection<T> bos) {
+        return _executeBatch(conn, bos, bo -> new WritePlan<>(calcSqlInsert(bo), valuesExtractorInsert),
+                DaoOperationStatus.ERROR, CacheInvalidationReason.CREATE, (c, bo) -> create(c, bo),
+                new DaoResult(DaoOperationStatus.ERROR));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public List<DaoResult> createBatch(Collection<T> bos) {
+        if (bos == null || bos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = getConnection()) {
+            return createBatch(conn, bos);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Update multiple existing BOs, in JDBC batches.
+     *
+     * @param conn
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @since 1.1.2
+     */
+    protected List<DaoResult> updateBatch(Connection conn, Collection<T> bos) {
+        return _executeBatch(conn, bos, this::updatePlan, DaoOperationStatus.NOT_FOUND,
+                CacheInvalidationReason.UPDATE, (c, bo) -> update(c, bo), new DaoResult(DaoOperationStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public List<DaoResult> updateBatch(Collection<T> bos) {
+        if (bos == null || bos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = getConnection()) {
+            return updateBatch(conn, bos);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Delete multiple existing BOs from storage, in JDBC batches.
+     *
+     * @param conn
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @since 1.1.2
+     */
+    protected List<DaoResult> deleteBatch(Connection conn, Collection<T> bos) {
+        return _executeBatch(conn, bos, bo -> new WritePlan<>(calcSqlDeleteOne(bo), valuesExtractorPk),
+                DaoOperationStatus.NOT_FOUND, CacheInvalidationReason.DELETE, (c, bo) -> delete(c, bo),
+                new DaoResult(DaoOperationStatus.NOT_FOUND));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public List<DaoResult> deleteBatch(Collection<T> bos) {
+        if (bos == null || bos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = getConnection()) {
+            return deleteBatch(conn, bos);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Create new BOs or update existing ones, in JDBC batches if native upsert is enabled (see
+     * {@link #isNativeUpsert()}), one by one otherwise.
+     *
+     * @param conn
+     * @param bos
+     * @return one {@link DaoResult} per BO, in the same order as {@code bos}
+     * @since 1.1.2
+     */
+    protected List<DaoResult> createOrUpdateBatch(Connection conn, Collection<T> bos) {
+        DatabaseCapabilities dbCapabilities = nativeUpsertCapabilities(conn);
+        if (dbCapabilities == null) {
+            List<DaoResult> result = new ArrayList<>(bos.size());
+            for (T bo : bos) {
+                result.add(bo != null ? createOrUpdate(conn, bo) : new DaoResult(DaoOperationStatus.ERROR));
+            }
+            return result;
+        }
+        return _executeBatch(conn, bos,
+                bo -> new WritePlan<>(calcSqlUpsert(bo, dbCapabilities), valuesExtractorInsert),
+                upsertNoRowStatus(), CacheInvalidationReason.UPDATE, (c, bo) -> upsert(c, bo, dbCapabilities),
+                new DaoResult(DaoOperationStatus.ERROR));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public List<DaoResult> createOrUpdateBatch(Collection<T> bos) {
+        if (bos == null || bos.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Connection conn = getConnection(upsertInTransaction)) {
+            return createOrUpdateBatch(conn, bos);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     private static class NotFoundException extends Exception {
         private static final long serialVersionUID = "1.0.0".hashCode();
     }
@@ -561,9 +1697,175 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         }
     }
 
+    /**
+     * Look up BOs from cache, in one pass.
+     *
+     * @param idList
+     * @param result
+     * @return {@code true} if there are valid ids not found in cache
+     */
+    private boolean _getFromCache(BoId[] idList, T[] result) {
+        List<String> cacheKeys = new ArrayList<>();
+        for (BoId id : idList) {
+            if (id != null && id.values != null && id.values.length > 0) {
+                cacheKeys.add(cacheKey(id));
+            }
+        }
+        if (cacheKeys.isEmpty()) {
+            return false;
+        }
+        Map<String, T> cached = getFromCache(getCacheName(), cacheKeys, typeClass);
+        boolean hasMisses = false;
+        for (int i = 0; i < idList.length; i++) {
+            BoId id = idList[i];
+            if (id != null && id.values != null && id.values.length > 0) {
+                result[i] = cached.get(cacheKey(id));
+                hasMisses |= result[i] == null;
+            }
+        }
+        return hasMisses;
+    }
+
+    /**
+     * Build the matching key for a primary-key tuple. Values are normalized so that equal keys of
+     * different Java types match: numbers are compared by numeric value ({@code Integer} ids match
+     * {@code Long} columns, {@code 1} matches {@code 1.0}), dates by epoch milliseconds
+     * ({@code Date} matches {@code Timestamp}) and strings without trailing spaces
+     * ({@code CHAR} padding).
+     *
+     * @param values
+     * @return
+     */
+    private static List<Object> _idKey(Object[] values) {
+        List<Object> key = new ArrayList<>(values.length);
+        for (Object v : values) {
+            key.add(_normalizeIdValue(v));
+        }
+        return key;
+    }
+
+    private static Object _normalizeIdValue(Object v) {
+        if (v instanceof Number) {
+            BigDecimal value;
+            if (v instanceof BigDecimal) {
+                value = (BigDecimal) v;
+            } else if (v instanceof BigInteger) {
+                value = new BigDecimal((BigInteger) v);
+            } else if (v instanceof Double || v instanceof Float) {
+                double d = ((Number) v).doubleValue();
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    return v;
+                }
+                value = BigDecimal.valueOf(d);
+            } else {
+                value = BigDecimal.valueOf(((Number) v).longValue());
+            }
+            return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        }
+        if (v instanceof Date) {
+            return ((Date) v).getTime();
+        }
+        if (v instanceof CharSequence) {
+            return StringUtils.stripEnd(v.toString(), " ");
+        }
+        return v;
+    }
+
+    /**
+     * Fetch BOs that are not yet in {@code result} from storage, in chunked multi-row queries.
+     *
+     * <p>
+     * Fetched rows are matched to requested ids by their normalized primary-key values (see
+     * {@link #_idKey(Object[])}). If a query returns rows that can not be matched (e.g. due to
+     * case-insensitive collation), the ids of that query that are still unmatched are fetched one
+     * by one.
+     * </p>
+     *
+     * @param conn
+     * @param idList
+     * @param result
+     */
+    private void _fetchMisses(Connection conn, BoId[] idList, T[] result) {
+        String[] pkCols = rowMapper.getPrimaryKeyColumns();
+        // group misses by table (to honor data partitioning), de-duplicated by id
+        Map<String, Map<List<Object>, BoId>> missesByTable = new LinkedHashMap<>();
+        for (int i = 0; i < idList.length; i++) {
+            BoId id = idList[i];
+            if (result[i] != null || id == null || id.values == null || id.values.length == 0) {
+                continue;
+            }
+            if (id.values.length != pkCols.length) {
+                // malformed id: fall back to single-row fetch
+                result[i] = get(conn, id);
+                continue;
+            }
+            missesByTable.computeIfAbsent(calcTableName(id), k -> new LinkedHashMap<>())
+                    .putIfAbsent(_idKey(id.values), id);
+        }
+        if (missesByTable.isEmpty()) {
+            return;
+        }
+
+        DatabaseCapabilities dbCapabilities = getDatabaseCapabilities(conn);
+        DatabaseVendor dbVendor = dbCapabilities.getVendor();
+        int chunkSize = calcMultiGetChunkSize(dbCapabilities);
+        Map<List<Object>, T> fetched = new HashMap<>();
+        Map<String, T> toCache = new HashMap<>();
+        for (Map.Entry<String, Map<List<Object>, BoId>> entry : missesByTable.entrySet()) {
+            Map<List<Object>, BoId> requested = entry.getValue();
+            List<BoId> ids = new ArrayList<>(requested.values());
+            for (int start = 0; start < ids.size(); start += chunkSize) {
+                List<BoId> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+                List<Object> bindValues = new ArrayList<>(chunk.size() * pkCols.length);
+                for (BoId id : chunk) {
+                    bindValues.addAll(Arrays.asList(id.values));
+                }
+                List<T> rows = executeSelect(rowMapper, conn,
+                        calcSqlSelectMulti(entry.getKey(), chunk.size(), dbVendor), bindValues.toArray());
+                boolean hasUnmatchedRows = false;
+                for (T bo : rows) {
+                    List<Object> key = _idKey(valuesExtractorPk.extract(bo));
+                    if (requested.containsKey(key)) {
+                        fetched.put(key, bo);
+                    } else {
+                        hasUnmatchedRows = true;
+                    }
+                }
+                if (hasUnmatchedRows) {
+                    // rows could not be matched by value: let the database match them
+                    for (BoId id : chunk) {
+                        List<Object> key = _idKey(id.values);
+                        if (!fetched.containsKey(key)) {
+                            T bo = get(conn, id);
+                            if (bo != null) {
+                                fetched.put(key, bo);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < idList.length; i++) {
+            BoId id = idList[i];
+            if (result[i] == null && id != null && id.values != null && id.values.length == pkCols.length) {
+                result[i] = fetched.get(_idKey(id.values));
+                if (result[i] != null) {
+                    toCache.put(cacheKey(id), result[i]);
+                }
+            }
+        }
+        putToCache(getCacheName(), toCache);
+    }
+
     /**
      * Fetch list of existing BOs from storage by id.
      *
+     * <p>
+     * Since v1.1.2: cache is checked for all ids in one pass, then cache-misses are fetched from
+     * storage in chunked {@code WHERE pk IN (...)} queries (see {@link #setMultiGetBatchSize(int)}).
+     * Result is in the same order as {@code idList}.
+     * </p>
+     *
      * @param conn
      * @param idList
      * @return
@@ -572,10 +1874,8 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
     @SuppressWarnings("unchecked")
     protected T[] get(Connection conn, BoId... idList) {
         T[] result = (T[]) Array.newInstance(typeClass, idList != null ? idList.length : 0);
-        if (idList != null) {
-            for (int i = 0; i < idList.length; i++) {
-                result[i] = get(conn, idList[i]);
-            }
+        if (idList != null && idList.length > 0 && _getFromCache(idList, result)) {
+            _fetchMisses(conn, idList, result);
         }
         return result;
     }
@@ -586,11 +1886,13 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
     @SuppressWarnings("unchecked")
     @Override
     public T[] get(BoId... idList) {
-        if (idList == null || idList.length == 0) {
-            return (T[]) Array.newInstance(typeClass, 0);
+        T[] result = (T[]) Array.newInstance(typeClass, idList != null ? idList.length : 0);
+        if (idList == null || idList.length == 0 || !_getFromCache(idList, result)) {
+            return result;
         }
         try (Connection conn = getConnection()) {
-            return get(conn, idList);
+            _fetchMisses(conn, idList, result);
+            return result;
         } catch (SQLException e) {
             throw new DaoException(e);
         }
@@ -615,6 +1917,355 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         return getAll(getConnection());
     }
 
+    /**
+     * Calculate the SQL query to select rows whose first primary key column is in a range
+     * {@code [lower, upper)}; bind values are the lower bound (if any) then the upper bound (if
+     * any).
+     *
+     * @param hasLower
+     * @param hasUpper
+     * @return
+     * @since 1.1.2
+     */
+    protected String calcSqlSelectRange(boolean hasLower, boolean hasUpper) {
+        String pkCol = rowMapper.getPrimaryKeyColumns()[0];
+        StringBuilder sql = new StringBuilder(sqlForTable(SQL_SLOT_SELECT_ALL, getTableName()));
+        if (hasLower) {
+            sql.append(" WHERE ").append(pkCol).append(">=?");
+        }
+        if (hasUpper) {
+            sql.append(hasLower ? " AND " : " WHERE ").append(pkCol).append("<?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Fetch BOs whose first primary key column is in a range {@code [lower, upper)} and return the
+     * result as a stream.
+     *
+     * @param conn  connection to use, closed when the returned stream is closed
+     * @param lower lower bound (inclusive), {@code null} if unbounded
+     * @param upper upper bound (exclusive), {@code null} if unbounded
+     * @return
+     * @since 1.1.2
+     */
+    protected Stream<T> getAllInRange(Connection conn, Object lower, Object upper) {
+        List<Object> bindValues = new ArrayList<>();
+        if (lower != null) {
+            bindValues.add(lower);
+        }
+        if (upper != null) {
+            bindValues.add(upper);
+        }
+        return executeSelectAsStream(rowMapper, conn, true, calcSqlSelectRange(lower != null, upper != null),
+                bindValues.toArray());
+    }
+
+    /**
+     * Calculate the SQL query to select a page of rows, sorted by primary key(s), whose first
+     * primary key column is in a range {@code [lower, upper)}; bind values are the lower bound (if
+     * any), the upper bound (if any), then the keyset values (see
+     * {@link #buildKeysetBindValues(DatabaseVendor, Object[], int)}).
+     *
+     * @param hasLower
+     * @param hasUpper
+     * @param afterKey {@code false} for the first page, {@code true} for pages after a last seen key
+     * @param dbVendor
+     * @return
+     * @since 1.1.2
+     */
+    protected String calcSqlSelectRangePage(boolean hasLower, boolean hasUpper, boolean afterKey,
+            DatabaseVendor dbVendor) {
+        String[] pkCols = rowMapper.getPrimaryKeyColumns();
+        String condition = null;
+        if (hasLower) {
+            condition = pkCols[0] + ">=?";
+        }
+        if (hasUpper) {
+            condition = (hasLower ? condition + " AND " : "") + pkCols[0] + "<?";
+        }
+        String[] template = splitSqlTemplate(
+                buildSqlSelectPage(dbVendor, rowMapper.getAllColumns(), pkCols, condition, afterKey));
+        return template[0] + getTableName() + template[1];
+    }
+
+    /**
+     * Fetch one page of rows, sorted by primary key(s), whose first primary key column is in a
+     * range {@code [lower, upper)}, after a last seen key.
+     *
+     * @param lower    lower bound (inclusive), {@code null} if unbounded
+     * @param upper    upper bound (exclusive), {@code null} if unbounded
+     * @param lastKey  primary key values of the last seen row, {@code null} to fetch the first page
+     * @param pageSize
+     * @return
+     * @since 1.1.2
+     */
+    protected List<T> getPageInRange(Object lower, Object upper, Object[] lastKey, int pageSize) {
+        try (Connection conn = getConnection()) {
+            DatabaseVendor dbVendor = getDatabaseCapabilities(conn).getVendor();
+            List<Object> bindValues = new ArrayList<>();
+            if (lower != null) {
+                bindValues.add(lower);
+            }
+            if (upper != null) {
+                bindValues.add(upper);
+            }
+            bindValues.addAll(Arrays.asList(buildKeysetBindValues(dbVendor, lastKey, pageSize)));
+            return executeSelect(rowMapper, conn,
+                    calcSqlSelectRangePage(lower != null, upper != null, lastKey != null, dbVendor),
+                    bindValues.toArray());
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Calculate boundaries to split the primary key space into (at most) {@code numPartitions}
+     * ranges on the first primary key column.
+     *
+     * <p>
+     * Integral keys are split into equal ranges between {@code MIN(pk)} and {@code MAX(pk)};
+     * other keys are split at sampled values ({@code ORDER BY pk} with offsets of
+     * {@code COUNT(*)/numPartitions}).
+     * </p>
+     *
+     * @param conn
+     * @param numPartitions
+     * @return sorted, distinct boundaries (at most {@code numPartitions - 1} values)
+     * @since 1.1.2
+     */
+    protected Object[] calcPartitionBoundaries(Connection conn, int numPartitions) {
+        String pkCol = rowMapper.getPrimaryKeyColumns()[0];
+        String tableName = getTableName();
+        Object[] minMax = executeSelectOne((rs, rowNum) -> new Object[] { rs.getObject(1), rs.getObject(2) }, conn,
+                "SELECT MIN(" + pkCol + "), MAX(" + pkCol + ") FROM " + tableName);
+        if (numPartitions < 2 || minMax == null || minMax[0] == null || minMax[1] == null) {
+            return ArrayUtils.EMPTY_OBJECT_ARRAY;
+        }
+        BigInteger min = toBigInteger(minMax[0]), max = toBigInteger(minMax[1]);
+        if (min != null && max != null) {
+            return calcIntegralBoundaries(min, max, numPartitions);
+        }
+        List<Object> boundaries = new ArrayList<>();
+        DatabaseVendor dbVendor = getDatabaseCapabilities(conn).getVendor();
+        Number count = executeSelectOne((rs, rowNum) -> (Number) rs.getObject(1), conn,
+                "SELECT COUNT(*) FROM " + tableName);
+        String sql = "SELECT " + pkCol + " FROM " + tableName + " ORDER BY " + pkCol + (
+                supportsLimitClause(dbVendor) ? " LIMIT 1 OFFSET ?" : " OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY");
+        long total = count != null ? count.longValue() : 0;
+        for (int i = 1; i < numPartitions; i++) {
+            long offset = total * i / numPartitions;
+            Object value = offset > 0 ? executeSelectOne((rs, rowNum) -> rs.getObject(1), conn, sql, offset) : null;
+            if (value != null && !value.equals(minMax[0]) && (boundaries.isEmpty() || !value
+                    .equals(boundaries.get(boundaries.size() - 1)))) {
+                boundaries.add(value);
+            }
+        }
+        return boundaries.toArray();
+    }
+
+    /**
+     * Split an integral key range {@code [min, max]} into (at most) {@code numPartitions} equal
+     * ranges.
+     *
+     * @param min
+     * @param max
+     * @param numPartitions
+     * @return sorted, distinct boundaries ({@link Long}s, or {@link BigInteger}s if out of range),
+     * all greater than {@code min}
+     * @since 1.1.2
+     */
+    protected static Object[] calcIntegralBoundaries(BigInteger min, BigInteger max, int numPartitions) {
+        List<Object> boundaries = new ArrayList<>();
+        BigInteger range = max.subtract(min).add(BigInteger.ONE);
+        BigInteger n = BigInteger.valueOf(numPartitions);
+        for (int i = 1; i < numPartitions; i++) {
+            BigInteger boundary = min.add(range.multiply(BigInteger.valueOf(i)).divide(n));
+            Object value = boundary.bitLength() < 64 ? (Object) boundary.longValue() : boundary;
+            if (boundary.compareTo(min) > 0 && !boundaries.contains(value)) {
+                boundaries.add(value);
+            }
+        }
+        return boundaries.toArray();
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+        if (value instanceof BigDecimal) {
+            try {
+                return ((BigDecimal) value).toBigIntegerExact();
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@link Spliterator} over a range of partitions of the primary key space. Splitting hands
+     * over not-yet-read partitions.
+     *
+     * <p>
+     * Connections are bound to threads (see {@link com.github.ddth.dao.utils.DbcHelper}): a
+     * connection must be released by the thread that obtained it, so no partition is left open
+     * between two calls (a parallel short-circuiting operation would otherwise leave partitions open
+     * on worker threads, to be closed later by another thread). Hence:
+     * </p>
+     * <ul>
+     * <li>{@link #forEachRemaining(Consumer)} streams each partition with one query, on a connection
+     * obtained and released within the call.</li>
+     * <li>{@link #tryAdvance(Consumer)} (used by short-circuiting operations) reads the current
+     * partition in keyset pages of at most {@code pageSize} rows (see
+     * {@link #getPageInRange(Object, Object, Object[], int)}), each page on a connection obtained
+     * and released within the call: at most one page is buffered.</li>
+     * </ul>
+     */
+    private class PartitionSpliterator implements Spliterator<T> {
+        private final Object[] boundaries;
+        private final int pageSize;
+        private int from, to;
+
+        /* current partition being read page by page, -1 if none */
+        private int current = -1;
+        private Object[] lastKey;
+        private Iterator<T> page = Collections.emptyIterator();
+        private boolean lastPage;
+
+        /**
+         * @param boundaries
+         * @param from       first partition (inclusive), partition {@code i} is
+         *                   {@code [boundaries[i-1], boundaries[i])}
+         * @param to         last partition (exclusive)
+         * @param pageSize   max number of rows buffered by {@link #tryAdvance(Consumer)}
+         */
+        PartitionSpliterator(Object[] boundaries, int from, int to, int pageSize) {
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+            this.pageSize = pageSize;
+        }
+
+        private Object lower(int partition) {
+            return partition > 0 ? boundaries[partition - 1] : null;
+        }
+
+        private Object upper(int partition) {
+            return partition < boundaries.length ? boundaries[partition] : null;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!page.hasNext()) {
+                if (current < 0 || lastPage) {
+                    if (from >= to) {
+                        current = -1;
+                        return false;
+                    }
+                    current = from++;
+                    lastKey = null;
+                }
+                List<T> rows = getPageInRange(lower(current), upper(current), lastKey, pageSize);
+                lastPage = rows.size() < pageSize;
+                if (!rows.isEmpty()) {
+                    lastKey = valuesExtractorPk.extract(rows.get(rows.size() - 1));
+                }
+                page = rows.iterator();
+            }
+            action.accept(page.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            page.forEachRemaining(action);
+            while (current >= 0 && !lastPage) {
+                List<T> rows = getPageInRange(lower(current), upper(current), lastKey, pageSize);
+                lastPage = rows.size() < pageSize;
+                if (!rows.isEmpty()) {
+                    lastKey = valuesExtractorPk.extract(rows.get(rows.size() - 1));
+                }
+                rows.forEach(action);
+            }
+            current = -1;
+            while (from < to) {
+                Object lower = lower(from), upper = upper(from);
+                from++;
+                try (Stream<T> stream = getAllInRange(getConnection(), lower, upper)) {
+                    stream.forEach(action);
+                }
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int remaining = to - from;
+            if (remaining < (current < 0 ? 2 : 1)) {
+                return null;
+            }
+            int mid = current < 0 ? from + remaining / 2 : to;
+            Spliterator<T> prefix = new PartitionSpliterator(boundaries, from, mid, pageSize);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * Fetch all existing BOs from storage, scanning the primary key space as {@code numPartitions}
+     * ranges (see {@link #calcPartitionBoundaries(Connection, int)}).
+     *
+     * <p>
+     * Each range is scanned by its own query and on its own connection (see
+     * {@link #getAllInRange(Connection, Object, Object)}); the returned stream splits by ranges, so
+     * a parallel stream ({@code getAllPartitioned(n).parallel()}) scans ranges concurrently (at most
+     * as many connections as the stream's worker threads). BOs are returned in no particular order.
+     * </p>
+     *
+     * <p>
+     * <strong>Note:</strong> connections are bound to threads, so a range's connection is obtained
+     * and released by the thread reading the range and no range (hence no connection or cursor) is
+     * left open between two reads of the stream. Consequently, short-circuiting operations (e.g.
+     * {@code findAny}, {@code limit}, {@code iterator()}) do not stream a range with one cursor: they
+     * read it in keyset pages ({@code WHERE pk>? ORDER BY pk}) of at most
+     * {@link #getKeysetPageSize()} rows ({@code 1000} if not set), one query per page, buffering at
+     * most one page per range being read. Non short-circuiting operations (e.g. {@code forEach},
+     * {@code collect}) stream each range with a single query.
+     * </p>
+     *
+     * @param numPartitions
+     * @return
+     * @since 1.1.2
+     */
+    public Stream<T> getAllPartitioned(int numPartitions) {
+        String[] pkCols = rowMapper.getPrimaryKeyColumns();
+        if (pkCols == null || pkCols.length == 0) {
+            throw new IllegalStateException("No primary key columns defined.");
+        }
+        Object[] boundaries;
+        try (Connection conn = getConnection()) {
+            boundaries = calcPartitionBoundaries(conn, numPartitions);
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+        int pageSize = keysetPageSize > 0 ? keysetPageSize : DEFAULT_KEYSET_PAGE_SIZE;
+        return StreamSupport
+                .stream(new PartitionSpliterator(boundaries, 0, boundaries.length + 1, pageSize), false);
+    }
+
     /**
      * Fetch all existing BOs from storage, sorted by primary key(s) and return the result as a
      * stream.
@@ -629,10 +2280,93 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
 
     /**
      * {@inheritDoc}
+     *
+     * <p>
+     * If {@link #setKeysetPageSize(int)} is set, rows are fetched page by page via
+     * {@link #getAllSortedAfter(BoId)}; otherwise one single query is executed and the connection is
+     * held until the stream is closed.
+     * </p>
      */
     @Override
     public Stream<T> getAllSorted() {
-        return getAllSorted(getConnection());
+        return keysetPageSize > 0 ? getAllSortedAfter(null) : getAllSorted(getConnection());
+    }
+
+    /**
+     * Fetch one page of rows sorted by primary key(s), after a last seen key.
+     *
+     * @param lastKey  primary key values of the last seen row, {@code null} to fetch the first page
+     * @param pageSize
+     * @return
+     * @since 1.1.2
+     */
+    protected List<T> getSortedPage(Object[] lastKey, int pageSize) {
+        try (Connection conn = getConnection()) {
+            DatabaseVendor dbVendor = getDatabaseCapabilities(conn).getVendor();
+            return executeSelect(rowMapper, conn, calcSqlSelectPage(lastKey != null, dbVendor),
+                    buildKeysetBindValues(dbVendor, lastKey, pageSize));
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Fetch existing BOs, sorted by primary key(s), whose primary key is greater than a last seen
+     * one, and return the result as a stream.
+     *
+     * <p>
+     * Rows are fetched in pages of {@link #getKeysetPageSize()} rows with keyset pagination
+     * ({@code WHERE pk>? ORDER BY pk LIMIT n}): a connection is borrowed only for the duration of
+     * a page query, no cursor is held between pages. A scan can be resumed by passing the id of the
+     * last BO it has processed.
+     * </p>
+     *
+     * <p>
+     * Note: as pages are fetched by separate queries, the scan is not a consistent snapshot: rows
+     * inserted/deleted during the scan may or may not be seen.
+     * </p>
+     *
+     * @param lastSeenId id of the last seen BO, {@code null} to start from the beginning
+     * @return
+     * @since 1.1.2
+     */
+    public Stream<T> getAllSortedAfter(BoId lastSeenId) {
+        String[] pkCols = rowMapper.getPrimaryKeyColumns();
+        if (pkCols == null || pkCols.length == 0) {
+            throw new IllegalStateException("No primary key columns defined.");
+        }
+        if (lastSeenId != null && (lastSeenId.values == null || lastSeenId.values.length != pkCols.length)) {
+            throw new IllegalArgumentException(
+                    "Expected " + pkCols.length + " primary key value(s), got " + (lastSeenId.values != null ?
+                            lastSeenId.values.length :
+                            0));
+        }
+        int pageSize = keysetPageSize > 0 ? keysetPageSize : DEFAULT_KEYSET_PAGE_SIZE;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Object[] lastKey = lastSeenId != null ? lastSeenId.values : null;
+            private Iterator<T> page = Collections.emptyIterator();
+            private boolean lastPage = false;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!page.hasNext()) {
+                    if (lastPage) {
+                        return false;
+                    }
+                    List<T> rows = getSortedPage(lastKey, pageSize);
+                    lastPage = rows.size() < pageSize;
+                    if (rows.isEmpty()) {
+                        return false;
+                    }
+                    lastKey = valuesExtractorPk.extract(rows.get(rows.size() - 1));
+                    page = rows.iterator();
+                }
+                action.accept(page.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
     }
 
     /**
@@ -650,18 +2384,18 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         Savepoint savepoint = null;
         try {
             try {
-                String[] bindColumns = ArrayUtils
-                        .addAll(rowMapper.getUpdateColumns(), rowMapper.getPrimaryKeyColumns());
-                String colChecksum = rowMapper.getChecksumColumn();
-                if (!StringUtils.isBlank(colChecksum)) {
-                    bindColumns = ArrayUtils.add(bindColumns, colChecksum);
+                Map<String, Object> state = attributesState(bo);
+                WritePlan<T> plan = updatePlan(bo);
+                if (plan == null) {
+                    return new DaoResult(DaoOperationStatus.SUCCESSFUL, bo);
                 }
-                savepoint = conn.getAutoCommit() ? null : conn.setSavepoint();
-                int numRows = execute(conn, calcSqlUpdateOne(bo), rowMapper.valuesForColumns(bo, bindColumns));
+                savepoint = setSavepointIfSupported(conn);
+                int numRows = execute(conn, plan.sql, plan.valuesExtractor.extract(bo));
                 DaoResult result = numRows > 0 ?
                         new DaoResult(DaoOperationStatus.SUCCESSFUL, bo) :
                         new DaoResult(DaoOperationStatus.NOT_FOUND);
                 if (numRows > 0) {
+                    markWritten(bo, state);
                     invalidateCache(bo, CacheInvalidationReason.UPDATE);
                 }
                 return result;
@@ -691,6 +2425,80 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         }
     }
 
+    /**
+     * Get the capabilities of the database to use native upsert with.
+     *
+     * @param conn
+     * @return {@code null} if native upsert is disabled or not supported
+     */
+    private DatabaseCapabilities nativeUpsertCapabilities(Connection conn) {
+        if (!nativeUpsert || SQL_UPSERT.isEmpty()) {
+            return null;
+        }
+        DatabaseCapabilities dbCapabilities = getDatabaseCapabilities(conn);
+        return SQL_UPSERT.containsKey(dbCapabilities.getVendor()) ? dbCapabilities : null;
+    }
+
+    /**
+     * Status of a native upsert that affected no row.
+     *
+     * <p>
+     * If the statement updates existing rows, no affected row means the existing row already had
+     * the same values (MySQL reports {@code 0} for unchanged rows): the upsert is successful.
+     * Otherwise ({@code ON CONFLICT DO NOTHING}, {@code MERGE} without {@code WHEN MATCHED}, MySQL
+     * no-op update) the row already existed and nothing was written:
+     * {@link DaoOperationStatus#DUPLICATED_VALUE}.
+     * </p>
+     *
+     * @return
+     */
+    private DaoOperationStatus upsertNoRowStatus() {
+        return upsertUpdatesRows ? DaoOperationStatus.SUCCESSFUL : DaoOperationStatus.DUPLICATED_VALUE;
+    }
+
+    /**
+     * Create a new BO or update an existing one, using the database's native upsert statement.
+     *
+     * <p>
+     * The update count is mapped as {@link #create(Connection, Object)} and
+     * {@link #update(Connection, Object)} do: rows affected means successful, no row affected is
+     * reported per {@link #upsertNoRowStatus()}.
+     * </p>
+     *
+     * @param conn
+     * @param bo
+     * @param dbCapabilities
+     * @return
+     */
+    private DaoResult upsert(Connection conn, T bo, DatabaseCapabilities dbCapabilities) {
+        Savepoint savepoint = null;
+        try {
+            try {
+                savepoint = setSavepointIfSupported(conn);
+                Map<String, Object> state = attributesState(bo);
+                int numRows = execute(conn, calcSqlUpsert(bo, dbCapabilities), valuesExtractorInsert.extract(bo));
+                DaoOperationStatus status = numRows > 0 ? DaoOperationStatus.SUCCESSFUL : upsertNoRowStatus();
+                DaoResult result = status == DaoOperationStatus.SUCCESSFUL ?
+                        new DaoResult(DaoOperationStatus.SUCCESSFUL, bo) :
+                        new DaoResult(status);
+                if (status == DaoOperationStatus.SUCCESSFUL) {
+                    markWritten(bo, state);
+                    if (numRows > 0) {
+                        invalidateCache(bo, CacheInvalidationReason.UPDATE);
+                    }
+                }
+                return result;
+            } catch (DuplicatedValueException dke) {
+                if (savepoint != null) {
+                    conn.rollback(savepoint);
+                }
+                return new DaoResult(DaoOperationStatus.DUPLICATED_VALUE);
+            }
+        } catch (SQLException e) {
+            throw new DaoException(e);
+        }
+    }
+
     /**
      * Create a new BO or update an existing one.
      *
@@ -704,6 +2512,10 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         if (bo == null) {
             return null;
         }
+        DatabaseCapabilities dbCapabilities = nativeUpsertCapabilities(conn);
+        if (dbCapabilities != null) {
+            return upsert(conn, bo, dbCapabilities);
+        }
         DaoResult result = create(conn, bo);
         DaoResult.DaoOperationStatus status = result != null ? result.getStatus() : null;
         if (status == DaoOperationStatus.DUPLICATED_VALUE || status == DaoOperationStatus.DUPLICATED_UNIQUE) {
@@ -741,6 +2553,10 @@ public abstract class GenericBoJdbcDao<T> extends BaseJdbcDao implements IGeneri
         if (bo == null) {
             return new DaoResult(DaoOperationStatus.NOT_FOUND);
         }
+        DatabaseCapabilities dbCapabilities = nativeUpsertCapabilities(conn);
+        if (dbCapabilities != null) {
+            return upsert(conn, bo, dbCapabilities);
+        }
         DaoResult result = update(conn, bo);
         DaoResult.DaoOperationStatus status = result != null ? result.getStatus() : null;
         if (status == DaoOperationStatus.NOT_FOUND) {
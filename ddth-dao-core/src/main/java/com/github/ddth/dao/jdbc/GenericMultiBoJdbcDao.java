@@ -5,11 +5,22 @@ import com.github.ddth.dao.IGenericBoDao;
 import com.github.ddth.dao.IGenericMultiBoDao;
 import com.github.ddth.dao.utils.DaoException;
 import com.github.ddth.dao.utils.DaoResult;
+import com.github.ddth.dao.utils.MultiGetRequest;
+import com.github.ddth.dao.utils.MultiGetResult;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 /**
@@ -21,6 +32,36 @@ import java.util.stream.Stream;
 public class GenericMultiBoJdbcDao extends BaseJdbcDao implements IGenericMultiBoDao {
 
     private ConcurrentMap<Class<?>, IGenericBoDao<?>> delegateDaos = new ConcurrentHashMap<>();
+    private Executor multiGetExecutor;
+
+    /**
+     * Executor to fetch groups of a {@link MultiGetRequest} in parallel.
+     *
+     * @return
+     * @since 1.1.2
+     */
+    public Executor getMultiGetExecutor() {
+        return multiGetExecutor;
+    }
+
+    /**
+     * Executor to fetch groups of a {@link MultiGetRequest} in parallel. If not set (default),
+     * groups are fetched one after another on the calling thread.
+     *
+     * <p>
+     * BO classes served by the same delegate DAO form one group, fetched one class after another on
+     * one worker thread (hence on that thread's connections, not the calling thread's): groups do not
+     * see the calling thread's uncommitted transaction.
+     * </p>
+     *
+     * @param multiGetExecutor
+     * @return
+     * @since 1.1.2
+     */
+    public GenericMultiBoJdbcDao setMultiGetExecutor(Executor multiGetExecutor) {
+        this.multiGetExecutor = multiGetExecutor;
+        return this;
+    }
 
     /**
      * Thrown when the delegate DAO is not found.
@@ -147,6 +188,197 @@ public class GenericMultiBoJdbcDao extends BaseJdbcDao implements IGenericMultiB
         return dao.get(idList);
     }
 
+    /**
+     * A BO class of a {@link MultiGetRequest} being fetched.
+     */
+    private static class MultiGetEntry<T> {
+        final Class<T> clazz;
+        final long deadline;
+        CompletableFuture<T[]> future;
+
+        MultiGetEntry(Class<T> clazz, long deadline) {
+            this.clazz = clazz;
+            this.deadline = deadline;
+        }
+
+        void collect(MultiGetResult result) throws InterruptedException {
+            try {
+                T[] bos = deadline > 0 ?
+                        future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS) :
+                        future.get();
+                result.put(clazz, bos);
+            } catch (TimeoutException e) {
+                future.cancel(false);
+                result.putError(clazz, e);
+            } catch (ExecutionException e) {
+                result.putError(clazz, multiGetError(e.getCause(), deadline));
+            }
+        }
+    }
+
+    /**
+     * Error to report for a failed BO class: {@link TimeoutException} (caused by the original
+     * error) if the class's deadline has passed, e.g. the query was cancelled by its query timeout.
+     */
+    private static Throwable multiGetError(Throwable error, long deadline) {
+        if (deadline > 0 && System.currentTimeMillis() >= deadline && !(error instanceof TimeoutException)) {
+            TimeoutException e = new TimeoutException("Deadline exceeded: " + error.getMessage());
+            e.initCause(error);
+            return e;
+        }
+        return error;
+    }
+
+    /**
+     * Fetch a BO class of a {@link MultiGetRequest} on the current thread, applying its deadline.
+     */
+    private <T> void getMultiGetEntry(MultiGetResult result, MultiGetRequest request, Class<T> clazz, long now) {
+        long timeout = request.getTimeout(clazz);
+        long deadline = timeout > 0 ? now + timeout : 0;
+        try {
+            if (deadline > 0 && System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Deadline exceeded before fetching [" + clazz.getName() + "].");
+            }
+            T[] bos = getWithDeadline(clazz, request.getIds(clazz), deadline);
+            if (deadline > 0 && System.currentTimeMillis() > deadline) {
+                throw new TimeoutException("Deadline exceeded while fetching [" + clazz.getName() + "].");
+            }
+            result.put(clazz, bos);
+        } catch (TimeoutException | RuntimeException e) {
+            result.putError(clazz, multiGetError(e, deadline));
+        }
+    }
+
+    /**
+     * Fetch BOs of a class, applying the deadline to queries executed on the current thread.
+     */
+    private <T> T[] getWithDeadline(Class<T> clazz, BoId[] idList, long deadline) {
+        long oldDeadline = AbstractJdbcHelper.getQueryDeadline();
+        AbstractJdbcHelper.setQueryDeadline(deadline);
+        try {
+            return get(clazz, idList);
+        } finally {
+            AbstractJdbcHelper.setQueryDeadline(oldDeadline);
+        }
+    }
+
+    private <T> MultiGetEntry<T> newMultiGetEntry(MultiGetRequest request, Class<T> clazz, long now) {
+        long timeout = request.getTimeout(clazz);
+        MultiGetEntry<T> entry = new MultiGetEntry<>(clazz, timeout > 0 ? now + timeout : 0);
+        entry.future = new CompletableFuture<>();
+        return entry;
+    }
+
+    /**
+     * Fetch BO classes of the same delegate DAO one after another, on the current thread. Classes
+     * already given up (cancelled) or past their deadline are skipped.
+     */
+    private void fetchMultiGetEntries(MultiGetRequest request, List<MultiGetEntry<?>> entries) {
+        try {
+            for (MultiGetEntry<?> entry : entries) {
+                fetchMultiGetEntry(request, entry);
+            }
+        } catch (Error e) {
+            entries.forEach(entry -> entry.future.completeExceptionally(e));
+            throw e;
+        }
+    }
+
+    private <T> void fetchMultiGetEntry(MultiGetRequest request, MultiGetEntry<T> entry) {
+        if (entry.future.isDone()) {
+            return;
+        }
+        if (entry.deadline > 0 && System.currentTimeMillis() >= entry.deadline) {
+            entry.future.completeExceptionally(
+                    new TimeoutException("Deadline exceeded before fetching [" + entry.clazz.getName() + "]."));
+            return;
+        }
+        try {
+            entry.future.complete(getWithDeadline(entry.clazz, request.getIds(entry.clazz), entry.deadline));
+        } catch (RuntimeException e) {
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Group BO classes by delegate DAO (in request order). A class without delegate DAO forms its
+     * own group (and fails with {@link DelegateDaoNotFound}).
+     */
+    private List<List<Class<?>>> groupByDelegateDao(Iterable<Class<?>> classes) {
+        Map<Object, List<Class<?>>> groupByDao = new IdentityHashMap<>();
+        List<List<Class<?>>> groups = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            Object key;
+            try {
+                key = lookupDelegateDao(clazz);
+            } catch (DelegateDaoNotFound e) {
+                key = clazz;
+            }
+            groupByDao.computeIfAbsent(key, k -> {
+                List<Class<?>> group = new ArrayList<>();
+                groups.add(group);
+                return group;
+            }).add(clazz);
+        }
+        return groups;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * BO classes are grouped by delegate DAO (see {@link #lookupDelegateDao(Class)}): classes served
+     * by the same DAO are fetched one after another by one task, on one thread. Groups are
+     * fetched in parallel if {@link #setMultiGetExecutor(Executor)} is set and the request has more
+     * than one group; one after another on the calling thread otherwise. Either way, timeouts are
+     * per BO class and counted from the start of the request, a class's queries are given the
+     * remaining time as query timeout (see {@link AbstractJdbcHelper#setQueryDeadline(long)}); a
+     * class that does not complete within its timeout is reported as failed with
+     * {@link TimeoutException} (classes of the same group queued behind it are not waited for past
+     * their own timeouts either).
+     * </p>
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public MultiGetResult get(MultiGetRequest request) throws DaoException {
+        long now = System.currentTimeMillis();
+        List<List<Class<?>>> daoGroups = multiGetExecutor != null ?
+                groupByDelegateDao(request.getClasses()) :
+                null;
+        if (daoGroups == null || daoGroups.size() < 2) {
+            MultiGetResult result = new MultiGetResult(request);
+            for (Class<?> clazz : request.getClasses()) {
+                getMultiGetEntry(result, request, clazz, now);
+            }
+            return result;
+        }
+        List<MultiGetEntry<?>> entries = new ArrayList<>();
+        for (List<Class<?>> daoGroup : daoGroups) {
+            List<MultiGetEntry<?>> tasks = new ArrayList<>();
+            for (Class<?> clazz : daoGroup) {
+                tasks.add(newMultiGetEntry(request, clazz, now));
+            }
+            entries.addAll(tasks);
+            try {
+                CompletableFuture.runAsync(() -> fetchMultiGetEntries(request, tasks), multiGetExecutor);
+            } catch (RejectedExecutionException e) {
+                tasks.forEach(entry -> entry.future.completeExceptionally(e));
+            }
+        }
+        MultiGetResult result = new MultiGetResult(request);
+        try {
+            for (MultiGetEntry<?> entry : entries) {
+                entry.collect(result);
+            }
+        } catch (InterruptedException e) {
+            entries.forEach(entry -> entry.future.cancel(false));
+            Thread.currentThread().interrupt();
+            throw new DaoException(e);
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,131 @@
+package com.github.ddth.dao.jdbc;
+
+import com.github.ddth.dao.jdbc.impl.UniversalRowMapper;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Asynchronous facade over {@link IJdbcHelper}: operations run on an executor and results are
+ * delivered as {@link CompletableFuture}s.
+ *
+ * <p>
+ * Each operation runs entirely on one single worker thread: the connection is obtained, used and
+ * returned (and the transaction, if any, is committed or rolled back) on that thread, so that the
+ * thread-bound connection/transaction tracking of {@link IJdbcHelper} works as usual. Connections
+ * must not be shared across operations.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public interface IAsyncJdbcHelper {
+
+    /**
+     * The underlying (blocking) {@link IJdbcHelper}.
+     *
+     * @return
+     */
+    IJdbcHelper getJdbcHelper();
+
+    /**
+     * Run a task with a connection obtained from a data source.
+     *
+     * <p>
+     * If {@code inTransaction} is {@code true}, the transaction is committed if the task completes
+     * normally, and rolled back otherwise.
+     * </p>
+     *
+     * @param dsName    name of the data source, {@code null} for the default one
+     * @param inTransaction
+     * @param timeoutMs if positive, the returned future is completed exceptionally with
+     *                  {@link java.util.concurrent.TimeoutException} after this amount of time,
+     *                  and remaining time is applied as query timeout to statements executed by the task
+     * @param task
+     * @return
+     */
+    <R> CompletableFuture<R> submit(String dsName, boolean inTransaction, long timeoutMs,
+            Function<Connection, R> task);
+
+    /**
+     * Run a task with a connection obtained from the default data source (no transaction, no timeout).
+     *
+     * @param task
+     * @return
+     */
+    default <R> CompletableFuture<R> submit(Function<Connection, R> task) {
+        return submit(null, false, 0, task);
+    }
+
+    /**
+     * Asynchronous version of {@link IJdbcHelper#execute(Connection, String, Object...)}.
+     *
+     * @param sql
+     * @param bindValues
+     * @return
+     */
+    default CompletableFuture<Integer> execute(String sql, Object... bindValues) {
+        return submit(conn -> getJdbcHelper().execute(conn, sql, bindValues));
+    }
+
+    /**
+     * Asynchronous version of {@link IJdbcHelper#execute(Connection, String, Map)}.
+     *
+     * @param sql
+     * @param bindValues
+     * @return
+     */
+    default CompletableFuture<Integer> execute(String sql, Map<String, ?> bindValues) {
+        return submit(conn -> getJdbcHelper().execute(conn, sql, bindValues));
+    }
+
+    /**
+     * Asynchronous version of {@link IJdbcHelper#executeSelect(IRowMapper, Connection, String, Object...)}.
+     *
+     * @param rowMapper
+     * @param sql
+     * @param bindValues
+     * @return
+     */
+    default <T> CompletableFuture<List<T>> executeSelect(IRowMapper<T> rowMapper, String sql, Object... bindValues) {
+        return submit(conn -> getJdbcHelper().executeSelect(rowMapper, conn, sql, bindValues));
+    }
+
+    /**
+     * Asynchronous version of {@link IJdbcHelper#executeSelect(IRowMapper, Connection, String, Map)}.
+     *
+     * @param rowMapper
+     * @param sql
+     * @param bindValues
+     * @return
+     */
+    default <T> CompletableFuture<List<T>> executeSelect(IRowMapper<T> rowMapper, String sql,
+            Map<String, ?> bindValues) {
+        return submit(conn -> getJdbcHelper().executeSelect(rowMapper, conn, sql, bindValues));
+    }
+
+    /**
+     * Asynchronous version of {@link IJdbcHelper#executeSelect(Connection, String, Object...)}.
+     *
+     * @param sql
+     * @param bindValues
+     * @return
+     */
+    default CompletableFuture<List<Map<String, Object>>> executeSelect(String sql, Object... bindValues) {
+        return executeSelect(UniversalRowMapper.INSTANCE, sql, bindValues);
+    }
+
+    /**
+     * Asynchronous version of {@link IJdbcHelper#executeSelect(Connection, String, Map)}.
+     *
+     * @param sql
+     * @param bindValues
+     * @return
+     */
+    default CompletableFuture<List<Map<String, Object>>> executeSelect(String sql, Map<String, ?> bindValues) {
+        return executeSelect(UniversalRowMapper.INSTANCE, sql, bindValues);
+    }
+}
@@ -1,10 +1,12 @@
 package com.github.ddth.dao.jdbc;
 
 import com.github.ddth.dao.jdbc.impl.UniversalRowMapper;
+import com.github.ddth.dao.utils.BatchExecutionException;
 import com.github.ddth.dao.utils.DaoException;
 
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -158,6 +160,42 @@ public interface IJdbcHelper {
      */
     int execute(Connection conn, String sql, Map<String, ?> bindValues) throws DaoException;
 
+    /**
+     * Execute a non-SELECT statement for multiple rows, reusing one {@link java.sql.PreparedStatement}
+     * in one JDBC batch ({@code addBatch/executeBatch}).
+     *
+     * <p>
+     * Each array of bind values is bound as soon as it is iterated, hence the iterator may reuse
+     * the same array for all rows. For MySQL, add {@code rewriteBatchedStatements=true} to the
+     * JDBC URL so that the batch is sent as multi-row statements.
+     * </p>
+     *
+     * <p>
+     * The default implementation executes the rows one by one via
+     * {@link #execute(Connection, String, Object...)} and stops at the first failing row.
+     * </p>
+     *
+     * @param conn
+     * @param sql
+     * @param bindValuesList index-based bind values, one array per row
+     * @return update counts, one per row (see {@link java.sql.Statement#executeBatch()})
+     * @throws DaoException {@link com.github.ddth.dao.utils.BatchExecutionException} if some rows
+     *                      fail
+     * @since 1.1.2
+     */
+    default int[] executeBatch(Connection conn, String sql, Iterable<Object[]> bindValuesList)
+            throws DaoException {
+        List<Integer> updateCounts = new ArrayList<>();
+        for (Object[] bindValues : bindValuesList) {
+            try {
+                updateCounts.add(execute(conn, sql, bindValues));
+            } catch (DaoException e) {
+                throw new BatchExecutionException(updateCounts.stream().mapToInt(Integer::intValue).toArray(), e);
+            }
+        }
+        return updateCounts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
     /*----------------------------------------------------------------------*/
 
     /**
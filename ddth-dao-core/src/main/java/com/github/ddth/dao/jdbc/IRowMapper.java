@@ -23,4 +23,24 @@ public interface IRowMapper<T> {
      * @throws SQLException
      */
     T mapRow(ResultSet rs, int rowNum) throws SQLException;
+
+    /**
+     * Transform a DB row from {@link ResultSet} to a business object, with the result set's layout
+     * resolved in advance.
+     *
+     * <p>
+     * Implementation should use {@code layout} to access columns by index. This method of
+     * interface {@link IRowMapper} simply calls {@link #mapRow(ResultSet, int)}.
+     * </p>
+     *
+     * @param rs
+     * @param layout
+     * @param rowNum
+     * @return the result object for the current row
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    default T mapRow(ResultSet rs, ResultSetLayout layout, int rowNum) throws SQLException {
+        return mapRow(rs, rowNum);
+    }
 }
@@ -0,0 +1,109 @@
+package com.github.ddth.dao.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU cache of {@link PreparedStatement}s of one single {@link java.sql.Connection}, keyed by SQL.
+ *
+ * <p>
+ * A statement is taken out of the cache while in use ({@link #take(String)}) and put back when
+ * done ({@link #release(String, PreparedStatement)}), so that nested calls with the same SQL on the
+ * same connection never share a statement. Statements evicted from the cache are closed.
+ * </p>
+ *
+ * <p>
+ * Note: this class is not thread-safe, a connection (and its cache) is meant to be used by one
+ * thread at a time.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class PreparedStatementCache implements AutoCloseable {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    public PreparedStatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Take a cached statement out of the cache.
+     *
+     * @param sql
+     * @return {@code null} if no statement is cached for the SQL
+     */
+    public PreparedStatement take(String sql) {
+        return statements.remove(sql);
+    }
+
+    /**
+     * Put a statement back to the cache. Parameters and batch of the statement are cleared; if
+     * this fails, the statement is closed instead.
+     *
+     * @param sql
+     * @param pstm
+     * @return number of statements evicted from the cache
+     */
+    public int release(String sql, PreparedStatement pstm) {
+        try {
+            pstm.clearParameters();
+            pstm.clearBatch();
+        } catch (SQLException e) {
+            closeQuietly(pstm);
+            return 0;
+        }
+        PreparedStatement existing = statements.put(sql, pstm);
+        if (existing != null && existing != pstm) {
+            closeQuietly(existing);
+        }
+        int numEvictions = 0;
+        Iterator<Map.Entry<String, PreparedStatement>> it = statements.entrySet().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            PreparedStatement eldest = it.next().getValue();
+            it.remove();
+            closeQuietly(eldest);
+            numEvictions++;
+        }
+        return numEvictions;
+    }
+
+    /**
+     * Number of cached statements.
+     *
+     * @return
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Close all cached statements.
+     */
+    @Override
+    public void close() {
+        for (PreparedStatement pstm : statements.values()) {
+            closeQuietly(pstm);
+        }
+        statements.clear();
+    }
+
+    private void closeQuietly(PreparedStatement pstm) {
+        try {
+            pstm.close();
+        } catch (SQLException e) {
+            LOGGER.warn(e.getMessage(), e);
+        }
+    }
+}
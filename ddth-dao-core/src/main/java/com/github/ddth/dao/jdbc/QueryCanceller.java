@@ -0,0 +1,98 @@
+package com.github.ddth.dao.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Handle to cancel, from another thread, the statements being executed by JDBC helpers on behalf
+ * of a task (see {@link AbstractJdbcHelper#setQueryCanceller(QueryCanceller)}).
+ *
+ * <p>
+ * Statements are registered while in use; {@link #cancel()} calls {@link Statement#cancel()} on
+ * them and makes subsequent statements fail with {@link SQLTimeoutException}. Once
+ * {@link #finish()} is called, the handle no longer touches any statement (which may have been
+ * handed to another task via the statement cache).
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class QueryCanceller {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(QueryCanceller.class);
+
+    private final Set<Statement> statements = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean cancelled = false, finished = false;
+
+    /**
+     * Register a statement that is about to be executed.
+     *
+     * @param stm
+     * @throws SQLTimeoutException if this handle has been cancelled
+     */
+    synchronized void register(Statement stm) throws SQLTimeoutException {
+        if (cancelled) {
+            throw new SQLTimeoutException("Query cancelled.");
+        }
+        if (!finished) {
+            statements.add(stm);
+        }
+    }
+
+    /**
+     * Unregister a statement that is no longer in use.
+     *
+     * @param stm
+     */
+    synchronized void unregister(Statement stm) {
+        statements.remove(stm);
+    }
+
+    /**
+     * Cancel the statements currently in use and make subsequent ones fail. No-op if
+     * {@link #finish()} has been called.
+     *
+     * @return number of statements cancelled
+     */
+    public synchronized int cancel() {
+        if (finished || cancelled) {
+            return 0;
+        }
+        cancelled = true;
+        int count = 0;
+        for (Statement stm : statements) {
+            try {
+                stm.cancel();
+                count++;
+            } catch (SQLException e) {
+                LOGGER.warn(e.getMessage(), e);
+            }
+        }
+        statements.clear();
+        return count;
+    }
+
+    /**
+     * Has {@link #cancel()} been called (before {@link #finish()})?
+     *
+     * @return
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Mark the task as finished: forget all registered statements.
+     */
+    public synchronized void finish() {
+        finished = true;
+        statements.clear();
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.ddth.dao.jdbc;
+
+import com.github.ddth.dao.utils.JdbcHelper;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolved layout of a {@link ResultSet}: column labels and label-to-index mappings.
+ *
+ * <p>
+ * Column labels are resolved only once per {@link ResultSet} (when the result set is first seen by
+ * {@link com.github.ddth.dao.jdbc.impl.ResultSetIterator} or the JDBC helpers) and handed to
+ * {@link IRowMapper#mapRow(ResultSet, ResultSetLayout, int)}, so that row mappers can access
+ * columns by index instead of looking them up by label for every row.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class ResultSetLayout {
+
+    /**
+     * Resolve the layout of a {@link ResultSet}.
+     *
+     * @param rs
+     * @return
+     * @throws SQLException
+     */
+    public static ResultSetLayout resolve(ResultSet rs) throws SQLException {
+        return new ResultSetLayout(JdbcHelper.extractColumnLabels(rs));
+    }
+
+    private static class LastSeen {
+        /* weak: do not keep the result set (and its statement/connection) reachable from pooled threads */
+        private final WeakReference<ResultSet> rs;
+        private final ResultSetLayout layout;
+
+        private LastSeen(ResultSet rs, ResultSetLayout layout) {
+            this.rs = new WeakReference<>(rs);
+            this.layout = layout;
+        }
+    }
+
+    private static ThreadLocal<LastSeen> lastSeen = new ThreadLocal<>();
+
+    /**
+     * Get the layout of a {@link ResultSet}, resolve it if needed.
+     *
+     * <p>
+     * This method is for callers that do not have a pre-resolved layout at hand (e.g. row mappers
+     * invoked via {@link IRowMapper#mapRow(ResultSet, int)}). Only the layout of the last seen
+     * {@link ResultSet} is remembered (per thread, the {@link ResultSet} itself is only weakly
+     * referenced).
+     * </p>
+     *
+     * @param rs
+     * @return
+     * @throws SQLException
+     */
+    public static ResultSetLayout of(ResultSet rs) throws SQLException {
+        LastSeen entry = lastSeen.get();
+        if (entry == null || entry.rs.get() != rs) {
+            entry = new LastSeen(rs, resolve(rs));
+            lastSeen.set(entry);
+        }
+        return entry.layout;
+    }
+
+    private final String[] columnLabels;
+    private final Map<Object, Object> attachments = new ConcurrentHashMap<>(4);
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final Map<String, Integer> indexesIgnoreCase = new HashMap<>();
+    private final boolean distinctLabels;
+
+    public ResultSetLayout(String[] columnLabels) {
+        this.columnLabels = columnLabels;
+        boolean distinct = true;
+        for (int i = 0; i < columnLabels.length; i++) {
+            if (columnLabels[i] != null) {
+                // first column wins, as ResultSet.findColumn(String)
+                indexes.putIfAbsent(columnLabels[i], i + 1);
+                distinct &= indexesIgnoreCase.putIfAbsent(columnLabels[i].toLowerCase(Locale.ROOT), i + 1) == null;
+            } else {
+                distinct = false;
+            }
+        }
+        this.distinctLabels = distinct;
+    }
+
+    /**
+     * Are all column labels non-null and distinct (case-insensitive)?
+     *
+     * @return
+     */
+    public boolean hasDistinctLabels() {
+        return distinctLabels;
+    }
+
+    /**
+     * Number of columns.
+     *
+     * @return
+     */
+    public int getColumnCount() {
+        return columnLabels.length;
+    }
+
+    /**
+     * Get all column labels.
+     *
+     * @return
+     */
+    public String[] getColumnLabels() {
+        return columnLabels.clone();
+    }
+
+    /**
+     * Get label of a column.
+     *
+     * @param index 1-based column index
+     * @return
+     */
+    public String getColumnLabel(int index) {
+        return columnLabels[index - 1];
+    }
+
+    /**
+     * Get 1-based index of a column (lookup is case-insensitive, as {@link ResultSet#findColumn(String)}).
+     *
+     * @param label
+     * @return 1-based column index, or {@code -1} if not found
+     */
+    public int indexOf(String label) {
+        Integer index = indexes.get(label);
+        if (index == null && label != null) {
+            index = indexesIgnoreCase.get(label.toLowerCase(Locale.ROOT));
+        }
+        return index != null ? index.intValue() : -1;
+    }
+
+    /**
+     * Get 1-based index of the first column whose label matches, ignoring case (as
+     * {@link ResultSet#findColumn(String)} per JDBC specs).
+     *
+     * @param label
+     * @return 1-based column index, or {@code -1} if not found
+     */
+    public int indexOfIgnoreCase(String label) {
+        Integer index = label != null ? indexesIgnoreCase.get(label.toLowerCase(Locale.ROOT)) : null;
+        return index != null ? index.intValue() : -1;
+    }
+
+    /**
+     * Get 1-based index of a column, label must match exactly (case-sensitive).
+     *
+     * @param label
+     * @return 1-based column index, or {@code -1} if not found
+     */
+    public int indexOfExact(Object label) {
+        Integer index = indexes.get(label);
+        return index != null ? index.intValue() : -1;
+    }
+
+    /**
+     * Get a value attached to this layout (e.g. column indexes resolved by a row mapper, see
+     * {@link #setAttachment(Object, Object)}).
+     *
+     * @param key
+     * @return
+     */
+    public Object getAttachment(Object key) {
+        return attachments.get(key);
+    }
+
+    /**
+     * Attach a value to this layout, so that data resolved for a result set lives (and is
+     * discarded) with the result set's layout.
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    public ResultSetLayout setAttachment(Object key, Object value) {
+        attachments.put(key, value);
+        return this;
+    }
+
+    /**
+     * Similar to {@link #indexOf(String)}, but throw {@link SQLException} if column is not found.
+     *
+     * @param label
+     * @return
+     * @throws SQLException
+     */
+    public int findColumn(String label) throws SQLException {
+        int index = indexOf(label);
+        if (index < 1) {
+            throw new SQLException("Column [" + label + "] not found in " + Arrays.toString(columnLabels));
+        }
+        return index;
+    }
+}
@@ -0,0 +1,333 @@
+package com.github.ddth.dao.jdbc;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Compact, immutable {@code Map<String, Object>} view of a {@link java.sql.ResultSet}'s row.
+ *
+ * <p>
+ * Column labels are held by a {@link ResultSetLayout} shared by all rows of the same result set;
+ * each row only holds an {@code Object[]} of its values. Map lookups ({@link #get(Object)},
+ * {@link #containsKey(Object)}) match labels exactly; typed getters ({@link #getLong(String)},
+ * {@link #getString(String)}...) match labels case-insensitively, as
+ * {@link java.sql.ResultSet#findColumn(String)}.
+ * </p>
+ *
+ * <p>
+ * Rows are serialized as a plain {@link LinkedHashMap}.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class Row extends AbstractMap<String, Object> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResultSetLayout layout;
+    private final transient Object[] values;
+
+    /**
+     * @param layout layout of the result set, must have distinct column labels (see
+     *               {@link ResultSetLayout#hasDistinctLabels()})
+     * @param values column values, in column order
+     */
+    public Row(ResultSetLayout layout, Object[] values) {
+        if (values.length != layout.getColumnCount()) {
+            throw new IllegalArgumentException(
+                    "Expect " + layout.getColumnCount() + " values, got " + values.length);
+        }
+        this.layout = layout;
+        this.values = values;
+    }
+
+    public ResultSetLayout getLayout() {
+        return layout;
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return layout.indexOfExact(key) > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(Object key) {
+        int index = layout.indexOfExact(key);
+        return index > 0 ? values[index - 1] : null;
+    }
+
+    private Set<Entry<String, Object>> entrySet;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < values.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (index >= values.length) {
+                                throw new NoSuchElementException();
+                            }
+                            index++;
+                            return new SimpleImmutableEntry<>(layout.getColumnLabel(index), values[index - 1]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    /**
+     * Replace this row with a {@link LinkedHashMap} when serialized.
+     *
+     * @return
+     */
+    private Object writeReplace() {
+        return new LinkedHashMap<>(this);
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private int index(String label) {
+        int index = layout.indexOf(label);
+        if (index < 1) {
+            throw new IllegalArgumentException("Column [" + label + "] not found.");
+        }
+        return index;
+    }
+
+    /**
+     * Get value of a column.
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public Object getObject(int col) {
+        return values[col - 1];
+    }
+
+    /**
+     * Get value of a column (label is case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public Object getObject(String label) {
+        return values[index(label) - 1];
+    }
+
+    /**
+     * Is value of a column {@code null}?
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public boolean isNull(int col) {
+        return values[col - 1] == null;
+    }
+
+    /**
+     * Is value of a column {@code null}? (label is case-insensitive)
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public boolean isNull(String label) {
+        return isNull(index(label));
+    }
+
+    /**
+     * Get value of a column as a string.
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public String getString(int col) {
+        Object value = values[col - 1];
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * Get value of a column as a string (label is case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public String getString(String label) {
+        return getString(index(label));
+    }
+
+    /**
+     * Get value of a column as a {@code long} ({@code 0} if {@code null}).
+     *
+     * @param col 1-based column index
+     * @return
+     * @throws NumberFormatException if value is a non-numeric string
+     */
+    public long getLong(int col) {
+        Object value = values[col - 1];
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue() ? 1 : 0;
+        }
+        return Long.parseLong(value.toString().trim());
+    }
+
+    /**
+     * Get value of a column as a {@code long} ({@code 0} if {@code null}, label is
+     * case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public long getLong(String label) {
+        return getLong(index(label));
+    }
+
+    /**
+     * Get value of a column as an {@code int} ({@code 0} if {@code null}).
+     *
+     * @param col 1-based column index
+     * @return
+     * @throws NumberFormatException if value is a non-numeric string
+     */
+    public int getInt(int col) {
+        return (int) getLong(col);
+    }
+
+    /**
+     * Get value of a column as an {@code int} ({@code 0} if {@code null}, label is
+     * case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public int getInt(String label) {
+        return getInt(index(label));
+    }
+
+    /**
+     * Get value of a column as a {@code double} ({@code 0} if {@code null}).
+     *
+     * @param col 1-based column index
+     * @return
+     * @throws NumberFormatException if value is a non-numeric string
+     */
+    public double getDouble(int col) {
+        Object value = values[col - 1];
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue() ? 1 : 0;
+        }
+        return Double.parseDouble(value.toString().trim());
+    }
+
+    /**
+     * Get value of a column as a {@code double} ({@code 0} if {@code null}, label is
+     * case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public double getDouble(String label) {
+        return getDouble(index(label));
+    }
+
+    /**
+     * Get value of a column as a {@code boolean} ({@code false} if {@code null}; numbers are
+     * {@code true} if non-zero, strings if {@code "true"} or a non-zero number).
+     *
+     * @param col 1-based column index
+     * @return
+     */
+    public boolean getBoolean(int col) {
+        Object value = values[col - 1];
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return ((Boolean) value).booleanValue();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        String str = value.toString().trim();
+        if (Boolean.parseBoolean(str)) {
+            return true;
+        }
+        try {
+            return Double.parseDouble(str) != 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Get value of a column as a {@code boolean} ({@code false} if {@code null}, label is
+     * case-insensitive).
+     *
+     * @param label
+     * @return
+     * @throws IllegalArgumentException if column is not found
+     */
+    public boolean getBoolean(String label) {
+        return getBoolean(index(label));
+    }
+}
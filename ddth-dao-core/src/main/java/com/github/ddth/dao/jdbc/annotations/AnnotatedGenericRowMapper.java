@@ -45,22 +45,24 @@ public class AnnotatedGenericRowMapper<T> extends AbstractGenericRowMapper<T> {
         return updateCols != null && updateCols.length > 0 ? updateCols[0].value() : ArrayUtils.EMPTY_STRING_ARRAY;
     }
 
-    private Map<String, ColAttrMapping> cachedColumnAttributeMappings;
+    private volatile Map<String, ColAttrMapping> cachedColumnAttributeMappings;
 
     /**
      * {@inheritDoc}
      */
     @Override
     public Map<String, ColAttrMapping> getColumnAttributeMappings() {
-        if (cachedColumnAttributeMappings == null) {
-            cachedColumnAttributeMappings = new HashMap<>();
+        Map<String, ColAttrMapping> mappings = cachedColumnAttributeMappings;
+        if (mappings == null) {
+            // build fully before publishing: concurrent callers must never see a partial map
+            mappings = new HashMap<>();
             ColumnAttribute[] annoMappings = getClass().getAnnotationsByType(ColumnAttribute.class);
             for (ColumnAttribute colAttr : annoMappings) {
-                cachedColumnAttributeMappings.put(colAttr.column(),
-                        new ColAttrMapping(colAttr.column(), colAttr.attr(), colAttr.attrClass()));
+                mappings.put(colAttr.column(), new ColAttrMapping(colAttr.column(), colAttr.attr(), colAttr.attrClass()));
             }
+            cachedColumnAttributeMappings = mappings;
         }
-        return cachedColumnAttributeMappings;
+        return mappings;
     }
 
     private String[] cachedAllColumns;
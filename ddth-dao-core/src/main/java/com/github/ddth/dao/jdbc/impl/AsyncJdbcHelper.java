@@ -0,0 +1,416 @@
+package com.github.ddth.dao.jdbc.impl;
+
+import com.github.ddth.dao.jdbc.AbstractJdbcHelper;
+import com.github.ddth.dao.jdbc.IAsyncJdbcHelper;
+import com.github.ddth.dao.jdbc.IJdbcHelper;
+import com.github.ddth.dao.jdbc.QueryCanceller;
+import com.github.ddth.dao.utils.DaoException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Default implementation of {@link IAsyncJdbcHelper}.
+ *
+ * <ul>
+ * <li>Tasks run on virtual threads if the JVM supports them (Java 21+), on a bounded thread pool
+ * ({@link #setMaxThreads(int)}) otherwise. A custom executor can be supplied via
+ * {@link #setExecutor(ExecutorService)}.</li>
+ * <li>The number of tasks running concurrently against a data source is limited
+ * ({@link #setDefaultMaxConcurrency(int)}, {@link #setMaxConcurrency(String, int)}), so that a
+ * burst of tasks does not exhaust the connection pool; this should be set to (at most) the size of
+ * the data source's connection pool. Tasks over the limit wait in a per-data-source queue and are
+ * handed to the executor only when a slot is free: they do not hold threads of the executor, so a
+ * saturated data source does not delay tasks against other data sources.</li>
+ * <li>Timeout is propagated to the JDBC driver: statements executed by the task get the remaining
+ * time as query timeout (see {@link AbstractJdbcHelper#setQueryDeadline(long)}). When the timeout
+ * fires, statements still running are cancelled (see {@link QueryCanceller}).</li>
+ * </ul>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class AsyncJdbcHelper implements IAsyncJdbcHelper, AutoCloseable {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(AsyncJdbcHelper.class);
+
+    private IJdbcHelper jdbcHelper;
+    private ExecutorService executor;
+    private boolean myOwnExecutor = false;
+    private int maxThreads = 32;
+    private int defaultMaxConcurrency = 10;
+    private Map<String, Integer> maxConcurrency = new ConcurrentHashMap<>();
+    private Map<String, DataSourceSlots> slots = new ConcurrentHashMap<>();
+
+    public AsyncJdbcHelper() {
+    }
+
+    public AsyncJdbcHelper(IJdbcHelper jdbcHelper) {
+        this.jdbcHelper = jdbcHelper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public IJdbcHelper getJdbcHelper() {
+        return jdbcHelper;
+    }
+
+    public AsyncJdbcHelper setJdbcHelper(IJdbcHelper jdbcHelper) {
+        this.jdbcHelper = jdbcHelper;
+        return this;
+    }
+
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Executor to run tasks. If not set, an executor is created by {@link #init()} (and shut down
+     * by {@link #destroy()}).
+     *
+     * @param executor
+     * @return
+     */
+    public AsyncJdbcHelper setExecutor(ExecutorService executor) {
+        this.executor = executor;
+        this.myOwnExecutor = false;
+        return this;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Max number of threads of the thread pool created by {@link #init()} if virtual threads are not
+     * supported (default {@code 32}).
+     *
+     * @param maxThreads
+     * @return
+     */
+    public AsyncJdbcHelper setMaxThreads(int maxThreads) {
+        this.maxThreads = Math.max(1, maxThreads);
+        return this;
+    }
+
+    public int getDefaultMaxConcurrency() {
+        return defaultMaxConcurrency;
+    }
+
+    /**
+     * Max number of tasks running concurrently against a data source, if not specified via
+     * {@link #setMaxConcurrency(String, int)} (default {@code 10}).
+     *
+     * @param defaultMaxConcurrency
+     * @return
+     * @throws IllegalStateException if tasks have been submitted
+     */
+    public AsyncJdbcHelper setDefaultMaxConcurrency(int defaultMaxConcurrency) {
+        if (!slots.isEmpty()) {
+            throw new IllegalStateException("Tasks have been submitted, max concurrency can not be changed.");
+        }
+        this.defaultMaxConcurrency = Math.max(1, defaultMaxConcurrency);
+        return this;
+    }
+
+    /**
+     * Max number of tasks running concurrently against a data source.
+     *
+     * @param dsName
+     * @return
+     */
+    public int getMaxConcurrency(String dsName) {
+        return maxConcurrency.getOrDefault(dsNameOrDefault(dsName), defaultMaxConcurrency);
+    }
+
+    /**
+     * Max number of tasks running concurrently against a data source.
+     *
+     * <p>
+     * Note: must be called before any task is submitted against the data source.
+     * </p>
+     *
+     * @param dsName
+     * @param maxConcurrency
+     * @return
+     * @throws IllegalStateException if tasks have been submitted against the data source
+     */
+    public AsyncJdbcHelper setMaxConcurrency(String dsName, int maxConcurrency) {
+        String key = dsNameOrDefault(dsName);
+        if (slots.containsKey(key)) {
+            throw new IllegalStateException(
+                    "Tasks have been submitted against data source [" + key + "], max concurrency can not be changed.");
+        }
+        this.maxConcurrency.put(key, Math.max(1, maxConcurrency));
+        return this;
+    }
+
+    /**
+     * Create an executor that runs each task on a new virtual thread, or {@code null} if virtual
+     * threads are not supported by the running JVM.
+     *
+     * @return
+     */
+    protected static ExecutorService createVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Initializing method.
+     *
+     * @return
+     */
+    public AsyncJdbcHelper init() {
+        if (executor == null) {
+            executor = createVirtualThreadExecutor();
+            if (executor == null) {
+                ThreadPoolExecutor tpe = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(),
+                        new ThreadFactoryBuilder().setNameFormat("async-jdbc-%d").setDaemon(true).build());
+                tpe.allowCoreThreadTimeOut(true);
+                executor = tpe;
+            }
+            myOwnExecutor = true;
+        }
+        return this;
+    }
+
+    /**
+     * Destroying method.
+     */
+    public void destroy() {
+        if (executor != null && myOwnExecutor) {
+            try {
+                executor.shutdown();
+            } catch (Exception e) {
+                LOGGER.warn(e.getMessage(), e);
+            } finally {
+                executor = null;
+                myOwnExecutor = false;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        destroy();
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private static String dsNameOrDefault(String dsName) {
+        return dsName != null ? dsName : IJdbcHelper.DEFAULT_DATASOURCE;
+    }
+
+    private DataSourceSlots slots(String dsName) {
+        return slots.computeIfAbsent(dsName, k -> new DataSourceSlots(k, getMaxConcurrency(k)));
+    }
+
+    /**
+     * A task waiting for a slot of its data source.
+     */
+    private static class PendingTask {
+        final CompletableFuture<?> future;
+        final long deadline;
+        final Runnable body;
+
+        PendingTask(CompletableFuture<?> future, long deadline, Runnable body) {
+            this.future = future;
+            this.deadline = deadline;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Slots of a data source: tasks are queued here and handed to the executor only when a slot
+     * is free, the slot is released when the task completes.
+     */
+    private class DataSourceSlots {
+        private final String dsName;
+        private final Semaphore permits;
+        private final Queue<PendingTask> queue = new ConcurrentLinkedQueue<>();
+
+        DataSourceSlots(String dsName, int maxConcurrency) {
+            this.dsName = dsName;
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        void submit(PendingTask task) {
+            queue.add(task);
+            dispatch();
+        }
+
+        void release() {
+            permits.release();
+            dispatch();
+        }
+
+        /**
+         * Hand queued tasks to the executor while slots are free. Called after every enqueue and
+         * release, so a task is never left in the queue while a slot is free.
+         */
+        private void dispatch() {
+            while (!queue.isEmpty() && permits.tryAcquire()) {
+                PendingTask task = queue.poll();
+                if (task == null || !start(task)) {
+                    permits.release();
+                }
+            }
+        }
+
+        /**
+         * Start a task on the executor, holding a slot.
+         *
+         * @return {@code false} if the task was not started (the slot must be released)
+         */
+        private boolean start(PendingTask task) {
+            if (task.future.isDone()) {
+                // timed out or cancelled while waiting
+                return false;
+            }
+            if (task.deadline > 0 && System.currentTimeMillis() >= task.deadline) {
+                task.future.completeExceptionally(new DaoException(
+                        new TimeoutException("Timed out waiting for a slot of data source [" + dsName + "].")));
+                return false;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.body.run();
+                    } finally {
+                        release();
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException | NullPointerException e) {
+                // rejected, or not initialized (no executor)
+                task.future.completeExceptionally(new DaoException(e));
+                return false;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <R> CompletableFuture<R> submit(String dsName, boolean inTransaction, long timeoutMs,
+            Function<Connection, R> task) {
+        long deadline = timeoutMs > 0 ? System.currentTimeMillis() + timeoutMs : 0;
+        String ds = dsNameOrDefault(dsName);
+        // the concurrency limit of the data source is fixed from the first submit on
+        DataSourceSlots dsSlots = slots(ds);
+        QueryCanceller canceller = timeoutMs > 0 ? new QueryCanceller() : null;
+        CompletableFuture<R> future = new CompletableFuture<>();
+        if (canceller != null) {
+            future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        dsSlots.submit(new PendingTask(future, deadline, () -> {
+            try {
+                future.complete(run(ds, inTransaction, deadline, canceller, task));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }));
+        if (canceller == null) {
+            return future;
+        }
+        future.whenComplete((r, t) -> {
+            if (t instanceof TimeoutException) {
+                // the task may still be running: stop its statements
+                canceller.cancel();
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Run a task on the current thread: obtain a connection, run the task, commit/rollback the
+     * transaction and return the connection.
+     *
+     * @param dsName
+     * @param inTransaction
+     * @param deadline      UNIX timestamp in milliseconds, {@code 0} if no deadline
+     * @param task
+     * @return
+     */
+    protected <R> R run(String dsName, boolean inTransaction, long deadline, Function<Connection, R> task) {
+        return run(dsName, inTransaction, deadline, null, task);
+    }
+
+    /**
+     * Run a task on the current thread: obtain a connection, run the task, commit/rollback the
+     * transaction and return the connection.
+     *
+     * <p>
+     * The caller is responsible for the concurrency limit of the data source: {@link #submit(String,
+     * boolean, long, Function)} calls this method only while holding a slot of the data source.
+     * </p>
+     *
+     * @param dsName
+     * @param inTransaction
+     * @param deadline      UNIX timestamp in milliseconds, {@code 0} if no deadline
+     * @param canceller     to cancel statements of the task from another thread, can be {@code null}
+     * @param task
+     * @return
+     */
+    protected <R> R run(String dsName, boolean inTransaction, long deadline, QueryCanceller canceller,
+            Function<Connection, R> task) {
+        long oldDeadline = AbstractJdbcHelper.getQueryDeadline();
+        QueryCanceller oldCanceller = AbstractJdbcHelper.getQueryCanceller();
+        try {
+            Connection conn = jdbcHelper.getConnection(dsName, inTransaction);
+            AbstractJdbcHelper.setQueryDeadline(deadline);
+            AbstractJdbcHelper.setQueryCanceller(canceller);
+            try {
+                R result = task.apply(conn);
+                if (inTransaction) {
+                    jdbcHelper.commitTransaction(conn);
+                }
+                return result;
+            } catch (Throwable t) {
+                if (inTransaction) {
+                    try {
+                        jdbcHelper.rollbackTransaction(conn);
+                    } catch (Exception e) {
+                        t.addSuppressed(e);
+                    }
+                }
+                throw t;
+            } finally {
+                AbstractJdbcHelper.setQueryDeadline(oldDeadline);
+                AbstractJdbcHelper.setQueryCanceller(oldCanceller);
+                jdbcHelper.returnConnection(conn);
+            }
+        } finally {
+            if (canceller != null) {
+                canceller.finish();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.github.ddth.dao.jdbc.impl;
+
+import com.github.ddth.dao.jdbc.ColumnBlock;
+import com.github.ddth.dao.utils.DaoException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link ResultSetIterator} that returns rows in {@link ColumnBlock}s of (at most) {@code blockSize}
+ * rows.
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class ColumnBlockIterator extends ResultSetIterator<ColumnBlock> {
+
+    private final int blockSize;
+    private ColumnBlock.Builder builder;
+    private ColumnBlock nextBlock;
+
+    /**
+     * Construct a new {@link ColumnBlockIterator} object, supplied with a ready-to-execute
+     * SELECT-{@link java.sql.Statement}.
+     *
+     * @param conn
+     * @param selectStatement must be a ready-to-execute SELECT statement
+     * @param blockSize       max number of rows per block
+     */
+    public ColumnBlockIterator(Connection conn, PreparedStatement selectStatement, int blockSize) {
+        super(conn, null, selectStatement);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextBlock != null) {
+            return true;
+        }
+        if (closed) {
+            return false;
+        }
+        try {
+            if (resultSet == null || selectStatement == null || resultSetLayout == null) {
+                init();
+            }
+            if (builder == null) {
+                builder = new ColumnBlock.Builder(ColumnBlock.Schema.resolve(resultSet, resultSetLayout), blockSize);
+            }
+            boolean hasMore = true;
+            while (!builder.isFull() && (hasMore = resultSet.next())) {
+                builder.readRow(resultSet);
+            }
+            if (!hasMore) {
+                // all rows have been read into memory, release resources now
+                close();
+            }
+            if (builder.getRowCount() == 0) {
+                return false;
+            }
+            nextBlock = builder.build();
+            return true;
+        } catch (Exception e) {
+            close();
+            throw e instanceof DaoException ? (DaoException) e : new DaoException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ColumnBlock next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ColumnBlock block = nextBlock;
+        nextBlock = null;
+        rowNum += block.getRowCount();
+        return block;
+    }
+}
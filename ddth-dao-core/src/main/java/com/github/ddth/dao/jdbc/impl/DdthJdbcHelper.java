@@ -4,8 +4,12 @@ import com.github.ddth.dao.BaseDao;
 import com.github.ddth.dao.jdbc.AbstractJdbcHelper;
 import com.github.ddth.dao.jdbc.IJdbcHelper;
 import com.github.ddth.dao.jdbc.IRowMapper;
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.utils.BatchExecutionException;
 import com.github.ddth.dao.utils.JdbcHelper;
+import com.github.ddth.dao.utils.NamedParamsSql;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -22,6 +26,19 @@ import java.util.Map;
  */
 public class DdthJdbcHelper extends AbstractJdbcHelper {
 
+    /**
+     * Bind positional parameter values to a {@link PreparedStatement}, see
+     * {@link JdbcHelper#bindParams(PreparedStatement, Object...)}.
+     *
+     * @param pstm
+     * @param bindValues
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    protected void bindParams(PreparedStatement pstm, Object[] bindValues) throws SQLException {
+        JdbcHelper.bindParams(pstm, bindValues);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -29,9 +46,12 @@ public class DdthJdbcHelper extends AbstractJdbcHelper {
     public int execute(Connection conn, String sql, Object... bindValues) {
         long timestampStart = System.currentTimeMillis();
         try {
-            try (PreparedStatement pstm = conn.prepareStatement(sql)) {
-                JdbcHelper.bindParams(pstm, bindValues);
+            PreparedStatement pstm = prepareStatement(conn, sql);
+            try {
+                bindParams(pstm, bindValues);
                 return pstm.executeUpdate();
+            } finally {
+                releaseStatement(conn, sql, pstm);
             }
         } catch (SQLException e) {
             throw translateSQLException(conn, "execute", sql, e);
@@ -45,13 +65,34 @@ public class DdthJdbcHelper extends AbstractJdbcHelper {
      */
     @Override
     public int execute(Connection conn, String sql, Map<String, ?> bindValues) {
+        NamedParamsSql.Binding binding = JdbcHelper.bindNamedParams(sql, bindValues);
+        return execute(conn, binding.sql, binding.bindValues);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public int[] executeBatch(Connection conn, String sql, Iterable<Object[]> bindValuesList) {
         long timestampStart = System.currentTimeMillis();
         try {
-            try (PreparedStatement pstm = JdbcHelper.prepareAndBindNamedParamsStatement(conn, sql, bindValues)) {
-                return pstm.executeUpdate();
+            PreparedStatement pstm = prepareStatement(conn, sql);
+            try {
+                for (Object[] bindValues : bindValuesList) {
+                    bindParams(pstm, bindValues);
+                    pstm.addBatch();
+                }
+                return pstm.executeBatch();
+            } finally {
+                releaseStatement(conn, sql, pstm);
             }
+        } catch (BatchUpdateException e) {
+            throw new BatchExecutionException(e.getUpdateCounts(),
+                    translateSQLException(conn, "executeBatch", sql, e));
         } catch (SQLException e) {
-            throw translateSQLException(conn, "execute", sql, e);
+            throw translateSQLException(conn, "executeBatch", sql, e);
         } finally {
             BaseDao.addProfiling(timestampStart, sql, System.currentTimeMillis() - timestampStart);
         }
@@ -61,10 +102,11 @@ public class DdthJdbcHelper extends AbstractJdbcHelper {
         int fetchSize = getDefaultFetchSize();
         pstm.setFetchSize(fetchSize < 0 ? Integer.MIN_VALUE : fetchSize);
         try (ResultSet rs = pstm.executeQuery()) {
+            ResultSetLayout layout = ResultSetLayout.resolve(rs);
             List<T> result = new ArrayList<>();
             int rowNum = 0;
             while (rs.next()) {
-                result.add(rowMapper.mapRow(rs, rowNum));
+                result.add(rowMapper.mapRow(rs, layout, rowNum));
                 rowNum++;
             }
             return result;
@@ -78,10 +120,12 @@ public class DdthJdbcHelper extends AbstractJdbcHelper {
     public <T> List<T> executeSelect(IRowMapper<T> rowMapper, Connection conn, String sql, Object... bindValues) {
         long timestampStart = System.currentTimeMillis();
         try {
-            try (PreparedStatement pstm = conn
-                    .prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
-                JdbcHelper.bindParams(pstm, bindValues);
+            PreparedStatement pstm = prepareStatement(conn, sql);
+            try {
+                bindParams(pstm, bindValues);
                 return _executeSelect(rowMapper, pstm);
+            } finally {
+                releaseStatement(conn, sql, pstm);
             }
         } catch (SQLException e) {
             throw translateSQLException(conn, "executeSelect", sql, e);
@@ -95,17 +139,7 @@ public class DdthJdbcHelper extends AbstractJdbcHelper {
      */
     @Override
     public <T> List<T> executeSelect(IRowMapper<T> rowMapper, Connection conn, String sql, Map<String, ?> bindValues) {
-        long timestampStart = System.currentTimeMillis();
-        try {
-            try (PreparedStatement pstm = JdbcHelper
-                    .prepareAndBindNamedParamsStatement(conn, sql, ResultSet.TYPE_FORWARD_ONLY,
-                            ResultSet.CONCUR_READ_ONLY, bindValues)) {
-                return _executeSelect(rowMapper, pstm);
-            }
-        } catch (SQLException e) {
-            throw translateSQLException(conn, "executeSelect", sql, e);
-        } finally {
-            BaseDao.addProfiling(timestampStart, sql, System.currentTimeMillis() - timestampStart);
-        }
+        NamedParamsSql.Binding binding = JdbcHelper.bindNamedParams(sql, bindValues);
+        return executeSelect(rowMapper, conn, binding.sql, binding.bindValues);
     }
 }
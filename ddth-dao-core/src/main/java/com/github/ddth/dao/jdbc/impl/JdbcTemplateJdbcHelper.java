@@ -1,29 +1,63 @@
 package com.github.ddth.dao.jdbc.impl;
 
 import com.github.ddth.dao.BaseDao;
-import com.github.ddth.dao.jdbc.AbstractJdbcHelper;
+import com.github.ddth.dao.jdbc.DelegatingConnection;
 import com.github.ddth.dao.jdbc.IJdbcHelper;
 import com.github.ddth.dao.jdbc.IRowMapper;
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.utils.BatchExecutionException;
+import com.github.ddth.dao.utils.DbcHelper;
 import com.github.ddth.dao.utils.JdbcHelper;
+import com.github.ddth.dao.utils.NamedParamsSql;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * This implementation of {@link IJdbcHelper} utilizes Spring's
  * {@link JdbcTemplate} to interact with database.
  *
+ * <p>
+ * Since v1.1.2, {@link JdbcTemplate}s are not created per call anymore: the templates returned by
+ * {@link #jdbcTemplate(Connection)} and {@link #namedParameterJdbcTemplate(Connection)} are created
+ * once per connection obtained from this helper and reused until the connection is finally
+ * returned. Statements are executed via {@link JdbcTemplate#execute(ConnectionCallback)} on
+ * statements from {@link #prepareStatement(Connection, String)} (hence utilizing the statement
+ * cache if enabled), the template's fetch size, max rows and query timeout are applied to them, and
+ * {@link SQLException}s are translated by the template's translator (by default the one cached per
+ * data source, see {@link #getSQLExceptionTranslator(Connection)}).
+ * </p>
+ *
  * @author Thanh Nguyen <btnguyen2k@gmail.com>
  * @since 0.7.0
  */
-public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
+public class JdbcTemplateJdbcHelper extends DdthJdbcHelper {
+
+    /**
+     * Templates bound to a connection, created on first use.
+     */
+    private static class BoundTemplates {
+        private JdbcTemplate jdbcTemplate;
+        private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    }
+
+    private final String boundTemplatesKey = BoundTemplates.class.getName() + "-" + UUID.randomUUID();
 
     /**
      * Get {@link JdbcTemplate} instance for a given {@link Connection}.
@@ -32,11 +66,19 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
      * Note: the returned {@link JdbcTemplate} will not close the wrapped {@link Connection}!
      * </p>
      *
+     * <p>
+     * Since v1.1.2, this method is called once per connection obtained from this helper, the
+     * returned template is reused for all statements executed on that connection. Sub-classes can
+     * override this method to tune the template (e.g. fetch size, max rows, query timeout).
+     * </p>
+     *
      * @param conn
      * @return
      */
     protected JdbcTemplate jdbcTemplate(Connection conn) {
-        return new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(conn, true));
+        jdbcTemplate.setExceptionTranslator(getSQLExceptionTranslator(conn));
+        return jdbcTemplate;
     }
 
     /**
@@ -47,12 +89,18 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
      * Note: the returned {@link JdbcTemplate} will not close the wrapped {@link Connection}!
      * </p>
      *
+     * <p>
+     * Since v1.1.2, this method is called once per connection obtained from this helper; statements
+     * with named parameters are executed via the returned template's
+     * {@link NamedParameterJdbcTemplate#getJdbcTemplate()}.
+     * </p>
+     *
      * @param conn
      * @return
      * @since 0.8.0
      */
     protected NamedParameterJdbcTemplate namedParameterJdbcTemplate(Connection conn) {
-        return new NamedParameterJdbcTemplate(new SingleConnectionDataSource(conn, true));
+        return new NamedParameterJdbcTemplate(jdbcTemplate(conn));
     }
 
     /**
@@ -74,8 +122,170 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
         return new NamedParameterJdbcTemplate(getDataSource());
     }
 
+    private BoundTemplates boundTemplates(Connection conn) {
+        return DbcHelper.getConnectionResource(conn, boundTemplatesKey, BoundTemplates::new);
+    }
+
+    /**
+     * Templates live as long as the underlying connection, which may outlive the wrapper handed
+     * out for one checkout: bind them to the underlying connection.
+     */
+    private static Connection boundConnection(Connection conn) {
+        Connection target = conn instanceof DelegatingConnection ? ((DelegatingConnection) conn).getTarget() : null;
+        return target != null ? target : conn;
+    }
+
+    /**
+     * Get the {@link JdbcTemplate} bound to a connection: created via
+     * {@link #jdbcTemplate(Connection)} on first use and reused until the connection is finally
+     * returned. For connections not obtained from this helper, a new template is created per call.
+     *
+     * @param conn
+     * @return
+     * @since 1.1.2
+     */
+    protected JdbcTemplate boundJdbcTemplate(Connection conn) {
+        BoundTemplates templates = boundTemplates(conn);
+        if (templates == null) {
+            return jdbcTemplate(conn);
+        }
+        if (templates.jdbcTemplate == null) {
+            templates.jdbcTemplate = jdbcTemplate(boundConnection(conn));
+        }
+        return templates.jdbcTemplate;
+    }
+
+    /**
+     * Get the {@link NamedParameterJdbcTemplate} bound to a connection: created via
+     * {@link #namedParameterJdbcTemplate(Connection)} on first use and reused until the connection
+     * is finally returned. For connections not obtained from this helper, a new template is created
+     * per call.
+     *
+     * @param conn
+     * @return
+     * @since 1.1.2
+     */
+    protected NamedParameterJdbcTemplate boundNamedParameterJdbcTemplate(Connection conn) {
+        BoundTemplates templates = boundTemplates(conn);
+        if (templates == null) {
+            return namedParameterJdbcTemplate(conn);
+        }
+        if (templates.namedParameterJdbcTemplate == null) {
+            templates.namedParameterJdbcTemplate = namedParameterJdbcTemplate(boundConnection(conn));
+        }
+        return templates.namedParameterJdbcTemplate;
+    }
+
+    /**
+     * Adapt an {@link IRowMapper} to Spring's {@link RowMapper}, the {@link ResultSet}'s layout is
+     * resolved once, on the first row.
+     *
+     * @param rowMapper
+     * @return
+     * @since 1.1.2
+     */
+    protected <T> RowMapper<T> springRowMapper(IRowMapper<T> rowMapper) {
+        return new RowMapper<>() {
+            private ResultSet resultSet;
+            private ResultSetLayout layout;
+
+            @Override
+            public T mapRow(ResultSet rs, int rowNum) throws SQLException {
+                if (layout == null || resultSet != rs) {
+                    layout = ResultSetLayout.resolve(rs);
+                    resultSet = rs;
+                }
+                return rowMapper.mapRow(rs, layout, rowNum);
+            }
+        };
+    }
+
+    /**
+     * Apply the template's statement settings (fetch size, max rows, query timeout) to a statement,
+     * the same way {@link JdbcTemplate} does to statements it creates. A query timeout derived from
+     * the query deadline (see {@link #setQueryDeadline(long)}) takes precedence.
+     *
+     * @param template
+     * @param pstm
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    protected void applyStatementSettings(JdbcTemplate template, PreparedStatement pstm) throws SQLException {
+        if (template.getFetchSize() != -1) {
+            pstm.setFetchSize(template.getFetchSize());
+        }
+        if (template.getMaxRows() != -1) {
+            pstm.setMaxRows(template.getMaxRows());
+        }
+        if (template.getQueryTimeout() != -1 && pstm.getQueryTimeout() == 0) {
+            pstm.setQueryTimeout(template.getQueryTimeout());
+        }
+    }
+
+    private static DataAccessException translate(JdbcTemplate template, String task, String sql, SQLException e) {
+        DataAccessException dae = template.getExceptionTranslator().translate(task, sql, e);
+        return dae != null ? dae : new UncategorizedSQLException(task, sql, e);
+    }
+
+    /**
+     * Execute an action via {@link JdbcTemplate#execute(ConnectionCallback)}, on a
+     * {@link PreparedStatement} obtained via {@link #prepareStatement(Connection, String)} (hence
+     * utilizing the statement cache if enabled) with the template's statement settings applied.
+     * {@link SQLException}s are translated by the template's translator.
+     *
+     * @param template
+     * @param conn
+     * @param task
+     * @param sql
+     * @param action
+     * @return
+     * @since 1.1.2
+     */
+    protected <R> R executeWithStatement(JdbcTemplate template, Connection conn, String task, String sql,
+            PreparedStatementCallback<R> action) {
+        return template.execute((ConnectionCallback<R>) c -> {
+            try {
+                PreparedStatement pstm = prepareStatement(conn, sql);
+                try {
+                    applyStatementSettings(template, pstm);
+                    return action.doInPreparedStatement(pstm);
+                } finally {
+                    if (template.getMaxRows() != -1 && !pstm.isClosed()) {
+                        // do not leak the setting to the next user of a cached statement
+                        pstm.setMaxRows(0);
+                    }
+                    releaseStatement(conn, sql, pstm);
+                }
+            } catch (BatchUpdateException e) {
+                throw new BatchExecutionException(e.getUpdateCounts(),
+                        translateSQLException(translate(template, task, sql, e)));
+            } catch (SQLException e) {
+                throw translate(template, task, sql, e);
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    protected void bindParams(PreparedStatement pstm, Object[] bindValues) throws SQLException {
+        ArgumentPreparedStatementSetter pss = new ArgumentPreparedStatementSetter(bindValues);
+        pss.setValues(pstm);
+        pss.cleanupParameters();
+    }
+
     /*--------------------------------------------------------------------------------*/
 
+    private int _execute(JdbcTemplate template, Connection conn, String sql, Object[] bindValues) {
+        return executeWithStatement(template, conn, "execute", sql, pstm -> {
+            bindParams(pstm, bindValues);
+            return pstm.executeUpdate();
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -83,10 +293,7 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
     public int execute(Connection conn, String sql, Object... bindValues) {
         long timestampStart = System.currentTimeMillis();
         try {
-            JdbcTemplate jdbcTemplate = jdbcTemplate(conn);
-            return bindValues != null && bindValues.length > 0 ?
-                    jdbcTemplate.update(sql, bindValues) :
-                    jdbcTemplate.update(sql);
+            return _execute(boundJdbcTemplate(conn), conn, sql, bindValues);
         } catch (DataAccessException dae) {
             throw translateSQLException(dae);
         } finally {
@@ -101,9 +308,9 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
     public int execute(Connection conn, String sql, Map<String, ?> bindValues) {
         long timestampStart = System.currentTimeMillis();
         try {
-            PreparedStatementCreator psc = con -> JdbcHelper.prepareAndBindNamedParamsStatement(conn, sql, bindValues);
-            JdbcTemplate jdbcTemplate = jdbcTemplate(conn);
-            return jdbcTemplate.update(psc);
+            NamedParamsSql.Binding binding = JdbcHelper.bindNamedParams(sql, bindValues);
+            return _execute(boundNamedParameterJdbcTemplate(conn).getJdbcTemplate(), conn, binding.sql,
+                    binding.bindValues);
         } catch (DataAccessException dae) {
             throw translateSQLException(dae);
         } finally {
@@ -111,6 +318,44 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public int[] executeBatch(Connection conn, String sql, Iterable<Object[]> bindValuesList) {
+        long timestampStart = System.currentTimeMillis();
+        try {
+            return executeWithStatement(boundJdbcTemplate(conn), conn, "executeBatch", sql, pstm -> {
+                for (Object[] bindValues : bindValuesList) {
+                    bindParams(pstm, bindValues);
+                    pstm.addBatch();
+                }
+                return pstm.executeBatch();
+            });
+        } catch (DataAccessException dae) {
+            throw translateSQLException(dae);
+        } finally {
+            BaseDao.addProfiling(timestampStart, sql, System.currentTimeMillis() - timestampStart);
+        }
+    }
+
+    private <T> List<T> _executeSelect(IRowMapper<T> rowMapper, JdbcTemplate template, Connection conn, String sql,
+            Object[] bindValues) {
+        RowMapper<T> jRowMapper = springRowMapper(rowMapper);
+        int fetchSize = getDefaultFetchSize();
+        return executeWithStatement(template, conn, "executeSelect", sql, pstm -> {
+            bindParams(pstm, bindValues);
+            if (template.getFetchSize() == -1) {
+                pstm.setFetchSize(fetchSize < 0 ? Integer.MIN_VALUE : fetchSize);
+            }
+            try (ResultSet rs = pstm.executeQuery()) {
+                return new RowMapperResultSetExtractor<>(jRowMapper).extractData(rs);
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -118,13 +363,7 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
     public <T> List<T> executeSelect(IRowMapper<T> rowMapper, Connection conn, String sql, Object... bindValues) {
         long timestampStart = System.currentTimeMillis();
         try {
-            RowMapper<T> jRowMapper = (rs, rowNum) -> rowMapper.mapRow(rs, rowNum);
-            JdbcTemplate jdbcTemplate = jdbcTemplate(conn);
-            int fetchSize = getDefaultFetchSize();
-            jdbcTemplate.setFetchSize(fetchSize < 0 ? Integer.MIN_VALUE : fetchSize);
-            return bindValues != null && bindValues.length > 0 ?
-                    jdbcTemplate.query(sql, jRowMapper, bindValues) :
-                    jdbcTemplate.query(sql, jRowMapper);
+            return _executeSelect(rowMapper, boundJdbcTemplate(conn), conn, sql, bindValues);
         } catch (DataAccessException dae) {
             throw translateSQLException(dae);
         } finally {
@@ -139,12 +378,9 @@ public class JdbcTemplateJdbcHelper extends AbstractJdbcHelper {
     public <T> List<T> executeSelect(IRowMapper<T> rowMapper, Connection conn, String sql, Map<String, ?> bindValues) {
         long timestampStart = System.currentTimeMillis();
         try {
-            RowMapper<T> jRowMapper = (rs, rowNum) -> rowMapper.mapRow(rs, rowNum);
-            PreparedStatementCreator psc = con -> JdbcHelper.prepareAndBindNamedParamsStatement(conn, sql, bindValues);
-            JdbcTemplate jdbcTemplate = jdbcTemplate(conn);
-            int fetchSize = getDefaultFetchSize();
-            jdbcTemplate.setFetchSize(fetchSize < 0 ? Integer.MIN_VALUE : fetchSize);
-            return jdbcTemplate.query(psc, jRowMapper);
+            NamedParamsSql.Binding binding = JdbcHelper.bindNamedParams(sql, bindValues);
+            return _executeSelect(rowMapper, boundNamedParameterJdbcTemplate(conn).getJdbcTemplate(), conn,
+                    binding.sql, binding.bindValues);
         } catch (DataAccessException dae) {
             throw translateSQLException(dae);
         } finally {
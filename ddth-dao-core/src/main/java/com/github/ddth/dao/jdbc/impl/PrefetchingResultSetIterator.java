@@ -0,0 +1,296 @@
+package com.github.ddth.dao.jdbc.impl;
+
+import com.github.ddth.dao.jdbc.IRowMapper;
+import com.github.ddth.dao.utils.DaoException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ResultSetIterator} that reads and maps rows ahead of the consumer.
+ *
+ * <p>
+ * A producer task (run by an {@link Executor}) reads rows from the {@link java.sql.ResultSet}, maps
+ * them and hands them over in blocks of {@code blockSize} rows through a bounded queue of
+ * {@code queueDepth} blocks, while the consumer processes the previous blocks. Rows are returned in
+ * the same order as they are read.
+ * </p>
+ *
+ * <p>
+ * The query is executed, and the result set, statement and connection are closed, on the
+ * consumer's thread (so that thread-bound connection bookkeeping keeps working); only reading
+ * and mapping rows happen on the producer's thread. {@link #close()} stops the producer and waits
+ * for it to finish before closing the result set; the iterator should be closed if not fully
+ * consumed.
+ * </p>
+ *
+ * <p>
+ * If the executor rejects the producer task (e.g. all threads of {@link #defaultExecutor()} are
+ * busy), rows are read on the consumer's thread, block by block, without read-ahead.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class PrefetchingResultSetIterator<T> extends ResultSetIterator<T> {
+
+    /**
+     * Max number of threads of {@link #defaultExecutor()}.
+     */
+    public final static int DEFAULT_EXECUTOR_MAX_THREADS = 32;
+
+    private static volatile ExecutorService defaultExecutor;
+
+    /**
+     * Default executor to run producer tasks: a pool of (at most
+     * {@link #DEFAULT_EXECUTOR_MAX_THREADS}) daemon threads, idle threads are released after 60
+     * seconds. Tasks are not queued: when all threads are busy, new streams are read without
+     * read-ahead.
+     *
+     * @return
+     */
+    public static Executor defaultExecutor() {
+        if (defaultExecutor == null) {
+            synchronized (PrefetchingResultSetIterator.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = new ThreadPoolExecutor(0, DEFAULT_EXECUTOR_MAX_THREADS, 60, TimeUnit.SECONDS,
+                            new SynchronousQueue<>(),
+                            new ThreadFactoryBuilder().setNameFormat("ddth-dao-prefetch-%d").setDaemon(true).build());
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    private final static Object END = new Object();
+
+    private static class Failure {
+        final Throwable error;
+
+        Failure(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    private final int blockSize, queueDepth;
+    private final Executor executor;
+    private BlockingQueue<Object> queue;
+    private CountDownLatch producerDone;
+    private volatile boolean cancelled = false;
+    private boolean inline = false;
+    private Iterator<T> currentBlock = Collections.emptyIterator();
+
+    /**
+     * Construct a new {@link PrefetchingResultSetIterator} object, supplied with a ready-to-execute
+     * SELECT-{@link java.sql.Statement}.
+     *
+     * @param conn
+     * @param rowMapper
+     * @param selectStatement must be a ready-to-execute SELECT statement
+     * @param blockSize       number of rows per block
+     * @param queueDepth      max number of blocks read ahead
+     * @param executor        executor to run the producer task, {@code null} to use {@link #defaultExecutor()}
+     */
+    public PrefetchingResultSetIterator(Connection conn, IRowMapper<T> rowMapper, PreparedStatement selectStatement,
+            int blockSize, int queueDepth, Executor executor) {
+        super(conn, rowMapper, selectStatement);
+        this.blockSize = Math.max(1, blockSize);
+        this.queueDepth = Math.max(1, queueDepth);
+        this.executor = executor != null ? executor : defaultExecutor();
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Execute the query (on the caller's thread) and start the producer.
+     */
+    private void start() {
+        init();
+        if (closed) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueDepth);
+        producerDone = new CountDownLatch(1);
+        try {
+            executor.execute(this::produce);
+        } catch (RejectedExecutionException e) {
+            // no thread available: read rows on the consumer's thread
+            inline = true;
+            producerDone.countDown();
+        } catch (Exception e) {
+            producerDone.countDown();
+            close();
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Read the next block of rows on the current thread (no read-ahead).
+     *
+     * @return {@code false} if there are no more rows
+     */
+    private boolean readBlock() throws Exception {
+        List<T> block = new ArrayList<>(blockSize);
+        while (block.size() < blockSize && resultSet.next()) {
+            block.add(rowMapper.mapRow(resultSet, resultSetLayout, rowNum + block.size()));
+        }
+        currentBlock = block.iterator();
+        return !block.isEmpty();
+    }
+
+    /**
+     * Hand over an item to the consumer, give up if cancelled.
+     *
+     * @param item
+     * @return
+     * @throws InterruptedException
+     */
+    private boolean put(Object item) throws InterruptedException {
+        while (!cancelled) {
+            if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Producer task: read and map rows, hand them over in blocks.
+     */
+    private void produce() {
+        try {
+            int rowNum = 0;
+            List<T> block = new ArrayList<>(blockSize);
+            while (!cancelled && resultSet.next()) {
+                block.add(rowMapper.mapRow(resultSet, resultSetLayout, rowNum++));
+                if (block.size() >= blockSize) {
+                    if (!put(block)) {
+                        return;
+                    }
+                    block = new ArrayList<>(blockSize);
+                }
+            }
+            if (!block.isEmpty() && !put(block)) {
+                return;
+            }
+            put(END);
+        } catch (Throwable e) {
+            try {
+                put(new Failure(e));
+            } catch (InterruptedException e1) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            producerDone.countDown();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Stop the producer and wait for it to finish, then close the result set, statement and
+     * connection.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        cancelled = true;
+        if (producerDone != null) {
+            queue.clear();
+            Uninterruptibles.awaitUninterruptibly(producerDone);
+            queue.clear();
+        }
+        currentBlock = Collections.emptyIterator();
+        super.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (queue == null) {
+            start();
+            if (closed) {
+                return false;
+            }
+        }
+        if (inline) {
+            try {
+                if (currentBlock.hasNext() || readBlock()) {
+                    return true;
+                }
+                close();
+                return false;
+            } catch (Exception e) {
+                close();
+                throw e instanceof DaoException ? (DaoException) e : new DaoException(e);
+            }
+        }
+        try {
+            while (!currentBlock.hasNext()) {
+                Object item = queue.take();
+                if (item == END) {
+                    close();
+                    return false;
+                }
+                if (item instanceof Failure) {
+                    Throwable e = ((Failure) item).error;
+                    close();
+                    throw e instanceof DaoException ? (DaoException) e : new DaoException(e);
+                }
+                currentBlock = ((List<T>) item).iterator();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T next() {
+        if (closed) {
+            throw new IllegalStateException("This iterator has been closed.");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        rowNum++;
+        return currentBlock.next();
+    }
+}
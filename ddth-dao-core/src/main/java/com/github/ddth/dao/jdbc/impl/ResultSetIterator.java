@@ -1,6 +1,7 @@
 package com.github.ddth.dao.jdbc.impl;
 
 import com.github.ddth.dao.jdbc.IRowMapper;
+import com.github.ddth.dao.jdbc.ResultSetLayout;
 import com.github.ddth.dao.utils.DaoException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,7 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
     protected Connection connection;
     protected ResultSet resultSet;
     protected ResultSetMetaData resultSetMetaData;
+    protected ResultSetLayout resultSetLayout;
     protected Statement selectStatement;
     protected IRowMapper<T> rowMapper;
     protected int rowNum = 0;
@@ -94,6 +96,9 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
             if (resultSet == null) {
                 resultSet = ((PreparedStatement) selectStatement).executeQuery();
             }
+            if (resultSetLayout == null) {
+                resultSetLayout = ResultSetLayout.resolve(resultSet);
+            }
         } catch (Exception e) {
             close();
             throw e instanceof DaoException ? (DaoException) e : new DaoException(e);
@@ -111,7 +116,7 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
                     }
                 if (selectStatement != null)
                     try {
-                        selectStatement.close();
+                        releaseSelectStatement(selectStatement);
                     } catch (Exception e) {
                         LOGGER.warn(e.getMessage(), e);
                     }
@@ -133,6 +138,18 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
         }
     }
 
+    /**
+     * Release the select-statement when this iterator is closed. This method simply closes the
+     * statement, sub-class may override it to e.g. return the statement to a cache.
+     *
+     * @param stm
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    protected void releaseSelectStatement(Statement stm) throws SQLException {
+        stm.close();
+    }
+
     protected Connection getConnection() {
         return connection;
     }
@@ -145,6 +162,14 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
         return resultSetMetaData;
     }
 
+    /**
+     * @return
+     * @since 1.1.2
+     */
+    protected ResultSetLayout getResultSetLayout() {
+        return resultSetLayout;
+    }
+
     protected Statement getSelectStatement() {
         return selectStatement;
     }
@@ -175,7 +200,7 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
         if (closed)
             return false;
         try {
-            if (resultSet == null || selectStatement == null) {
+            if (resultSet == null || selectStatement == null || resultSetLayout == null) {
                 init();
             }
             boolean hasMore = resultSet.next();
@@ -197,7 +222,7 @@ public class ResultSetIterator<T> implements Iterator<T>, Cloneable, AutoCloseab
         if (closed)
             throw new IllegalStateException("This iterator has been closed.");
         try {
-            return rowMapper.mapRow(resultSet, rowNum);
+            return rowMapper.mapRow(resultSet, resultSetLayout, rowNum);
         } catch (Exception e) {
             close();
             throw e instanceof DaoException ? (DaoException) e : new DaoException(e);
@@ -1,22 +1,26 @@
 package com.github.ddth.dao.jdbc.impl;
 
 import com.github.ddth.dao.jdbc.IRowMapper;
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.jdbc.Row;
 import com.github.ddth.dao.jdbc.annotations.AnnotatedGenericRowMapper;
-import com.github.ddth.dao.utils.JdbcHelper;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Universal implementation of {@link IRowMapper} that transform a {@link ResultSet}'s row to
  * {@code Map<String, Object>}.
  *
+ * <p>
+ * Since v1.1.2, rows are mapped to immutable {@link Row}s that share column labels with other rows
+ * of the same result set (falling back to a {@link HashMap} if column labels are not distinct; as
+ * with {@link ResultSet#getObject(String)}, a label maps to the value of the first column matching
+ * it).
+ * </p>
+ *
  * @author Thanh Nguyen <btnguyen2k@gmail.com>
  * @since 0.8.3
  */
@@ -25,24 +29,37 @@ public class UniversalRowMapper extends AnnotatedGenericRowMapper<Map<String, Ob
 
     public final static UniversalRowMapper INSTANCE = new UniversalRowMapper();
 
-    private ThreadLocal<Cache<ResultSet, String[]>> localColNames = ThreadLocal
-            .withInitial(() -> CacheBuilder.newBuilder().expireAfterAccess(3600, TimeUnit.SECONDS).build());
-
     /**
      * {@inheritDoc}
      */
     @Override
     public Map<String, Object> mapRow(ResultSet rs, int rowNum) throws SQLException {
-        Cache<ResultSet, String[]> cache = localColNames.get();
-        try {
-            String[] colLabels = cache.get(rs, () -> JdbcHelper.extractColumnLabels(rs));
-            Map<String, Object> row = new HashMap<>();
-            for (int i = 0; i < colLabels.length; i++) {
-                row.put(colLabels[i], rs.getObject(colLabels[i]));
+        return mapRow(rs, ResultSetLayout.of(rs), rowNum);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 1.1.2
+     */
+    @Override
+    public Map<String, Object> mapRow(ResultSet rs, ResultSetLayout layout, int rowNum) throws SQLException {
+        int numCols = layout.getColumnCount();
+        if (!layout.hasDistinctLabels()) {
+            Map<String, Object> row = new HashMap<>(numCols * 4 / 3 + 1);
+            for (int i = 1; i <= numCols; i++) {
+                String label = layout.getColumnLabel(i);
+                if (!row.containsKey(label)) {
+                    int index = layout.indexOfIgnoreCase(label);
+                    row.put(label, rs.getObject(index > 0 ? index : i));
+                }
             }
             return row;
-        } catch (ExecutionException e) {
-            throw new RuntimeException(e);
         }
+        Object[] values = new Object[numCols];
+        for (int i = 1; i <= numCols; i++) {
+            values[i - 1] = rs.getObject(i);
+        }
+        return new Row(layout, values);
     }
 }
@@ -0,0 +1,174 @@
+package com.github.ddth.dao.utils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Utility class to compile getters/setters/constructors of a BO class into functional interfaces
+ * (via {@link LambdaMetafactory}), so that they can be called directly without reflection.
+ *
+ * <p>
+ * If the lambda can not be spun (e.g. restricted access), this class falls back to
+ * {@link MethodHandleProxies}, which is slower but still reflection-free.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class AccessorUtils {
+
+    @FunctionalInterface
+    public interface BooleanSetter<T> {
+        void set(T bo, boolean value);
+    }
+
+    @FunctionalInterface
+    public interface ByteSetter<T> {
+        void set(T bo, byte value);
+    }
+
+    @FunctionalInterface
+    public interface ShortSetter<T> {
+        void set(T bo, short value);
+    }
+
+    @FunctionalInterface
+    public interface IntSetter<T> {
+        void set(T bo, int value);
+    }
+
+    @FunctionalInterface
+    public interface LongSetter<T> {
+        void set(T bo, long value);
+    }
+
+    @FunctionalInterface
+    public interface FloatSetter<T> {
+        void set(T bo, float value);
+    }
+
+    @FunctionalInterface
+    public interface DoubleSetter<T> {
+        void set(T bo, double value);
+    }
+
+    @FunctionalInterface
+    public interface CharSetter<T> {
+        void set(T bo, char value);
+    }
+
+    /**
+     * Compile a no-arg constructor to a {@link Supplier}.
+     *
+     * @param clazz
+     * @return
+     * @throws NoSuchMethodException
+     */
+    public static <T> Supplier<T> compileConstructor(Class<T> clazz) throws NoSuchMethodException {
+        try {
+            MethodHandles.Lookup lookup = lookupFor(clazz);
+            MethodHandle mh = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+            return spin(lookup, Supplier.class, mh, MethodType.methodType(clazz));
+        } catch (IllegalAccessException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Compile a getter method to a {@link Function} that returns the (boxed) attribute value.
+     *
+     * @param method
+     * @return
+     */
+    public static <T> Function<T, Object> compileGetter(Method method) {
+        if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalArgumentException("Method [" + method + "] is not a getter.");
+        }
+        Class<?> clazz = method.getDeclaringClass();
+        try {
+            MethodHandles.Lookup lookup = lookupFor(clazz);
+            MethodHandle mh = lookup.unreflect(method);
+            return spin(lookup, Function.class, mh,
+                    MethodType.methodType(MethodType.methodType(method.getReturnType()).wrap().returnType(), clazz));
+        } catch (IllegalAccessException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /**
+     * Compile a setter method to a functional interface.
+     *
+     * <p>
+     * {@code fnInterface} is one of the primitive setters declared in this class (e.g.
+     * {@link LongSetter}) or {@link BiConsumer}. Setters with wrapper-typed parameter (e.g.
+     * {@code setId(Long)}) can be compiled to primitive setters (e.g. {@link LongSetter}), values
+     * are boxed when the setter is called.
+     * </p>
+     *
+     * @param method
+     * @param fnInterface
+     * @return
+     */
+    public static <F> F compileSetter(Method method, Class<F> fnInterface) {
+        if (method.getParameterCount() != 1 || Modifier.isStatic(method.getModifiers())) {
+            throw new IllegalArgumentException("Method [" + method + "] is not a setter.");
+        }
+        Method sam = findSam(fnInterface);
+        Class<?> clazz = method.getDeclaringClass();
+        Class<?> valueType = sam.getParameterTypes()[1];
+        if (valueType == Object.class) {
+            valueType = method.getParameterTypes()[0];
+        }
+        try {
+            MethodHandles.Lookup lookup = lookupFor(clazz);
+            MethodHandle mh = lookup.unreflect(method);
+            return spin(lookup, fnInterface, mh,
+                    MethodType.methodType(void.class, clazz, valueType));
+        } catch (IllegalAccessException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private static MethodHandles.Lookup lookupFor(Class<?> clazz) {
+        /*
+         * spin the lambda in the BO's class loader/module, so that the generated class can see the
+         * BO class even if it is loaded by a child class loader.
+         */
+        try {
+            return MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    private static Method findSam(Class<?> fnInterface) {
+        return Arrays.stream(fnInterface.getMethods()).filter(m -> Modifier.isAbstract(m.getModifiers()))
+                .findFirst().orElseThrow(
+                        () -> new IllegalArgumentException("[" + fnInterface + "] is not a functional interface."));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <F> F spin(MethodHandles.Lookup lookup, Class<?> fnInterface, MethodHandle mh,
+            MethodType instantiatedType) {
+        Method sam = findSam(fnInterface);
+        MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+        try {
+            return (F) LambdaMetafactory
+                    .metafactory(lookup, sam.getName(), MethodType.methodType(fnInterface), samType, mh,
+                            instantiatedType).getTarget().invoke();
+        } catch (Throwable t) {
+            return (F) MethodHandleProxies.asInterfaceInstance(fnInterface, mh.asType(samType));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.ddth.dao.utils;
+
+/**
+ * Thrown to indicate that some rows of a JDBC batch failed.
+ *
+ * <p>
+ * {@link #getUpdateCounts()} holds the update counts reported by the driver (see
+ * {@link java.sql.BatchUpdateException#getUpdateCounts()}); the cause is the translated exception
+ * (e.g. {@link DuplicatedValueException}).
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class BatchExecutionException extends DaoException {
+    private static final long serialVersionUID = "1.1.2".hashCode();
+
+    private final int[] updateCounts;
+
+    public BatchExecutionException(int[] updateCounts, Throwable cause) {
+        super(cause);
+        this.updateCounts = updateCounts != null ? updateCounts : new int[0];
+    }
+
+    /**
+     * Update counts reported by the driver, one per executed row.
+     *
+     * @return
+     */
+    public int[] getUpdateCounts() {
+        return updateCounts;
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.ddth.dao.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Capability profile of a database: vendor and supported features.
+ *
+ * <p>
+ * Reading {@link DatabaseMetaData} may cost a round trip to the server with some drivers, so the
+ * profile is detected only once per registered data source and cached (see
+ * {@link DbcHelper#getDatabaseCapabilities(Connection)}).
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class DatabaseCapabilities {
+
+    /**
+     * Detect capabilities of the database the connection connects to.
+     *
+     * @param conn
+     * @return
+     * @throws SQLException
+     */
+    public static DatabaseCapabilities detect(Connection conn) throws SQLException {
+        DatabaseMetaData dmd = conn.getMetaData();
+        String productName = dmd.getDatabaseProductName();
+        DatabaseVendor vendor = detectVendor(productName);
+        return new DatabaseCapabilities(vendor, productName, dmd.getDatabaseProductVersion(), dmd.supportsSavepoints(),
+                dmd.supportsBatchUpdates(), maxBindParams(vendor), maxInListSize(vendor));
+    }
+
+    private static DatabaseVendor detectVendor(String productName) {
+        if (StringUtils.equalsAnyIgnoreCase("MySQL", productName)) {
+            return DatabaseVendor.MYSQL;
+        }
+        if (StringUtils.equalsAnyIgnoreCase("PostgreSQL", productName)) {
+            return DatabaseVendor.POSTGRESQL;
+        }
+        if (StringUtils.equalsAnyIgnoreCase("Microsoft SQL Server", productName)) {
+            return DatabaseVendor.MSSQL;
+        }
+        if (StringUtils.equalsAnyIgnoreCase("Oracle", productName)) {
+            return DatabaseVendor.ORACLE;
+        }
+        return DatabaseVendor.UNKNOWN;
+    }
+
+    private static int maxBindParams(DatabaseVendor vendor) {
+        switch (vendor) {
+        case MYSQL:
+            return 65535;
+        case POSTGRESQL:
+            return 32767;
+        case MSSQL:
+            // 2100 parameters per RPC request, some of which are consumed by sp_executesql
+            return 2098;
+        case ORACLE:
+            return 65535;
+        default:
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private static int maxInListSize(DatabaseVendor vendor) {
+        switch (vendor) {
+        case ORACLE:
+            // ORA-01795: maximum number of expressions in a list is 1000
+            return 1000;
+        default:
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    private final static Pattern VERSION_PATTERN = Pattern.compile("^\\d+(\\.\\d+)*");
+
+    /**
+     * Is a version string (e.g. {@code "8.0.33"}, {@code "5.7.40-log"}) at least the supplied
+     * version? Only the leading dot-separated numbers are compared, missing ones count as
+     * {@code 0}.
+     *
+     * @param version
+     * @param minVersion
+     * @return {@code false} if {@code version} does not start with a number
+     */
+    private static boolean isVersionAtLeast(String version, int... minVersion) {
+        Matcher matcher = VERSION_PATTERN.matcher(StringUtils.defaultString(version));
+        if (!matcher.find()) {
+            return false;
+        }
+        String[] parts = matcher.group().split("\\.");
+        for (int i = 0; i < minVersion.length; i++) {
+            int v = i < parts.length ? Integer.parseInt(parts[i]) : 0;
+            if (v != minVersion[i]) {
+                return v > minVersion[i];
+            }
+        }
+        return true;
+    }
+
+    private final DatabaseVendor vendor;
+    private final String productName, productVersion;
+    private final boolean supportsSavepoints, supportsBatchUpdates;
+    private final int maxBindParams, maxInListSize;
+
+    public DatabaseCapabilities(DatabaseVendor vendor, String productName, boolean supportsSavepoints,
+            boolean supportsBatchUpdates, int maxBindParams) {
+        this(vendor, productName, null, supportsSavepoints, supportsBatchUpdates, maxBindParams,
+                maxInListSize(vendor != null ? vendor : DatabaseVendor.UNKNOWN));
+    }
+
+    public DatabaseCapabilities(DatabaseVendor vendor, String productName, String productVersion,
+            boolean supportsSavepoints, boolean supportsBatchUpdates, int maxBindParams, int maxInListSize) {
+        this.vendor = vendor != null ? vendor : DatabaseVendor.UNKNOWN;
+        this.productName = productName;
+        this.productVersion = productVersion;
+        this.supportsSavepoints = supportsSavepoints;
+        this.supportsBatchUpdates = supportsBatchUpdates;
+        this.maxBindParams = maxBindParams;
+        this.maxInListSize = maxInListSize;
+    }
+
+    public DatabaseVendor getVendor() {
+        return vendor;
+    }
+
+    /**
+     * Database product name, as reported by {@link DatabaseMetaData#getDatabaseProductName()}.
+     *
+     * @return
+     */
+    public String getProductName() {
+        return productName;
+    }
+
+    /**
+     * Database product version, as reported by
+     * {@link DatabaseMetaData#getDatabaseProductVersion()} ({@code null} if unknown).
+     *
+     * @return
+     */
+    public String getProductVersion() {
+        return productVersion;
+    }
+
+    /**
+     * Does the database support row aliases in {@code INSERT ... VALUES (...) AS new ON DUPLICATE
+     * KEY UPDATE col=new.col} (MySQL 8.0.19+, which deprecates {@code VALUES(col)} since 8.0.20)?
+     * MariaDB, also reported as MySQL by MySQL drivers, does not.
+     *
+     * @return
+     */
+    public boolean supportsInsertRowAlias() {
+        return vendor == DatabaseVendor.MYSQL && !StringUtils.containsIgnoreCase(productVersion, "MariaDB")
+                && isVersionAtLeast(productVersion, 8, 0, 19);
+    }
+
+    public boolean supportsSavepoints() {
+        return supportsSavepoints;
+    }
+
+    public boolean supportsBatchUpdates() {
+        return supportsBatchUpdates;
+    }
+
+    /**
+     * Max number of bind parameters per statement ({@link Integer#MAX_VALUE} if unknown).
+     *
+     * @return
+     */
+    public int getMaxBindParams() {
+        return maxBindParams;
+    }
+
+    /**
+     * Max number of entries (values or row-value tuples) in an {@code IN (...)} list
+     * ({@link Integer#MAX_VALUE} if unknown or unlimited).
+     *
+     * @return
+     */
+    public int getMaxInListSize() {
+        return maxInListSize;
+    }
+}
@@ -1,15 +1,17 @@
 package com.github.ddth.dao.utils;
 
-import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * Database Connectivity Helper class.
@@ -18,7 +20,48 @@ import java.util.concurrent.atomic.AtomicLong;
  * @since 0.2.0
  */
 public class DbcHelper {
-    private final static ConcurrentMap<String, DataSource> jdbcDataSources = new ConcurrentHashMap<String, DataSource>();
+    private final static Logger LOGGER = LoggerFactory.getLogger(DbcHelper.class);
+
+    /**
+     * Pre-resolved handle of a registered JDBC data source.
+     *
+     * <p>
+     * Obtain it once via {@link #getDataSourceHandle(String)} and use
+     * {@link #getConnection(DataSourceHandle, boolean)} to save the lookup by name on every call.
+     * </p>
+     *
+     * @since 1.1.2
+     */
+    public static class DataSourceHandle {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile DatabaseCapabilities capabilities;
+
+        private DataSourceHandle(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        /**
+         * Capabilities of the underlying database, {@code null} until the first connection is
+         * obtained from the data source.
+         *
+         * @return
+         */
+        public DatabaseCapabilities getCapabilities() {
+            return capabilities;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+    }
+
+    private final static ConcurrentMap<String, DataSourceHandle> jdbcDataSources = new ConcurrentHashMap<>();
 
     public static void init() {
         jdbcDataSources.clear();
@@ -36,7 +79,7 @@ public class DbcHelper {
      * @return
      */
     public static boolean registerJdbcDataSource(String name, DataSource dataSource) {
-        return jdbcDataSources.putIfAbsent(name, dataSource) == null;
+        return jdbcDataSources.putIfAbsent(name, new DataSourceHandle(name, dataSource)) == null;
     }
 
     /**
@@ -56,23 +99,98 @@ public class DbcHelper {
      * @return
      */
     public static DataSource getJdbcDataSource(String name) {
-        return jdbcDataSources.get(name);
+        DataSourceHandle handle = getDataSourceHandle(name);
+        return handle != null ? handle.dataSource : null;
+    }
+
+    /**
+     * Retrieves the handle of a registered JDBC data source by name.
+     *
+     * @param name
+     * @return
+     * @since 1.1.2
+     */
+    public static DataSourceHandle getDataSourceHandle(String name) {
+        return name != null ? jdbcDataSources.get(name) : null;
     }
 
     /*----------------------------------------------------------------------*/
 
     private static class OpenConnStats {
-        // public String dsName;
+        public DataSourceHandle handle;
         public Connection conn;
-        public AtomicLong counter = new AtomicLong();
+        public long counter = 0;
         public boolean inTransaction = false;
+        public Map<String, Object> resources;
     }
 
-    private static ThreadLocal<Map<String, OpenConnStats>> openConnStats = ThreadLocal
-            .withInitial(() -> new ConcurrentHashMap<>());
+    /**
+     * Connections currently opened by a thread. A thread usually holds very few connections at a
+     * time, so entries are kept in a small array and looked up by linear scan. Data is
+     * thread-confined, no synchronization is needed. Released entries are kept (beyond
+     * {@code size}) to be reused.
+     */
+    private static class OpenConnRegistry {
+        private OpenConnStats[] entries = new OpenConnStats[4];
+        private int size = 0;
+
+        OpenConnStats get(DataSourceHandle handle) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i].handle == handle) {
+                    return entries[i];
+                }
+            }
+            return null;
+        }
+
+        OpenConnStats get(Connection conn) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i].conn == conn) {
+                    return entries[i];
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                // connection may be wrapped, e.g. in a proxy that forwards equals() to the target
+                if (conn.equals(entries[i].conn)) {
+                    return entries[i];
+                }
+            }
+            return null;
+        }
+
+        OpenConnStats add(DataSourceHandle handle, Connection conn) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            OpenConnStats connStats = entries[size];
+            if (connStats == null) {
+                connStats = entries[size] = new OpenConnStats();
+            }
+            size++;
+            connStats.handle = handle;
+            connStats.conn = conn;
+            connStats.counter = 0;
+            connStats.inTransaction = false;
+            connStats.resources = null;
+            return connStats;
+        }
+
+        void remove(OpenConnStats connStats) {
+            for (int i = 0; i < size; i++) {
+                if (entries[i] == connStats) {
+                    size--;
+                    entries[i] = entries[size];
+                    entries[size] = connStats;
+                    connStats.handle = null;
+                    connStats.conn = null;
+                    connStats.resources = null;
+                    return;
+                }
+            }
+        }
+    }
 
-    private static ThreadLocal<Map<Connection, String>> openConnDsName = ThreadLocal
-            .withInitial(() -> new ConcurrentHashMap<>());
+    private static ThreadLocal<OpenConnRegistry> openConns = ThreadLocal.withInitial(OpenConnRegistry::new);
 
     /**
      * Obtains a JDBC connection from a named data-source (with no transaction
@@ -106,23 +224,47 @@ public class DbcHelper {
      * @throws SQLException
      */
     public static Connection getConnection(String dataSourceName, boolean startTransaction) throws SQLException {
-        Map<String, OpenConnStats> statsMap = openConnStats.get();
-        OpenConnStats connStats = statsMap.get(dataSourceName);
+        return getConnection(getDataSourceHandle(dataSourceName), startTransaction);
+    }
+
+    /**
+     * Obtains a JDBC connection from a registered data-source (start a new transaction if
+     * specified).
+     *
+     * <p>
+     * Note: call {@link #returnConnection(Connection)} to return the connection
+     * back to the pool. Do NOT use {@code Connection.clode()}.
+     * </p>
+     *
+     * @param handle
+     * @param startTransaction
+     * @return
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    public static Connection getConnection(DataSourceHandle handle, boolean startTransaction) throws SQLException {
+        if (handle == null) {
+            return null;
+        }
+        OpenConnRegistry registry = openConns.get();
+        OpenConnStats connStats = registry.get(handle);
         Connection conn;
 
         if (connStats == null) {
             // no existing connection, obtain a new one
-            DataSource ds = getJdbcDataSource(dataSourceName);
-            conn = ds != null ? ds.getConnection() : null;
+            conn = handle.dataSource != null ? handle.dataSource.getConnection() : null;
             if (conn == null) {
                 return null;
             }
-            openConnDsName.get().put(conn, dataSourceName);
-
-            connStats = new OpenConnStats();
-            connStats.conn = conn;
-            // connStats.dsName = dataSourceName;
-            statsMap.put(dataSourceName, connStats);
+            connStats = registry.add(handle, conn);
+            if (handle.capabilities == null) {
+                // detected once per registered data source
+                try {
+                    handle.capabilities = DatabaseCapabilities.detect(conn);
+                } catch (SQLException e) {
+                    LOGGER.warn(e.getMessage(), e);
+                }
+            }
 
             if (!startTransaction) {
                 connStats.inTransaction = false;
@@ -131,7 +273,7 @@ public class DbcHelper {
         } else {
             conn = connStats.conn;
         }
-        connStats.counter.incrementAndGet();
+        connStats.counter++;
 
         if (startTransaction) {
             startTransaction(conn);
@@ -141,8 +283,50 @@ public class DbcHelper {
     }
 
     private static OpenConnStats getOpenConnStats(Connection conn) {
-        String dsName = openConnDsName.get().get(conn);
-        return dsName != null ? openConnStats.get().get(dsName) : null;
+        return conn != null ? openConns.get().get(conn) : null;
+    }
+
+    /**
+     * Get a resource bound to a connection obtained from {@link #getConnection(String, boolean)},
+     * create it if not exist.
+     *
+     * <p>
+     * The resource lives as long as the connection is open, i.e. until the connection is finally
+     * returned via {@link #returnConnection(Connection)}. Resources that are {@link AutoCloseable}
+     * are closed right before the connection is closed.
+     * </p>
+     *
+     * @param conn
+     * @param key
+     * @param creator
+     * @return {@code null} if the connection was not obtained via {@link #getConnection(String, boolean)}
+     * @since 1.1.2
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getConnectionResource(Connection conn, String key, Supplier<T> creator) {
+        OpenConnStats connStats = getOpenConnStats(conn);
+        if (connStats == null) {
+            return null;
+        }
+        if (connStats.resources == null) {
+            connStats.resources = new HashMap<>();
+        }
+        return (T) connStats.resources.computeIfAbsent(key, k -> creator.get());
+    }
+
+    private static void closeResources(OpenConnStats connStats) {
+        if (connStats.resources != null) {
+            for (Object resource : connStats.resources.values()) {
+                if (resource instanceof AutoCloseable) {
+                    try {
+                        ((AutoCloseable) resource).close();
+                    } catch (Exception e) {
+                        LOGGER.warn(e.getMessage(), e);
+                    }
+                }
+            }
+            connStats.resources = null;
+        }
     }
 
     /**
@@ -226,12 +410,12 @@ public class DbcHelper {
         if (conn == null) {
             return;
         }
-        String dsName = openConnDsName.get().get(conn);
-        OpenConnStats connStats = dsName != null ? openConnStats.get().get(dsName) : null;
+        OpenConnRegistry registry = openConns.get();
+        OpenConnStats connStats = registry.get(conn);
         if (connStats == null) {
             conn.close();
         } else {
-            long value = connStats.counter.decrementAndGet();
+            long value = --connStats.counter;
             if (value <= 0) {
                 try {
                     try {
@@ -245,12 +429,12 @@ public class DbcHelper {
                             conn.setAutoCommit(true);
                         } finally {
                             connStats.inTransaction = false;
+                            closeResources(connStats);
                             conn.close();
                         }
                     }
                 } finally {
-                    openConnStats.get().remove(dsName);
-                    openConnDsName.get().remove(conn);
+                    registry.remove(connStats);
                 }
             }
         }
@@ -264,32 +448,41 @@ public class DbcHelper {
      * @since 0.8.2
      */
     public static DataSource getDataSource(Connection conn) {
-        if (conn == null) {
-            return null;
-        }
-        String dsName = openConnDsName.get().get(conn);
-        return getJdbcDataSource(dsName);
+        OpenConnStats connStats = getOpenConnStats(conn);
+        return connStats != null ? connStats.handle.dataSource : null;
+    }
+
+    /**
+     * Get capabilities of the database a connection connects to.
+     *
+     * <p>
+     * For connections obtained via {@link #getConnection(String, boolean)}, capabilities are
+     * detected once per data source and cached. Otherwise they are detected on every call.
+     * </p>
+     *
+     * @param conn
+     * @return
+     * @throws SQLException
+     * @since 1.1.2
+     */
+    public static DatabaseCapabilities getDatabaseCapabilities(Connection conn) throws SQLException {
+        OpenConnStats connStats = getOpenConnStats(conn);
+        DatabaseCapabilities capabilities = connStats != null ? connStats.handle.capabilities : null;
+        return capabilities != null ? capabilities : DatabaseCapabilities.detect(conn);
     }
 
     /**
      * Detect database vender info.
      *
+     * <p>
+     * Since v1.1.2, result is cached per data source, see {@link #getDatabaseCapabilities(Connection)}.
+     * </p>
+     *
      * @param conn
      * @return
      * @throws SQLException
      */
     public static DatabaseVendor detectDbVendor(Connection conn) throws SQLException {
-        DatabaseMetaData dmd = conn.getMetaData();
-        String dpn = dmd.getDatabaseProductName();
-        if (StringUtils.equalsAnyIgnoreCase("MySQL", dpn)) {
-            return DatabaseVendor.MYSQL;
-        }
-        if (StringUtils.equalsAnyIgnoreCase("PostgreSQL", dpn)) {
-            return DatabaseVendor.POSTGRESQL;
-        }
-        if (StringUtils.equalsAnyIgnoreCase("Microsoft SQL Server", dpn)) {
-            return DatabaseVendor.MSSQL;
-        }
-        return DatabaseVendor.UNKNOWN;
+        return getDatabaseCapabilities(conn).getVendor();
     }
 }
@@ -0,0 +1,615 @@
+package com.github.ddth.dao.utils;
+
+import com.github.ddth.commons.utils.HashUtils;
+import com.github.ddth.commons.utils.SerializationUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, copy-on-write attribute map used as BO's attribute store.
+ *
+ * <p>
+ * An instance is never modified after construction: {@link #with(String, Object)} and
+ * {@link #without(String)} return a new instance (sharing values with this one), so an instance
+ * can be handed out as a snapshot or shared between clones with no copying and no locking.
+ * </p>
+ *
+ * <p>
+ * Entries are stored in a persistent hash trie (32-way branching on the keys' hashes): a change
+ * copies only the nodes on the path to the changed entry (at most 32 entries per node, a few
+ * levels deep), the rest of the trie is shared with the previous instance. Filling a BO one
+ * attribute at a time (e.g. by a row mapper calling setters) hence does not copy all attributes
+ * on every call.
+ * </p>
+ *
+ * <p>
+ * Values are shared, not copied. Each instance tracks whether it holds mutable values (e.g.
+ * {@link java.util.Date}, arrays, collections); only then {@link #toMutableMap()} and
+ * {@link #deepCopy()} need a (FST) deep copy.
+ * </p>
+ *
+ * <p>
+ * {@code null} values are not stored: putting a {@code null} value removes the key. {@code null}
+ * keys are not supported.
+ * </p>
+ *
+ * <p>
+ * An instance can also maintain an order-independent checksum of its entries (see
+ * {@link #trackChecksum()}), which {@link #with(String, Object)} and {@link #without(String)}
+ * update from the changed entry only.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class ImmutableAttributeMap extends AbstractMap<String, Object> {
+
+    public final static ImmutableAttributeMap EMPTY = new ImmutableAttributeMap(null, 0, 0, false, 0);
+    private final static ImmutableAttributeMap EMPTY_TRACKED = new ImmutableAttributeMap(null, 0, 0, true, 0);
+
+    /**
+     * Checksum of a single entry (murmur3 of the checksums of key and value).
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    public static long entryChecksum(String key, Object value) {
+        return HashUtils.murmur3.newHasher().putLong(HashUtils.checksum(key, HashUtils.murmur3))
+                .putLong(HashUtils.checksum(value, HashUtils.murmur3)).hash().padToLong();
+    }
+
+    /**
+     * Is a value immutable (so that it can be shared between snapshots without deep-copying)?
+     *
+     * @param value
+     * @return
+     */
+    public static boolean isImmutableValue(Object value) {
+        return value == null || value instanceof String || value instanceof Boolean || value instanceof Character
+                || value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Float || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger && value.getClass() == BigInteger.class
+                || value instanceof BigDecimal && value.getClass() == BigDecimal.class || value instanceof Enum
+                || value instanceof UUID || value instanceof Class || value.getClass().getName()
+                .startsWith("java.time.");
+    }
+
+    /**
+     * Build an instance from a map (shallow copy, {@code null} values are dropped).
+     *
+     * @param data
+     * @return
+     */
+    public static ImmutableAttributeMap of(Map<String, ?> data) {
+        if (data instanceof ImmutableAttributeMap) {
+            return (ImmutableAttributeMap) data;
+        }
+        if (data == null || data.isEmpty()) {
+            return EMPTY;
+        }
+        TrieNode root = null;
+        int size = 0, numMutables = 0;
+        Object[] oldValue = new Object[1];
+        for (Entry<String, ?> e : data.entrySet()) {
+            Object value = e.getValue();
+            if (value != null) {
+                String key = e.getKey();
+                oldValue[0] = null;
+                root = TrieNode.put(root, key, hash(key), 0, value, oldValue);
+                if (oldValue[0] == null) {
+                    size++;
+                }
+                if (!isImmutableValue(value)) {
+                    numMutables++;
+                }
+            }
+        }
+        return size > 0 ? new ImmutableAttributeMap(root, size, numMutables, false, 0) : EMPTY;
+    }
+
+    /**
+     * Build an instance from a map, deep-copying it first if it contains mutable values (so that
+     * later changes to the input's values do not leak into the result).
+     *
+     * @param data
+     * @return
+     */
+    public static ImmutableAttributeMap copyOf(Map<String, ?> data) {
+        ImmutableAttributeMap result = of(data);
+        return result.numMutables > 0 && result != data ? result.deepCopy() : result;
+    }
+
+    private final TrieNode root;
+    private final int size;
+    private final int numMutables;
+    private final boolean checksumTracked;
+    private final long checksum;
+
+    private ImmutableAttributeMap(TrieNode root, int size, int numMutables, boolean checksumTracked,
+            long checksum) {
+        this.root = root;
+        this.size = size;
+        this.numMutables = numMutables;
+        this.checksumTracked = checksumTracked;
+        this.checksum = checksum;
+    }
+
+    /**
+     * Return an instance that maintains the checksum of its entries (this instance if it already
+     * does). The checksum is computed once here, in O(n).
+     *
+     * @return
+     */
+    public ImmutableAttributeMap trackChecksum() {
+        if (checksumTracked) {
+            return this;
+        }
+        if (size == 0) {
+            return EMPTY_TRACKED;
+        }
+        return new ImmutableAttributeMap(root, size, numMutables, true, calcChecksum());
+    }
+
+    /**
+     * Does this instance maintain the checksum of its entries?
+     *
+     * @return
+     */
+    public boolean isChecksumTracked() {
+        return checksumTracked;
+    }
+
+    private long calcChecksum() {
+        long result = 0;
+        for (TrieIterator it = new TrieIterator(root); it.advance(); ) {
+            result += entryChecksum(it.key, it.value);
+        }
+        return result;
+    }
+
+    /**
+     * Order-independent checksum of the entries: sum of {@link #entryChecksum(String, Object)} of
+     * all entries. O(1) if the checksum is tracked, O(n) otherwise.
+     *
+     * @return
+     */
+    public long checksum() {
+        return checksumTracked ? checksum : calcChecksum();
+    }
+
+    /**
+     * Does this map hold any mutable value?
+     *
+     * @return
+     */
+    public boolean hasMutableValues() {
+        return numMutables > 0;
+    }
+
+    /**
+     * Keys whose values differ between this map and {@code other} (including keys present in
+     * only one of them). Values are compared by {@link Objects#deepEquals(Object, Object)}.
+     *
+     * @param other
+     * @return
+     */
+    public Set<String> diff(Map<String, ?> other) {
+        Set<String> result = new HashSet<>();
+        if (other == this) {
+            return result;
+        }
+        for (TrieIterator it = new TrieIterator(root); it.advance(); ) {
+            if (!Objects.deepEquals(it.value, other.get(it.key))) {
+                result.add(it.key);
+            }
+        }
+        for (Entry<String, ?> e : other.entrySet()) {
+            if (e.getValue() != null && !containsKey(e.getKey())) {
+                result.add(e.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Return a new instance with {@code key} mapped to {@code value} ({@code null} value removes
+     * the key).
+     *
+     * @param key
+     * @param value
+     * @return
+     */
+    public ImmutableAttributeMap with(String key, Object value) {
+        if (value == null) {
+            return without(key);
+        }
+        Object[] oldValueHolder = new Object[1];
+        TrieNode newRoot = TrieNode.put(root, key, hash(key), 0, value, oldValueHolder);
+        if (newRoot == root) {
+            // same value instance
+            return this;
+        }
+        Object oldValue = oldValueHolder[0];
+        int newNumMutables = numMutables + (isImmutableValue(value) ? 0 : 1) - (isImmutableValue(oldValue) ? 0 : 1);
+        long newChecksum = checksumTracked ?
+                checksum + entryChecksum(key, value) - (oldValue != null ? entryChecksum(key, oldValue) : 0) :
+                0;
+        return new ImmutableAttributeMap(newRoot, oldValue != null ? size : size + 1, newNumMutables, checksumTracked,
+                newChecksum);
+    }
+
+    /**
+     * Return a new instance without {@code key} (or this instance if it does not contain the key).
+     *
+     * @param key
+     * @return
+     */
+    public ImmutableAttributeMap without(String key) {
+        if (key == null || root == null) {
+            return this;
+        }
+        Object[] oldValueHolder = new Object[1];
+        TrieNode newRoot = TrieNode.remove(root, key, hash(key), 0, oldValueHolder);
+        Object oldValue = oldValueHolder[0];
+        if (oldValue == null) {
+            return this;
+        }
+        if (newRoot == null) {
+            return checksumTracked ? EMPTY_TRACKED : EMPTY;
+        }
+        long newChecksum = checksumTracked ? checksum - entryChecksum(key, oldValue) : 0;
+        return new ImmutableAttributeMap(newRoot, size - 1, numMutables - (isImmutableValue(oldValue) ? 0 : 1),
+                checksumTracked, newChecksum);
+    }
+
+    /**
+     * Return an instance whose mutable values are deep copies of this instance's (this instance
+     * if it holds no mutable value).
+     *
+     * @return
+     */
+    @SuppressWarnings("unchecked")
+    public ImmutableAttributeMap deepCopy() {
+        if (numMutables == 0) {
+            return this;
+        }
+        Map<String, Object> copy = SerializationUtils
+                .fromByteArrayFst(SerializationUtils.toByteArrayFst(toHashMap()), Map.class);
+        ImmutableAttributeMap result = of(copy);
+        return new ImmutableAttributeMap(result.root, result.size, result.numMutables, checksumTracked, checksum);
+    }
+
+    private Map<String, Object> toHashMap() {
+        Map<String, Object> result = new HashMap<>(size * 4 / 3 + 1);
+        for (TrieIterator it = new TrieIterator(root); it.advance(); ) {
+            result.put(it.key, it.value);
+        }
+        return result;
+    }
+
+    /**
+     * Return a mutable, independent copy of this map (deep copy only if it holds mutable values).
+     *
+     * @return
+     */
+    public Map<String, Object> toMutableMap() {
+        return deepCopy().toHashMap();
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object get(Object key) {
+        return key instanceof String && root != null ? TrieNode.get(root, (String) key, hash((String) key), 0) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                TrieIterator it = new TrieIterator(root);
+                return new Iterator<>() {
+                    private boolean hasNext = it.advance();
+
+                    @Override
+                    public boolean hasNext() {
+                        return hasNext;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> result = new SimpleImmutableEntry<>(it.key, it.value);
+                        hasNext = it.advance();
+                        return result;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /*----------------------------------------------------------------------*/
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Node of the hash trie.
+     *
+     * <p>
+     * A regular node branches on 5 bits of the keys' hashes ({@code shift} to {@code shift+4}),
+     * {@code bitmap} tells which of the 32 branches are present. {@code slots} holds 2 slots per
+     * present branch, in branch order: either a key and its value, or {@code null} and the child
+     * node. Keys whose hashes are equal are kept in a collision node ({@code bitmap} is not used),
+     * whose slots hold key/value pairs sorted by key, so that iteration order does not depend on
+     * insertion order.
+     * </p>
+     */
+    private final static class TrieNode {
+        private final static int MAX_SHIFT = 30;
+
+        private final int bitmap;
+        private final boolean collision;
+        private final Object[] slots;
+
+        private TrieNode(int bitmap, boolean collision, Object[] slots) {
+            this.bitmap = bitmap;
+            this.collision = collision;
+            this.slots = slots;
+        }
+
+        private static int bit(int hash, int shift) {
+            return 1 << ((hash >>> shift) & 31);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) << 1;
+        }
+
+        static Object get(TrieNode node, String key, int hash, int shift) {
+            while (true) {
+                if (node.collision) {
+                    for (int i = 0; i < node.slots.length; i += 2) {
+                        if (key.equals(node.slots[i])) {
+                            return node.slots[i + 1];
+                        }
+                    }
+                    return null;
+                }
+                int bit = bit(hash, shift);
+                if ((node.bitmap & bit) == 0) {
+                    return null;
+                }
+                int idx = node.index(bit);
+                Object k = node.slots[idx];
+                if (k != null) {
+                    return key.equals(k) ? node.slots[idx + 1] : null;
+                }
+                node = (TrieNode) node.slots[idx + 1];
+                shift += 5;
+            }
+        }
+
+        private static Object[] insertPair(Object[] slots, int idx, Object key, Object value) {
+            Object[] result = new Object[slots.length + 2];
+            System.arraycopy(slots, 0, result, 0, idx);
+            result[idx] = key;
+            result[idx + 1] = value;
+            System.arraycopy(slots, idx, result, idx + 2, slots.length - idx);
+            return result;
+        }
+
+        private static Object[] removePair(Object[] slots, int idx) {
+            Object[] result = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, result, 0, idx);
+            System.arraycopy(slots, idx + 2, result, idx, slots.length - idx - 2);
+            return result;
+        }
+
+        private static Object[] replace(Object[] slots, int idx, Object key, Object value) {
+            Object[] result = slots.clone();
+            result[idx] = key;
+            result[idx + 1] = value;
+            return result;
+        }
+
+        /**
+         * Put a key/value pair, return the new node (or {@code node} if the key is already mapped
+         * to the same value instance). The value previously mapped to the key is returned via
+         * {@code oldValue[0]}.
+         */
+        static TrieNode put(TrieNode node, String key, int hash, int shift, Object value, Object[] oldValue) {
+            if (node == null) {
+                return new TrieNode(bit(hash, shift), false, new Object[] { key, value });
+            }
+            if (node.collision) {
+                int i = 0;
+                for (; i < node.slots.length; i += 2) {
+                    int cmp = key.compareTo((String) node.slots[i]);
+                    if (cmp == 0) {
+                        oldValue[0] = node.slots[i + 1];
+                        return oldValue[0] == value ? node :
+                                new TrieNode(0, true, replace(node.slots, i, key, value));
+                    }
+                    if (cmp < 0) {
+                        break;
+                    }
+                }
+                return new TrieNode(0, true, insertPair(node.slots, i, key, value));
+            }
+            int bit = bit(hash, shift);
+            int idx = node.index(bit);
+            if ((node.bitmap & bit) == 0) {
+                return new TrieNode(node.bitmap | bit, false, insertPair(node.slots, idx, key, value));
+            }
+            Object k = node.slots[idx];
+            if (k == null) {
+                TrieNode child = (TrieNode) node.slots[idx + 1];
+                TrieNode newChild = put(child, key, hash, shift + 5, value, oldValue);
+                return newChild == child ? node : new TrieNode(node.bitmap, false, replace(node.slots, idx, null, newChild));
+            }
+            if (key.equals(k)) {
+                oldValue[0] = node.slots[idx + 1];
+                return oldValue[0] == value ? node : new TrieNode(node.bitmap, false, replace(node.slots, idx, key, value));
+            }
+            TrieNode child = merge((String) k, node.slots[idx + 1], hash((String) k), key, value, hash, shift + 5);
+            return new TrieNode(node.bitmap, false, replace(node.slots, idx, null, child));
+        }
+
+        private static TrieNode merge(String key1, Object value1, int hash1, String key2, Object value2, int hash2,
+                int shift) {
+            if (shift > MAX_SHIFT) {
+                return key1.compareTo(key2) < 0 ?
+                        new TrieNode(0, true, new Object[] { key1, value1, key2, value2 }) :
+                        new TrieNode(0, true, new Object[] { key2, value2, key1, value1 });
+            }
+            int bit1 = bit(hash1, shift), bit2 = bit(hash2, shift);
+            if (bit1 == bit2) {
+                return new TrieNode(bit1, false,
+                        new Object[] { null, merge(key1, value1, hash1, key2, value2, hash2, shift + 5) });
+            }
+            return Integer.compareUnsigned(bit1, bit2) < 0 ?
+                    new TrieNode(bit1 | bit2, false, new Object[] { key1, value1, key2, value2 }) :
+                    new TrieNode(bit1 | bit2, false, new Object[] { key2, value2, key1, value1 });
+        }
+
+        /**
+         * Remove a key, return the new node ({@code null} if it becomes empty, {@code node} if the
+         * key does not exist). The removed value is returned via {@code oldValue[0]}.
+         */
+        static TrieNode remove(TrieNode node, String key, int hash, int shift, Object[] oldValue) {
+            if (node.collision) {
+                for (int i = 0; i < node.slots.length; i += 2) {
+                    if (key.equals(node.slots[i])) {
+                        oldValue[0] = node.slots[i + 1];
+                        return node.slots.length == 2 ? null : new TrieNode(0, true, removePair(node.slots, i));
+                    }
+                }
+                return node;
+            }
+            int bit = bit(hash, shift);
+            if ((node.bitmap & bit) == 0) {
+                return node;
+            }
+            int idx = node.index(bit);
+            Object k = node.slots[idx];
+            if (k == null) {
+                TrieNode child = (TrieNode) node.slots[idx + 1];
+                TrieNode newChild = remove(child, key, hash, shift + 5, oldValue);
+                if (newChild == child) {
+                    return node;
+                }
+                if (newChild == null) {
+                    return node.bitmap == bit ? null : new TrieNode(node.bitmap & ~bit, false, removePair(node.slots, idx));
+                }
+                if (newChild.slots.length == 2 && newChild.slots[0] != null) {
+                    // child holds a single entry: pull it up
+                    return new TrieNode(node.bitmap, false,
+                            replace(node.slots, idx, newChild.slots[0], newChild.slots[1]));
+                }
+                return new TrieNode(node.bitmap, false, replace(node.slots, idx, null, newChild));
+            }
+            if (!key.equals(k)) {
+                return node;
+            }
+            oldValue[0] = node.slots[idx + 1];
+            return node.bitmap == bit ? null : new TrieNode(node.bitmap & ~bit, false, removePair(node.slots, idx));
+        }
+    }
+
+    /**
+     * Depth-first iterator over the entries of a trie, with no allocation per entry.
+     */
+    private final static class TrieIterator {
+        private final TrieNode[] nodes = new TrieNode[TrieNode.MAX_SHIFT / 5 + 2];
+        private final int[] positions = new int[nodes.length];
+        private int depth;
+        private String key;
+        private Object value;
+
+        TrieIterator(TrieNode root) {
+            nodes[0] = root;
+            depth = root != null ? 0 : -1;
+        }
+
+        /**
+         * Move to the next entry ({@link #key}, {@link #value}).
+         *
+         * @return {@code false} if there is no more entry
+         */
+        boolean advance() {
+            while (depth >= 0) {
+                TrieNode node = nodes[depth];
+                int pos = positions[depth];
+                if (pos >= node.slots.length) {
+                    depth--;
+                    continue;
+                }
+                positions[depth] = pos + 2;
+                Object k = node.slots[pos];
+                if (k == null) {
+                    depth++;
+                    nodes[depth] = (TrieNode) node.slots[pos + 1];
+                    positions[depth] = 0;
+                } else {
+                    key = (String) k;
+                    value = node.slots[pos + 1];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
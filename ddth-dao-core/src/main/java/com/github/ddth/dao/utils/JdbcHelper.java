@@ -1,15 +1,10 @@
 package com.github.ddth.dao.utils;
 
-import org.apache.commons.lang3.ArrayUtils;
-import org.apache.commons.lang3.StringUtils;
-
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.*;
 import java.util.Date;
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 /**
  * Jdbc Helper class.
@@ -105,63 +100,20 @@ public class JdbcHelper {
         return bindParams((PreparedStatement) cstm, bindValues);
     }
 
-    private final static Pattern PATTERN_NAMED_PARAM = Pattern.compile(":(\\w+)");
-
     /**
-     * Build array of final build values according the supplied build value.
+     * Bind name-based values to a named-parameter SQL.
      *
-     * @param bindValue
-     * @return
+     * <p>
+     * The named-parameter SQL is parsed only once and cached, see {@link NamedParamsSql}.
+     * </p>
+     *
+     * @param sql
+     * @param bindValues name-based bind values
+     * @return the final positional SQL and bind values
+     * @since 1.1.2
      */
-    private static Object[] buildBindValues(Object bindValue) {
-        if (bindValue instanceof boolean[]) {
-            boolean[] bools = (boolean[]) bindValue;
-            return bools.length > 0 ? ArrayUtils.toObject(bools) : null;
-        } else if (bindValue instanceof short[]) {
-            short[] shorts = (short[]) bindValue;
-            return shorts.length > 0 ? ArrayUtils.toObject(shorts) : null;
-        } else if (bindValue instanceof int[]) {
-            int[] ints = (int[]) bindValue;
-            return ints.length > 0 ? ArrayUtils.toObject(ints) : null;
-        } else if (bindValue instanceof long[]) {
-            long[] longs = (long[]) bindValue;
-            return longs.length > 0 ? ArrayUtils.toObject(longs) : null;
-        } else if (bindValue instanceof float[]) {
-            float[] floats = (float[]) bindValue;
-            return floats.length > 0 ? ArrayUtils.toObject(floats) : null;
-        } else if (bindValue instanceof double[]) {
-            double[] doubles = (double[]) bindValue;
-            return doubles.length > 0 ? ArrayUtils.toObject(doubles) : null;
-        } else if (bindValue instanceof char[]) {
-            char[] chars = (char[]) bindValue;
-            return chars.length > 0 ? ArrayUtils.toObject(chars) : null;
-        } else if (bindValue instanceof Object[]) {
-            Object[] objs = (Object[]) bindValue;
-            return objs.length > 0 ? objs : null;
-        } else if (bindValue instanceof List<?>) {
-            List<?> list = (List<?>) bindValue;
-            return list.size() > 0 ? list.toArray() : null;
-        }
-        return new Object[] { bindValue };
-    }
-
-    private static String buildStatementAndValues(String sql, Map<String, ?> bindValues, List<Object> outValues) {
-        if (bindValues == null) {
-            bindValues = new HashMap<>();
-        }
-        StringBuffer sb = new StringBuffer();
-        Matcher m = PATTERN_NAMED_PARAM.matcher(sql);
-        while (m.find()) {
-            String namedParam = m.group(1);
-            Object bindValue = bindValues.get(namedParam);
-            Object[] bindList = buildBindValues(bindValue);
-            m.appendReplacement(sb, StringUtils.repeat("?", ",", bindList.length));
-            for (Object bind : bindList) {
-                outValues.add(bind);
-            }
-        }
-        m.appendTail(sb);
-        return sb.toString();
+    public static NamedParamsSql.Binding bindNamedParams(String sql, Map<String, ?> bindValues) {
+        return NamedParamsSql.parse(sql).bind(bindValues);
     }
 
     /**
@@ -176,10 +128,9 @@ public class JdbcHelper {
      */
     public static PreparedStatement prepareAndBindNamedParamsStatement(Connection conn, String sql,
             Map<String, ?> bindValues) throws SQLException {
-        List<Object> indexBindValues = new ArrayList<>();
-        String finalSql = buildStatementAndValues(sql, bindValues, indexBindValues);
-        PreparedStatement pstm = conn.prepareStatement(finalSql);
-        bindParams(pstm, indexBindValues.toArray());
+        NamedParamsSql.Binding binding = bindNamedParams(sql, bindValues);
+        PreparedStatement pstm = conn.prepareStatement(binding.sql);
+        bindParams(pstm, binding.bindValues);
         return pstm;
     }
 
@@ -197,10 +148,9 @@ public class JdbcHelper {
      */
     public static PreparedStatement prepareAndBindNamedParamsStatement(Connection conn, String sql, int resultSetType,
             int resultSetConcurrency, Map<String, ?> bindValues) throws SQLException {
-        List<Object> indexBindValues = new ArrayList<>();
-        String finalSql = buildStatementAndValues(sql, bindValues, indexBindValues);
-        PreparedStatement pstm = conn.prepareStatement(finalSql, resultSetType, resultSetConcurrency);
-        bindParams(pstm, indexBindValues.toArray());
+        NamedParamsSql.Binding binding = bindNamedParams(sql, bindValues);
+        PreparedStatement pstm = conn.prepareStatement(binding.sql, resultSetType, resultSetConcurrency);
+        bindParams(pstm, binding.bindValues);
         return pstm;
     }
 
@@ -219,11 +169,10 @@ public class JdbcHelper {
      */
     public static PreparedStatement prepareAndBindNamedParamsStatement(Connection conn, String sql, int resultSetType,
             int resultSetConcurrency, int resultSetHoldability, Map<String, ?> bindValues) throws SQLException {
-        List<Object> indexBindValues = new ArrayList<>();
-        String finalSql = buildStatementAndValues(sql, bindValues, indexBindValues);
+        NamedParamsSql.Binding binding = bindNamedParams(sql, bindValues);
         PreparedStatement pstm = conn
-                .prepareStatement(finalSql, resultSetType, resultSetConcurrency, resultSetHoldability);
-        bindParams(pstm, indexBindValues.toArray());
+                .prepareStatement(binding.sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+        bindParams(pstm, binding.bindValues);
         return pstm;
     }
 }
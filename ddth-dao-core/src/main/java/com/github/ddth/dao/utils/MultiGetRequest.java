@@ -0,0 +1,100 @@
+package com.github.ddth.dao.utils;
+
+import com.github.ddth.dao.BoId;
+import com.github.ddth.dao.IGenericMultiBoDao;
+import org.apache.commons.lang3.ArrayUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Request to fetch BOs of multiple classes in one call (see
+ * {@link IGenericMultiBoDao#get(MultiGetRequest)}).
+ *
+ * <p>
+ * Ids are grouped by BO class; each group is fetched by the delegate DAO of the class, possibly in
+ * parallel with other groups, and can have its own timeout.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class MultiGetRequest {
+
+    private final static BoId[] EMPTY_IDS = new BoId[0];
+
+    private Map<Class<?>, BoId[]> idsByClass = new LinkedHashMap<>();
+    private Map<Class<?>, Long> timeoutByClass = new LinkedHashMap<>();
+    private long defaultTimeoutMs = 0;
+
+    /**
+     * Add ids of BOs to fetch. Ids of the same class added by multiple calls are fetched together.
+     *
+     * @param clazz
+     * @param ids
+     * @return
+     */
+    public <T> MultiGetRequest add(Class<T> clazz, BoId... ids) {
+        BoId[] existing = idsByClass.get(clazz);
+        idsByClass.put(clazz, existing != null ?
+                ArrayUtils.addAll(existing, ids) :
+                (ids != null ? ids.clone() : EMPTY_IDS));
+        return this;
+    }
+
+    /**
+     * Timeout (in milliseconds) applied to a group if not specified via
+     * {@link #setTimeout(Class, long)}, {@code 0} means no timeout (default).
+     *
+     * @param timeoutMs
+     * @return
+     */
+    public MultiGetRequest setTimeout(long timeoutMs) {
+        this.defaultTimeoutMs = Math.max(0, timeoutMs);
+        return this;
+    }
+
+    /**
+     * Timeout (in milliseconds) to fetch BOs of a class, {@code 0} means no timeout.
+     *
+     * @param clazz
+     * @param timeoutMs
+     * @return
+     */
+    public MultiGetRequest setTimeout(Class<?> clazz, long timeoutMs) {
+        timeoutByClass.put(clazz, Math.max(0, timeoutMs));
+        return this;
+    }
+
+    /**
+     * Timeout (in milliseconds) to fetch BOs of a class, {@code 0} means no timeout.
+     *
+     * @param clazz
+     * @return
+     */
+    public long getTimeout(Class<?> clazz) {
+        return timeoutByClass.getOrDefault(clazz, defaultTimeoutMs);
+    }
+
+    /**
+     * Requested BO classes, in the order they were added.
+     *
+     * @return
+     */
+    public Set<Class<?>> getClasses() {
+        return Collections.unmodifiableSet(idsByClass.keySet());
+    }
+
+    /**
+     * Requested ids of a BO class.
+     *
+     * @param clazz
+     * @return
+     */
+    public BoId[] getIds(Class<?> clazz) {
+        BoId[] ids = idsByClass.get(clazz);
+        return ids != null ? ids : EMPTY_IDS;
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.ddth.dao.utils;
+
+import com.github.ddth.dao.BoId;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Result of a {@link MultiGetRequest}: fetched BOs per class, and errors of the groups that failed
+ * (or timed out). Failure of one group does not affect the others.
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class MultiGetResult {
+
+    private final MultiGetRequest request;
+    private Map<Class<?>, Object[]> bosByClass = new LinkedHashMap<>();
+    private Map<Class<?>, Throwable> errorsByClass = new LinkedHashMap<>();
+
+    public MultiGetResult(MultiGetRequest request) {
+        this.request = request;
+    }
+
+    public MultiGetRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * Record fetched BOs of a class (used by DAO implementations).
+     *
+     * @param clazz
+     * @param bos
+     * @return
+     */
+    public <T> MultiGetResult put(Class<T> clazz, T[] bos) {
+        bosByClass.put(clazz, bos);
+        errorsByClass.remove(clazz);
+        return this;
+    }
+
+    /**
+     * Record the error that made fetching BOs of a class fail (used by DAO implementations).
+     *
+     * @param clazz
+     * @param error
+     * @return
+     */
+    public MultiGetResult putError(Class<?> clazz, Throwable error) {
+        errorsByClass.put(clazz, error);
+        bosByClass.remove(clazz);
+        return this;
+    }
+
+    /**
+     * Fetched BOs of a class, in the same order as the requested ids ({@code null} elements for BOs
+     * that do not exist).
+     *
+     * @param clazz
+     * @return {@code null} if the class was not requested or its group failed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] get(Class<T> clazz) {
+        return (T[]) bosByClass.get(clazz);
+    }
+
+    /**
+     * Fetched BO of a class by id.
+     *
+     * @param clazz
+     * @param id
+     * @return {@code null} if the BO does not exist, was not requested, or its group failed
+     */
+    public <T> T get(Class<T> clazz, BoId id) {
+        T[] bos = get(clazz);
+        if (bos == null || id == null) {
+            return null;
+        }
+        BoId[] ids = request.getIds(clazz);
+        for (int i = 0, n = Math.min(ids.length, bos.length); i < n; i++) {
+            if (ids[i] == id || (ids[i] != null && Arrays.equals(ids[i].values, id.values))) {
+                return bos[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@code true} if BOs of all requested classes were fetched successfully.
+     *
+     * @return
+     */
+    public boolean isSuccessful() {
+        return errorsByClass.isEmpty();
+    }
+
+    /**
+     * {@code true} if BOs of the class were fetched successfully.
+     *
+     * @param clazz
+     * @return
+     */
+    public boolean isSuccessful(Class<?> clazz) {
+        return bosByClass.containsKey(clazz);
+    }
+
+    /**
+     * {@code true} if fetching BOs of the class timed out.
+     *
+     * @param clazz
+     * @return
+     */
+    public boolean isTimedOut(Class<?> clazz) {
+        return errorsByClass.get(clazz) instanceof TimeoutException;
+    }
+
+    /**
+     * Error that made fetching BOs of a class fail ({@link TimeoutException} if timed out).
+     *
+     * @param clazz
+     * @return {@code null} if no error
+     */
+    public Throwable getError(Class<?> clazz) {
+        return errorsByClass.get(clazz);
+    }
+
+    /**
+     * Errors of all failed groups, by BO class.
+     *
+     * @return
+     */
+    public Map<Class<?>, Throwable> getErrors() {
+        return Collections.unmodifiableMap(errorsByClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        ToStringBuilder tsb = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        tsb.append("fetched", bosByClass.keySet()).append("errors", errorsByClass);
+        return tsb.toString();
+    }
+}
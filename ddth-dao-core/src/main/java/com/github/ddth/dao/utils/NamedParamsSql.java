@@ -0,0 +1,282 @@
+package com.github.ddth.dao.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pre-parsed named-parameter SQL (e.g. {@code SELECT * FROM tbl WHERE id=:id AND type IN (:types)}).
+ *
+ * <p>
+ * The SQL is parsed only once into literal segments and parameter slots (see {@link #parse(String)}).
+ * Binding a value map then only needs to expand list/array values into the right number of
+ * placeholders; the final positional SQL is cached per "shape" (number of values bound to each
+ * parameter slot), so that the same final SQL string is reused and statement caching works.
+ * </p>
+ *
+ * <p>
+ * Parameter names are {@code \w+} after a colon. Quoted literals/identifiers ({@code '...'},
+ * {@code "..."}, {@code `...`}), PostgreSQL dollar-quoted strings ({@code $tag$...$tag$}),
+ * comments ({@code -- ...}, {@code /* ... *}{@code /}) and {@code ::} casts are skipped.
+ * </p>
+ *
+ * @author Thanh Nguyen <btnguyen2k@gmail.com>
+ * @since 1.1.2
+ */
+public class NamedParamsSql {
+
+    /**
+     * Final positional SQL and bind values, result of {@link #bind(Map)}.
+     */
+    public static class Binding {
+        /**
+         * The final SQL, named parameters replaced by {@code ?}.
+         */
+        public final String sql;
+
+        /**
+         * Positional bind values.
+         */
+        public final Object[] bindValues;
+
+        public Binding(String sql, Object[] bindValues) {
+            this.sql = sql;
+            this.bindValues = bindValues;
+        }
+    }
+
+    private final static Object[] EMPTY_VALUES = new Object[0];
+    private final static int MAX_CACHED_SHAPES = 64;
+    private final static Cache<String, NamedParamsSql> templates = CacheBuilder.newBuilder().maximumSize(1024)
+            .build();
+
+    /**
+     * Parse a named-parameter SQL. Parsed templates are cached.
+     *
+     * @param sql
+     * @return
+     */
+    public static NamedParamsSql parse(String sql) {
+        NamedParamsSql template = templates.getIfPresent(sql);
+        if (template == null) {
+            template = new NamedParamsSql(sql);
+            templates.put(sql, template);
+        }
+        return template;
+    }
+
+    private final String sql;
+    private final String[] segments;
+    private final String[] paramNames;
+    private final String singleValueSql;
+    private final ConcurrentMap<Shape, String> shapes = new ConcurrentHashMap<>();
+
+    private NamedParamsSql(String sql) {
+        this.sql = sql;
+        List<String> segmentList = new ArrayList<>();
+        List<String> paramList = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        int len = sql.length();
+        int i = 0;
+        while (i < len) {
+            char c = sql.charAt(i);
+            int end = i + 1;
+            if (c == '\'' || c == '"' || c == '`') {
+                end = sql.indexOf(c, i + 1);
+                end = end < 0 ? len : end + 1;
+            } else if (c == '-' && i + 1 < len && sql.charAt(i + 1) == '-') {
+                end = sql.indexOf('\n', i);
+                end = end < 0 ? len : end + 1;
+            } else if (c == '/' && i + 1 < len && sql.charAt(i + 1) == '*') {
+                end = sql.indexOf("*/", i + 2);
+                end = end < 0 ? len : end + 2;
+            } else if (c == '$') {
+                int tagEnd = i + 1;
+                while (tagEnd < len && isWordChar(sql.charAt(tagEnd))) {
+                    tagEnd++;
+                }
+                if (tagEnd < len && sql.charAt(tagEnd) == '$' && (tagEnd == i + 1 || !Character
+                        .isDigit(sql.charAt(i + 1)))) {
+                    String tag = sql.substring(i, tagEnd + 1);
+                    end = sql.indexOf(tag, tagEnd + 1);
+                    end = end < 0 ? len : end + tag.length();
+                }
+            } else if (c == ':') {
+                if (i + 1 < len && sql.charAt(i + 1) == ':') {
+                    end = i + 2;
+                } else {
+                    int nameEnd = i + 1;
+                    while (nameEnd < len && isWordChar(sql.charAt(nameEnd))) {
+                        nameEnd++;
+                    }
+                    if (nameEnd > i + 1) {
+                        segmentList.add(segment.toString());
+                        segment.setLength(0);
+                        paramList.add(sql.substring(i + 1, nameEnd));
+                        i = nameEnd;
+                        continue;
+                    }
+                }
+            }
+            segment.append(sql, i, end);
+            i = end;
+        }
+        segmentList.add(segment.toString());
+        this.segments = segmentList.toArray(new String[0]);
+        this.paramNames = paramList.toArray(new String[0]);
+        int[] ones = new int[paramNames.length];
+        Arrays.fill(ones, 1);
+        this.singleValueSql = buildSql(ones);
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private String buildSql(int[] cardinalities) {
+        StringBuilder sb = new StringBuilder(sql.length() + cardinalities.length * 2);
+        for (int i = 0; i < paramNames.length; i++) {
+            sb.append(segments[i]);
+            for (int j = 0; j < cardinalities[i]; j++) {
+                sb.append(j > 0 ? ",?" : "?");
+            }
+        }
+        return sb.append(segments[paramNames.length]).toString();
+    }
+
+    /**
+     * The original named-parameter SQL.
+     *
+     * @return
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Names of parameter slots, in order of appearance (a name appears multiple times if it is
+     * used multiple times in the SQL).
+     *
+     * @return
+     */
+    public List<String> getParamNames() {
+        return Collections.unmodifiableList(Arrays.asList(paramNames));
+    }
+
+    /**
+     * Build the final positional SQL for the given number of values bound to each parameter slot.
+     *
+     * @param cardinalities
+     * @return
+     */
+    public String getSql(int... cardinalities) {
+        if (cardinalities.length != paramNames.length) {
+            throw new IllegalArgumentException(
+                    "Expect " + paramNames.length + " cardinalities, but received " + cardinalities.length);
+        }
+        boolean allSingle = true;
+        for (int cardinality : cardinalities) {
+            allSingle &= cardinality == 1;
+        }
+        if (allSingle) {
+            return singleValueSql;
+        }
+        Shape shape = new Shape(cardinalities);
+        String result = shapes.get(shape);
+        if (result == null) {
+            result = buildSql(cardinalities);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.putIfAbsent(shape, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Bind name-based values to this SQL.
+     *
+     * <p>
+     * Values of type {@link List} or array (except {@code byte[]}) are expanded into a
+     * comma-separated list of placeholders (e.g. for {@code IN (...)}), an empty list/array is
+     * bound as one single {@code NULL}. Missing values are bound as {@code NULL}.
+     * </p>
+     *
+     * @param bindValues
+     * @return
+     */
+    public Binding bind(Map<String, ?> bindValues) {
+        if (paramNames.length == 0) {
+            return new Binding(singleValueSql, EMPTY_VALUES);
+        }
+        int[] cardinalities = new int[paramNames.length];
+        int total = 0;
+        for (int i = 0; i < paramNames.length; i++) {
+            Object value = bindValues != null ? bindValues.get(paramNames[i]) : null;
+            cardinalities[i] = Math.max(1, cardinality(value));
+            total += cardinalities[i];
+        }
+        Object[] values = new Object[total];
+        for (int i = 0, pos = 0; i < paramNames.length; pos += cardinalities[i], i++) {
+            Object value = bindValues != null ? bindValues.get(paramNames[i]) : null;
+            if (value instanceof List<?>) {
+                List<?> list = (List<?>) value;
+                for (int j = 0, n = list.size(); j < n; j++) {
+                    values[pos + j] = list.get(j);
+                }
+            } else if (value instanceof Object[]) {
+                Object[] arr = (Object[]) value;
+                System.arraycopy(arr, 0, values, pos, arr.length);
+            } else if (isExpandablePrimitiveArray(value)) {
+                for (int j = 0, n = Array.getLength(value); j < n; j++) {
+                    values[pos + j] = Array.get(value, j);
+                }
+            } else {
+                values[pos] = value;
+            }
+        }
+        return new Binding(getSql(cardinalities), values);
+    }
+
+    private static boolean isExpandablePrimitiveArray(Object value) {
+        return value != null && value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()
+                && !(value instanceof byte[]);
+    }
+
+    private static int cardinality(Object value) {
+        if (value instanceof List<?>) {
+            return ((List<?>) value).size();
+        }
+        if (value instanceof Object[] || isExpandablePrimitiveArray(value)) {
+            return Array.getLength(value);
+        }
+        return 1;
+    }
+
+    private static class Shape {
+        private final int[] cardinalities;
+        private final int hashCode;
+
+        private Shape(int[] cardinalities) {
+            this.cardinalities = cardinalities;
+            this.hashCode = Arrays.hashCode(cardinalities);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Shape && Arrays.equals(cardinalities, ((Shape) obj).cardinalities);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.github.ddth.dao.qnd;
+
+import com.github.ddth.commons.utils.MapUtils;
+import com.github.ddth.dao.jdbc.AbstractJdbcHelper;
+import com.github.ddth.dao.jdbc.impl.DdthJdbcHelper;
+import com.github.ddth.dao.jdbc.impl.JdbcTemplateJdbcHelper;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Quick-and-dirty comparison of {@link DdthJdbcHelper} and {@link JdbcTemplateJdbcHelper}:
+ * single-row selects and updates (positional and named parameters), with and without statement cache.
+ */
+public class QndJdbcHelperBenchmark {
+
+    private static final int NUM_ROWS = 1000;
+    private static final int NUM_WARMUP = 10000;
+    private static final int NUM_LOOPS = 100000;
+
+    private static DataSource getDataSource() throws SQLException {
+        Connection conn = DriverManager
+                .getConnection("jdbc:mysql://localhost/test?useSSL=false&useServerPrepStmts=true", "test", "test");
+        return new SingleConnectionDataSource(conn, true);
+    }
+
+    private static void initData(AbstractJdbcHelper jdbcHelper) {
+        jdbcHelper.execute("DROP TABLE IF EXISTS tbl_qnd_bench");
+        jdbcHelper.execute("CREATE TABLE tbl_qnd_bench (id INT PRIMARY KEY, val VARCHAR(32), counter INT)");
+        for (int i = 0; i < NUM_ROWS; i++) {
+            jdbcHelper.execute("INSERT INTO tbl_qnd_bench (id, val, counter) VALUES (?, ?, ?)", i, "value-" + i, 0);
+        }
+    }
+
+    private static void run(AbstractJdbcHelper jdbcHelper, int numLoops) {
+        try (Connection conn = jdbcHelper.getConnection()) {
+            for (int i = 0; i < numLoops; i++) {
+                int id = i % NUM_ROWS;
+                jdbcHelper.executeSelectOne(conn, "SELECT * FROM tbl_qnd_bench WHERE id=?", id);
+                jdbcHelper.executeSelect(conn, "SELECT * FROM tbl_qnd_bench WHERE id=:id", MapUtils.createMap("id", id));
+                jdbcHelper.execute(conn, "UPDATE tbl_qnd_bench SET counter=counter+1 WHERE id=?", id);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void benchmark(String name, AbstractJdbcHelper jdbcHelper) {
+        run(jdbcHelper, NUM_WARMUP);
+        long t = System.nanoTime();
+        run(jdbcHelper, NUM_LOOPS);
+        long d = System.nanoTime() - t;
+        System.out.println(String.format("%-40s: %,10.0f loops/s, %,8d ns/loop, statement cache %s", name,
+                NUM_LOOPS * 1e9 / d, d / NUM_LOOPS, jdbcHelper.getStatementCacheStats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        DataSource ds = getDataSource();
+        try (AbstractJdbcHelper jdbcHelper = new DdthJdbcHelper().setDataSource(ds).init()) {
+            initData(jdbcHelper);
+        }
+        for (int statementCacheSize : new int[] { 0, 16 }) {
+            try (AbstractJdbcHelper jdbcHelper = new DdthJdbcHelper().setStatementCacheSize(statementCacheSize)
+                    .setDataSource(ds).init()) {
+                benchmark("DdthJdbcHelper (stmt cache " + statementCacheSize + ")", jdbcHelper);
+            }
+            try (AbstractJdbcHelper jdbcHelper = new JdbcTemplateJdbcHelper().setStatementCacheSize(statementCacheSize)
+                    .setDataSource(ds).init()) {
+                benchmark("JdbcTemplateJdbcHelper (stmt cache " + statementCacheSize + ")", jdbcHelper);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.ddth.dao.test.bo;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Assert;
+
+import com.github.ddth.dao.BaseBo;
+import com.github.ddth.dao.utils.ImmutableAttributeMap;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class BoAttributeSnapshotTest extends TestCase {
+
+    public BoAttributeSnapshotTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(BoAttributeSnapshotTest.class);
+    }
+
+    @org.junit.Test
+    public void testSnapshotIsolation() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("name", "abc").setAttribute("age", 10);
+        Map<String, Object> snapshot = bo.getAttributesSnapshot();
+        bo.setAttribute("name", "xyz").setAttribute("age", null);
+
+        Assert.assertEquals(2, snapshot.size());
+        Assert.assertEquals("abc", snapshot.get("name"));
+        Assert.assertEquals(10, snapshot.get("age"));
+        Assert.assertEquals("xyz", bo.getAttribute("name"));
+        Assert.assertNull(bo.getAttribute("age"));
+        try {
+            snapshot.put("name", "def");
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testGetAttributesIsMutableCopy() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("name", "abc");
+        Map<String, Object> attrs = bo.getAttributes();
+        attrs.put("name", "xyz");
+        attrs.put("age", 10);
+        Assert.assertEquals("abc", bo.getAttribute("name"));
+        Assert.assertNull(bo.getAttribute("age"));
+    }
+
+    @org.junit.Test
+    public void testMutableValuesAreCopied() {
+        List<Integer> list = new ArrayList<>();
+        list.add(1);
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("list", list).setAttribute("date", new Date(0));
+
+        BaseBo clone = bo.clone();
+        Map<String, Object> snapshot = bo.getAttributesSnapshot();
+        list.add(2);
+        bo.getAttribute("date", Date.class).setTime(1000);
+
+        Assert.assertEquals(1, ((List<?>) clone.getAttribute("list")).size());
+        Assert.assertEquals(1, ((List<?>) snapshot.get("list")).size());
+        Assert.assertEquals(0, clone.getAttribute("date", Date.class).getTime());
+        Assert.assertEquals(0, ((Date) snapshot.get("date")).getTime());
+    }
+
+    @org.junit.Test
+    public void testClone() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("name", "abc");
+        BaseBo clone = bo.clone();
+        Assert.assertEquals(bo, clone);
+        clone.setAttribute("name", "xyz");
+        Assert.assertEquals("abc", bo.getAttribute("name"));
+        Assert.assertNotEquals(bo, clone);
+    }
+
+    /**
+     * Keys with equal hash codes (combinations of "Aa" and "BB").
+     */
+    private static String collidingKey(int i) {
+        StringBuilder sb = new StringBuilder();
+        for (int b = 0; b < 6; b++) {
+            sb.append(((i >> b) & 1) == 0 ? "Aa" : "BB");
+        }
+        return sb.toString();
+    }
+
+    @org.junit.Test
+    public void testWideAttributeMap() {
+        Random random = new Random(1);
+        for (int round = 0; round < 20; round++) {
+            boolean colliding = round % 4 == 0;
+            int numKeys = colliding ? 64 : 300;
+            ImmutableAttributeMap attrs = ImmutableAttributeMap.EMPTY.trackChecksum();
+            Map<String, Object> expected = new HashMap<>();
+            for (int i = 0; i < 5000; i++) {
+                String key = colliding ? collidingKey(random.nextInt(numKeys)) : "attr" + random.nextInt(numKeys);
+                ImmutableAttributeMap before = attrs;
+                Map<String, Object> expectedBefore = new HashMap<>(expected);
+                if (random.nextInt(3) == 0) {
+                    attrs = attrs.without(key);
+                    expected.remove(key);
+                } else {
+                    Integer value = random.nextInt(10);
+                    attrs = attrs.with(key, value);
+                    expected.put(key, value);
+                }
+                // previous instance is not affected
+                Assert.assertEquals(expectedBefore, before);
+                Assert.assertEquals(expected, attrs);
+                Assert.assertEquals(expected.size(), attrs.size());
+            }
+            ImmutableAttributeMap rebuilt = ImmutableAttributeMap.of(expected);
+            Assert.assertEquals(rebuilt.checksum(), attrs.checksum());
+            Assert.assertEquals(new ArrayList<>(rebuilt.keySet()), new ArrayList<>(attrs.keySet()));
+            Assert.assertTrue(attrs.diff(expected).isEmpty());
+        }
+    }
+}
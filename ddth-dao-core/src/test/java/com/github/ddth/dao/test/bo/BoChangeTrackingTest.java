@@ -0,0 +1,113 @@
+package com.github.ddth.dao.test.bo;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.github.ddth.dao.BaseBo;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class BoChangeTrackingTest extends TestCase {
+
+    public BoChangeTrackingTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(BoChangeTrackingTest.class);
+    }
+
+    @org.junit.Test
+    public void testNotTracking() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("name", "abc").setAttribute("age", 10);
+        Assert.assertFalse(bo.isTrackingChanges());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "age")), bo.getChangedAttributes());
+    }
+
+    @org.junit.Test
+    public void testChangedAttributes() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("name", "abc").setAttribute("age", 10).setAttribute("bytes", new byte[] { 1 });
+        bo.markClean();
+        Assert.assertTrue(bo.isTrackingChanges());
+        Assert.assertTrue(bo.getChangedAttributes().isEmpty());
+
+        bo.setAttribute("name", "xyz").setAttribute("age", null).setAttribute("bytes", new byte[] { 1 })
+                .setAttribute("email", "a@b.c");
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name", "age", "email")), bo.getChangedAttributes());
+        Assert.assertTrue(bo.isAttributeChanged("age"));
+        Assert.assertFalse(bo.isAttributeChanged("bytes"));
+
+        bo.setAttribute("name", "abc").setAttribute("age", 10).setAttribute("email", null);
+        Assert.assertTrue(bo.getChangedAttributes().isEmpty());
+        Assert.assertTrue(bo.isDirty());
+    }
+
+    @org.junit.Test
+    public void testMarkCleanState() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("name", "abc");
+        Map<String, Object> state = bo.getAttributesState();
+        bo.setAttribute("age", 10);
+        bo.markClean(state);
+        Assert.assertTrue(bo.isDirty());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("age")), bo.getChangedAttributes());
+
+        bo.markClean(bo.getAttributesState());
+        Assert.assertFalse(bo.isDirty());
+        Assert.assertTrue(bo.getChangedAttributes().isEmpty());
+    }
+
+    @org.junit.Test
+    public void testCleanCopy() {
+        BaseBo bo = new BaseBo();
+        Assert.assertNull(bo.getCleanCopy());
+        bo.setAttribute("name", "abc").markClean();
+        bo.setAttribute("name", "xyz").setAttribute("age", 10);
+        BaseBo copy = bo.getCleanCopy();
+        Assert.assertEquals("abc", copy.getAttribute("name"));
+        Assert.assertNull(copy.getAttribute("age"));
+        Assert.assertTrue(copy.getChangedAttributes().isEmpty());
+        Assert.assertEquals("xyz", bo.getAttribute("name"));
+    }
+
+    @org.junit.Test
+    public void testCleanCopyMutableValues() {
+        BaseBo bo = new BaseBo();
+        bo.setAttribute("date", new Date(0)).markClean();
+        bo.setAttribute("date", new Date(1000));
+        BaseBo copy = bo.getCleanCopy();
+        Assert.assertEquals(0, copy.getAttribute("date", Date.class).getTime());
+        Assert.assertEquals(1000, bo.getAttribute("date", Date.class).getTime());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("date")), bo.getChangedAttributes());
+        Assert.assertNotEquals(bo.calcChecksum(), copy.calcChecksum());
+        copy.setAttribute("date", new Date(2000));
+        Assert.assertEquals(1000, bo.getAttribute("date", Date.class).getTime());
+    }
+
+    @org.junit.Test
+    public void testFromMap() {
+        Map<String, Object> attrs = new HashMap<>();
+        attrs.put("name", "abc");
+        Map<String, Object> data = new HashMap<>();
+        data.put(BaseBo.SER_FIELD_ATTRS, attrs);
+        data.put(BaseBo.SER_FIELD_DIRTY, false);
+        BaseBo bo = new BaseBo();
+        bo.fromMap(data);
+        Assert.assertTrue(bo.isTrackingChanges());
+        bo.setAttribute("name", "xyz");
+        Assert.assertEquals(new HashSet<>(Arrays.asList("name")), bo.getChangedAttributes());
+
+        data.put(BaseBo.SER_FIELD_DIRTY, true);
+        bo.fromMap(data);
+        Assert.assertFalse(bo.isTrackingChanges());
+    }
+}
@@ -10,6 +10,8 @@ import org.junit.Assert;
 import org.junit.Before;
 
 import com.github.ddth.dao.BaseBo;
+import com.github.ddth.dao.BaseBo.ChecksumMode;
+import com.github.ddth.dao.BaseBo.LockStrategy;
 import com.github.ddth.dao.BaseDataJsonFieldBo;
 import com.github.ddth.dao.BaseJsonBo;
 
@@ -115,4 +117,42 @@ public class BoChecksumTest extends TestCase {
         Assert.assertEquals(bo1.calcChecksum(), bo2.calcChecksum());
     }
 
+    static class IncrementalChecksumBo extends BaseBo {
+        IncrementalChecksumBo() {
+            super(LockStrategy.READ_WRITE_LOCK, ChecksumMode.INCREMENTAL);
+        }
+    }
+
+    @org.junit.Test
+    public void testChecksumIncremental() {
+        Random random = new Random(System.currentTimeMillis());
+        List<Integer> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add(random.nextInt(1981));
+        }
+
+        BaseBo empty = new IncrementalChecksumBo();
+        Assert.assertEquals(ChecksumMode.INCREMENTAL, empty.getChecksumMode());
+        Assert.assertEquals(0, empty.calcChecksum());
+
+        Collections.shuffle(data);
+        BaseBo bo1 = new IncrementalChecksumBo();
+        data.forEach(v -> bo1.setAttribute(String.valueOf(v), v));
+        long checksum = bo1.calcChecksum();
+
+        // same attributes populated at once
+        BaseBo bo2 = new IncrementalChecksumBo();
+        bo2.setAttributes(bo1.getAttributes());
+        Assert.assertEquals(checksum, bo2.calcChecksum());
+
+        // change then revert: checksum should be restored
+        bo2.setAttribute("extra", "value");
+        bo2.setAttribute(String.valueOf(data.get(0)), "changed");
+        Assert.assertNotEquals(checksum, bo2.calcChecksum());
+        bo2.setAttribute("extra", null);
+        bo2.setAttribute(String.valueOf(data.get(0)), data.get(0));
+        Assert.assertEquals(checksum, bo2.calcChecksum());
+        Assert.assertEquals(checksum, bo2.clone().calcChecksum());
+    }
+
 }
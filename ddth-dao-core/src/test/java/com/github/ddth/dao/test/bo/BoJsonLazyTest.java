@@ -0,0 +1,104 @@
+package com.github.ddth.dao.test.bo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.ddth.dao.BaseBo;
+import com.github.ddth.dao.BaseJsonBo;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+public class BoJsonLazyTest extends TestCase {
+
+    public BoJsonLazyTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(BoJsonLazyTest.class);
+    }
+
+    private static class MyBo extends BaseJsonBo {
+        public Map<String, JsonNode> getCacheJsonObjs() {
+            return cacheJsonObjs;
+        }
+    }
+
+    private static MyBo newBo(boolean streaming) {
+        Map<String, Object> attrs = new HashMap<>();
+        attrs.put("a", "{\"b\":[{\"c\":1},{\"c\":\"2\",\"d\":[true,null,3.5]}],\"e\":null}");
+        attrs.put("n", "5");
+        Map<String, Object> data = new HashMap<>();
+        data.put(BaseBo.SER_FIELD_ATTRS, attrs);
+        data.put(BaseBo.SER_FIELD_DIRTY, false);
+        MyBo bo = new MyBo();
+        bo.setStreamingSubAttr(streaming);
+        bo.fromMap(data);
+        return bo;
+    }
+
+    @org.junit.Test
+    public void testLazyParsing() {
+        MyBo bo = newBo(false);
+        Assert.assertTrue(bo.getCacheJsonObjs().isEmpty());
+        Assert.assertEquals(5, bo.getAttribute("n", Integer.class).intValue());
+        Assert.assertEquals(1, bo.getCacheJsonObjs().size());
+
+        bo.setAttribute("n", 6);
+        Assert.assertEquals(6, bo.getAttribute("n", Integer.class).intValue());
+        bo.setSubAttr("a", "b[0].c", 9);
+        Assert.assertEquals(9, bo.getSubAttr("a", "b[0].c", Integer.class).intValue());
+
+        BaseJsonBo clone = bo.clone();
+        clone.setSubAttr("a", "b[0].c", 10);
+        Assert.assertEquals(9, bo.getSubAttr("a", "b[0].c", Integer.class).intValue());
+        Assert.assertEquals(10, clone.getSubAttr("a", "b[0].c", Integer.class).intValue());
+    }
+
+    @org.junit.Test
+    public void testStreamingSubAttr() {
+        MyBo tree = newBo(false);
+        MyBo streaming = newBo(true);
+        String[] paths = { "b[0].c", "b[1].c", "b[1].d[2]", "b[1].d[1]", "b", "e", "e.x", "x", "x.y" };
+        for (String dPath : paths) {
+            Assert.assertEquals(dPath, tree.getSubAttr("a", dPath), streaming.getSubAttr("a", dPath));
+            Assert.assertEquals(dPath, tree.getSubAttr("a", dPath, String.class),
+                    streaming.getSubAttr("a", dPath, String.class));
+        }
+        Assert.assertTrue(streaming.getCacheJsonObjs().isEmpty());
+
+        // d-paths not matching the structure fall back to the parsed attribute
+        try {
+            streaming.getSubAttr("a", "b[5]");
+            fail("IndexOutOfBoundsException expected");
+        } catch (IndexOutOfBoundsException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testChecksum() {
+        MyBo bo = newBo(true);
+        MyBo other = new MyBo();
+        other.setAttribute("a", bo.getAttribute("a"));
+        other.setAttribute("n", 5);
+        Assert.assertEquals(other.calcChecksum(), bo.calcChecksum());
+    }
+
+    @org.junit.Test
+    public void testCleanCopyDoesNotShareCache() {
+        MyBo bo = newBo(false);
+        Assert.assertEquals(1, bo.getSubAttr("a", "b[0].c", Integer.class).intValue());
+        bo.setSubAttr("a", "b[0].c", 9);
+        Assert.assertEquals(9, bo.getSubAttr("a", "b[0].c", Integer.class).intValue());
+
+        MyBo copy = (MyBo) bo.getCleanCopy();
+        Assert.assertNotSame(bo.getCacheJsonObjs(), copy.getCacheJsonObjs());
+        Assert.assertEquals(1, copy.getSubAttr("a", "b[0].c", Integer.class).intValue());
+        Assert.assertEquals(9, bo.getSubAttr("a", "b[0].c", Integer.class).intValue());
+    }
+}
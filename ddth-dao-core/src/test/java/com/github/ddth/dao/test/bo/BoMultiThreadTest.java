@@ -1,9 +1,14 @@
 package com.github.ddth.dao.test.bo;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 
 import com.github.ddth.dao.BaseBo;
+import com.github.ddth.dao.BaseBo.LockStrategy;
 
 import junit.framework.Test;
 import junit.framework.TestCase;
@@ -77,4 +82,156 @@ public class BoMultiThreadTest extends TestCase {
 
         assertTrue(true);
     }
+
+    static class MyBo extends BaseBo {
+        MyBo(LockStrategy lockStrategy) {
+            super(lockStrategy);
+        }
+    }
+
+    /**
+     * Run {@code numReadThreads} readers and {@code numWriteThreads} writers against a BO, return
+     * the throughput (operations/ms).
+     */
+    private static double runBenchmark(BaseBo bo, int numAttrs, int numReadThreads, int numReads,
+            int numWriteThreads, int numWrites) throws InterruptedException {
+        for (int i = 0; i < numAttrs; i++) {
+            bo.setAttribute(String.valueOf(i), 0);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        // failures of reader/writer threads are reported on the calling thread
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[numReadThreads + numWriteThreads];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean isWriter = t >= numReadThreads;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    if (isWriter) {
+                        for (int i = 0; i < numWrites; i++) {
+                            bo.setAttribute(String.valueOf(i % numAttrs), i);
+                        }
+                    } else {
+                        for (int i = 0; i < numReads; i++) {
+                            String key = String.valueOf(i % numAttrs);
+                            if (bo.getAttribute(key) == null) {
+                                throw new AssertionError("Attribute [" + key + "] is null.");
+                            }
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        long t1 = System.nanoTime();
+        start.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+        long d = Math.max(1, System.nanoTime() - t1);
+        if (failure.get() != null) {
+            throw new AssertionError("Benchmark thread failed: " + failure.get(), failure.get());
+        }
+        long totalOps = (long) numReadThreads * numReads + (long) numWriteThreads * numWrites;
+        return totalOps * 1_000_000.0 / d;
+    }
+
+    @org.junit.Test
+    public void testThroughput() throws InterruptedException {
+        final int NUM_ATTRS = 8;
+        final int NUM_READ_THREADS = 4;
+        final int NUM_WRITE_THREADS = 1;
+        final int NUM_READS = 200000;
+        final int NUM_WRITES = 5000;
+
+        for (LockStrategy lockStrategy : LockStrategy.values()) {
+            // warm up
+            runBenchmark(new MyBo(lockStrategy), NUM_ATTRS, NUM_READ_THREADS, NUM_READS / 10, NUM_WRITE_THREADS,
+                    NUM_WRITES / 10);
+
+            BaseBo bo = new MyBo(lockStrategy);
+            double throughput = runBenchmark(bo, NUM_ATTRS, NUM_READ_THREADS, NUM_READS, NUM_WRITE_THREADS,
+                    NUM_WRITES);
+            System.out.println(String.format("[%s] %s: %,.0f ops/ms", getClass().getSimpleName(), lockStrategy,
+                    throughput));
+
+            Assert.assertEquals(lockStrategy, bo.getLockStrategy());
+            Assert.assertEquals(NUM_ATTRS, bo.getAttributes().size());
+            for (int i = 0; i < NUM_ATTRS; i++) {
+                int expected = NUM_WRITES - NUM_ATTRS + i;
+                Assert.assertEquals(expected, bo.getAttribute(String.valueOf(i), Integer.class).intValue());
+            }
+        }
+    }
+
+    @org.junit.Test
+    public void testThroughputWideBo() throws InterruptedException {
+        final int NUM_ATTRS = 128;
+        final int NUM_READ_THREADS = 4;
+        final int NUM_WRITE_THREADS = 1;
+        final int NUM_READS = 200000;
+        final int NUM_WRITES = 5000;
+
+        for (LockStrategy lockStrategy : LockStrategy.values()) {
+            // warm up
+            runBenchmark(new MyBo(lockStrategy), NUM_ATTRS, NUM_READ_THREADS, NUM_READS / 10, NUM_WRITE_THREADS,
+                    NUM_WRITES / 10);
+
+            BaseBo bo = new MyBo(lockStrategy);
+            double throughput = runBenchmark(bo, NUM_ATTRS, NUM_READ_THREADS, NUM_READS, NUM_WRITE_THREADS,
+                    NUM_WRITES);
+            System.out.println(String.format("[%s] %s, %d attributes: %,.0f ops/ms", getClass().getSimpleName(),
+                    lockStrategy, NUM_ATTRS, throughput));
+
+            Assert.assertEquals(NUM_ATTRS, bo.getAttributes().size());
+            for (int i = 0; i < NUM_ATTRS; i++) {
+                int expected = NUM_WRITES - NUM_ATTRS + i;
+                Assert.assertEquals(expected, bo.getAttribute(String.valueOf(i), Integer.class).intValue());
+            }
+        }
+    }
+
+    /**
+     * Fill {@code numBos} new BOs one attribute at a time (as a row mapper calling setters does),
+     * return the throughput (attributes/ms).
+     */
+    private static double runPopulateBenchmark(LockStrategy lockStrategy, String[] attrNames, int numBos) {
+        long t1 = System.nanoTime();
+        for (int i = 0; i < numBos; i++) {
+            BaseBo bo = new MyBo(lockStrategy);
+            for (int j = 0; j < attrNames.length; j++) {
+                bo.setAttribute(attrNames[j], j);
+            }
+            if (bo.getAttributes().size() != attrNames.length) {
+                throw new AssertionError("Expected " + attrNames.length + " attributes.");
+            }
+        }
+        long d = Math.max(1, System.nanoTime() - t1);
+        return (long) numBos * attrNames.length * 1_000_000.0 / d;
+    }
+
+    @org.junit.Test
+    public void testPopulateWideBo() {
+        final int NUM_BOS = 2000;
+        for (int numAttrs : new int[] { 8, 128 }) {
+            String[] attrNames = new String[numAttrs];
+            for (int i = 0; i < numAttrs; i++) {
+                attrNames[i] = "attr_" + i;
+            }
+            for (LockStrategy lockStrategy : LockStrategy.values()) {
+                // warm up
+                runPopulateBenchmark(lockStrategy, attrNames, NUM_BOS / 10);
+
+                double throughput = runPopulateBenchmark(lockStrategy, attrNames, NUM_BOS);
+                System.out.println(String.format("[%s] populate %s, %d attributes: %,.0f attributes/ms",
+                        getClass().getSimpleName(), lockStrategy, numAttrs, throughput));
+            }
+        }
+    }
 }
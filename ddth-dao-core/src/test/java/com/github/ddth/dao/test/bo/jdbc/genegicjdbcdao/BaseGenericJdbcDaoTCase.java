@@ -14,12 +14,17 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -94,6 +99,37 @@ public abstract class BaseGenericJdbcDaoTCase {
         assertNull(boList[3]);
     }
 
+    @Test
+    public void testSelectMultiChunked() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        userDao.setMultiGetBatchSize(1);
+        UserBo[] boList = userDao.get(new BoId(3), null, new BoId(7), new BoId(1), new BoId(3L));
+        assertNotNull(boList);
+        assertEquals(5, boList.length);
+        assertEquals(3, boList[0].getId());
+        assertNull(boList[1]);
+        assertNull(boList[2]);
+        assertEquals(1, boList[3].getId());
+        assertEquals(3, boList[4].getId());
+    }
+
+    @Test
+    public void testSelectMultiKeyTypes() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        // ids of other types than the column's are matched to fetched rows by value
+        UserBo[] boList = userDao.get(new BoId(new BigDecimal("1.0")), new BoId(2), new BoId(3.0d),
+                new BoId(BigInteger.valueOf(4)));
+        assertEquals(4, boList.length);
+        assertEquals(1, boList[0].getId());
+        assertEquals(2, boList[1].getId());
+        assertEquals(3, boList[2].getId());
+        assertNull(boList[3]);
+    }
+
     @Test
     public void testDelete() throws Exception {
         if (userDao == null) {
@@ -334,4 +370,227 @@ public abstract class BaseGenericJdbcDaoTCase {
             assertTrue(e instanceof DaoException);
         }
     }
+
+    private static UserBo newUser(long id, String username) {
+        Date now = new Date();
+        return new UserBo().setId(id).setUsername(username).setYob(2019).setFullname(username).setDataDate(now)
+                .setDataTime(now).setDataDatetime(now).setDataBytes(new byte[0]).setNotNull(1);
+    }
+
+    @Test
+    public void testCreateBatch() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        userDao.setBatchSize(2);
+        List<DaoResult> result = userDao.createBatch(
+                Arrays.asList(newUser(10, "u10"), newUser(1, "dup_id"), newUser(11, "u11"), newUser(12, "a")));
+        assertEquals(4, result.size());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(0).getStatus());
+        assertEquals(DaoOperationStatus.DUPLICATED_VALUE, result.get(1).getStatus());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(2).getStatus());
+        assertEquals(DaoOperationStatus.DUPLICATED_VALUE, result.get(3).getStatus());
+        assertNotNull(userDao.get(new BoId(10)));
+        assertNotNull(userDao.get(new BoId(11)));
+        assertNull(userDao.get(new BoId(12)));
+    }
+
+    @Test
+    public void testCreateBatchPartialFailure() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        // a failed batch is rolled back and re-run row by row: rows before the failing one are
+        // reported by their own status, not as duplicates of themselves
+        userDao.setBatchSize(10);
+        List<DaoResult> result = userDao.createBatch(
+                Arrays.asList(newUser(20, "u20"), newUser(21, "u21"), null, newUser(2, "dup_id"), newUser(22, "u22")));
+        assertEquals(5, result.size());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(0).getStatus());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(1).getStatus());
+        assertEquals(DaoOperationStatus.ERROR, result.get(2).getStatus());
+        assertEquals(DaoOperationStatus.DUPLICATED_VALUE, result.get(3).getStatus());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(4).getStatus());
+        assertNotNull(userDao.get(new BoId(20)));
+        assertNotNull(userDao.get(new BoId(21)));
+        assertNotNull(userDao.get(new BoId(22)));
+        assertEquals("b", userDao.get(new BoId(2)).getUsername());
+    }
+
+    @Test
+    public void testUpdateBatch() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        UserBo bo1 = userDao.get(new BoId(1));
+        UserBo bo2 = userDao.get(new BoId(2));
+        bo1.setYob(1);
+        bo2.setYob(2);
+        List<DaoResult> result = userDao.updateBatch(Arrays.asList(bo1, newUser(100, "u100"), bo2));
+        assertEquals(3, result.size());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(0).getStatus());
+        assertEquals(DaoOperationStatus.NOT_FOUND, result.get(1).getStatus());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(2).getStatus());
+        assertEquals(1, userDao.get(new BoId(1)).getYob());
+        assertEquals(2, userDao.get(new BoId(2)).getYob());
+    }
+
+    @Test
+    public void testDeleteBatch() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        List<DaoResult> result = userDao
+                .deleteBatch(Arrays.asList(userDao.get(new BoId(1)), newUser(100, "u100"), userDao.get(new BoId(3))));
+        assertEquals(3, result.size());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(0).getStatus());
+        assertEquals(DaoOperationStatus.NOT_FOUND, result.get(1).getStatus());
+        assertEquals(DaoOperationStatus.SUCCESSFUL, result.get(2).getStatus());
+        assertNull(userDao.get(new BoId(1)));
+        assertNotNull(userDao.get(new BoId(2)));
+        assertNull(userDao.get(new BoId(3)));
+    }
+
+    @Test
+    public void testNativeUpsert() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        userDao.setNativeUpsert(true);
+        {
+            DaoResult result = userDao.createOrUpdate(newUser(1, "a").setYob(1));
+            assertEquals(DaoOperationStatus.SUCCESSFUL, result.getStatus());
+            assertEquals(1, userDao.get(new BoId(1)).getYob());
+        }
+        {
+            DaoResult result = userDao.updateOrCreate(newUser(10, "u10"));
+            assertEquals(DaoOperationStatus.SUCCESSFUL, result.getStatus());
+            assertNotNull(userDao.get(new BoId(10)));
+        }
+        {
+            userDao.setBatchSize(2);
+            List<DaoResult> result = userDao.createOrUpdateBatch(
+                    Arrays.asList(newUser(2, "b").setYob(2), newUser(11, "u11"), newUser(3, "c").setYob(3)));
+            assertEquals(3, result.size());
+            for (DaoResult r : result) {
+                assertEquals(DaoOperationStatus.SUCCESSFUL, r.getStatus());
+            }
+            assertEquals(2, userDao.get(new BoId(2)).getYob());
+            assertNotNull(userDao.get(new BoId(11)));
+            assertEquals(3, userDao.get(new BoId(3)).getYob());
+        }
+    }
+
+    @Test
+    public void testGetAllPartitioned() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        for (int i = 10; i < 60; i++) {
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.create(newUser(i, "u" + i)).getStatus());
+        }
+        try (Stream<UserBo> stream = userDao.getAllPartitioned(4)) {
+            assertEquals(53, stream.mapToLong(UserBo::getId).distinct().count());
+        }
+        for (int i = 0; i < 3; i++) {
+            long mod = i;
+            // ranges are released by the worker threads that read them: connections are reusable
+            try (Stream<UserBo> stream = userDao.getAllPartitioned(8).parallel()) {
+                assertTrue(stream.filter(bo -> bo.getId() % 10 == mod).findAny().isPresent());
+            }
+            try (Stream<UserBo> stream = userDao.getAllPartitioned(8).parallel()) {
+                assertEquals(53, stream.count());
+            }
+        }
+    }
+
+    @Test
+    public void testGetAllSortedAfter() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        for (int i = 24; i >= 10; i--) {
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.create(newUser(i, "u" + i)).getStatus());
+        }
+        userDao.setKeysetPageSize(4);
+        try (Stream<UserBo> stream = userDao.getAllSorted()) {
+            long[] ids = stream.mapToLong(UserBo::getId).toArray();
+            assertEquals(18, ids.length);
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(ids[i - 1] < ids[i]);
+            }
+        }
+        try (Stream<UserBo> stream = userDao.getAllSortedAfter(new BoId(10))) {
+            assertArrayEquals(LongStream.rangeClosed(11, 24).toArray(),
+                    stream.mapToLong(UserBo::getId).toArray());
+        }
+        try (Stream<UserBo> stream = userDao.getAllSortedAfter(new BoId(24))) {
+            assertEquals(0, stream.count());
+        }
+    }
+
+    @Test
+    public void testPartialUpdate() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        userDao.setPartialUpdate(true);
+        {
+            // only changed columns are written
+            UserBo bo1 = userDao.get(new BoId(1));
+            UserBo bo2 = userDao.get(new BoId(1));
+            bo1.setYob(1);
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.update(bo1).getStatus());
+            bo2.setFullname("Partial");
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.update(bo2).getStatus());
+            UserBo bo = userDao.get(new BoId(1));
+            assertEquals(1, bo.getYob());
+            assertEquals("Partial", bo.getFullname());
+        }
+        {
+            // a BO is clean after a successful update: reverting a change is written too
+            UserBo bo = userDao.get(new BoId(2));
+            bo.setYob(2);
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.update(bo).getStatus());
+            assertFalse(bo.isDirty());
+            bo.setYob(2000);
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.update(bo).getStatus());
+            assertEquals(2000, userDao.get(new BoId(2)).getYob());
+        }
+        {
+            // nothing changed: no statement is executed
+            UserBo bo = userDao.get(new BoId(3));
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.delete(userDao.get(new BoId(3))).getStatus());
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.update(bo).getStatus());
+            assertNull(userDao.get(new BoId(3)));
+        }
+        {
+            // a created BO is clean, BOs not tracking changes are updated in full
+            UserBo created = newUser(10, "u10");
+            assertEquals(DaoOperationStatus.SUCCESSFUL, userDao.create(created).getStatus());
+            created.setYob(10);
+            UserBo bo2 = userDao.get(new BoId(2));
+            bo2.setYob(20);
+            List<DaoResult> result = userDao.updateBatch(Arrays.asList(created, bo2, newUser(1, "a").setYob(11)));
+            for (DaoResult r : result) {
+                assertEquals(DaoOperationStatus.SUCCESSFUL, r.getStatus());
+            }
+            assertEquals(10, userDao.get(new BoId(10)).getYob());
+            assertEquals(20, userDao.get(new BoId(2)).getYob());
+            assertEquals(11, userDao.get(new BoId(1)).getYob());
+            assertEquals("a", userDao.get(new BoId(1)).getFullname());
+        }
+    }
+
+    @Test
+    public void testSqlCache() throws Exception {
+        if (userDao == null) {
+            return;
+        }
+        userDao.get(new BoId(1));
+        userDao.get(new BoId(2));
+        userDao.create(newUser(10, "u10"));
+        assertEquals(1, userDao.getSqlCacheStats().missCount());
+        assertEquals(2, userDao.getSqlCacheStats().hitCount());
+    }
 }
@@ -5,7 +5,8 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 
-@Suite.SuiteClasses({ JdbcTemplateGenericJdbcDaoTCase.class, DdthGenericJdbcDaoTCase.class })
+@Suite.SuiteClasses({ JdbcTemplateGenericJdbcDaoTCase.class, DdthGenericJdbcDaoTCase.class,
+        CompiledDdthGenericJdbcDaoTCase.class })
 
 /*
  * mvn test -DskipTests=false -Dtest=com.github.ddth.dao.test.bo.jdbc.genegicjdbcdao.MySuiteTest
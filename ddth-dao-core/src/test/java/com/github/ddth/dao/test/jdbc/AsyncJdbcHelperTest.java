@@ -0,0 +1,301 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.AbstractJdbcHelper;
+import com.github.ddth.dao.jdbc.IJdbcHelper;
+import com.github.ddth.dao.jdbc.impl.AsyncJdbcHelper;
+import com.github.ddth.dao.jdbc.impl.DdthJdbcHelper;
+import com.github.ddth.dao.utils.DaoException;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncJdbcHelperTest extends TestCase {
+
+    public AsyncJdbcHelperTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(AsyncJdbcHelperTest.class);
+    }
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private AsyncJdbcHelper asyncJdbcHelper;
+
+    /**
+     * {@link IJdbcHelper} that hands out dummy connections and counts the ones not yet returned.
+     */
+    private IJdbcHelper fakeJdbcHelper() {
+        Connection conn = (Connection) Proxy
+                .newProxyInstance(AsyncJdbcHelperTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+                        (proxy, method, args) -> null);
+        return (IJdbcHelper) Proxy
+                .newProxyInstance(AsyncJdbcHelperTest.class.getClassLoader(), new Class<?>[] { IJdbcHelper.class },
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "getConnection":
+                                openConnections.incrementAndGet();
+                                return conn;
+                            case "returnConnection":
+                                openConnections.decrementAndGet();
+                                return true;
+                            case "commitTransaction":
+                            case "rollbackTransaction":
+                                return true;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                        });
+    }
+
+    @Override
+    protected void setUp() {
+        asyncJdbcHelper = new AsyncJdbcHelper(fakeJdbcHelper()).init();
+    }
+
+    @Override
+    protected void tearDown() {
+        asyncJdbcHelper.destroy();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    @org.junit.Test
+    public void testMaxConcurrency() throws Exception {
+        asyncJdbcHelper.setMaxConcurrency("ds1", 2).setMaxConcurrency("ds2", 1);
+        AtomicInteger running1 = new AtomicInteger(), maxRunning1 = new AtomicInteger();
+        AtomicInteger running2 = new AtomicInteger(), maxRunning2 = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            boolean first = i % 2 == 0;
+            AtomicInteger running = first ? running1 : running2;
+            AtomicInteger maxRunning = first ? maxRunning1 : maxRunning2;
+            int value = i;
+            futures.add(asyncJdbcHelper.submit(first ? "ds1" : "ds2", false, 0, conn -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(50);
+                running.decrementAndGet();
+                return value;
+            }));
+        }
+        for (int i = 0; i < futures.size(); i++) {
+            Assert.assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS).intValue());
+        }
+        Assert.assertEquals(2, maxRunning1.get());
+        Assert.assertEquals(1, maxRunning2.get());
+        Assert.assertEquals(0, openConnections.get());
+    }
+
+    @org.junit.Test
+    public void testSaturatedDataSourceDoesNotHoldThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (AsyncJdbcHelper asyncJdbcHelper = new AsyncJdbcHelper(fakeJdbcHelper()).setExecutor(executor).init()) {
+            asyncJdbcHelper.setMaxConcurrency("ds1", 1);
+            CountDownLatch release = new CountDownLatch(1);
+            List<CompletableFuture<Integer>> blocked = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int value = i;
+                blocked.add(asyncJdbcHelper.submit("ds1", false, 0, conn -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new DaoException(e);
+                    }
+                    return value;
+                }));
+            }
+            // tasks waiting for a slot of ds1 do not occupy the executor's threads
+            Assert.assertEquals(5, asyncJdbcHelper.submit("ds2", false, 0, conn -> 5).get(5, TimeUnit.SECONDS)
+                    .intValue());
+            release.countDown();
+            for (int i = 0; i < blocked.size(); i++) {
+                Assert.assertEquals(i, blocked.get(i).get(5, TimeUnit.SECONDS).intValue());
+            }
+            Assert.assertEquals(0, openConnections.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @org.junit.Test
+    public void testSetMaxConcurrencyAfterSubmit() throws Exception {
+        asyncJdbcHelper.setMaxConcurrency("ds1", 2);
+        asyncJdbcHelper.submit("ds1", false, 0, conn -> 1).get();
+        try {
+            asyncJdbcHelper.setMaxConcurrency("ds1", 3);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+        }
+        try {
+            asyncJdbcHelper.setDefaultMaxConcurrency(3);
+            fail("IllegalStateException expected");
+        } catch (IllegalStateException e) {
+        }
+        Assert.assertEquals(2, asyncJdbcHelper.getMaxConcurrency("ds1"));
+        // other data sources can still be configured
+        asyncJdbcHelper.setMaxConcurrency("ds2", 3);
+        Assert.assertEquals(3, asyncJdbcHelper.getMaxConcurrency("ds2"));
+    }
+
+    @org.junit.Test
+    public void testDeadline() throws Exception {
+        long start = System.currentTimeMillis();
+        long deadline = asyncJdbcHelper.submit("ds1", false, 1000, conn -> AbstractJdbcHelper.getQueryDeadline()).get();
+        Assert.assertTrue(deadline >= start + 1000 && deadline <= System.currentTimeMillis() + 1000);
+        Assert.assertEquals(0L, asyncJdbcHelper.submit("ds1", false, 0, conn -> AbstractJdbcHelper.getQueryDeadline()).get()
+                .longValue());
+        Assert.assertEquals(0, AbstractJdbcHelper.getQueryDeadline());
+    }
+
+    @org.junit.Test
+    public void testTimeout() throws Exception {
+        asyncJdbcHelper.setMaxConcurrency("ds1", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> slow = asyncJdbcHelper.submit("ds1", false, 100, conn -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new DaoException(e);
+            }
+            return 1;
+        });
+        // waits for the slot held by the slow task
+        CompletableFuture<Integer> waiting = asyncJdbcHelper.submit("ds1", false, 100, conn -> 2);
+        try {
+            slow.get();
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        try {
+            waiting.get();
+            fail("ExecutionException expected");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException || e.getCause()
+                    .getCause() instanceof TimeoutException);
+        }
+        release.countDown();
+        Assert.assertEquals(3, asyncJdbcHelper.submit("ds1", false, 1000, conn -> 3).get(5, TimeUnit.SECONDS).intValue());
+        Assert.assertEquals(0, openConnections.get());
+    }
+
+    @org.junit.Test
+    public void testTimeoutCancelsStatement() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+        PreparedStatement pstm = (PreparedStatement) Proxy
+                .newProxyInstance(AsyncJdbcHelperTest.class.getClassLoader(),
+                        new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "executeUpdate":
+                                executing.countDown();
+                                // as if the query ran for long, until cancelled
+                                if (!cancelled.await(5, TimeUnit.SECONDS)) {
+                                    return 1;
+                                }
+                                throw new SQLException("Query cancelled.");
+                            case "execute":
+                                executed.incrementAndGet();
+                                return false;
+                            case "cancel":
+                                cancelled.countDown();
+                                return null;
+                            case "getQueryTimeout":
+                                return 0;
+                            default:
+                                return null;
+                            }
+                        });
+        Connection conn = (Connection) Proxy
+                .newProxyInstance(AsyncJdbcHelperTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "prepareStatement":
+                                return pstm;
+                            case "getAutoCommit":
+                                return true;
+                            case "getMetaData":
+                                throw new SQLException("Not supported.");
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return null;
+                            }
+                        });
+        DataSource ds = (DataSource) Proxy
+                .newProxyInstance(AsyncJdbcHelperTest.class.getClassLoader(), new Class<?>[] { DataSource.class },
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "getConnection":
+                                return conn;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return null;
+                            }
+                        });
+        DdthJdbcHelper jdbcHelper = new DdthJdbcHelper();
+        jdbcHelper.setDataSource(ds);
+        jdbcHelper.init();
+        try (AsyncJdbcHelper asyncJdbcHelper = new AsyncJdbcHelper(jdbcHelper).init()) {
+            CountDownLatch done = new CountDownLatch(1);
+            AtomicInteger afterCancel = new AtomicInteger();
+            CompletableFuture<Integer> future = asyncJdbcHelper.submit(null, false, 200, c -> {
+                try {
+                    return jdbcHelper.execute(c, "UPDATE t SET v=1");
+                } catch (DaoException e) {
+                    // statements after the timeout fail right away
+                    try {
+                        jdbcHelper.execute(c, "UPDATE t SET v=2");
+                    } catch (DaoException e1) {
+                        afterCancel.incrementAndGet();
+                    }
+                    throw e;
+                } finally {
+                    done.countDown();
+                }
+            });
+            Assert.assertTrue(executing.await(5, TimeUnit.SECONDS));
+            try {
+                future.get();
+                fail("ExecutionException expected");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            Assert.assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+            Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, afterCancel.get());
+            Assert.assertEquals(0, executed.get());
+        } finally {
+            jdbcHelper.destroy();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.ColumnBlock;
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.jdbc.impl.ColumnBlockIterator;
+import com.github.ddth.dao.utils.DaoException;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ColumnBlockTest extends TestCase {
+
+    public ColumnBlockTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(ColumnBlockTest.class);
+    }
+
+    private final static String[] LABELS = { "id", "small", "score", "name", "amount", "price" };
+    private final static int[] TYPES = { Types.BIGINT, Types.SMALLINT, Types.DOUBLE, Types.VARCHAR, Types.DECIMAL,
+            Types.TIMESTAMP };
+
+    private static Object[][] buildRows(int numRows) {
+        Object[][] rows = new Object[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            rows[i] = new Object[] { (long) i, i % 3 == 0 ? null : i % 100, i * 0.5, i % 4 == 0 ? null : "s" + (i % 3),
+                    BigDecimal.valueOf(i * 10), i % 5 == 0 ? null : new java.sql.Timestamp(i) };
+        }
+        return rows;
+    }
+
+    /**
+     * Check that a block holds rows {@code [from, from + block.getRowCount())} of {@code rows}.
+     */
+    private static void assertBlock(ColumnBlock block, Object[][] rows, int from) {
+        for (int r = 0; r < block.getRowCount(); r++) {
+            Object[] row = rows[from + r];
+            Assert.assertEquals(((Long) row[0]).longValue(), block.getLongs(1)[r]);
+            Assert.assertEquals(row[1] == null, block.isNull(2, r));
+            Assert.assertEquals(row[1], block.getObject(2, r));
+            Assert.assertEquals((Double) row[2], block.getDoubles(3)[r], 0.0);
+            Assert.assertEquals(row[3], block.getString(4, r));
+            Assert.assertEquals(row[3], block.getObject(4, r));
+            Assert.assertEquals(((BigDecimal) row[4]).longValue(), block.getLongs(5)[r]);
+            Assert.assertEquals(row[5], block.getObjects(6)[r]);
+            Assert.assertEquals(row[5] == null, block.isNull(6, r));
+        }
+    }
+
+    @org.junit.Test
+    public void testBuilder() throws SQLException {
+        Object[][] rows = buildRows(10);
+        FakeResultSet frs = new FakeResultSet(LABELS, TYPES, rows);
+        ResultSetLayout layout = ResultSetLayout.resolve(frs.resultSet);
+        ColumnBlock.Schema schema = ColumnBlock.Schema.resolve(frs.resultSet, layout);
+        Assert.assertEquals(ColumnBlock.ColumnType.LONG, schema.getColumnType(1));
+        Assert.assertEquals(ColumnBlock.ColumnType.INT, schema.getColumnType(2));
+        Assert.assertEquals(ColumnBlock.ColumnType.DOUBLE, schema.getColumnType(3));
+        Assert.assertEquals(ColumnBlock.ColumnType.STRING, schema.getColumnType(4));
+        Assert.assertEquals(ColumnBlock.ColumnType.LONG, schema.getColumnType(5));
+        Assert.assertEquals(ColumnBlock.ColumnType.OBJECT, schema.getColumnType(6));
+
+        ColumnBlock.Builder builder = new ColumnBlock.Builder(schema, 4);
+        List<ColumnBlock> blocks = new ArrayList<>();
+        while (frs.resultSet.next()) {
+            builder.readRow(frs.resultSet);
+            if (builder.isFull()) {
+                blocks.add(builder.build());
+            }
+        }
+        blocks.add(builder.build());
+        Assert.assertEquals(3, blocks.size());
+        Assert.assertEquals(4, blocks.get(0).getRowCount());
+        Assert.assertEquals(2, blocks.get(2).getRowCount());
+        // partial block: arrays are trimmed to the row count
+        Assert.assertEquals(2, blocks.get(2).getLongs(1).length);
+        for (int i = 0; i < blocks.size(); i++) {
+            assertBlock(blocks.get(i), rows, i * 4);
+        }
+
+        // strings are dictionary-encoded per block
+        ColumnBlock block = blocks.get(0);
+        Assert.assertArrayEquals(new String[] { "s1", "s2", "s0" }, block.getDictionary(4));
+        Assert.assertArrayEquals(new int[] { -1, 0, 1, 2 }, block.getDictionaryCodes(4));
+        Assert.assertNull(block.getString(4, 0));
+        Assert.assertEquals("s0", block.getString(4, 3));
+        Assert.assertArrayEquals(new String[] { "s2", "s0", "s1" }, blocks.get(1).getDictionary(4));
+
+        Assert.assertEquals(4, block.findColumn("NAME"));
+        Assert.assertEquals("score", block.getColumnLabel(3));
+        try {
+            block.getInts(1);
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testBuilderEmpty() throws SQLException {
+        FakeResultSet frs = new FakeResultSet(LABELS, TYPES, new Object[0][]);
+        ColumnBlock.Schema schema = ColumnBlock.Schema
+                .resolve(frs.resultSet, ResultSetLayout.resolve(frs.resultSet));
+        ColumnBlock block = new ColumnBlock.Builder(schema, 4).build();
+        Assert.assertEquals(0, block.getRowCount());
+        Assert.assertEquals(6, block.getColumnCount());
+        Assert.assertEquals(0, block.getDoubles(3).length);
+    }
+
+    @org.junit.Test
+    public void testIterator() {
+        Object[][] rows = buildRows(25);
+        FakeResultSet frs = new FakeResultSet(LABELS, TYPES, rows);
+        ColumnBlockIterator it = new ColumnBlockIterator(null, frs.statement, 10);
+        List<ColumnBlock> blocks = new ArrayList<>();
+        while (it.hasNext()) {
+            blocks.add(it.next());
+        }
+        Assert.assertEquals(3, blocks.size());
+        Assert.assertEquals(5, blocks.get(2).getRowCount());
+        for (int i = 0; i < blocks.size(); i++) {
+            assertBlock(blocks.get(i), rows, i * 10);
+        }
+        Assert.assertEquals(25, it.getRowNum());
+        Assert.assertTrue(it.isClosed());
+        Assert.assertTrue(frs.resultSetClosed.get());
+        Assert.assertTrue(frs.statementClosed.get());
+    }
+
+    @org.junit.Test
+    public void testIteratorExactMultiple() {
+        Object[][] rows = buildRows(20);
+        FakeResultSet frs = new FakeResultSet(LABELS, TYPES, rows);
+        ColumnBlockIterator it = new ColumnBlockIterator(null, frs.statement, 10);
+        Assert.assertTrue(it.hasNext());
+        Assert.assertEquals(10, it.next().getRowCount());
+        Assert.assertTrue(it.hasNext());
+        Assert.assertEquals(10, it.next().getRowCount());
+        Assert.assertFalse(it.hasNext());
+        Assert.assertTrue(it.isClosed());
+    }
+
+    @org.junit.Test
+    public void testIteratorEmpty() {
+        FakeResultSet frs = new FakeResultSet(LABELS, TYPES, new Object[0][]);
+        ColumnBlockIterator it = new ColumnBlockIterator(null, frs.statement, 10);
+        Assert.assertFalse(it.hasNext());
+        Assert.assertTrue(it.isClosed());
+        Assert.assertTrue(frs.statementClosed.get());
+    }
+
+    @org.junit.Test
+    public void testIteratorError() {
+        FakeResultSet frs = new FakeResultSet(LABELS, TYPES, buildRows(25)).setRowHook(row -> {
+            if (row == 15) {
+                throw new SQLException("Connection reset.");
+            }
+        });
+        ColumnBlockIterator it = new ColumnBlockIterator(null, frs.statement, 10);
+        Assert.assertEquals(10, it.next().getRowCount());
+        try {
+            it.hasNext();
+            fail("DaoException expected");
+        } catch (DaoException e) {
+            Assert.assertTrue(e.getCause() instanceof SQLException);
+        }
+        Assert.assertTrue(it.isClosed());
+        Assert.assertTrue(frs.resultSetClosed.get());
+        Assert.assertFalse(it.hasNext());
+    }
+}
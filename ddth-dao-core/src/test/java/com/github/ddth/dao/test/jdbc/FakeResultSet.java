@@ -0,0 +1,164 @@
+package com.github.ddth.dao.test.jdbc;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Forward-only {@link ResultSet} (and the {@link PreparedStatement} that returns it) over
+ * in-memory rows, built with {@link java.lang.reflect.Proxy}.
+ */
+public class FakeResultSet {
+
+    /**
+     * Called before the cursor moves to a row (0-based), may throw or block.
+     */
+    public interface RowHook {
+        void beforeRow(int row) throws SQLException;
+    }
+
+    private final String[] labels;
+    private final int[] sqlTypes;
+    private final Object[][] rows;
+    private RowHook rowHook;
+
+    public final ResultSetMetaData metaData;
+    public final ResultSet resultSet;
+    public final PreparedStatement statement;
+    public final AtomicBoolean resultSetClosed = new AtomicBoolean(false);
+    public final AtomicBoolean statementClosed = new AtomicBoolean(false);
+    public final AtomicInteger rowsRead = new AtomicInteger();
+    private int cursor = -1;
+    private boolean wasNull;
+
+    public FakeResultSet(String[] labels, int[] sqlTypes, Object[][] rows) {
+        this.labels = labels;
+        this.sqlTypes = sqlTypes;
+        this.rows = rows;
+        this.metaData = newMetaData();
+        this.resultSet = newResultSet();
+        this.statement = newStatement();
+    }
+
+    public FakeResultSet setRowHook(RowHook rowHook) {
+        this.rowHook = rowHook;
+        return this;
+    }
+
+    private Object value(Object col) throws SQLException {
+        if (resultSetClosed.get()) {
+            throw new SQLException("ResultSet is closed.");
+        }
+        Object value = rows[cursor][(Integer) col - 1];
+        wasNull = value == null;
+        return value;
+    }
+
+    private ResultSetMetaData newMetaData() {
+        return (ResultSetMetaData) Proxy
+                .newProxyInstance(FakeResultSet.class.getClassLoader(), new Class<?>[] { ResultSetMetaData.class },
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "getColumnCount":
+                                return labels.length;
+                            case "getColumnLabel":
+                            case "getColumnName":
+                                return labels[(Integer) args[0] - 1];
+                            case "getColumnType":
+                                return sqlTypes[(Integer) args[0] - 1];
+                            case "isSigned":
+                                return true;
+                            case "getPrecision":
+                                return sqlTypes[(Integer) args[0] - 1] == Types.DECIMAL ? 10 : 0;
+                            case "getScale":
+                                return 0;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                        });
+    }
+
+    private ResultSet newResultSet() {
+        return (ResultSet) Proxy
+                .newProxyInstance(FakeResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                        (proxy, method, args) -> {
+                            Object value;
+                            switch (method.getName()) {
+                            case "getMetaData":
+                                return metaData;
+                            case "next":
+                                if (resultSetClosed.get()) {
+                                    throw new SQLException("ResultSet is closed.");
+                                }
+                                if (cursor + 1 >= rows.length) {
+                                    cursor = rows.length;
+                                    return false;
+                                }
+                                if (rowHook != null) {
+                                    rowHook.beforeRow(cursor + 1);
+                                }
+                                cursor++;
+                                rowsRead.incrementAndGet();
+                                return true;
+                            case "close":
+                                resultSetClosed.set(true);
+                                return null;
+                            case "isClosed":
+                                return resultSetClosed.get();
+                            case "wasNull":
+                                return wasNull;
+                            case "getObject":
+                                return value(args[0]);
+                            case "getString":
+                                value = value(args[0]);
+                                return value != null ? value.toString() : null;
+                            case "getInt":
+                                value = value(args[0]);
+                                return value != null ? ((Number) value).intValue() : 0;
+                            case "getLong":
+                                value = value(args[0]);
+                                return value != null ? ((Number) value).longValue() : 0L;
+                            case "getDouble":
+                                value = value(args[0]);
+                                return value != null ? ((Number) value).doubleValue() : 0.0;
+                            case "getBigDecimal":
+                                value = value(args[0]);
+                                return value != null ? new BigDecimal(value.toString()) : null;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                        });
+    }
+
+    private PreparedStatement newStatement() {
+        return (PreparedStatement) Proxy
+                .newProxyInstance(FakeResultSet.class.getClassLoader(), new Class<?>[] { PreparedStatement.class },
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "executeQuery":
+                                return resultSet;
+                            case "close":
+                                statementClosed.set(true);
+                                return null;
+                            case "isClosed":
+                                return statementClosed.get();
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return null;
+                            }
+                        });
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.BoId;
+import com.github.ddth.dao.jdbc.GenericBoJdbcDao;
+import com.github.ddth.dao.jdbc.annotations.AnnotatedGenericRowMapper;
+import com.github.ddth.dao.jdbc.annotations.ColumnAttribute;
+import com.github.ddth.dao.jdbc.annotations.PrimaryKeyColumns;
+import com.github.ddth.dao.jdbc.annotations.UpdateColumns;
+import com.github.ddth.dao.test.bo.UserBo;
+import com.github.ddth.dao.test.bo.jdbc.GenericUserBoRowMapper;
+import com.github.ddth.dao.utils.DatabaseVendor;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class GenericBoJdbcDaoKeysetTest extends TestCase {
+
+    public GenericBoJdbcDaoKeysetTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(GenericBoJdbcDaoKeysetTest.class);
+    }
+
+    /**
+     * Row mapper of {@link UserBo} with composite primary key {@code (id, username)}.
+     */
+    @ColumnAttribute(column = "id", attr = "id", attrClass = long.class)
+    @ColumnAttribute(column = "username", attr = "username", attrClass = String.class)
+    @ColumnAttribute(column = "yob", attr = "yob", attrClass = Integer.class)
+    @PrimaryKeyColumns({ "id", "username" })
+    @UpdateColumns({ "yob" })
+    public static class CompositeKeyUserBoRowMapper extends AnnotatedGenericRowMapper<UserBo> {
+    }
+
+    /**
+     * Serves {@code numRows} users (ids {@code [0, numRows)}, username {@code "u" + id}) without a
+     * database, recording the keys pages are requested after.
+     */
+    private static class FakeDao extends GenericBoJdbcDao<UserBo> {
+        private final int numRows;
+        private final List<Object[]> requestedKeys = new ArrayList<>();
+
+        FakeDao(AnnotatedGenericRowMapper<UserBo> rowMapper, int numRows) {
+            this.numRows = numRows;
+            setTableName("tbl_user").setRowMapper(rowMapper);
+            init();
+        }
+
+        @Override
+        public Connection getConnection() {
+            return null;
+        }
+
+        @Override
+        protected List<UserBo> getSortedPage(Object[] lastKey, int pageSize) {
+            requestedKeys.add(lastKey);
+            long from = lastKey != null ? ((Number) lastKey[0]).longValue() + 1 : 0;
+            List<UserBo> page = new ArrayList<>();
+            for (long id = from; id < numRows && page.size() < pageSize; id++) {
+                page.add(new UserBo().setId(id).setUsername("u" + id));
+            }
+            return page;
+        }
+
+        String pageSql(boolean afterKey, DatabaseVendor dbVendor) {
+            return calcSqlSelectPage(afterKey, dbVendor);
+        }
+
+        static Object[] keysetBindValues(DatabaseVendor dbVendor, Object[] lastKey, int pageSize) {
+            return buildKeysetBindValues(dbVendor, lastKey, pageSize);
+        }
+    }
+
+    private final static String SELECT_ALL = "SELECT id,username,yob,fullname,data_date,data_time,data_datetime,"
+            + "data_bin,data_notnull FROM tbl_user";
+
+    @org.junit.Test
+    public void testSingleColumnKeyset() {
+        FakeDao dao = new FakeDao(new GenericUserBoRowMapper(), 0);
+        for (DatabaseVendor dbVendor : new DatabaseVendor[] { DatabaseVendor.MYSQL, DatabaseVendor.POSTGRESQL }) {
+            Assert.assertEquals(SELECT_ALL + " ORDER BY id LIMIT ?", dao.pageSql(false, dbVendor));
+            Assert.assertEquals(SELECT_ALL + " WHERE id>? ORDER BY id LIMIT ?", dao.pageSql(true, dbVendor));
+            Assert.assertArrayEquals(new Object[] { 10 }, FakeDao.keysetBindValues(dbVendor, null, 10));
+            Assert.assertArrayEquals(new Object[] { 5L, 10 },
+                    FakeDao.keysetBindValues(dbVendor, new Object[] { 5L }, 10));
+        }
+        // standard OFFSET/FETCH, also for unknown databases
+        for (DatabaseVendor dbVendor : new DatabaseVendor[] { DatabaseVendor.UNKNOWN, DatabaseVendor.MSSQL,
+                DatabaseVendor.ORACLE }) {
+            Assert.assertEquals(SELECT_ALL + " ORDER BY id OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY",
+                    dao.pageSql(false, dbVendor));
+            Assert.assertEquals(SELECT_ALL + " WHERE id>? ORDER BY id OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY",
+                    dao.pageSql(true, dbVendor));
+        }
+    }
+
+    private final static String SELECT_ALL_COMPOSITE = "SELECT id,username,yob FROM tbl_user";
+
+    @org.junit.Test
+    public void testCompositeKeyset() {
+        FakeDao dao = new FakeDao(new CompositeKeyUserBoRowMapper(), 0);
+        Object[] lastKey = { 5L, "u5" };
+        for (DatabaseVendor dbVendor : new DatabaseVendor[] { DatabaseVendor.MYSQL, DatabaseVendor.POSTGRESQL }) {
+            Assert.assertEquals(SELECT_ALL_COMPOSITE + " ORDER BY id,username LIMIT ?", dao.pageSql(false, dbVendor));
+            // row-value comparison
+            Assert.assertEquals(SELECT_ALL_COMPOSITE + " WHERE (id,username)>(?,?) ORDER BY id,username LIMIT ?",
+                    dao.pageSql(true, dbVendor));
+            Assert.assertArrayEquals(new Object[] { 5L, "u5", 10 },
+                    FakeDao.keysetBindValues(dbVendor, lastKey, 10));
+        }
+        // expanded OR-of-AND predicate
+        Assert.assertEquals(SELECT_ALL_COMPOSITE
+                        + " WHERE (id>?) OR (id=? AND username>?) ORDER BY id,username OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY",
+                dao.pageSql(true, DatabaseVendor.UNKNOWN));
+        Assert.assertEquals(SELECT_ALL_COMPOSITE
+                        + " WHERE (id>?) OR (id=? AND username>?) ORDER BY id,username OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY",
+                dao.pageSql(true, DatabaseVendor.MSSQL));
+        for (DatabaseVendor dbVendor : new DatabaseVendor[] { DatabaseVendor.UNKNOWN, DatabaseVendor.MSSQL,
+                DatabaseVendor.ORACLE }) {
+            Assert.assertArrayEquals(new Object[] { 5L, 5L, "u5", 10 },
+                    FakeDao.keysetBindValues(dbVendor, lastKey, 10));
+        }
+        Assert.assertArrayEquals(new Object[] { 1L, 1L, "a", 1L, "a", 'x', 7 },
+                FakeDao.keysetBindValues(DatabaseVendor.ORACLE, new Object[] { 1L, "a", 'x' }, 7));
+    }
+
+    private static List<Long> ids(List<UserBo> bos) {
+        return bos.stream().map(UserBo::getId).collect(Collectors.toList());
+    }
+
+    @org.junit.Test
+    public void testPaging() {
+        FakeDao dao = new FakeDao(new GenericUserBoRowMapper(), 10);
+        dao.setKeysetPageSize(4);
+        List<UserBo> all = dao.getAllSorted().collect(Collectors.toList());
+        Assert.assertEquals(10, all.size());
+        for (int i = 0; i < all.size(); i++) {
+            Assert.assertEquals(i, all.get(i).getId());
+        }
+        // the last page has fewer rows than the page size: no extra query
+        Assert.assertEquals(3, dao.requestedKeys.size());
+        Assert.assertNull(dao.requestedKeys.get(0));
+        Assert.assertArrayEquals(new Object[] { 3L }, dao.requestedKeys.get(1));
+        Assert.assertArrayEquals(new Object[] { 7L }, dao.requestedKeys.get(2));
+    }
+
+    @org.junit.Test
+    public void testPagingExactMultiple() {
+        FakeDao dao = new FakeDao(new GenericUserBoRowMapper(), 8);
+        dao.setKeysetPageSize(4);
+        Assert.assertEquals(8, dao.getAllSorted().count());
+        Assert.assertEquals(3, dao.requestedKeys.size());
+    }
+
+    @org.junit.Test
+    public void testResume() {
+        FakeDao dao = new FakeDao(new GenericUserBoRowMapper(), 10);
+        dao.setKeysetPageSize(3);
+        // pages are fetched lazily
+        List<UserBo> firstPart = dao.getAllSortedAfter(null).limit(2).collect(Collectors.toList());
+        Assert.assertEquals(1, dao.requestedKeys.size());
+        BoId lastSeen = new BoId(firstPart.get(1).getId());
+        Assert.assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L),
+                ids(dao.getAllSortedAfter(lastSeen).collect(Collectors.toList())));
+        Assert.assertArrayEquals(new Object[] { 1L }, dao.requestedKeys.get(1));
+        try {
+            dao.getAllSortedAfter(new BoId(new Object[] { 1L, "u1" }));
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testCompositeKeyPaging() {
+        FakeDao dao = new FakeDao(new CompositeKeyUserBoRowMapper(), 5);
+        dao.setKeysetPageSize(2);
+        Assert.assertEquals(List.of(3L, 4L),
+                ids(dao.getAllSortedAfter(new BoId(new Object[] { 2L, "u2" })).collect(Collectors.toList())));
+        Assert.assertArrayEquals(new Object[] { 2L, "u2" }, dao.requestedKeys.get(0));
+        Assert.assertArrayEquals(new Object[] { 4L, "u4" }, dao.requestedKeys.get(1));
+    }
+}
@@ -0,0 +1,50 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.GenericBoJdbcDao;
+import com.github.ddth.dao.jdbc.annotations.AnnotatedGenericRowMapper;
+import com.github.ddth.dao.test.bo.UserBo;
+import com.github.ddth.dao.test.bo.jdbc.GenericUserBoRowMapper;
+import com.github.ddth.dao.utils.DatabaseCapabilities;
+import com.github.ddth.dao.utils.DatabaseVendor;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+public class GenericBoJdbcDaoMultiGetTest extends TestCase {
+
+    public GenericBoJdbcDaoMultiGetTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(GenericBoJdbcDaoMultiGetTest.class);
+    }
+
+    private static class FakeDao extends GenericBoJdbcDao<UserBo> {
+        FakeDao(AnnotatedGenericRowMapper<UserBo> rowMapper, int multiGetBatchSize) {
+            setTableName("tbl_user").setRowMapper(rowMapper).setMultiGetBatchSize(multiGetBatchSize);
+            init();
+        }
+
+        int chunkSize(DatabaseVendor dbVendor, int maxBindParams) {
+            return calcMultiGetChunkSize(new DatabaseCapabilities(dbVendor, null, true, true, maxBindParams));
+        }
+    }
+
+    @org.junit.Test
+    public void testChunkSize() {
+        FakeDao dao = new FakeDao(new GenericUserBoRowMapper(), 5000);
+        // ORA-01795: at most 1000 entries in an IN list
+        Assert.assertEquals(1000, dao.chunkSize(DatabaseVendor.ORACLE, 65535));
+        Assert.assertEquals(2098, dao.chunkSize(DatabaseVendor.MSSQL, 2098));
+        Assert.assertEquals(5000, dao.chunkSize(DatabaseVendor.MYSQL, 65535));
+        Assert.assertEquals(5000, dao.chunkSize(DatabaseVendor.UNKNOWN, Integer.MAX_VALUE));
+        Assert.assertEquals(100, new FakeDao(new GenericUserBoRowMapper(), 100).chunkSize(DatabaseVendor.ORACLE, 65535));
+
+        FakeDao compositeDao = new FakeDao(new GenericBoJdbcDaoKeysetTest.CompositeKeyUserBoRowMapper(), 5000);
+        Assert.assertEquals(1000, compositeDao.chunkSize(DatabaseVendor.ORACLE, 65535));
+        Assert.assertEquals(1049, compositeDao.chunkSize(DatabaseVendor.MSSQL, 2098));
+        Assert.assertEquals(1, compositeDao.chunkSize(DatabaseVendor.MSSQL, 1));
+    }
+}
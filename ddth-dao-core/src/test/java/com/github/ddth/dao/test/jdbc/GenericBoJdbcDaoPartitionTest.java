@@ -0,0 +1,238 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.GenericBoJdbcDao;
+import com.github.ddth.dao.test.bo.UserBo;
+import com.github.ddth.dao.test.bo.jdbc.GenericUserBoRowMapper;
+import com.github.ddth.dao.utils.DatabaseVendor;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+public class GenericBoJdbcDaoPartitionTest extends TestCase {
+
+    public GenericBoJdbcDaoPartitionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(GenericBoJdbcDaoPartitionTest.class);
+    }
+
+    private final static int NUM_ROWS = 1000;
+
+    /**
+     * Serves ids {@code [0, NUM_ROWS)} without a database, tracking which thread opens/closes each
+     * range and how many pages are read.
+     */
+    private static class FakeDao extends GenericBoJdbcDao<UserBo> {
+        private final Object[] boundaries;
+        private final AtomicInteger openRanges = new AtomicInteger(), numOpened = new AtomicInteger();
+        private final Map<Object, Thread> openThreads = new ConcurrentHashMap<>();
+        private final AtomicInteger wrongThreadCloses = new AtomicInteger();
+        private final AtomicInteger numPages = new AtomicInteger(), maxPageSize = new AtomicInteger();
+
+        FakeDao(Object... boundaries) {
+            this.boundaries = boundaries;
+            setTableName("tbl_user").setRowMapper(new GenericUserBoRowMapper());
+            init();
+        }
+
+        @Override
+        public Connection getConnection() {
+            return null;
+        }
+
+        @Override
+        protected String calcSqlSelectAll() {
+            return "SELECT * FROM overridden_view ORDER BY id";
+        }
+
+        @Override
+        protected Object[] calcPartitionBoundaries(Connection conn, int numPartitions) {
+            return boundaries;
+        }
+
+        @Override
+        protected Stream<UserBo> getAllInRange(Connection conn, Object lower, Object upper) {
+            Object key = lower != null ? lower : "-";
+            openThreads.put(key, Thread.currentThread());
+            openRanges.incrementAndGet();
+            numOpened.incrementAndGet();
+            long from = lower != null ? ((Number) lower).longValue() : 0;
+            long to = upper != null ? ((Number) upper).longValue() : NUM_ROWS;
+            return LongStream.range(from, to).mapToObj(id -> new UserBo().setId(id)).onClose(() -> {
+                openRanges.decrementAndGet();
+                if (openThreads.get(key) != Thread.currentThread()) {
+                    wrongThreadCloses.incrementAndGet();
+                }
+            });
+        }
+
+        @Override
+        protected List<UserBo> getPageInRange(Object lower, Object upper, Object[] lastKey, int pageSize) {
+            numPages.incrementAndGet();
+            long from = lastKey != null ?
+                    ((Number) lastKey[0]).longValue() + 1 :
+                    lower != null ? ((Number) lower).longValue() : 0;
+            long to = upper != null ? ((Number) upper).longValue() : NUM_ROWS;
+            List<UserBo> page = new ArrayList<>();
+            for (long id = from; id < to && page.size() < pageSize; id++) {
+                page.add(new UserBo().setId(id));
+            }
+            maxPageSize.accumulateAndGet(page.size(), Math::max);
+            return page;
+        }
+
+        String rangeSql(boolean hasLower, boolean hasUpper) {
+            return calcSqlSelectRange(hasLower, hasUpper);
+        }
+
+        String rangePageSql(boolean hasLower, boolean hasUpper, boolean afterKey, DatabaseVendor dbVendor) {
+            return calcSqlSelectRangePage(hasLower, hasUpper, afterKey, dbVendor);
+        }
+
+        static Object[] integralBoundaries(BigInteger min, BigInteger max, int numPartitions) {
+            return calcIntegralBoundaries(min, max, numPartitions);
+        }
+
+        static Object[] integralBoundaries(long min, long max, int numPartitions) {
+            return integralBoundaries(BigInteger.valueOf(min), BigInteger.valueOf(max), numPartitions);
+        }
+    }
+
+    private final static String SELECT_ALL = "SELECT id,username,yob,fullname,data_date,data_time,data_datetime,"
+            + "data_bin,data_notnull FROM tbl_user";
+
+    @org.junit.Test
+    public void testRangeSql() {
+        FakeDao dao = new FakeDao();
+        Assert.assertEquals(SELECT_ALL, dao.rangeSql(false, false));
+        Assert.assertEquals(SELECT_ALL + " WHERE id>=?", dao.rangeSql(true, false));
+        Assert.assertEquals(SELECT_ALL + " WHERE id<?", dao.rangeSql(false, true));
+        Assert.assertEquals(SELECT_ALL + " WHERE id>=? AND id<?", dao.rangeSql(true, true));
+    }
+
+    @org.junit.Test
+    public void testRangePageSql() {
+        FakeDao dao = new FakeDao();
+        Assert.assertEquals(SELECT_ALL + " ORDER BY id LIMIT ?", dao.rangePageSql(false, false, false,
+                DatabaseVendor.MYSQL));
+        Assert.assertEquals(SELECT_ALL + " WHERE id>=? AND id<? ORDER BY id LIMIT ?",
+                dao.rangePageSql(true, true, false, DatabaseVendor.POSTGRESQL));
+        Assert.assertEquals(SELECT_ALL + " WHERE id>=? AND (id>?) ORDER BY id LIMIT ?",
+                dao.rangePageSql(true, false, true, DatabaseVendor.MYSQL));
+        Assert.assertEquals(SELECT_ALL + " WHERE id>? ORDER BY id OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY",
+                dao.rangePageSql(false, false, true, DatabaseVendor.UNKNOWN));
+        Assert.assertEquals(
+                SELECT_ALL + " WHERE id<? AND (id>?) ORDER BY id OFFSET 0 ROWS FETCH NEXT ? ROWS ONLY",
+                dao.rangePageSql(false, true, true, DatabaseVendor.ORACLE));
+    }
+
+    @org.junit.Test
+    public void testIntegralBoundaries() {
+        Assert.assertArrayEquals(new Object[] { 26L, 51L, 76L }, FakeDao.integralBoundaries(1, 100, 4));
+        Assert.assertArrayEquals(new Object[] { -5L, 0L }, FakeDao.integralBoundaries(-10, 4, 3));
+        // fewer keys than partitions: no duplicated/empty-lower ranges
+        Assert.assertArrayEquals(new Object[] { 6L }, FakeDao.integralBoundaries(5, 6, 4));
+        Assert.assertArrayEquals(new Object[0], FakeDao.integralBoundaries(7, 7, 4));
+        Object[] big = FakeDao.integralBoundaries(Long.MAX_VALUE - 1, Long.MAX_VALUE, 2);
+        Assert.assertArrayEquals(new Object[] { Long.MAX_VALUE }, big);
+        BigInteger max = BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(2);
+        Object[] huge = FakeDao.integralBoundaries(max.subtract(BigInteger.TEN), max, 2);
+        Assert.assertEquals(1, huge.length);
+        Assert.assertTrue(huge[0] instanceof BigInteger);
+    }
+
+    private static void assertAllRows(List<UserBo> rows) {
+        Assert.assertEquals(NUM_ROWS, rows.size());
+        Assert.assertEquals(NUM_ROWS, rows.stream().mapToLong(UserBo::getId).distinct().count());
+    }
+
+    @org.junit.Test
+    public void testSequential() {
+        FakeDao dao = new FakeDao(100L, 250L, 500L, 900L);
+        assertAllRows(dao.getAllPartitioned(5).collect(Collectors.toList()));
+        Assert.assertEquals(5, dao.numOpened.get());
+        Assert.assertEquals(0, dao.openRanges.get());
+        Assert.assertEquals(0, dao.wrongThreadCloses.get());
+    }
+
+    @org.junit.Test
+    public void testParallel() {
+        Object[] boundaries = LongStream.range(1, 20).map(i -> i * 50).boxed().toArray();
+        FakeDao dao = new FakeDao(boundaries);
+        assertAllRows(dao.getAllPartitioned(20).parallel().collect(Collectors.toList()));
+        Assert.assertEquals(20, dao.numOpened.get());
+        Assert.assertEquals(0, dao.openRanges.get());
+        Assert.assertEquals(0, dao.wrongThreadCloses.get());
+    }
+
+    @org.junit.Test
+    public void testShortCircuit() {
+        Object[] boundaries = LongStream.range(1, 20).map(i -> i * 50).boxed().toArray();
+        FakeDao dao = new FakeDao(boundaries);
+        Assert.assertTrue(dao.getAllPartitioned(20).parallel().filter(bo -> bo.getId() % 7 == 3).findAny()
+                .isPresent());
+        Assert.assertEquals(10, dao.getAllPartitioned(20).limit(10).count());
+        Assert.assertEquals(120, dao.getAllPartitioned(20).skip(10).limit(120).count());
+        Assert.assertEquals(0, dao.openRanges.get());
+        Assert.assertEquals(0, dao.wrongThreadCloses.get());
+    }
+
+    @org.junit.Test
+    public void testShortCircuitBoundedBuffer() {
+        FakeDao dao = new FakeDao(500L);
+        dao.setKeysetPageSize(30);
+        // iterator() pulls rows with tryAdvance: ranges are read page by page, never as a whole
+        List<UserBo> rows = new ArrayList<>();
+        for (Iterator<UserBo> it = dao.getAllPartitioned(2).iterator(); it.hasNext(); ) {
+            rows.add(it.next());
+        }
+        assertAllRows(rows);
+        Assert.assertEquals(30, dao.maxPageSize.get());
+        Assert.assertEquals(2 * (500 / 30 + 1), dao.numPages.get());
+        Assert.assertEquals(0, dao.numOpened.get());
+    }
+
+    @org.junit.Test
+    public void testSplit() {
+        FakeDao dao = new FakeDao(100L, 200L, 300L);
+        Spliterator<UserBo> right = dao.getAllPartitioned(4).spliterator();
+        Spliterator<UserBo> left = right.trySplit();
+        Assert.assertNotNull(left);
+        Spliterator<UserBo> leftLeft = left.trySplit();
+        Assert.assertNotNull(leftLeft);
+        Assert.assertNull(leftLeft.trySplit());
+        Assert.assertEquals(0, dao.numOpened.get());
+
+        // a partially read partition stays with its spliterator, unread ones are handed over
+        AtomicInteger count = new AtomicInteger();
+        Assert.assertTrue(right.tryAdvance(bo -> count.incrementAndGet()));
+        Assert.assertEquals(0, dao.openRanges.get());
+        Spliterator<UserBo> rightLeft = right.trySplit();
+        Assert.assertNotNull(rightLeft);
+        Assert.assertNull(right.trySplit());
+        right.forEachRemaining(bo -> count.incrementAndGet());
+        rightLeft.forEachRemaining(bo -> count.incrementAndGet());
+        left.forEachRemaining(bo -> count.incrementAndGet());
+        leftLeft.forEachRemaining(bo -> count.incrementAndGet());
+        Assert.assertEquals(NUM_ROWS, count.get());
+        Assert.assertEquals(1, dao.numPages.get());
+        Assert.assertEquals(3, dao.numOpened.get());
+        Assert.assertEquals(0, dao.openRanges.get());
+    }
+}
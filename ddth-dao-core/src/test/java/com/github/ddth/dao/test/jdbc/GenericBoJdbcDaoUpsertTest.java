@@ -0,0 +1,124 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.GenericBoJdbcDao;
+import com.github.ddth.dao.jdbc.annotations.AnnotatedGenericRowMapper;
+import com.github.ddth.dao.jdbc.annotations.ColumnAttribute;
+import com.github.ddth.dao.jdbc.annotations.PrimaryKeyColumns;
+import com.github.ddth.dao.jdbc.annotations.UpdateColumns;
+import com.github.ddth.dao.test.bo.UserBo;
+import com.github.ddth.dao.utils.DaoResult;
+import com.github.ddth.dao.utils.DatabaseCapabilities;
+import com.github.ddth.dao.utils.DatabaseVendor;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GenericBoJdbcDaoUpsertTest extends TestCase {
+
+    public GenericBoJdbcDaoUpsertTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(GenericBoJdbcDaoUpsertTest.class);
+    }
+
+    /**
+     * Row mapper of {@link UserBo} whose update columns are the primary key only.
+     */
+    @ColumnAttribute(column = "id", attr = "id", attrClass = long.class)
+    @ColumnAttribute(column = "username", attr = "username", attrClass = String.class)
+    @PrimaryKeyColumns({ "id" })
+    @UpdateColumns({ "id" })
+    public static class InsertOnlyUserBoRowMapper extends AnnotatedGenericRowMapper<UserBo> {
+    }
+
+    /**
+     * Reports a fixed update count for every statement, without a database, recording the
+     * statements executed.
+     */
+    private static class FakeDao extends GenericBoJdbcDao<UserBo> {
+        private final DatabaseCapabilities dbCapabilities;
+        private final int numRows;
+        private final List<String> executedSqls = new ArrayList<>();
+
+        FakeDao(AnnotatedGenericRowMapper<UserBo> rowMapper, DatabaseVendor dbVendor, String productVersion,
+                int numRows) {
+            this.dbCapabilities = new DatabaseCapabilities(dbVendor, null, productVersion, false, true, 65535,
+                    Integer.MAX_VALUE);
+            this.numRows = numRows;
+            setTableName("tbl_user").setRowMapper(rowMapper).setNativeUpsert(true);
+            init();
+        }
+
+        @Override
+        protected DatabaseCapabilities getDatabaseCapabilities(Connection conn) {
+            return dbCapabilities;
+        }
+
+        @Override
+        protected Savepoint setSavepointIfSupported(Connection conn) {
+            return null;
+        }
+
+        @Override
+        public int execute(Connection conn, String sql, Object... bindValues) {
+            executedSqls.add(sql);
+            return numRows;
+        }
+
+        String upsertSql() {
+            return calcSqlUpsert(new UserBo(), dbCapabilities);
+        }
+
+        DaoResult.DaoOperationStatus upsert() {
+            return createOrUpdate(null, new UserBo().setId(1).setUsername("u1").setYob(1999)).getStatus();
+        }
+    }
+
+    @org.junit.Test
+    public void testMySqlRowAlias() {
+        FakeDao dao = new FakeDao(new GenericBoJdbcDaoKeysetTest.CompositeKeyUserBoRowMapper(),
+                DatabaseVendor.MYSQL, "8.0.33", 1);
+        Assert.assertEquals(
+                "INSERT INTO tbl_user (id,username,yob) VALUES (?,?,?) AS new ON DUPLICATE KEY UPDATE yob=new.yob",
+                dao.upsertSql());
+
+        for (String productVersion : new String[] { "8.0.18", "5.7.40-log", "5.5.5-10.6.12-MariaDB",
+                "11.4.2-MariaDB", null }) {
+            dao = new FakeDao(new GenericBoJdbcDaoKeysetTest.CompositeKeyUserBoRowMapper(), DatabaseVendor.MYSQL,
+                    productVersion, 1);
+            Assert.assertEquals(
+                    "INSERT INTO tbl_user (id,username,yob) VALUES (?,?,?) ON DUPLICATE KEY UPDATE yob=VALUES(yob)",
+                    dao.upsertSql());
+        }
+    }
+
+    @org.junit.Test
+    public void testUpdateCount() {
+        FakeDao dao = new FakeDao(new GenericBoJdbcDaoKeysetTest.CompositeKeyUserBoRowMapper(),
+                DatabaseVendor.MYSQL, "8.0.33", 2);
+        Assert.assertEquals(DaoResult.DaoOperationStatus.SUCCESSFUL, dao.upsert());
+        Assert.assertEquals(1, dao.executedSqls.size());
+        Assert.assertTrue(dao.executedSqls.get(0).contains(" AS new "));
+
+        // MySQL reports 0 for an existing row whose values are unchanged
+        dao = new FakeDao(new GenericBoJdbcDaoKeysetTest.CompositeKeyUserBoRowMapper(), DatabaseVendor.MYSQL,
+                "8.0.33", 0);
+        Assert.assertEquals(DaoResult.DaoOperationStatus.SUCCESSFUL, dao.upsert());
+
+        // nothing to update: the row already exists, nothing written
+        dao = new FakeDao(new InsertOnlyUserBoRowMapper(), DatabaseVendor.POSTGRESQL, null, 0);
+        Assert.assertEquals(DaoResult.DaoOperationStatus.DUPLICATED_VALUE, dao.upsert());
+        Assert.assertTrue(dao.executedSqls.get(0).endsWith(" DO NOTHING"));
+
+        dao = new FakeDao(new InsertOnlyUserBoRowMapper(), DatabaseVendor.POSTGRESQL, null, 1);
+        Assert.assertEquals(DaoResult.DaoOperationStatus.SUCCESSFUL, dao.upsert());
+    }
+}
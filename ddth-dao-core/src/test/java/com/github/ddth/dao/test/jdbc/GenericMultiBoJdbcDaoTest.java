@@ -0,0 +1,175 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.BoId;
+import com.github.ddth.dao.IGenericBoDao;
+import com.github.ddth.dao.jdbc.AbstractJdbcHelper;
+import com.github.ddth.dao.jdbc.GenericMultiBoJdbcDao;
+import com.github.ddth.dao.utils.DaoException;
+import com.github.ddth.dao.utils.MultiGetRequest;
+import com.github.ddth.dao.utils.MultiGetResult;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.lang.reflect.Proxy;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class GenericMultiBoJdbcDaoTest extends TestCase {
+
+    public GenericMultiBoJdbcDaoTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(GenericMultiBoJdbcDaoTest.class);
+    }
+
+    /**
+     * Query deadlines seen by the delegate DAOs, by BO class.
+     */
+    private final Map<Class<?>, Long> deadlines = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private <T> IGenericBoDao<T> fakeDao(Class<T> clazz, Function<BoId[], T[]> getFunc) {
+        return (IGenericBoDao<T>) Proxy
+                .newProxyInstance(GenericMultiBoJdbcDaoTest.class.getClassLoader(),
+                        new Class<?>[] { IGenericBoDao.class }, (proxy, method, args) -> {
+                            if ("get".equals(method.getName()) && args[0] instanceof BoId[]) {
+                                deadlines.put(clazz, AbstractJdbcHelper.getQueryDeadline());
+                                return getFunc.apply((BoId[]) args[0]);
+                            }
+                            throw new UnsupportedOperationException(method.getName());
+                        });
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            throw new DaoException(e);
+        }
+    }
+
+    private GenericMultiBoJdbcDao buildDao() {
+        GenericMultiBoJdbcDao dao = new GenericMultiBoJdbcDao();
+        dao.addDelegateDao(String.class, fakeDao(String.class, ids -> new String[] { "s" + ids[0].values[0] }));
+        dao.addDelegateDao(Long.class, fakeDao(Long.class, ids -> {
+            sleep(300);
+            return new Long[] { 1L };
+        }));
+        dao.addDelegateDao(Integer.class, fakeDao(Integer.class, ids -> {
+            throw new DaoException("failed");
+        }));
+        dao.addDelegateDao(Double.class, fakeDao(Double.class, ids -> {
+            // as if the JDBC driver cancelled the query when the deadline passed
+            sleep(Math.max(0, AbstractJdbcHelper.getQueryDeadline() - System.currentTimeMillis()));
+            throw new DaoException(new SQLTimeoutException("Query timed out."));
+        }));
+        return dao;
+    }
+
+    private MultiGetRequest buildRequest() {
+        return new MultiGetRequest().add(String.class, new BoId(1)).setTimeout(String.class, 1000)
+                .add(Long.class, new BoId(2)).setTimeout(Long.class, 100).add(Integer.class, new BoId(3))
+                .add(Double.class, new BoId(4)).setTimeout(Double.class, 150);
+    }
+
+    private void assertPartialResult(MultiGetResult result, long start) {
+        Assert.assertFalse(result.isSuccessful());
+
+        Assert.assertTrue(result.isSuccessful(String.class));
+        Assert.assertArrayEquals(new String[] { "s1" }, result.get(String.class));
+        Assert.assertTrue(deadlines.get(String.class) >= start + 1000);
+
+        Assert.assertTrue(result.isTimedOut(Long.class));
+        Assert.assertNull(result.get(Long.class));
+        Assert.assertTrue(deadlines.containsKey(Long.class));
+
+        Assert.assertFalse(result.isTimedOut(Integer.class));
+        Assert.assertTrue(result.getError(Integer.class) instanceof DaoException);
+        Assert.assertEquals(0L, deadlines.get(Integer.class).longValue());
+
+        Assert.assertTrue(result.isTimedOut(Double.class));
+    }
+
+    @org.junit.Test
+    public void testSequentialTimeout() {
+        GenericMultiBoJdbcDao dao = buildDao();
+        long start = System.currentTimeMillis();
+        MultiGetResult result = dao.get(buildRequest());
+        assertPartialResult(result, start);
+        // deadlines are counted from the start of the request: Double's passed while fetching Long
+        Assert.assertTrue(deadlines.get(Long.class) <= start + 100);
+        Assert.assertFalse(deadlines.containsKey(Double.class));
+        Assert.assertEquals(0, AbstractJdbcHelper.getQueryDeadline());
+    }
+
+    @org.junit.Test
+    public void testSingleGroupTimeout() {
+        GenericMultiBoJdbcDao dao = buildDao();
+        MultiGetResult result = dao.get(new MultiGetRequest().add(Long.class, new BoId(1)).setTimeout(50));
+        Assert.assertTrue(result.isTimedOut(Long.class));
+        Assert.assertTrue(deadlines.get(Long.class) > 0);
+
+        // query timeout reported by the driver
+        result = dao.get(new MultiGetRequest().add(Double.class, new BoId(1)).setTimeout(50));
+        Assert.assertTrue(result.isTimedOut(Double.class));
+        Assert.assertTrue(result.getError(Double.class).getCause() instanceof DaoException);
+    }
+
+    @org.junit.Test
+    public void testParallelTimeout() {
+        GenericMultiBoJdbcDao dao = buildDao();
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            dao.setMultiGetExecutor(executor);
+            long start = System.currentTimeMillis();
+            MultiGetResult result = dao.get(buildRequest());
+            assertPartialResult(result, start);
+            Assert.assertTrue(System.currentTimeMillis() - start < 300);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @org.junit.Test
+    @SuppressWarnings("unchecked")
+    public void testParallelGroupByDelegateDao() {
+        Set<Thread> sharedThreads = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger(), maxRunning = new AtomicInteger();
+        IGenericBoDao<Object> shared = fakeDao(Object.class, ids -> {
+            sharedThreads.add(Thread.currentThread());
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+            return new Object[] { ids[0].values[0] };
+        });
+        GenericMultiBoJdbcDao dao = buildDao();
+        dao.addDelegateDao(Short.class, (IGenericBoDao<Short>) (IGenericBoDao<?>) shared);
+        dao.addDelegateDao(Byte.class, (IGenericBoDao<Byte>) (IGenericBoDao<?>) shared);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            dao.setMultiGetExecutor(executor);
+            MultiGetResult result = dao.get(new MultiGetRequest().add(Short.class, new BoId(1))
+                    .add(String.class, new BoId(2)).add(Byte.class, new BoId(3))
+                    .add(Character.class, new BoId(4)));
+            Assert.assertTrue(result.isSuccessful(Short.class));
+            Assert.assertTrue(result.isSuccessful(Byte.class));
+            Assert.assertTrue(result.isSuccessful(String.class));
+            Assert.assertTrue(result.getError(Character.class) instanceof GenericMultiBoJdbcDao.DelegateDaoNotFound);
+            // classes of the same delegate DAO are fetched one after another by one task
+            Assert.assertEquals(1, sharedThreads.size());
+            Assert.assertEquals(1, maxRunning.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.AbstractGenericRowMapper;
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.jdbc.annotations.AnnotatedGenericRowMapper;
+import com.github.ddth.dao.jdbc.annotations.ColumnAttribute;
+import com.github.ddth.dao.jdbc.annotations.PrimaryKeyColumns;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class GenericRowMapperTest extends TestCase {
+
+    public GenericRowMapperTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(GenericRowMapperTest.class);
+    }
+
+    public static class MyBo {
+        private long id;
+        private char code;
+        private Character grade;
+        private BigInteger big;
+        private String name;
+        private BigDecimal amount;
+
+        public long getId() {
+            return id;
+        }
+
+        public MyBo setId(long id) {
+            this.id = id;
+            return this;
+        }
+
+        public char getCode() {
+            return code;
+        }
+
+        public MyBo setCode(char code) {
+            this.code = code;
+            return this;
+        }
+
+        public Character getGrade() {
+            return grade;
+        }
+
+        public MyBo setGrade(Character grade) {
+            this.grade = grade;
+            return this;
+        }
+
+        public BigInteger getBig() {
+            return big;
+        }
+
+        public MyBo setBig(BigInteger big) {
+            this.big = big;
+            return this;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public MyBo setName(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public MyBo setAmount(BigDecimal amount) {
+            this.amount = amount;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MyBo)) {
+                return false;
+            }
+            MyBo other = (MyBo) obj;
+            return id == other.id && code == other.code && Objects.equals(grade, other.grade) && Objects
+                    .equals(big, other.big) && Objects.equals(name, other.name) && Objects
+                    .equals(amount, other.amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, code, grade, big, name, amount);
+        }
+
+        @Override
+        public String toString() {
+            return "MyBo[" + id + "," + (int) code + "," + grade + "," + big + "," + name + "," + amount + "]";
+        }
+    }
+
+    @ColumnAttribute(column = "id", attr = "id", attrClass = long.class)
+    @ColumnAttribute(column = "code", attr = "code", attrClass = char.class)
+    @ColumnAttribute(column = "grade", attr = "grade", attrClass = Character.class)
+    @ColumnAttribute(column = "big", attr = "big", attrClass = BigInteger.class)
+    @ColumnAttribute(column = "name", attr = "name", attrClass = String.class)
+    @ColumnAttribute(column = "amount", attr = "amount", attrClass = BigDecimal.class)
+    @PrimaryKeyColumns({ "id" })
+    public static class MyBoRowMapper extends AnnotatedGenericRowMapper<MyBo> {
+        /**
+         * Values as extracted before v1.1.2: {@code ColAttrMapping.extractAttrValue(bo)} for each
+         * column.
+         */
+        Object[] extractByReflection(MyBo bo, String... columns) throws Exception {
+            Map<String, ColAttrMapping> mappings = getColumnAttributeMappings();
+            Object[] result = new Object[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                ColAttrMapping mapping = mappings.get(columns[i]);
+                result[i] = mapping != null ? mapping.extractAttrValue(bo) : null;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A one-row {@link ResultSet} with typed getters (by column index) over raw column values.
+     */
+    static ResultSet fakeResultSet(String[] labels, Object[] values) {
+        ResultSetMetaData rsmd = (ResultSetMetaData) Proxy
+                .newProxyInstance(GenericRowMapperTest.class.getClassLoader(),
+                        new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "getColumnCount":
+                                return labels.length;
+                            case "getColumnLabel":
+                                return labels[(Integer) args[0] - 1];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                        });
+        return (ResultSet) Proxy.newProxyInstance(GenericRowMapperTest.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    if ("getMetaData".equals(method.getName())) {
+                        return rsmd;
+                    }
+                    if ("equals".equals(method.getName())) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName())) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if (!(args != null && args.length == 1 && args[0] instanceof Integer)) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    Object value = values[(Integer) args[0] - 1];
+                    switch (method.getName()) {
+                    case "getObject":
+                        return value;
+                    case "getString":
+                        return value != null ? value.toString() : null;
+                    case "getBigDecimal":
+                        return value != null ? new BigDecimal(value.toString()) : null;
+                    case "getLong":
+                        return value != null ? ((Number) value).longValue() : 0L;
+                    case "getInt":
+                        return value != null ? ((Number) value).intValue() : 0;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private final static String[] LABELS = { "id", "code", "grade", "big", "name", "amount" };
+
+    private static MyBo map(boolean compiled, String[] labels, Object[] values) throws SQLException {
+        MyBoRowMapper rowMapper = new MyBoRowMapper();
+        rowMapper.setCompiledMapping(compiled);
+        return rowMapper.mapRow(fakeResultSet(labels, values), 0);
+    }
+
+    @org.junit.Test
+    public void testCompiledMatchesReflective() throws SQLException {
+        Object[][] rows = { { 1L, "X", "AB", new BigDecimal("12345678901234567890"), "name", new BigDecimal("1.50") },
+                { 2L, "", null, 7L, null, null }, { 3L, null, "", null, "", BigDecimal.ZERO } };
+        for (Object[] values : rows) {
+            MyBo reflective = map(false, LABELS, values);
+            MyBo compiled = map(true, LABELS, values);
+            Assert.assertEquals(reflective, compiled);
+        }
+        MyBo bo = map(true, LABELS, rows[0]);
+        Assert.assertEquals('X', bo.getCode());
+        Assert.assertEquals(Character.valueOf('A'), bo.getGrade());
+        Assert.assertEquals(new BigInteger("12345678901234567890"), bo.getBig());
+        bo = map(false, LABELS, rows[1]);
+        Assert.assertEquals(0, bo.getCode());
+        Assert.assertEquals(BigInteger.valueOf(7), bo.getBig());
+    }
+
+    @org.junit.Test
+    public void testConcurrentLayouts() throws Exception {
+        MyBoRowMapper rowMapper = new MyBoRowMapper();
+        rowMapper.setCompiledMapping(true);
+        String[] labels2 = { "amount", "name", "big", "grade", "code", "id", "extra" };
+        ResultSet rs1 = fakeResultSet(LABELS, new Object[] { 1L, "a", "b", 10L, "n1", BigDecimal.ONE });
+        ResultSet rs2 = fakeResultSet(labels2, new Object[] { BigDecimal.TEN, "n2", 20L, "d", "c", 2L, "x" });
+        MyBo expected1 = new MyBo().setId(1).setCode('a').setGrade('b').setBig(BigInteger.TEN).setName("n1")
+                .setAmount(BigDecimal.ONE);
+        MyBo expected2 = new MyBo().setId(2).setCode('c').setGrade('d').setBig(BigInteger.valueOf(20)).setName("n2")
+                .setAmount(BigDecimal.TEN);
+        ResultSetLayout layout1 = ResultSetLayout.resolve(rs1);
+        ResultSetLayout layout2 = ResultSetLayout.resolve(rs2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                boolean first = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        MyBo bo = first ? rowMapper.mapRow(rs1, layout1, i) : rowMapper.mapRow(rs2, layout2, i);
+                        if (!bo.equals(first ? expected1 : expected2)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> f : futures) {
+                Assert.assertTrue(f.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @org.junit.Test
+    public void testValuesExtractor() throws Exception {
+        MyBoRowMapper rowMapper = new MyBoRowMapper();
+        MyBo[] bos = { new MyBo().setId(1).setCode('a').setGrade('b').setBig(BigInteger.TEN).setName("n1")
+                .setAmount(BigDecimal.ONE), new MyBo().setId(2) };
+        String[][] columnsList = { LABELS, { "name", "id" }, { "id", "unknown", "amount" }, {} };
+        for (String[] columns : columnsList) {
+            AbstractGenericRowMapper.ValuesExtractor<MyBo> extractor = rowMapper.compileValuesExtractor(columns);
+            Assert.assertSame(extractor, rowMapper.compileValuesExtractor(columns));
+            Assert.assertEquals(columns.length, extractor.size());
+            for (MyBo bo : bos) {
+                Object[] expected = rowMapper.extractByReflection(bo, columns);
+                Assert.assertArrayEquals(expected, extractor.extract(bo));
+                Assert.assertArrayEquals(expected, rowMapper.valuesForColumns(bo, columns));
+                Object[] output = new Object[columns.length + 1];
+                Assert.assertSame(output, extractor.extract(bo, output));
+                Assert.assertArrayEquals(expected, Arrays.copyOf(output, columns.length));
+            }
+        }
+    }
+}
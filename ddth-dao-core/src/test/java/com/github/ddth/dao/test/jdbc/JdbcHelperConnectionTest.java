@@ -0,0 +1,109 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.DelegatingConnection;
+import com.github.ddth.dao.jdbc.impl.DdthJdbcHelper;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class JdbcHelperConnectionTest extends TestCase {
+
+    public JdbcHelperConnectionTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(JdbcHelperConnectionTest.class);
+    }
+
+    private static class FakeConnection {
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final Connection conn = (Connection) Proxy
+                .newProxyInstance(JdbcHelperConnectionTest.class.getClassLoader(), new Class<?>[] { Connection.class },
+                        (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "close":
+                                closed.set(true);
+                                return null;
+                            case "isClosed":
+                                return closed.get();
+                            case "getAutoCommit":
+                                return true;
+                            case "getMetaData":
+                                throw new SQLException("Not supported.");
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                return null;
+                            }
+                        });
+    }
+
+    private final List<FakeConnection> connections = new ArrayList<>();
+    private DdthJdbcHelper jdbcHelper;
+
+    @Override
+    protected void setUp() {
+        DataSource ds = (DataSource) Proxy
+                .newProxyInstance(JdbcHelperConnectionTest.class.getClassLoader(), new Class<?>[] { DataSource.class },
+                        (proxy, method, args) -> {
+                            if ("getConnection".equals(method.getName())) {
+                                FakeConnection conn = new FakeConnection();
+                                connections.add(conn);
+                                return conn.conn;
+                            }
+                            return null;
+                        });
+        jdbcHelper = new DdthJdbcHelper();
+        jdbcHelper.setDataSource(ds);
+        jdbcHelper.init();
+    }
+
+    @Override
+    protected void tearDown() {
+        jdbcHelper.destroy();
+    }
+
+    @org.junit.Test
+    public void testCloseTwice() throws SQLException {
+        Connection conn1 = jdbcHelper.getConnection();
+        conn1.close();
+        Assert.assertTrue(conn1.isClosed());
+        Assert.assertTrue(connections.get(0).closed.get());
+
+        Connection conn2 = jdbcHelper.getConnection();
+        Assert.assertNotSame(conn1, conn2);
+        // a stale reference must not close the next borrower's connection
+        conn1.close();
+        Assert.assertFalse(conn2.isClosed());
+        Assert.assertFalse(connections.get(1).closed.get());
+        conn2.close();
+        Assert.assertTrue(connections.get(1).closed.get());
+        Assert.assertEquals(2, connections.size());
+    }
+
+    @org.junit.Test
+    public void testNestedCheckout() throws SQLException {
+        Connection outer = jdbcHelper.getConnection();
+        Connection inner = jdbcHelper.getConnection();
+        Assert.assertSame(((DelegatingConnection) outer).getTarget(), ((DelegatingConnection) inner).getTarget());
+        inner.close();
+        inner.close();
+        Assert.assertFalse(outer.isClosed());
+        Assert.assertFalse(connections.get(0).closed.get());
+        outer.close();
+        Assert.assertTrue(connections.get(0).closed.get());
+        Assert.assertEquals(1, connections.size());
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.IRowMapper;
+import com.github.ddth.dao.jdbc.impl.PrefetchingResultSetIterator;
+import com.github.ddth.dao.utils.DaoException;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class PrefetchingResultSetIteratorTest extends TestCase {
+
+    public PrefetchingResultSetIteratorTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(PrefetchingResultSetIteratorTest.class);
+    }
+
+    private final static IRowMapper<Long> ROW_MAPPER = (rs, rowNum) -> rs.getLong(1);
+
+    private ExecutorService executor;
+
+    @Override
+    protected void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @Override
+    protected void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static FakeResultSet fakeResultSet(int numRows) {
+        Object[][] rows = new Object[numRows][];
+        for (int i = 0; i < numRows; i++) {
+            rows[i] = new Object[] { (long) i };
+        }
+        return new FakeResultSet(new String[] { "id" }, new int[] { Types.BIGINT }, rows);
+    }
+
+    private static List<Long> readAll(PrefetchingResultSetIterator<Long> it) {
+        List<Long> result = new ArrayList<>();
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    private static void assertRows(List<Long> rows, int numRows) {
+        Assert.assertEquals(numRows, rows.size());
+        for (int i = 0; i < numRows; i++) {
+            Assert.assertEquals(i, rows.get(i).longValue());
+        }
+    }
+
+    @org.junit.Test
+    public void testReadAll() {
+        FakeResultSet frs = fakeResultSet(103);
+        PrefetchingResultSetIterator<Long> it = new PrefetchingResultSetIterator<>(null, ROW_MAPPER, frs.statement,
+                10, 2, executor);
+        assertRows(readAll(it), 103);
+        Assert.assertEquals(103, it.getRowNum());
+        Assert.assertTrue(it.isClosed());
+        Assert.assertTrue(frs.resultSetClosed.get());
+        Assert.assertTrue(frs.statementClosed.get());
+    }
+
+    @org.junit.Test
+    public void testCloseMidStream() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        FakeResultSet frs = fakeResultSet(1000).setRowHook(row -> {
+            if (row == 30) {
+                blocked.countDown();
+            }
+        });
+        PrefetchingResultSetIterator<Long> it = new PrefetchingResultSetIterator<>(null, ROW_MAPPER, frs.statement,
+                10, 2, executor);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(i, it.next().longValue());
+        }
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        it.close();
+        Assert.assertTrue(it.isClosed());
+        Assert.assertFalse(it.hasNext());
+        Assert.assertTrue(frs.resultSetClosed.get());
+        Assert.assertTrue(frs.statementClosed.get());
+        // the producer stopped reading once the queue was full
+        Assert.assertTrue(frs.rowsRead.get() < 1000);
+        // producer task has finished: the executor is free again
+        Assert.assertEquals(Integer.valueOf(1), executor.submit(() -> 1).get(5, TimeUnit.SECONDS));
+    }
+
+    @org.junit.Test
+    public void testProducerError() {
+        FakeResultSet frs = fakeResultSet(100).setRowHook(row -> {
+            if (row == 25) {
+                throw new SQLException("Connection reset.");
+            }
+        });
+        PrefetchingResultSetIterator<Long> it = new PrefetchingResultSetIterator<>(null, ROW_MAPPER, frs.statement,
+                10, 2, executor);
+        List<Long> rows = new ArrayList<>();
+        try {
+            while (it.hasNext()) {
+                rows.add(it.next());
+            }
+            fail("DaoException expected");
+        } catch (DaoException e) {
+            Assert.assertTrue(e.getCause() instanceof SQLException);
+        }
+        // rows of complete blocks before the failure are delivered
+        assertRows(rows, 20);
+        Assert.assertTrue(it.isClosed());
+        Assert.assertTrue(frs.resultSetClosed.get());
+        Assert.assertTrue(frs.statementClosed.get());
+    }
+
+    @org.junit.Test
+    public void testSlowConsumer() throws Exception {
+        int blockSize = 5, queueDepth = 2;
+        FakeResultSet frs = fakeResultSet(100);
+        PrefetchingResultSetIterator<Long> it = new PrefetchingResultSetIterator<>(null, ROW_MAPPER, frs.statement,
+                blockSize, queueDepth, executor);
+        int maxAhead = 0;
+        for (int consumed = 0; it.hasNext(); ) {
+            Assert.assertEquals(consumed, it.next().longValue());
+            consumed++;
+            Thread.sleep(1);
+            maxAhead = Math.max(maxAhead, frs.rowsRead.get() - consumed);
+        }
+        // read-ahead is bounded: the block being filled + queued blocks + the block being consumed
+        Assert.assertTrue("read ahead: " + maxAhead, maxAhead <= blockSize * (queueDepth + 2));
+        Assert.assertTrue(it.isClosed());
+    }
+
+    @org.junit.Test
+    public void testRejectedExecution() {
+        FakeResultSet frs = fakeResultSet(23);
+        PrefetchingResultSetIterator<Long> it = new PrefetchingResultSetIterator<>(null, ROW_MAPPER, frs.statement,
+                10, 2, r -> {
+            throw new RejectedExecutionException();
+        });
+        // read on the consumer's thread, block by block
+        Assert.assertEquals(0, it.next().longValue());
+        Assert.assertEquals(10, frs.rowsRead.get());
+        List<Long> rows = new ArrayList<>();
+        rows.add(0L);
+        rows.addAll(readAll(it));
+        assertRows(rows, 23);
+        Assert.assertTrue(it.isClosed());
+        Assert.assertTrue(frs.resultSetClosed.get());
+    }
+
+    @org.junit.Test
+    public void testDefaultExecutorIsBounded() {
+        ThreadPoolExecutor defaultExecutor = (ThreadPoolExecutor) PrefetchingResultSetIterator.defaultExecutor();
+        Assert.assertEquals(PrefetchingResultSetIterator.DEFAULT_EXECUTOR_MAX_THREADS,
+                defaultExecutor.getMaximumPoolSize());
+    }
+}
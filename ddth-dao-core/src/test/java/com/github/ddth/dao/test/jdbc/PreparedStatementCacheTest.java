@@ -0,0 +1,77 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.PreparedStatementCache;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PreparedStatementCacheTest extends TestCase {
+
+    public PreparedStatementCacheTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(PreparedStatementCacheTest.class);
+    }
+
+    private static class FakeStatement {
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final PreparedStatement pstm = (PreparedStatement) Proxy
+                .newProxyInstance(PreparedStatementCacheTest.class.getClassLoader(),
+                        new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                            if ("close".equals(method.getName())) {
+                                closed.set(true);
+                            }
+                            if ("isClosed".equals(method.getName())) {
+                                return closed.get();
+                            }
+                            return null;
+                        });
+    }
+
+    @org.junit.Test
+    public void testTakeRelease() {
+        try (PreparedStatementCache cache = new PreparedStatementCache(2)) {
+            Assert.assertNull(cache.take("sql1"));
+            FakeStatement stm = new FakeStatement();
+            Assert.assertEquals(0, cache.release("sql1", stm.pstm));
+            Assert.assertEquals(1, cache.size());
+            Assert.assertSame(stm.pstm, cache.take("sql1"));
+            Assert.assertNull(cache.take("sql1"));
+            Assert.assertFalse(stm.closed.get());
+        }
+    }
+
+    @org.junit.Test
+    public void testEvictLeastRecentlyUsed() {
+        try (PreparedStatementCache cache = new PreparedStatementCache(2)) {
+            FakeStatement stm1 = new FakeStatement(), stm2 = new FakeStatement(), stm3 = new FakeStatement();
+            cache.release("sql1", stm1.pstm);
+            cache.release("sql2", stm2.pstm);
+            cache.release("sql1", cache.take("sql1"));
+            Assert.assertEquals(1, cache.release("sql3", stm3.pstm));
+            Assert.assertEquals(2, cache.size());
+            Assert.assertTrue(stm2.closed.get());
+            Assert.assertFalse(stm1.closed.get());
+            Assert.assertNull(cache.take("sql2"));
+        }
+    }
+
+    @org.junit.Test
+    public void testClose() {
+        FakeStatement stm1 = new FakeStatement(), stm2 = new FakeStatement();
+        PreparedStatementCache cache = new PreparedStatementCache(2);
+        cache.release("sql1", stm1.pstm);
+        cache.release("sql2", stm2.pstm);
+        cache.close();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertTrue(stm1.closed.get());
+        Assert.assertTrue(stm2.closed.get());
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.jdbc.Row;
+import com.github.ddth.dao.jdbc.impl.UniversalRowMapper;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public class ResultSetLayoutTest extends TestCase {
+
+    public ResultSetLayoutTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(ResultSetLayoutTest.class);
+    }
+
+    /**
+     * A one-row {@link ResultSet}: {@code getObject(String)} returns the value of the first column
+     * whose label matches, ignoring case (per JDBC specs).
+     */
+    private static ResultSet fakeResultSet(String[] labels, Object[] values) {
+        ResultSetMetaData rsmd = (ResultSetMetaData) Proxy
+                .newProxyInstance(ResultSetLayoutTest.class.getClassLoader(),
+                        new Class<?>[] { ResultSetMetaData.class }, (proxy, method, args) -> {
+                            switch (method.getName()) {
+                            case "getColumnCount":
+                                return labels.length;
+                            case "getColumnLabel":
+                            case "getColumnName":
+                                return labels[(Integer) args[0] - 1];
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                            }
+                        });
+        return (ResultSet) Proxy.newProxyInstance(ResultSetLayoutTest.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                    case "getMetaData":
+                        return rsmd;
+                    case "getObject":
+                        if (args[0] instanceof Integer) {
+                            return values[(Integer) args[0] - 1];
+                        }
+                        for (int i = 0; i < labels.length; i++) {
+                            if (labels[i].equalsIgnoreCase((String) args[0])) {
+                                return values[i];
+                            }
+                        }
+                        throw new SQLException("Column [" + args[0] + "] not found.");
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    /**
+     * Row as mapped by {@code UniversalRowMapper} before v1.1.2: {@code getObject(label)} for each
+     * label.
+     */
+    private static Map<String, Object> mapByLabel(ResultSet rs, String[] labels) throws SQLException {
+        Map<String, Object> row = new HashMap<>();
+        for (String label : labels) {
+            row.put(label, rs.getObject(label));
+        }
+        return row;
+    }
+
+    @org.junit.Test
+    public void testIndexOf() {
+        ResultSetLayout layout = new ResultSetLayout(new String[] { "id", "Name", "NAME", "id", "score" });
+        Assert.assertEquals(5, layout.getColumnCount());
+        Assert.assertFalse(layout.hasDistinctLabels());
+        Assert.assertEquals(1, layout.indexOf("id"));
+        Assert.assertEquals(1, layout.indexOf("ID"));
+        Assert.assertEquals(2, layout.indexOf("Name"));
+        Assert.assertEquals(3, layout.indexOf("NAME"));
+        Assert.assertEquals(2, layout.indexOf("name"));
+        Assert.assertEquals(2, layout.indexOfIgnoreCase("NAME"));
+        Assert.assertEquals(5, layout.indexOfIgnoreCase("Score"));
+        Assert.assertEquals(1, layout.indexOfExact("id"));
+        Assert.assertEquals(-1, layout.indexOfExact("ID"));
+        Assert.assertEquals(-1, layout.indexOf("other"));
+        Assert.assertEquals(-1, layout.indexOfIgnoreCase(null));
+        try {
+            layout.findColumn("other");
+            fail("SQLException expected");
+        } catch (SQLException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testIndexOfTurkishLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            // "ID".toLowerCase() is "\u0131d" (dotless i) under tr_TR
+            ResultSetLayout layout = new ResultSetLayout(new String[] { "ID", "TITLE" });
+            Assert.assertEquals(1, layout.indexOf("id"));
+            Assert.assertEquals(1, layout.indexOfIgnoreCase("id"));
+            Assert.assertEquals(2, layout.indexOfIgnoreCase("title"));
+            Assert.assertEquals(2, layout.indexOf("Title"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @org.junit.Test
+    public void testDistinctLabels() {
+        Assert.assertTrue(new ResultSetLayout(new String[] { "id", "Name", "score" }).hasDistinctLabels());
+        Assert.assertFalse(new ResultSetLayout(new String[] { "id", "Name", "name" }).hasDistinctLabels());
+        Assert.assertFalse(new ResultSetLayout(new String[] { "id", "id" }).hasDistinctLabels());
+        Assert.assertFalse(new ResultSetLayout(new String[] { "id", null }).hasDistinctLabels());
+    }
+
+    @org.junit.Test
+    public void testOf() throws SQLException {
+        String[] labels = { "id", "name" };
+        ResultSet rs1 = fakeResultSet(labels, new Object[] { 1, "a" });
+        ResultSet rs2 = fakeResultSet(labels, new Object[] { 2, "b" });
+        ResultSetLayout layout1 = ResultSetLayout.of(rs1);
+        Assert.assertSame(layout1, ResultSetLayout.of(rs1));
+        Assert.assertNotSame(layout1, ResultSetLayout.of(rs2));
+        Assert.assertArrayEquals(labels, layout1.getColumnLabels());
+    }
+
+    @org.junit.Test
+    public void testMapDistinctLabels() throws SQLException {
+        String[] labels = { "id", "Name", "score" };
+        ResultSet rs = fakeResultSet(labels, new Object[] { 1, "a", null });
+        Map<String, Object> row = UniversalRowMapper.INSTANCE.mapRow(rs, 0);
+        Assert.assertTrue(row instanceof Row);
+        Assert.assertEquals(mapByLabel(rs, labels), row);
+    }
+
+    @org.junit.Test
+    public void testMapDuplicatedLabels() throws SQLException {
+        // first matching column wins, as ResultSet.getObject(String)
+        String[] labels = { "id", "name", "id", "Name", "NAME", "score" };
+        ResultSet rs = fakeResultSet(labels, new Object[] { 1, null, 2, "b", "c", 3 });
+        Map<String, Object> row = UniversalRowMapper.INSTANCE.mapRow(rs, 0);
+        Map<String, Object> expected = mapByLabel(rs, labels);
+        Assert.assertEquals(expected, row);
+        Assert.assertEquals(1, row.get("id"));
+        Assert.assertNull(row.get("Name"));
+        Assert.assertTrue(row.containsKey("NAME"));
+        Assert.assertNull(row.get("NAME"));
+        Assert.assertEquals(5, row.size());
+    }
+
+    @org.junit.Test
+    public void testMapMixedCaseLabels() throws SQLException {
+        String[] labels = { "ID", "id" };
+        ResultSet rs = fakeResultSet(labels, new Object[] { 1, 2 });
+        Map<String, Object> row = UniversalRowMapper.INSTANCE.mapRow(rs, 0);
+        Assert.assertEquals(mapByLabel(rs, labels), row);
+        Assert.assertEquals(1, row.get("id"));
+    }
+}
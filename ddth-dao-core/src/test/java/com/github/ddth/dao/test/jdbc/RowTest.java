@@ -0,0 +1,96 @@
+package com.github.ddth.dao.test.jdbc;
+
+import com.github.ddth.dao.jdbc.ResultSetLayout;
+import com.github.ddth.dao.jdbc.Row;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RowTest extends TestCase {
+
+    public RowTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(RowTest.class);
+    }
+
+    private static Row createRow() {
+        ResultSetLayout layout = new ResultSetLayout(new String[] { "id", "Name", "score", "active" });
+        return new Row(layout, new Object[] { 1L, "abc", null, "1" });
+    }
+
+    @org.junit.Test
+    public void testMapSemantics() {
+        Row row = createRow();
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("id", 1L);
+        expected.put("Name", "abc");
+        expected.put("score", null);
+        expected.put("active", "1");
+
+        Assert.assertEquals(4, row.size());
+        Assert.assertEquals(expected, row);
+        Assert.assertEquals(row, expected);
+        Assert.assertEquals(expected.hashCode(), row.hashCode());
+        Assert.assertTrue(row.containsKey("score"));
+        Assert.assertFalse(row.containsKey("name"));
+        Assert.assertNull(row.get("name"));
+        Assert.assertEquals("abc", row.get("Name"));
+    }
+
+    @org.junit.Test
+    public void testImmutable() {
+        Row row = createRow();
+        try {
+            row.put("id", 2L);
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            row.remove("id");
+            fail("UnsupportedOperationException expected");
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testTypedGetters() {
+        Row row = createRow();
+        Assert.assertEquals(1L, row.getLong("ID"));
+        Assert.assertEquals(1, row.getInt(1));
+        Assert.assertEquals("abc", row.getString("name"));
+        Assert.assertEquals(0.0, row.getDouble("score"), 0.0);
+        Assert.assertTrue(row.isNull("score"));
+        Assert.assertTrue(row.getBoolean("active"));
+        try {
+            row.getLong("not_exists");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @org.junit.Test
+    public void testSerialization() throws Exception {
+        Row row = createRow();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+            oos.writeObject(row);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
+            Object obj = ois.readObject();
+            Assert.assertTrue(obj instanceof LinkedHashMap);
+            Assert.assertEquals(row, obj);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.ddth.dao.test.jdbc.utils;
+
+import com.github.ddth.dao.utils.NamedParamsSql;
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Assert;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class NamedParamsSqlTest extends TestCase {
+
+    public NamedParamsSqlTest(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(NamedParamsSqlTest.class);
+    }
+
+    @org.junit.Test
+    public void testParse() {
+        NamedParamsSql template = NamedParamsSql
+                .parse("SELECT * FROM tbl WHERE id=:id AND (type=:type OR :type IS NULL)");
+        Assert.assertEquals(Arrays.asList("id", "type", "type"), template.getParamNames());
+        Assert.assertEquals("SELECT * FROM tbl WHERE id=? AND (type=? OR ? IS NULL)", template.getSql(1, 1, 1));
+        Assert.assertSame(template, NamedParamsSql.parse(template.getSql()));
+    }
+
+    @org.junit.Test
+    public void testSkipCastsAndLiterals() {
+        NamedParamsSql template = NamedParamsSql.parse(
+                "SELECT data::jsonb, ':notparam', \"col:x\", $$ :notparam $$ FROM tbl /* :notparam */ WHERE id=:id::bigint -- :notparam\n AND t > '12:30'");
+        Assert.assertEquals(Arrays.asList("id"), template.getParamNames());
+        Assert.assertEquals(
+                "SELECT data::jsonb, ':notparam', \"col:x\", $$ :notparam $$ FROM tbl /* :notparam */ WHERE id=?::bigint -- :notparam\n AND t > '12:30'",
+                template.getSql(1));
+    }
+
+    @org.junit.Test
+    public void testBindList() {
+        NamedParamsSql template = NamedParamsSql.parse("SELECT * FROM tbl WHERE id IN (:ids) AND type=:type");
+        Map<String, Object> params = new HashMap<>();
+        params.put("ids", Arrays.asList(1, 2, 3));
+        params.put("type", "email");
+        NamedParamsSql.Binding binding = template.bind(params);
+        Assert.assertEquals("SELECT * FROM tbl WHERE id IN (?,?,?) AND type=?", binding.sql);
+        Assert.assertArrayEquals(new Object[] { 1, 2, 3, "email" }, binding.bindValues);
+
+        params.put("ids", new long[] { 4, 5, 6 });
+        NamedParamsSql.Binding binding2 = template.bind(params);
+        Assert.assertSame(binding.sql, binding2.sql);
+        Assert.assertArrayEquals(new Object[] { 4L, 5L, 6L, "email" }, binding2.bindValues);
+
+        params.put("ids", new Object[] { 7 });
+        Assert.assertEquals("SELECT * FROM tbl WHERE id IN (?) AND type=?", template.bind(params).sql);
+    }
+
+    @org.junit.Test
+    public void testBindScalars() {
+        NamedParamsSql template = NamedParamsSql.parse("INSERT INTO tbl (id, data) VALUES (:id, :data)");
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", 1);
+        params.put("data", new byte[] { 1, 2 });
+        NamedParamsSql.Binding binding = template.bind(params);
+        Assert.assertEquals("INSERT INTO tbl (id, data) VALUES (?, ?)", binding.sql);
+        Assert.assertEquals(2, binding.bindValues.length);
+        Assert.assertTrue(binding.bindValues[1] instanceof byte[]);
+
+        binding = template.bind(null);
+        Assert.assertArrayEquals(new Object[] { null, null }, binding.bindValues);
+    }
+}